@@ -4,9 +4,11 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.context.annotation.Bean;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.authentication.AuthenticationProvider;
 import hu.financial.filter.JwtAuthenticationFilter;
+import hu.financial.security.BoundedPasswordEncoder;
 import hu.financial.security.CsrfCookieFilter;
 import hu.financial.security.SecurityCookieFactory;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
@@ -51,6 +53,7 @@ public class SecurityConfig {
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers(HttpMethod.GET, "/").permitAll()
                         .requestMatchers("/admin/**").hasAnyRole("ADMIN")
+                        .requestMatchers("/actuator/metrics/**").hasRole("ADMIN")
                         .requestMatchers(HttpMethod.GET, "/api/users/count").permitAll()
                         .requestMatchers("/api/users/**").authenticated()
                         .requestMatchers("/api/auth/**").permitAll()
@@ -74,8 +77,10 @@ public class SecurityConfig {
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public BoundedPasswordEncoder passwordEncoder(
+            @Value("${security.password-hashing.threads:4}") int threads,
+            @Value("${security.password-hashing.queue-capacity:64}") int queueCapacity) {
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(), threads, queueCapacity);
     }
 
     @Bean
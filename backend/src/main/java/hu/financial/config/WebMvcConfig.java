@@ -0,0 +1,24 @@
+package hu.financial.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import hu.financial.service.UserService;
+import hu.financial.web.DataVersionEtagInterceptor;
+
+@Configuration
+public class WebMvcConfig implements WebMvcConfigurer {
+
+    private final UserService userService;
+
+    public WebMvcConfig(UserService userService) {
+        this.userService = userService;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new DataVersionEtagInterceptor(userService))
+                .addPathPatterns("/api/reports/**", "/api/transactions", "/api/transactions/scroll", "/api/budgets");
+    }
+}
@@ -1,5 +1,6 @@
 package hu.financial.controller;
 
+import org.springframework.web.bind.annotation.CookieValue;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -8,14 +9,19 @@ import hu.financial.dto.user.LoginResponse;
 import hu.financial.dto.user.LoginUserDto;
 import hu.financial.dto.user.RegisterUserDto;
 import hu.financial.dto.user.UserResponseDto;
+import hu.financial.exception.user.InvalidRefreshTokenException;
 import hu.financial.mapper.UserMapper;
+import hu.financial.security.LoginThrottle;
 import hu.financial.security.SecurityCookieFactory;
 import hu.financial.service.AuthenticationService;
 import hu.financial.service.JwtService;
+import hu.financial.service.RefreshTokenService;
+import hu.financial.service.TokenRevocationService;
 import org.springframework.http.ResponseEntity;
 import hu.financial.model.User;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import io.swagger.v3.oas.annotations.Operation;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 
 import org.slf4j.Logger;
@@ -24,6 +30,9 @@ import org.springframework.http.HttpStatus;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.http.HttpHeaders;
 
+import java.time.Duration;
+import java.util.Optional;
+
 @RequestMapping("/api/auth")
 @RestController
 @Tag(name = "Authentication", description = "Authentication Handler")
@@ -35,13 +44,21 @@ public class AuthenticationController {
     private final AuthenticationService authenticationService;
     private final UserMapper userMapper;
     private final SecurityCookieFactory securityCookieFactory;
+    private final RefreshTokenService refreshTokenService;
+    private final TokenRevocationService tokenRevocationService;
+    private final LoginThrottle loginThrottle;
 
     public AuthenticationController(JwtService jwtService, AuthenticationService authenticationService,
-            UserMapper userMapper, SecurityCookieFactory securityCookieFactory) {
+            UserMapper userMapper, SecurityCookieFactory securityCookieFactory,
+            RefreshTokenService refreshTokenService, TokenRevocationService tokenRevocationService,
+            LoginThrottle loginThrottle) {
         this.jwtService = jwtService;
         this.authenticationService = authenticationService;
         this.userMapper = userMapper;
         this.securityCookieFactory = securityCookieFactory;
+        this.refreshTokenService = refreshTokenService;
+        this.tokenRevocationService = tokenRevocationService;
+        this.loginThrottle = loginThrottle;
     }
 
     @Operation(summary = "Register a new user")
@@ -53,27 +70,64 @@ public class AuthenticationController {
 
     @Operation(summary = "Log in and receive the authentication cookie")
     @PostMapping("/login")
-    public ResponseEntity<LoginResponse> login(@Valid @RequestBody LoginUserDto input) {
+    public ResponseEntity<LoginResponse> login(@Valid @RequestBody LoginUserDto input, HttpServletRequest request) {
+        String address = request.getRemoteAddr();
+        Optional<Duration> retryAfter = loginThrottle.retryAfter(input.email(), address);
+        if (retryAfter.isPresent()) {
+            log.warn("Throttled login attempt for email: {}", input.email());
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, Long.toString(Math.max(1, retryAfter.get().toSeconds())))
+                    .body(new LoginResponse(null, "too_many_attempts"));
+        }
         try {
             User user = authenticationService.authenticate(input);
-            String token = jwtService.generateToken(user);
-            LoginResponse response = new LoginResponse(jwtService.getExpirationTime(), "success");
-
-            return ResponseEntity.ok()
-                    .header(HttpHeaders.SET_COOKIE, securityCookieFactory.createAuthCookie(token).toString())
-                    .body(response);
+            loginThrottle.recordSuccess(input.email());
+            return sessionResponse(user, refreshTokenService.issue(user));
         } catch (AuthenticationException e) {
+            loginThrottle.recordFailure(input.email(), address);
             log.warn("Failed login attempt for email: {}", input.email());
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                     .body(new LoginResponse(null, "invalid_credentials"));
         }
     }
 
-    @Operation(summary = "Log out and clear the authentication cookie")
+    @Operation(summary = "Exchange the refresh cookie for a new authentication cookie")
+    @PostMapping("/refresh")
+    public ResponseEntity<LoginResponse> refresh(
+            @CookieValue(name = SecurityCookieFactory.REFRESH_COOKIE_NAME, required = false) String refreshToken) {
+        try {
+            RefreshTokenService.Rotation rotation = refreshTokenService.rotate(refreshToken);
+            return sessionResponse(rotation.user(), rotation.refreshToken());
+        } catch (InvalidRefreshTokenException e) {
+            log.debug("Rejected refresh: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .header(HttpHeaders.SET_COOKIE, securityCookieFactory.expireAuthCookie().toString())
+                    .header(HttpHeaders.SET_COOKIE, securityCookieFactory.expireRefreshCookie().toString())
+                    .body(new LoginResponse(null, "invalid_refresh_token"));
+        }
+    }
+
+    @Operation(summary = "Log out and clear the authentication cookies")
     @PostMapping("/logout")
-    public ResponseEntity<Void> logout() {
+    public ResponseEntity<Void> logout(
+            @CookieValue(name = SecurityCookieFactory.AUTH_COOKIE_NAME, required = false) String authToken,
+            @CookieValue(name = SecurityCookieFactory.REFRESH_COOKIE_NAME, required = false) String refreshToken) {
+        tokenRevocationService.revoke(authToken);
+        refreshTokenService.revoke(refreshToken);
         return ResponseEntity.noContent()
                 .header(HttpHeaders.SET_COOKIE, securityCookieFactory.expireAuthCookie().toString())
+                .header(HttpHeaders.SET_COOKIE, securityCookieFactory.expireRefreshCookie().toString())
                 .build();
     }
+
+    private ResponseEntity<LoginResponse> sessionResponse(User user, String refreshToken) {
+        String token = jwtService.generateToken(user);
+        LoginResponse response = new LoginResponse(jwtService.getExpirationTime(), "success");
+
+        return ResponseEntity.ok()
+                .header(HttpHeaders.SET_COOKIE, securityCookieFactory.createAuthCookie(token).toString())
+                .header(HttpHeaders.SET_COOKIE, securityCookieFactory
+                        .createRefreshCookie(refreshToken, refreshTokenService.getLifetime()).toString())
+                .body(response);
+    }
 }
@@ -14,6 +14,7 @@ import io.swagger.v3.oas.annotations.Operation;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.HttpStatus;
@@ -24,13 +25,16 @@ import jakarta.validation.constraints.Min;
 import hu.financial.model.Budget;
 import hu.financial.service.BudgetService;
 import hu.financial.service.UserService;
-import hu.financial.exception.budget.BudgetNotFoundException;
 import hu.financial.dto.budget.BudgetFilter;
 import hu.financial.dto.budget.CreateBudgetDto;
 import hu.financial.dto.budget.BudgetResponseDto;
+import hu.financial.dto.budget.BudgetSheetDto;
+import hu.financial.dto.budget.UpsertBudgetDto;
+import hu.financial.repository.projection.BudgetRow;
 import hu.financial.dto.common.PageResponse;
 import hu.financial.web.SortWhitelist;
 import org.springframework.beans.factory.annotation.Autowired;
+import java.time.YearMonth;
 import java.util.List;
 
 
@@ -63,6 +67,26 @@ public class BudgetController {
         return ResponseEntity.status(HttpStatus.CREATED).body(budgetService.mapToDto(savedBudget));
     }
 
+    @Operation(summary = "Create or replace the current user's budget for a category and month")
+    @PutMapping("/{categoryId}/{month}")
+    public ResponseEntity<BudgetResponseDto> upsertBudget(@PathVariable Long categoryId, @PathVariable String month,
+            @Valid @RequestBody UpsertBudgetDto dto) {
+        YearMonth budgetMonth = BudgetFilter.parseMonth(month);
+        Long userId = userService.getCurrentUser().getId();
+        BudgetRow budget = budgetService.upsertOwnedBudget(userId, categoryId, budgetMonth, dto.amount());
+        return ResponseEntity.ok(budgetService.mapRowToDto(budget));
+    }
+
+    @Operation(summary = "Create or replace the current user's budgets for a month in one request")
+    @PutMapping("/months/{month}")
+    public ResponseEntity<List<BudgetResponseDto>> upsertMonth(@PathVariable String month,
+            @Valid @RequestBody BudgetSheetDto dto) {
+        YearMonth budgetMonth = BudgetFilter.parseMonth(month);
+        Long userId = userService.getCurrentUser().getId();
+        List<BudgetRow> budgets = budgetService.upsertOwnedMonth(userId, budgetMonth, dto.budgets());
+        return ResponseEntity.ok(budgets.stream().map(budgetService::mapRowToDto).toList());
+    }
+
     @Operation(summary = "Get the current user's budgets")
     @GetMapping
     public ResponseEntity<PageResponse<BudgetResponseDto>> getMyBudgets(
@@ -70,10 +94,15 @@ public class BudgetController {
             @RequestParam(defaultValue = DEFAULT_SIZE) @Min(1) @Max(100) int size,
             @RequestParam(defaultValue = DEFAULT_SORT) String sort,
             @RequestParam(required = false) String month,
-            @RequestParam(required = false) Long categoryId) {
+            @RequestParam(required = false) Long categoryId,
+            @RequestParam(defaultValue = "true") boolean count) {
         Pageable pageable = PageRequest.of(page, size, SORT_WHITELIST.toSort(sort));
         BudgetFilter filter = BudgetFilter.of(month, categoryId);
         Long userId = userService.getCurrentUser().getId();
+        if (!count) {
+            Slice<Budget> budgets = budgetService.sliceBudgetsByUserId(userId, filter, pageable);
+            return ResponseEntity.ok(PageResponse.withoutTotals(budgets.map(budgetService::mapToDto)));
+        }
         Page<Budget> budgets = budgetService.getBudgetsByUserId(userId, filter, pageable);
         return ResponseEntity.ok(PageResponse.from(budgets.map(budgetService::mapToDto)));
     }
@@ -81,32 +110,22 @@ public class BudgetController {
     @Operation(summary = "Get one of the current user's budgets by id")
     @GetMapping("/{id}")
     public ResponseEntity<BudgetResponseDto> getBudgetById(@PathVariable Long id) {
-        Budget budget = getOwnedBudget(id);
-        return ResponseEntity.ok(budgetService.mapToDto(budget));
+        Long userId = userService.getCurrentUser().getId();
+        return ResponseEntity.ok(budgetService.mapRowToDto(budgetService.getOwnedBudgetRow(id, userId)));
     }
 
     @Operation(summary = "Update one of the current user's budgets by id")
     @PutMapping("/{id}")
     public ResponseEntity<BudgetResponseDto> updateBudget(@PathVariable Long id, @Valid @RequestBody CreateBudgetDto dto) {
-        getOwnedBudget(id);
-        Budget updatedBudget = budgetService.updateBudget(id, budgetService.mapToEntity(dto));
+        Budget updatedBudget = budgetService.updateOwnedBudget(id, budgetService.mapToEntity(dto));
         return ResponseEntity.ok(budgetService.mapToDto(updatedBudget));
     }
 
     @Operation(summary = "Delete one of the current user's budgets by id")
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteBudget(@PathVariable Long id) {
-        getOwnedBudget(id);
-        budgetService.deleteBudget(id);
-        return ResponseEntity.noContent().build();
-    }
-
-    private Budget getOwnedBudget(Long id) {
         Long userId = userService.getCurrentUser().getId();
-        Budget budget = budgetService.getBudgetById(id);
-        if (budget == null || !budget.getUser().getId().equals(userId)) {
-            throw new BudgetNotFoundException(id);
-        }
-        return budget;
+        budgetService.deleteOwnedBudget(id, userId);
+        return ResponseEntity.noContent().build();
     }
 }
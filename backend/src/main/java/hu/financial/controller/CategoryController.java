@@ -55,11 +55,11 @@ public class CategoryController {
     @PutMapping("/{id}")
     public ResponseEntity<CategoryResponseDto> updateCategory(@PathVariable Long id, @Valid @RequestBody CreateCategoryDto dto) {
         Long currentUserId = userService.getCurrentUser().getId();
-        Category existingCategory = categoryService.getOwnedCategoryById(id, currentUserId);
-
-        existingCategory.setName(dto.name());
-        existingCategory.setDescription(dto.description());
-        Category updatedCategory = categoryService.updateCategory(existingCategory);
+        Category category = new Category();
+        category.setId(id);
+        category.setName(dto.name());
+        category.setDescription(dto.description());
+        Category updatedCategory = categoryService.updateOwnedCategory(currentUserId, category);
         CategoryResponseDto responseDto = categoryService.mapToDto(updatedCategory);
         return ResponseEntity.ok(responseDto);
     }
@@ -12,10 +12,17 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 
 import hu.financial.dto.report.BudgetStatusResponseDto;
 import hu.financial.dto.report.CategoryBreakdownResponseDto;
+import hu.financial.dto.report.DashboardResponseDto;
+import hu.financial.dto.report.RangeBudgetStatusResponseDto;
+import hu.financial.dto.report.RangeCategoryBreakdownResponseDto;
+import hu.financial.dto.report.RangeSummaryResponseDto;
 import hu.financial.dto.report.ReportPeriod;
+import hu.financial.dto.report.ReportRange;
 import hu.financial.dto.report.SummaryResponseDto;
 import hu.financial.dto.report.TrendPeriod;
 import hu.financial.dto.report.TrendResponseDto;
+import hu.financial.service.ReportCache;
+import hu.financial.service.ReportCache.Report;
 import hu.financial.service.ReportService;
 import hu.financial.service.UserService;
 
@@ -27,6 +34,9 @@ public class ReportController {
     @Autowired
     private ReportService reportService;
 
+    @Autowired
+    private ReportCache reportCache;
+
     @Autowired
     private UserService userService;
 
@@ -35,7 +45,8 @@ public class ReportController {
     public ResponseEntity<SummaryResponseDto> getSummary(@RequestParam(required = false) String month) {
         ReportPeriod period = ReportPeriod.of(month);
         Long userId = userService.getCurrentUser().getId();
-        return ResponseEntity.ok(reportService.summarize(userId, period));
+        return ResponseEntity.ok(reportCache.get(userId, Report.SUMMARY, period,
+                () -> reportService.summarize(userId, period)));
     }
 
     @Operation(summary = "Get the current user's expenses for a month broken down by category")
@@ -44,17 +55,20 @@ public class ReportController {
             @RequestParam(required = false) String month) {
         ReportPeriod period = ReportPeriod.of(month);
         Long userId = userService.getCurrentUser().getId();
-        return ResponseEntity.ok(reportService.breakdownExpensesByCategory(userId, period));
+        return ResponseEntity.ok(reportCache.get(userId, Report.CATEGORIES, period,
+                () -> reportService.breakdownExpensesByCategory(userId, period)));
     }
 
-    @Operation(summary = "Get the current user's monthly income and expense series ending with the requested month")
+    @Operation(summary = "Get the current user's daily, weekly or monthly income and expense series ending with the requested month")
     @GetMapping("/trend")
     public ResponseEntity<TrendResponseDto> getTrend(
             @RequestParam(required = false) String month,
-            @RequestParam(required = false) Integer months) {
-        TrendPeriod period = TrendPeriod.of(month, months);
+            @RequestParam(required = false) Integer months,
+            @RequestParam(required = false) String granularity) {
+        TrendPeriod period = TrendPeriod.of(month, months, granularity);
         Long userId = userService.getCurrentUser().getId();
-        return ResponseEntity.ok(reportService.trend(userId, period));
+        return ResponseEntity.ok(reportCache.get(userId, Report.TREND, period,
+                () -> reportService.trend(userId, period)));
     }
 
     @Operation(summary = "Get the current user's budgets for a month measured against the spending of that month")
@@ -62,6 +76,51 @@ public class ReportController {
     public ResponseEntity<BudgetStatusResponseDto> getBudgetStatus(@RequestParam(required = false) String month) {
         ReportPeriod period = ReportPeriod.of(month);
         Long userId = userService.getCurrentUser().getId();
-        return ResponseEntity.ok(reportService.budgetStatus(userId, period));
+        return ResponseEntity.ok(reportCache.get(userId, Report.BUDGET_STATUS, period,
+                () -> reportService.budgetStatus(userId, period)));
+    }
+
+    @Operation(summary = "Get the current user's summary for a date range with the preceding range of the same length for comparison")
+    @GetMapping("/range/summary")
+    public ResponseEntity<RangeSummaryResponseDto> getRangeSummary(
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to) {
+        ReportRange range = ReportRange.of(from, to);
+        Long userId = userService.getCurrentUser().getId();
+        return ResponseEntity.ok(reportCache.get(userId, Report.SUMMARY, range,
+                () -> reportService.summarize(userId, range)));
+    }
+
+    @Operation(summary = "Get the current user's expenses for a date range broken down by category")
+    @GetMapping("/range/categories")
+    public ResponseEntity<RangeCategoryBreakdownResponseDto> getRangeCategoryBreakdown(
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to) {
+        ReportRange range = ReportRange.of(from, to);
+        Long userId = userService.getCurrentUser().getId();
+        return ResponseEntity.ok(reportCache.get(userId, Report.CATEGORIES, range,
+                () -> reportService.breakdownExpensesByCategory(userId, range)));
+    }
+
+    @Operation(summary = "Get the current user's budgets prorated to a date range and measured against the spending of that range")
+    @GetMapping("/range/budget-status")
+    public ResponseEntity<RangeBudgetStatusResponseDto> getRangeBudgetStatus(
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to) {
+        ReportRange range = ReportRange.of(from, to);
+        Long userId = userService.getCurrentUser().getId();
+        return ResponseEntity.ok(reportCache.get(userId, Report.BUDGET_STATUS, range,
+                () -> reportService.budgetStatus(userId, range)));
+    }
+
+    @Operation(summary = "Get the current user's summary, category breakdown, trend and budget status for a month in one response")
+    @GetMapping("/dashboard")
+    public ResponseEntity<DashboardResponseDto> getDashboard(
+            @RequestParam(required = false) String month,
+            @RequestParam(required = false) Integer months) {
+        TrendPeriod period = TrendPeriod.of(month, months);
+        Long userId = userService.getCurrentUser().getId();
+        return ResponseEntity.ok(reportCache.get(userId, Report.DASHBOARD, period,
+                () -> reportService.dashboard(userId, period)));
     }
 }
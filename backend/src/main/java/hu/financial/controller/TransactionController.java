@@ -9,30 +9,43 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RequestHeader;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import io.swagger.v3.oas.annotations.Operation;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.HttpStatus;
 import org.springframework.validation.annotation.Validated;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import hu.financial.model.Transaction;
 import hu.financial.model.enums.TransactionType;
+import hu.financial.repository.projection.TransactionRow;
+import hu.financial.service.TransactionExportService;
+import hu.financial.service.TransactionImportService;
 import hu.financial.service.TransactionService;
+import hu.financial.service.TransferPermits;
 import hu.financial.service.UserService;
-import hu.financial.exception.transaction.TransactionNotFoundException;
+import hu.financial.dto.common.CursorResponse;
 import hu.financial.dto.common.PageResponse;
 import hu.financial.dto.transaction.CreateTransactionDto;
+import hu.financial.dto.transaction.TransactionCursor;
 import hu.financial.dto.transaction.TransactionFilter;
+import hu.financial.dto.transaction.TransactionImportResultDto;
 import hu.financial.dto.transaction.TransactionResponseDto;
+import hu.financial.dto.transaction.TransferFormat;
 import hu.financial.web.SortWhitelist;
+import java.io.InputStream;
 import java.time.LocalDate;
 import java.util.List;
 
@@ -57,6 +70,15 @@ public class TransactionController {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private TransactionImportService transactionImportService;
+
+    @Autowired
+    private TransactionExportService transactionExportService;
+
+    @Autowired
+    private TransferPermits transferPermits;
+
     @Operation(summary = "Create a new transaction")
     @PostMapping
     public ResponseEntity<TransactionResponseDto> createTransaction(@Valid @RequestBody CreateTransactionDto dto) {
@@ -65,6 +87,19 @@ public class TransactionController {
         return ResponseEntity.status(HttpStatus.CREATED).body(transactionService.mapToDtoWithBudgetWarning(savedTransaction));
     }
 
+    @Operation(summary = "Import transactions for the current user from CSV or NDJSON")
+    @PostMapping(path = "/import",
+            consumes = { TransferFormat.CSV_MEDIA_TYPE, TransferFormat.NDJSON_MEDIA_TYPE })
+    public ResponseEntity<TransactionImportResultDto> importTransactions(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            @RequestParam(defaultValue = "BATCH") TransactionImportService.Mode mode,
+            InputStream body) {
+        Long userId = userService.getCurrentUser().getId();
+        TransactionImportResultDto result = transactionImportService.importTransactions(
+                userId, body, TransferFormat.of(contentType), mode);
+        return ResponseEntity.ok(result);
+    }
+
     @Operation(summary = "Get the current user's transactions")
     @GetMapping
     public ResponseEntity<PageResponse<TransactionResponseDto>> getMyTransactions(
@@ -74,43 +109,83 @@ public class TransactionController {
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
             @RequestParam(required = false) Long categoryId,
-            @RequestParam(required = false) TransactionType type) {
+            @RequestParam(required = false) TransactionType type,
+            @RequestParam(defaultValue = "true") boolean count) {
         Pageable pageable = PageRequest.of(page, size, SORT_WHITELIST.toSort(sort));
         TransactionFilter filter = new TransactionFilter(from, to, categoryId, type);
         Long userId = userService.getCurrentUser().getId();
-        Page<Transaction> transactions = transactionService.getTransactionsByUserId(userId, filter, pageable);
-        return ResponseEntity.ok(PageResponse.from(transactions.map(transactionService::mapToDto)));
+        if (!count) {
+            Slice<TransactionRow> transactions = transactionService.sliceTransactionsByUserId(userId, filter, pageable);
+            return ResponseEntity.ok(PageResponse.withoutTotals(transactions.map(transactionService::mapRowToDto)));
+        }
+        Page<TransactionRow> transactions = transactionService.getTransactionsByUserId(userId, filter, pageable);
+        return ResponseEntity.ok(PageResponse.from(transactions.map(transactionService::mapRowToDto)));
+    }
+
+    @Operation(summary = "Scroll through the current user's transactions with a cursor")
+    @GetMapping("/scroll")
+    public ResponseEntity<CursorResponse<TransactionResponseDto>> scrollMyTransactions(
+            @RequestParam(defaultValue = DEFAULT_SIZE) @Min(1) @Max(100) int size,
+            @RequestParam(defaultValue = DEFAULT_SORT) String sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Long categoryId,
+            @RequestParam(required = false) TransactionType type) {
+        Sort order = SORT_WHITELIST.toKeysetSort(sort);
+        TransactionCursor after = cursor == null ? null : TransactionCursor.decode(cursor, order);
+        TransactionFilter filter = new TransactionFilter(from, to, categoryId, type);
+        Long userId = userService.getCurrentUser().getId();
+        CursorResponse<TransactionRow> transactions =
+                transactionService.scrollTransactionsByUserId(userId, filter, order, after, size);
+        return ResponseEntity.ok(transactions.map(transactionService::mapRowToDto));
+    }
+
+    @Operation(summary = "Export the current user's transactions as CSV or NDJSON")
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportMyTransactions(
+            @RequestParam(defaultValue = "CSV") TransferFormat format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Long categoryId,
+            @RequestParam(required = false) TransactionType type) {
+        TransactionFilter filter = new TransactionFilter(from, to, categoryId, type);
+        Long userId = userService.getCurrentUser().getId();
+        // Taken before the response starts so a full house is a plain 503; the body gives it back.
+        TransferPermits.Permit permit = transferPermits.acquire();
+        StreamingResponseBody body = out -> {
+            try (permit) {
+                transactionExportService.exportTransactions(userId, filter, format, out);
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(format.mediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("transactions." + format.extension())
+                        .build()
+                        .toString())
+                .body(body);
     }
 
     @Operation(summary = "Get one of the current user's transactions by id")
     @GetMapping("/{id}")
     public ResponseEntity<TransactionResponseDto> getTransactionById(@PathVariable Long id) {
-        Transaction transaction = getOwnedTransaction(id);
-        return ResponseEntity.ok(transactionService.mapToDto(transaction));
+        Long userId = userService.getCurrentUser().getId();
+        return ResponseEntity.ok(transactionService.mapRowToDto(transactionService.getOwnedTransactionRow(id, userId)));
     }
 
     @Operation(summary = "Update one of the current user's transactions by id")
     @PutMapping("/{id}")
     public ResponseEntity<TransactionResponseDto> updateTransaction(@PathVariable Long id, @Valid @RequestBody CreateTransactionDto dto) {
-        getOwnedTransaction(id);
-        Transaction updatedTransaction = transactionService.updateTransaction(id, transactionService.mapToEntity(dto));
+        Transaction updatedTransaction = transactionService.updateOwnedTransaction(id, transactionService.mapToEntity(dto));
         return ResponseEntity.ok(transactionService.mapToDto(updatedTransaction));
     }
 
     @Operation(summary = "Delete one of the current user's transactions by id")
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteTransaction(@PathVariable Long id) {
-        getOwnedTransaction(id);
-        transactionService.deleteTransaction(id);
-        return ResponseEntity.noContent().build();
-    }
-
-    private Transaction getOwnedTransaction(Long id) {
         Long userId = userService.getCurrentUser().getId();
-        Transaction transaction = transactionService.getTransactionById(id);
-        if (transaction == null || !transaction.getUser().getId().equals(userId)) {
-            throw new TransactionNotFoundException(id);
-        }
-        return transaction;
+        transactionService.deleteOwnedTransaction(id, userId);
+        return ResponseEntity.noContent().build();
     }
 }
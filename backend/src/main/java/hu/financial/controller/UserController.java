@@ -2,6 +2,10 @@ package hu.financial.controller;
 
 import hu.financial.dto.user.GetUserByIdDto;
 import hu.financial.exception.user.UserNotFoundException;
+import hu.financial.security.SecurityCookieFactory;
+import hu.financial.security.UserPrincipal;
+import hu.financial.service.JwtService;
+import hu.financial.service.RefreshTokenService;
 import org.springframework.web.bind.annotation.RestController;
 import hu.financial.service.UserService;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -11,6 +15,7 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import jakarta.validation.Valid;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -27,9 +32,16 @@ import org.springframework.security.core.Authentication;
 public class UserController {
 
   private final UserService userService;
+  private final JwtService jwtService;
+  private final SecurityCookieFactory securityCookieFactory;
+  private final RefreshTokenService refreshTokenService;
 
-  public UserController(UserService userService) {
+  public UserController(UserService userService, JwtService jwtService,
+      SecurityCookieFactory securityCookieFactory, RefreshTokenService refreshTokenService) {
     this.userService = userService;
+    this.jwtService = jwtService;
+    this.securityCookieFactory = securityCookieFactory;
+    this.refreshTokenService = refreshTokenService;
   }
 
   @Operation(summary = "Get a user by id")
@@ -66,8 +78,14 @@ public class UserController {
   @PostMapping("/change-password")
   public ResponseEntity<Void> changePassword(Authentication authentication,
       @Valid @RequestBody ChangePasswordRequestDto changePasswordRequest) {
-    userService.changePassword(currentUser(authentication), changePasswordRequest);
-    return ResponseEntity.noContent().build();
+    User updatedUser = userService.changePassword(currentUser(authentication), changePasswordRequest);
+    return ResponseEntity.noContent()
+        .header(HttpHeaders.SET_COOKIE,
+            securityCookieFactory.createAuthCookie(jwtService.generateToken(updatedUser)).toString())
+        .header(HttpHeaders.SET_COOKIE, securityCookieFactory
+            .createRefreshCookie(refreshTokenService.issue(updatedUser), refreshTokenService.getLifetime())
+            .toString())
+        .build();
   }
 
   @Operation(summary = "Get the number of users")
@@ -77,11 +95,18 @@ public class UserController {
   }
 
   private User currentUser(Authentication authentication) {
-    return (User) authentication.getPrincipal();
+    if (authentication.getPrincipal() instanceof User user) {
+      return user;
+    }
+    return userService.getUserById(currentUserId(authentication));
+  }
+
+  private Long currentUserId(Authentication authentication) {
+    return ((UserPrincipal) authentication.getPrincipal()).getId();
   }
 
   private void requireOwnAccount(Long id, Authentication authentication) {
-    if (!currentUser(authentication).getId().equals(id)) {
+    if (!currentUserId(authentication).equals(id)) {
       throw new UserNotFoundException(id);
     }
   }
@@ -17,7 +17,7 @@ public record BudgetFilter(YearMonth month, Long categoryId) {
         return new BudgetFilter(null, null);
     }
 
-    private static YearMonth parseMonth(String month) {
+    public static YearMonth parseMonth(String month) {
         if (month == null) {
             return null;
         }
@@ -0,0 +1,16 @@
+package hu.financial.dto.budget;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+
+public record BudgetSheetDto(
+        @NotEmpty(message = "Budget sheet must list at least one budget")
+        @Size(max = BudgetSheetDto.MAX_BUDGETS, message = "Budget sheet must list at most " + BudgetSheetDto.MAX_BUDGETS + " budgets")
+        List<@Valid @NotNull(message = "Budget sheet entries must not be null") BudgetSheetItemDto> budgets
+) {
+
+    public static final int MAX_BUDGETS = 500;
+}
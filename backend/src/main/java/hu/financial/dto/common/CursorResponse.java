@@ -0,0 +1,19 @@
+package hu.financial.dto.common;
+
+import java.util.List;
+import java.util.function.Function;
+
+public record CursorResponse<T>(
+        List<T> content,
+        int size,
+        String nextCursor,
+        boolean hasNext) {
+
+    public CursorResponse {
+        content = content == null ? List.of() : List.copyOf(content);
+    }
+
+    public <R> CursorResponse<R> map(Function<? super T, ? extends R> mapper) {
+        return new CursorResponse<>(content.stream().<R>map(mapper).toList(), size, nextCursor, hasNext);
+    }
+}
@@ -2,14 +2,16 @@ package hu.financial.dto.common;
 
 import java.util.List;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 
 public record PageResponse<T>(
         List<T> content,
         int page,
         int size,
-        long totalElements,
-        int totalPages,
+        @JsonInclude(JsonInclude.Include.NON_NULL) Long totalElements,
+        @JsonInclude(JsonInclude.Include.NON_NULL) Integer totalPages,
         boolean first,
         boolean last) {
 
@@ -27,4 +29,15 @@ public record PageResponse<T>(
                 page.isFirst(),
                 page.isLast());
     }
+
+    public static <T> PageResponse<T> withoutTotals(Slice<T> slice) {
+        return new PageResponse<>(
+                slice.getContent(),
+                slice.getNumber(),
+                slice.getSize(),
+                null,
+                null,
+                slice.isFirst(),
+                slice.isLast());
+    }
 }
@@ -0,0 +1,9 @@
+package hu.financial.dto.report;
+
+public record DashboardResponseDto(
+        String month,
+        SummaryResponseDto summary,
+        CategoryBreakdownResponseDto categories,
+        TrendResponseDto trend,
+        BudgetStatusResponseDto budgetStatus) {
+}
@@ -0,0 +1,13 @@
+package hu.financial.dto.report;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public record RangeBudgetStatusResponseDto(
+        String from,
+        String to,
+        BigDecimal totalBudgeted,
+        BigDecimal totalSpent,
+        BigDecimal unbudgetedSpending,
+        List<BudgetStatusItemDto> categories) {
+}
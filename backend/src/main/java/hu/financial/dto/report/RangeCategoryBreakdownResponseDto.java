@@ -0,0 +1,11 @@
+package hu.financial.dto.report;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public record RangeCategoryBreakdownResponseDto(
+        String from,
+        String to,
+        BigDecimal total,
+        List<CategoryBreakdownItemDto> categories) {
+}
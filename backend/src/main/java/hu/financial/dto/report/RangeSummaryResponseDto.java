@@ -0,0 +1,12 @@
+package hu.financial.dto.report;
+
+public record RangeSummaryResponseDto(
+        String from,
+        String to,
+        String previousFrom,
+        String previousTo,
+        MetricSummaryDto balance,
+        MetricSummaryDto income,
+        MetricSummaryDto expense,
+        SavingsRateSummaryDto savingsRate) {
+}
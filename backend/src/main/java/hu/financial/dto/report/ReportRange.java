@@ -0,0 +1,109 @@
+package hu.financial.dto.report;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import hu.financial.exception.InvalidRequestParameterException;
+
+public record ReportRange(LocalDate from, LocalDate to) {
+
+    public static final String FROM_PARAMETER = "from";
+
+    public static final String TO_PARAMETER = "to";
+
+    public static final int MAX_YEARS = 10;
+
+    public ReportRange {
+        requireRepresentableNeighbours(from, to);
+        requireOrderedAndBounded(from, to);
+    }
+
+    public static ReportRange of(String from, String to) {
+        return new ReportRange(parseDate(FROM_PARAMETER, from), parseDate(TO_PARAMETER, to));
+    }
+
+    // A range of whole months counted from any day (a quarter, or the 25th to
+    // the 24th) is compared with the same number of months before it; any
+    // other range with the same number of days before it.
+    public ReportRange previous() {
+        LocalDate end = to.plusDays(1);
+        long months = ChronoUnit.MONTHS.between(from, end);
+        if (months > 0 && from.plusMonths(months).equals(end)) {
+            return new ReportRange(from.minusMonths(months), from.minusDays(1));
+        }
+        return new ReportRange(from.minusDays(ChronoUnit.DAYS.between(from, end)), from.minusDays(1));
+    }
+
+    public Optional<ReportRange> wholeMonths() {
+        YearMonth fromMonth = YearMonth.from(from);
+        YearMonth toMonth = YearMonth.from(to);
+        YearMonth first = from.equals(fromMonth.atDay(1)) ? fromMonth : fromMonth.plusMonths(1);
+        YearMonth last = to.equals(toMonth.atEndOfMonth()) ? toMonth : toMonth.minusMonths(1);
+        if (first.isAfter(last)) {
+            return Optional.empty();
+        }
+        return Optional.of(new ReportRange(first.atDay(1), last.atEndOfMonth()));
+    }
+
+    public List<ReportRange> partialMonths() {
+        Optional<ReportRange> wholeMonths = wholeMonths();
+        if (wholeMonths.isEmpty()) {
+            return List.of(this);
+        }
+        List<ReportRange> edges = new ArrayList<>(2);
+        if (from.isBefore(wholeMonths.get().from())) {
+            edges.add(new ReportRange(from, wholeMonths.get().from().minusDays(1)));
+        }
+        if (to.isAfter(wholeMonths.get().to())) {
+            edges.add(new ReportRange(wholeMonths.get().to().plusDays(1), to));
+        }
+        return edges;
+    }
+
+    public long daysIn(YearMonth month) {
+        LocalDate start = from.isAfter(month.atDay(1)) ? from : month.atDay(1);
+        LocalDate end = to.isBefore(month.atEndOfMonth()) ? to : month.atEndOfMonth();
+        return start.isAfter(end) ? 0 : ChronoUnit.DAYS.between(start, end) + 1;
+    }
+
+    private static LocalDate parseDate(String parameter, String date) {
+        if (date == null) {
+            throw new InvalidRequestParameterException(parameter, "is required");
+        }
+        try {
+            return LocalDate.parse(date);
+        } catch (DateTimeParseException ex) {
+            throw new InvalidRequestParameterException(parameter, "must be a date in YYYY-MM-DD format");
+        }
+    }
+
+    private static void requireRepresentableNeighbours(LocalDate from, LocalDate to) {
+        try {
+            from.minusYears(MAX_YEARS + 1L);
+        } catch (DateTimeException ex) {
+            throw new InvalidRequestParameterException(FROM_PARAMETER,
+                    "must be a date preceded by a representable range of the same length");
+        }
+        try {
+            to.plusDays(1);
+        } catch (DateTimeException ex) {
+            throw new InvalidRequestParameterException(TO_PARAMETER, "must be a date followed by a representable day");
+        }
+    }
+
+    private static void requireOrderedAndBounded(LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) {
+            throw new InvalidRequestParameterException(TO_PARAMETER, "must not be before from");
+        }
+        if (!to.minusYears(MAX_YEARS).isBefore(from)) {
+            throw new InvalidRequestParameterException(TO_PARAMETER,
+                    "must be less than " + MAX_YEARS + " years after from");
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package hu.financial.dto.report;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+import hu.financial.exception.InvalidRequestParameterException;
+
+public enum TrendGranularity {
+
+    DAY(12),
+    WEEK(24),
+    MONTH(120);
+
+    public static final String PARAMETER = "granularity";
+
+    private final int maxMonths;
+
+    TrendGranularity(int maxMonths) {
+        this.maxMonths = maxMonths;
+    }
+
+    public int maxMonths() {
+        return maxMonths;
+    }
+
+    public static TrendGranularity of(String granularity) {
+        if (granularity == null) {
+            return MONTH;
+        }
+        try {
+            return valueOf(granularity.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidRequestParameterException(PARAMETER, "must be one of " + Arrays.stream(values())
+                    .map(TrendGranularity::name)
+                    .collect(Collectors.joining(", ")));
+        }
+    }
+
+    // Weeks start on Monday, so the first and last week of a window may be
+    // partial; they only count the days inside the window.
+    public LocalDate bucketStart(LocalDate day) {
+        return switch (this) {
+            case DAY -> day;
+            case WEEK -> day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTH -> day.withDayOfMonth(1);
+        };
+    }
+
+    public LocalDate nextBucket(LocalDate bucketStart) {
+        return switch (this) {
+            case DAY -> bucketStart.plusDays(1);
+            case WEEK -> bucketStart.plusWeeks(1);
+            case MONTH -> bucketStart.plusMonths(1);
+        };
+    }
+}
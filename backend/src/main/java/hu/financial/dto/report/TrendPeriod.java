@@ -3,12 +3,14 @@ package hu.financial.dto.report;
 import java.time.DateTimeException;
 import java.time.LocalDate;
 import java.time.YearMonth;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 import java.util.stream.IntStream;
 
 import hu.financial.exception.InvalidRequestParameterException;
 
-public record TrendPeriod(YearMonth month, int months) {
+public record TrendPeriod(YearMonth month, int months, TrendGranularity granularity) {
 
     public static final String MONTHS_PARAMETER = "months";
 
@@ -16,21 +18,32 @@ public record TrendPeriod(YearMonth month, int months) {
 
     public static final int MIN_MONTHS = 1;
 
-    public static final int MAX_MONTHS = 24;
-
     public TrendPeriod {
-        requireSupportedLength(months);
+        requireSupportedLength(months, granularity);
         requireRepresentableRange(month, months);
     }
 
+    public TrendPeriod(YearMonth month, int months) {
+        this(month, months, TrendGranularity.MONTH);
+    }
+
     public static TrendPeriod of(String month, Integer months) {
         return of(month, months, YearMonth.now());
     }
 
+    public static TrendPeriod of(String month, Integer months, String granularity) {
+        return of(month, months, TrendGranularity.of(granularity), YearMonth.now());
+    }
+
     public static TrendPeriod of(String month, Integer months, YearMonth serverMonth) {
+        return of(month, months, TrendGranularity.MONTH, serverMonth);
+    }
+
+    public static TrendPeriod of(String month, Integer months, TrendGranularity granularity, YearMonth serverMonth) {
         return new TrendPeriod(
                 ReportPeriod.parseMonth(month, serverMonth),
-                months == null ? DEFAULT_MONTHS : months);
+                months == null ? DEFAULT_MONTHS : months,
+                granularity);
     }
 
     public YearMonth firstMonth() {
@@ -50,10 +63,20 @@ public record TrendPeriod(YearMonth month, int months) {
         return IntStream.range(0, months).mapToObj(offset -> first.plusMonths(offset)).toList();
     }
 
-    private static void requireSupportedLength(int months) {
-        if (months < MIN_MONTHS || months > MAX_MONTHS) {
+    public List<LocalDate> bucketsInOrder() {
+        List<LocalDate> buckets = new ArrayList<>();
+        for (LocalDate bucket = granularity.bucketStart(start()); !bucket.isAfter(end());
+                bucket = granularity.nextBucket(bucket)) {
+            buckets.add(bucket);
+        }
+        return buckets;
+    }
+
+    private static void requireSupportedLength(int months, TrendGranularity granularity) {
+        if (months < MIN_MONTHS || months > granularity.maxMonths()) {
             throw new InvalidRequestParameterException(MONTHS_PARAMETER,
-                    "must be an integer between " + MIN_MONTHS + " and " + MAX_MONTHS);
+                    "must be an integer between " + MIN_MONTHS + " and " + granularity.maxMonths()
+                            + " for " + granularity.name().toLowerCase(Locale.ROOT) + " buckets");
         }
     }
 
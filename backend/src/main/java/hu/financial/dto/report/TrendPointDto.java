@@ -2,5 +2,5 @@ package hu.financial.dto.report;
 
 import java.math.BigDecimal;
 
-public record TrendPointDto(String month, BigDecimal income, BigDecimal expense) {
+public record TrendPointDto(String month, String start, BigDecimal income, BigDecimal expense) {
 }
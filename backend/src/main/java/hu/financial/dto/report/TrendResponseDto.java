@@ -2,5 +2,5 @@ package hu.financial.dto.report;
 
 import java.util.List;
 
-public record TrendResponseDto(String month, int months, List<TrendPointDto> points) {
+public record TrendResponseDto(String month, int months, TrendGranularity granularity, List<TrendPointDto> points) {
 }
@@ -0,0 +1,96 @@
+package hu.financial.dto.transaction;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+import org.springframework.data.domain.Sort;
+
+import hu.financial.exception.InvalidRequestParameterException;
+import hu.financial.repository.projection.TransactionRow;
+
+public record TransactionCursor(List<Key> keys) {
+
+    public static final String PARAMETER_NAME = "cursor";
+
+    private static final String KEY_SEPARATOR = ";";
+
+    private static final String PART_SEPARATOR = ",";
+
+    public record Key(String property, Sort.Direction direction, Comparable<?> value) {
+    }
+
+    public TransactionCursor {
+        keys = List.copyOf(keys);
+    }
+
+    public static TransactionCursor after(TransactionRow last, Sort sort) {
+        List<Key> keys = new ArrayList<>();
+        for (Sort.Order order : sort) {
+            keys.add(new Key(order.getProperty(), order.getDirection(), valueOf(last, order.getProperty())));
+        }
+        return new TransactionCursor(keys);
+    }
+
+    public String encode() {
+        List<String> parts = new ArrayList<>();
+        for (Key key : keys) {
+            parts.add(key.property() + PART_SEPARATOR + key.direction().name() + PART_SEPARATOR + key.value());
+        }
+        byte[] raw = String.join(KEY_SEPARATOR, parts).getBytes(StandardCharsets.UTF_8);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw);
+    }
+
+    public static TransactionCursor decode(String cursor, Sort sort) {
+        String[] parts;
+        try {
+            parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(KEY_SEPARATOR, -1);
+        } catch (IllegalArgumentException e) {
+            throw invalid();
+        }
+        List<Sort.Order> orders = sort.toList();
+        if (parts.length != orders.size()) {
+            throw invalid();
+        }
+        List<Key> keys = new ArrayList<>();
+        for (int i = 0; i < parts.length; i++) {
+            String[] fields = parts[i].split(PART_SEPARATOR, -1);
+            Sort.Order order = orders.get(i);
+            if (fields.length != 3 || !order.getProperty().equals(fields[0])
+                    || !order.getDirection().name().equals(fields[1])) {
+                throw invalid();
+            }
+            keys.add(new Key(order.getProperty(), order.getDirection(), parse(order.getProperty(), fields[2])));
+        }
+        return new TransactionCursor(keys);
+    }
+
+    private static Comparable<?> valueOf(TransactionRow row, String property) {
+        return switch (property) {
+            case "date" -> row.date();
+            case "amount" -> row.amount();
+            case "id" -> row.id();
+            default -> throw new IllegalArgumentException("Transactions cannot be scrolled by " + property);
+        };
+    }
+
+    private static Comparable<?> parse(String property, String value) {
+        try {
+            return switch (property) {
+                case "date" -> LocalDate.parse(value);
+                case "amount" -> new BigDecimal(value);
+                case "id" -> Long.valueOf(value);
+                default -> throw invalid();
+            };
+        } catch (RuntimeException e) {
+            throw invalid();
+        }
+    }
+
+    private static InvalidRequestParameterException invalid() {
+        return new InvalidRequestParameterException(PARAMETER_NAME, "is not a valid cursor for the requested sort");
+    }
+}
@@ -0,0 +1,19 @@
+package hu.financial.dto.transaction;
+
+import java.util.List;
+
+public record TransactionImportResultDto(
+        int imported,
+        int rejected,
+        List<RowError> errors,
+        boolean errorsTruncated,
+        long elapsedMillis,
+        long rowsPerSecond) {
+
+    public record RowError(long line, String message) {
+    }
+
+    public TransactionImportResultDto {
+        errors = errors == null ? List.of() : List.copyOf(errors);
+    }
+}
@@ -0,0 +1,33 @@
+package hu.financial.dto.transaction;
+
+import org.springframework.http.MediaType;
+
+public enum TransferFormat {
+    CSV(TransferFormat.CSV_MEDIA_TYPE, "csv"),
+    NDJSON(TransferFormat.NDJSON_MEDIA_TYPE, "ndjson");
+
+    public static final String CSV_MEDIA_TYPE = "text/csv";
+
+    public static final String NDJSON_MEDIA_TYPE = "application/x-ndjson";
+
+    private final String mediaType;
+    private final String extension;
+
+    TransferFormat(String mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    public MediaType mediaType() {
+        return MediaType.parseMediaType(mediaType);
+    }
+
+    public String extension() {
+        return extension;
+    }
+
+    public static TransferFormat of(String contentType) {
+        MediaType mediaType = MediaType.parseMediaType(contentType);
+        return mediaType.isCompatibleWith(MediaType.parseMediaType(NDJSON_MEDIA_TYPE)) ? NDJSON : CSV;
+    }
+}
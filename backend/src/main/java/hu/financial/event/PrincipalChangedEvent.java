@@ -0,0 +1,10 @@
+package hu.financial.event;
+
+import java.util.List;
+
+public record PrincipalChangedEvent(Long userId, List<String> subjects) {
+
+    public PrincipalChangedEvent {
+        subjects = List.copyOf(subjects);
+    }
+}
@@ -0,0 +1,4 @@
+package hu.financial.event;
+
+public record UserDataChangedEvent(Long userId) {
+}
@@ -0,0 +1,12 @@
+package hu.financial.exception.transaction;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class TransferUnavailableException extends RuntimeException {
+
+    public TransferUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -8,14 +8,19 @@ import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import java.util.Arrays;
 
+import hu.financial.security.AuthenticatedUser;
+import hu.financial.security.CredentialVersionCache;
+import hu.financial.security.PrincipalCache;
 import hu.financial.security.SecurityCookieFactory;
+import hu.financial.security.TokenRevocationList;
 import hu.financial.service.JwtService;
+import hu.financial.service.UserService;
 import io.jsonwebtoken.JwtException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
@@ -29,11 +34,22 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private static final Logger log = LoggerFactory.getLogger(JwtAuthenticationFilter.class);
 
     private final JwtService jwtService;
-    private final UserDetailsService userDetailsService;
+    private final UserService userService;
+    private final PrincipalCache principalCache;
+    private final CredentialVersionCache credentialVersionCache;
+    private final TokenRevocationList tokenRevocationList;
+    private final boolean statelessPrincipal;
 
-    public JwtAuthenticationFilter(JwtService jwtService, UserDetailsService userDetailsService) {
+    public JwtAuthenticationFilter(JwtService jwtService, UserService userService,
+            PrincipalCache principalCache, CredentialVersionCache credentialVersionCache,
+            TokenRevocationList tokenRevocationList,
+            @Value("${security.jwt.stateless-principal:false}") boolean statelessPrincipal) {
         this.jwtService = jwtService;
-        this.userDetailsService = userDetailsService;
+        this.userService = userService;
+        this.principalCache = principalCache;
+        this.credentialVersionCache = credentialVersionCache;
+        this.tokenRevocationList = tokenRevocationList;
+        this.statelessPrincipal = statelessPrincipal;
     }
 
     @Override
@@ -53,14 +69,15 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private void authenticate(HttpServletRequest request, String token) {
         try {
-            String username = jwtService.extractUsername(token);
-            if (username == null) {
+            if (tokenRevocationList.isRevoked(jwtService.extractTokenId(token))) {
+                log.debug("Rejected authToken cookie: token has been revoked");
                 return;
             }
-
-            UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-            if (!jwtService.isTokenValid(token, userDetails)) {
-                log.debug("Rejected authToken cookie: token is not valid for user {}", username);
+            UserDetails userDetails = statelessPrincipal ? resolveFromClaims(token) : null;
+            if (userDetails == null) {
+                userDetails = resolveFromUserStore(token);
+            }
+            if (userDetails == null) {
                 return;
             }
 
@@ -75,6 +92,31 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
     }
 
+    private UserDetails resolveFromClaims(String token) {
+        AuthenticatedUser principal = jwtService.extractAuthenticatedUser(token).orElse(null);
+        if (principal == null) {
+            return null;
+        }
+        if (!credentialVersionCache.isCurrent(principal, userService::findCredentialVersion)) {
+            throw new UsernameNotFoundException("Credentials of user " + principal.username() + " have changed");
+        }
+        return principal;
+    }
+
+    private UserDetails resolveFromUserStore(String token) {
+        String username = jwtService.extractUsername(token);
+        if (username == null) {
+            return null;
+        }
+
+        UserDetails userDetails = principalCache.get(username, userService::loadUserByUsername);
+        if (!jwtService.isTokenValid(token, userDetails)) {
+            log.debug("Rejected authToken cookie: token is not valid for user {}", username);
+            return null;
+        }
+        return userDetails;
+    }
+
     private String extractTokenFromCookie(HttpServletRequest request) {
         Cookie[] cookies = request.getCookies();
         if (cookies == null) {
@@ -0,0 +1,27 @@
+package hu.financial.model;
+
+import java.math.BigDecimal;
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "balance_checkpoints")
+public class BalanceCheckpoint {
+
+    @EmbeddedId
+    private BalanceCheckpointId id;
+
+    @Column(name = "income_to_date", nullable = false, precision = 19, scale = 2)
+    private BigDecimal incomeToDate;
+
+    @Column(name = "expense_to_date", nullable = false, precision = 19, scale = 2)
+    private BigDecimal expenseToDate;
+}
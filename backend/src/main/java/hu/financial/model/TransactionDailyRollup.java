@@ -0,0 +1,27 @@
+package hu.financial.model;
+
+import java.math.BigDecimal;
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "transaction_daily_rollup")
+public class TransactionDailyRollup {
+
+    @EmbeddedId
+    private TransactionDailyRollupId id;
+
+    @Column(name = "total", nullable = false, precision = 19, scale = 2)
+    private BigDecimal total;
+
+    @Column(name = "transaction_count", nullable = false)
+    private long transactionCount;
+}
@@ -0,0 +1,65 @@
+package hu.financial.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import hu.financial.model.BalanceCheckpoint;
+import hu.financial.model.BalanceCheckpointId;
+import hu.financial.model.enums.TransactionType;
+
+@Repository
+public interface BalanceCheckpointRepository extends JpaRepository<BalanceCheckpoint, BalanceCheckpointId> {
+
+    @Query("""
+            SELECT b FROM BalanceCheckpoint b
+            WHERE b.id.userId = :userId AND b.id.month <= :date
+            ORDER BY b.id.month DESC
+            LIMIT 1
+            """)
+    Optional<BalanceCheckpoint> findClosingAt(@Param("userId") Long userId, @Param("date") LocalDate date);
+
+    // Seed and shift read each other's rows, and the rollup rebuild recomputes a user's
+    // totals from scratch, so every write for one user takes the owner's row lock before
+    // touching rollups or checkpoints and they run one after another.
+    @Query(value = "SELECT id FROM users WHERE id = :userId FOR UPDATE", nativeQuery = true)
+    Long lockOwner(@Param("userId") Long userId);
+
+    @Modifying
+    @Query(value = """
+            INSERT INTO balance_checkpoints (user_id, month_value, income_to_date, expense_to_date)
+            VALUES (:userId, :month,
+                COALESCE((SELECT p.income_to_date FROM balance_checkpoints p
+                    WHERE p.user_id = :userId AND p.month_value < :month ORDER BY p.month_value DESC LIMIT 1), 0),
+                COALESCE((SELECT p.expense_to_date FROM balance_checkpoints p
+                    WHERE p.user_id = :userId AND p.month_value < :month ORDER BY p.month_value DESC LIMIT 1), 0))
+            ON CONFLICT (user_id, month_value) DO NOTHING
+            """, nativeQuery = true)
+    void seed(@Param("userId") Long userId, @Param("month") LocalDate month);
+
+    @Modifying
+    @Query(value = """
+            UPDATE balance_checkpoints
+            SET income_to_date = income_to_date + :income, expense_to_date = expense_to_date + :expense
+            WHERE user_id = :userId AND month_value >= :month
+            """, nativeQuery = true)
+    void shift(
+            @Param("userId") Long userId,
+            @Param("month") LocalDate month,
+            @Param("income") BigDecimal income,
+            @Param("expense") BigDecimal expense);
+
+    default void add(Long userId, LocalDate month, TransactionType type, BigDecimal amount) {
+        lockOwner(userId);
+        seed(userId, month);
+        shift(userId, month,
+                type == TransactionType.INCOME ? amount : BigDecimal.ZERO,
+                type == TransactionType.EXPENSE ? amount : BigDecimal.ZERO);
+    }
+}
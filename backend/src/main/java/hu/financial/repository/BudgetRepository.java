@@ -1,23 +1,99 @@
 package hu.financial.repository;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import hu.financial.model.Budget;
 import hu.financial.model.Category;
-import hu.financial.model.User;
+import hu.financial.repository.projection.BudgetRow;
 import hu.financial.repository.projection.CategoryBudgetTotal;
+import hu.financial.repository.projection.MonthlyCategoryBudget;
+import hu.financial.repository.projection.UpsertedBudget;
 
 @Repository
 public interface BudgetRepository extends JpaRepository<Budget, Long>, JpaSpecificationExecutor<Budget> {
 
-    Budget findByUserAndCategoryAndMonth(User user, Category category, LocalDate month);
+    @Query(value = """
+            WITH upserted AS (
+                INSERT INTO budgets (user_id, category_id, month_value, amount)
+                SELECT c.user_id, c.id, :month, :amount
+                FROM categories c
+                WHERE c.id = :categoryId
+                    AND c.user_id = :userId
+                ON CONFLICT (user_id, category_id, month_value) DO UPDATE SET amount = EXCLUDED.amount
+                RETURNING id, amount, month_value, category_id)
+            SELECT u.id AS "id", u.amount AS "amount", u.month_value AS "month", u.category_id AS "categoryId",
+                c.name AS "categoryName"
+            FROM upserted u
+            JOIN categories c ON c.id = u.category_id
+            """, nativeQuery = true)
+    Optional<UpsertedBudget> upsertOwned(
+            @Param("userId") Long userId,
+            @Param("categoryId") Long categoryId,
+            @Param("month") LocalDate month,
+            @Param("amount") BigDecimal amount);
+
+    @Query(value = """
+            WITH upserted AS (
+                INSERT INTO budgets (user_id, category_id, month_value, amount)
+                SELECT c.user_id, c.id, :month, sheet.amount
+                FROM unnest(CAST(:categoryIds AS bigint[]), CAST(:amounts AS numeric[])) AS sheet(category_id, amount)
+                JOIN categories c ON c.id = sheet.category_id
+                    AND c.user_id = :userId
+                ON CONFLICT (user_id, category_id, month_value) DO UPDATE SET amount = EXCLUDED.amount
+                RETURNING id, amount, month_value, category_id)
+            SELECT u.id AS "id", u.amount AS "amount", u.month_value AS "month", u.category_id AS "categoryId",
+                c.name AS "categoryName"
+            FROM upserted u
+            JOIN categories c ON c.id = u.category_id
+            ORDER BY c.name, u.id
+            """, nativeQuery = true)
+    List<UpsertedBudget> upsertOwnedMonth(
+            @Param("userId") Long userId,
+            @Param("month") LocalDate month,
+            @Param("categoryIds") Long[] categoryIds,
+            @Param("amounts") BigDecimal[] amounts);
+
+    @Query("""
+            SELECT new hu.financial.repository.projection.BudgetRow(
+                b.id,
+                b.amount,
+                b.month,
+                c.id,
+                c.name)
+            FROM Budget b
+            JOIN b.category c
+            WHERE b.id = :id
+                AND b.user.id = :userId
+            """)
+    Optional<BudgetRow> findOwnedRow(@Param("id") Long id, @Param("userId") Long userId);
+
+    @Modifying
+    @Query("""
+            UPDATE Budget b
+            SET b.amount = :amount, b.month = :month, b.category = :category
+            WHERE b.id = :id
+                AND b.user.id = :userId
+            """)
+    int updateOwned(
+            @Param("id") Long id,
+            @Param("userId") Long userId,
+            @Param("amount") BigDecimal amount,
+            @Param("month") LocalDate month,
+            @Param("category") Category category);
+
+    @Modifying
+    @Query("DELETE FROM Budget b WHERE b.id = :id AND b.user.id = :userId")
+    int deleteOwned(@Param("id") Long id, @Param("userId") Long userId);
 
     @Query("""
             SELECT new hu.financial.repository.projection.CategoryBudgetTotal(
@@ -35,4 +111,36 @@ public interface BudgetRepository extends JpaRepository<Budget, Long>, JpaSpecif
             @Param("userId") Long userId,
             @Param("start") LocalDate start,
             @Param("end") LocalDate end);
+
+    @Query("""
+            SELECT new hu.financial.repository.projection.MonthlyCategoryBudget(
+                b.category.id,
+                b.category.name,
+                b.month,
+                b.amount)
+            FROM Budget b
+            WHERE b.user.id = :userId
+                AND b.month >= :start
+                AND b.month <= :end
+            ORDER BY b.category.id ASC, b.month ASC
+            """)
+    List<MonthlyCategoryBudget> findMonthlyBudgets(
+            @Param("userId") Long userId,
+            @Param("start") LocalDate start,
+            @Param("end") LocalDate end);
+
+    @Query("""
+            SELECT new hu.financial.repository.projection.CategoryBudgetTotal(
+                b.category.id,
+                b.category.name,
+                b.amount)
+            FROM Budget b
+            WHERE b.user.id = :userId
+                AND b.category.id = :categoryId
+                AND b.month = :month
+            """)
+    Optional<CategoryBudgetTotal> findCategoryBudget(
+            @Param("userId") Long userId,
+            @Param("categoryId") Long categoryId,
+            @Param("month") LocalDate month);
 }
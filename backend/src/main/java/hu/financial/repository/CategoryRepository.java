@@ -1,7 +1,13 @@
 package hu.financial.repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import hu.financial.model.Category;
@@ -13,4 +19,21 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
     Category findByUserAndName(User user, String name);
 
     List<Category> findByUserId(Long userId);
+
+    Optional<Category> findByIdAndUserId(Long id, Long userId);
+
+    @Modifying
+    @Query("UPDATE Category c SET c.name = :name, c.description = :description WHERE c.id = :id AND c.user.id = :userId")
+    int updateOwned(
+            @Param("id") Long id,
+            @Param("userId") Long userId,
+            @Param("name") String name,
+            @Param("description") String description);
+
+    @Modifying
+    @Query("DELETE FROM Category c WHERE c.id = :id AND c.user.id = :userId")
+    int deleteOwned(@Param("id") Long id, @Param("userId") Long userId);
+
+    @Query("SELECT c.id FROM Category c WHERE c.user.id = :userId AND c.id IN :ids")
+    Set<Long> findOwnedIds(@Param("userId") Long userId, @Param("ids") Collection<Long> ids);
 }
\ No newline at end of file
@@ -0,0 +1,55 @@
+package hu.financial.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import hu.financial.model.TransactionDailyRollup;
+import hu.financial.model.TransactionDailyRollupId;
+import hu.financial.model.enums.TransactionType;
+import hu.financial.repository.projection.DailyTotals;
+
+@Repository
+public interface TransactionDailyRollupRepository
+        extends JpaRepository<TransactionDailyRollup, TransactionDailyRollupId> {
+
+    @Modifying
+    @Query(value = """
+            INSERT INTO transaction_daily_rollup (user_id, day_value, type, total, transaction_count)
+            VALUES (:userId, :day, :type, :total, :count)
+            ON CONFLICT (user_id, day_value, type)
+            DO UPDATE SET total = transaction_daily_rollup.total + EXCLUDED.total,
+                transaction_count = transaction_daily_rollup.transaction_count + EXCLUDED.transaction_count
+            """, nativeQuery = true)
+    void add(
+            @Param("userId") Long userId,
+            @Param("day") LocalDate day,
+            @Param("type") String type,
+            @Param("total") BigDecimal total,
+            @Param("count") long count);
+
+    @Query("""
+            SELECT new hu.financial.repository.projection.DailyTotals(
+                r.id.day,
+                SUM(CASE WHEN r.id.type = :income THEN r.total END),
+                SUM(CASE WHEN r.id.type = :expense THEN r.total END))
+            FROM TransactionDailyRollup r
+            WHERE r.id.userId = :userId
+                AND r.id.day >= :start
+                AND r.id.day <= :end
+            GROUP BY r.id.day
+            ORDER BY r.id.day ASC
+            """)
+    List<DailyTotals> summarizeDailyTotals(
+            @Param("userId") Long userId,
+            @Param("start") LocalDate start,
+            @Param("end") LocalDate end,
+            @Param("income") TransactionType income,
+            @Param("expense") TransactionType expense);
+}
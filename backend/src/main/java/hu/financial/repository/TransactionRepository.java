@@ -1,7 +1,9 @@
 package hu.financial.repository;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
@@ -12,70 +14,74 @@ import org.springframework.stereotype.Repository;
 import hu.financial.model.Transaction;
 import hu.financial.model.enums.TransactionType;
 import hu.financial.repository.projection.CategoryExpenseTotal;
-import hu.financial.repository.projection.MonthlyTotals;
-import hu.financial.repository.projection.TransactionTotals;
+import hu.financial.repository.projection.TransactionPosting;
+import hu.financial.repository.projection.TransactionRow;
 
 @Repository
-public interface TransactionRepository extends JpaRepository<Transaction, Long>, JpaSpecificationExecutor<Transaction> {
+public interface TransactionRepository extends JpaRepository<Transaction, Long>, JpaSpecificationExecutor<Transaction>,
+        TransactionRowRepository {
 
     @Query("""
-            SELECT new hu.financial.repository.projection.TransactionTotals(
-                SUM(CASE WHEN t.type = :income AND t.date >= :currentStart AND t.date <= :currentEnd THEN t.amount END),
-                SUM(CASE WHEN t.type = :expense AND t.date >= :currentStart AND t.date <= :currentEnd THEN t.amount END),
-                SUM(CASE WHEN t.type = :income AND t.date >= :previousStart AND t.date <= :previousEnd THEN t.amount END),
-                SUM(CASE WHEN t.type = :expense AND t.date >= :previousStart AND t.date <= :previousEnd THEN t.amount END),
-                SUM(CASE WHEN t.type = :income THEN t.amount END),
-                SUM(CASE WHEN t.type = :expense THEN t.amount END),
-                SUM(CASE WHEN t.type = :income AND t.date <= :previousEnd THEN t.amount END),
-                SUM(CASE WHEN t.type = :expense AND t.date <= :previousEnd THEN t.amount END))
+            SELECT new hu.financial.repository.projection.TransactionRow(
+                t.id,
+                t.type,
+                t.description,
+                c.id,
+                c.name,
+                t.amount,
+                t.date)
             FROM Transaction t
-            WHERE t.user.id = :userId AND t.date <= :currentEnd
+            JOIN t.category c
+            WHERE t.id = :id
+                AND t.user.id = :userId
             """)
-    TransactionTotals summarize(
+    Optional<TransactionRow> findOwnedRow(@Param("id") Long id, @Param("userId") Long userId);
+
+    @Query(value = """
+            WITH previous AS (
+                SELECT id, type, category_id, amount, date
+                FROM transactions
+                WHERE id = :id AND user_id = :userId
+                FOR UPDATE)
+            UPDATE transactions t
+            SET type = :type, description = :description, category_id = :categoryId, amount = :amount, date = :date
+            FROM previous
+            WHERE t.id = previous.id
+            RETURNING previous.type AS "type", previous.category_id AS "categoryId", previous.amount AS "amount",
+                previous.date AS "date"
+            """, nativeQuery = true)
+    Optional<TransactionPosting> updateOwned(
+            @Param("id") Long id,
             @Param("userId") Long userId,
-            @Param("currentStart") LocalDate currentStart,
-            @Param("currentEnd") LocalDate currentEnd,
-            @Param("previousStart") LocalDate previousStart,
-            @Param("previousEnd") LocalDate previousEnd,
-            @Param("income") TransactionType income,
-            @Param("expense") TransactionType expense);
+            @Param("type") String type,
+            @Param("description") String description,
+            @Param("categoryId") Long categoryId,
+            @Param("amount") BigDecimal amount,
+            @Param("date") LocalDate date);
+
+    @Query(value = """
+            DELETE FROM transactions
+            WHERE id = :id AND user_id = :userId
+            RETURNING type AS "type", category_id AS "categoryId", amount AS "amount", date AS "date"
+            """, nativeQuery = true)
+    Optional<TransactionPosting> deleteOwned(@Param("id") Long id, @Param("userId") Long userId);
 
     @Query("""
             SELECT new hu.financial.repository.projection.CategoryExpenseTotal(
-                t.category.id,
-                t.category.name,
+                c.id,
+                c.name,
                 SUM(t.amount))
             FROM Transaction t
+            JOIN t.category c
             WHERE t.user.id = :userId
                 AND t.type = :expense
                 AND t.date >= :start
                 AND t.date <= :end
-            GROUP BY t.category.id, t.category.name
-            ORDER BY SUM(t.amount) DESC, t.category.id ASC
+            GROUP BY c.id, c.name
             """)
     List<CategoryExpenseTotal> summarizeExpensesByCategory(
             @Param("userId") Long userId,
             @Param("start") LocalDate start,
             @Param("end") LocalDate end,
             @Param("expense") TransactionType expense);
-
-    @Query("""
-            SELECT new hu.financial.repository.projection.MonthlyTotals(
-                YEAR(t.date),
-                MONTH(t.date),
-                SUM(CASE WHEN t.type = :income THEN t.amount END),
-                SUM(CASE WHEN t.type = :expense THEN t.amount END))
-            FROM Transaction t
-            WHERE t.user.id = :userId
-                AND t.date >= :start
-                AND t.date <= :end
-            GROUP BY YEAR(t.date), MONTH(t.date)
-            ORDER BY YEAR(t.date) ASC, MONTH(t.date) ASC
-            """)
-    List<MonthlyTotals> summarizeMonthlyTotals(
-            @Param("userId") Long userId,
-            @Param("start") LocalDate start,
-            @Param("end") LocalDate end,
-            @Param("income") TransactionType income,
-            @Param("expense") TransactionType expense);
 }
@@ -0,0 +1,79 @@
+package hu.financial.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import hu.financial.model.TransactionMonthlyRollup;
+import hu.financial.model.TransactionMonthlyRollupId;
+import hu.financial.model.enums.TransactionType;
+import hu.financial.repository.projection.CategoryExpenseTotal;
+import hu.financial.repository.projection.MonthlyTotals;
+
+@Repository
+public interface TransactionRollupRepository
+        extends JpaRepository<TransactionMonthlyRollup, TransactionMonthlyRollupId> {
+
+    @Modifying
+    @Query(value = """
+            INSERT INTO transaction_monthly_rollup (user_id, month_value, category_id, type, total, transaction_count)
+            VALUES (:userId, :month, :categoryId, :type, :total, :count)
+            ON CONFLICT (user_id, month_value, category_id, type)
+            DO UPDATE SET total = transaction_monthly_rollup.total + EXCLUDED.total,
+                transaction_count = transaction_monthly_rollup.transaction_count + EXCLUDED.transaction_count
+            """, nativeQuery = true)
+    void add(
+            @Param("userId") Long userId,
+            @Param("month") LocalDate month,
+            @Param("categoryId") Long categoryId,
+            @Param("type") String type,
+            @Param("total") BigDecimal total,
+            @Param("count") long count);
+
+    @Query("""
+            SELECT new hu.financial.repository.projection.CategoryExpenseTotal(
+                c.id,
+                c.name,
+                SUM(r.total))
+            FROM TransactionMonthlyRollup r
+            JOIN Category c ON c.id = r.id.categoryId
+            WHERE r.id.userId = :userId
+                AND r.id.type = :expense
+                AND r.id.month >= :start
+                AND r.id.month <= :end
+            GROUP BY c.id, c.name
+            HAVING SUM(r.transactionCount) > 0
+            ORDER BY SUM(r.total) DESC, c.id ASC
+            """)
+    List<CategoryExpenseTotal> summarizeExpensesByCategory(
+            @Param("userId") Long userId,
+            @Param("start") LocalDate start,
+            @Param("end") LocalDate end,
+            @Param("expense") TransactionType expense);
+
+    @Query("""
+            SELECT new hu.financial.repository.projection.MonthlyTotals(
+                YEAR(r.id.month),
+                MONTH(r.id.month),
+                SUM(CASE WHEN r.id.type = :income THEN r.total END),
+                SUM(CASE WHEN r.id.type = :expense THEN r.total END))
+            FROM TransactionMonthlyRollup r
+            WHERE r.id.userId = :userId
+                AND r.id.month >= :start
+                AND r.id.month <= :end
+            GROUP BY YEAR(r.id.month), MONTH(r.id.month)
+            ORDER BY YEAR(r.id.month) ASC, MONTH(r.id.month) ASC
+            """)
+    List<MonthlyTotals> summarizeMonthlyTotals(
+            @Param("userId") Long userId,
+            @Param("start") LocalDate start,
+            @Param("end") LocalDate end,
+            @Param("income") TransactionType income,
+            @Param("expense") TransactionType expense);
+}
@@ -0,0 +1,13 @@
+package hu.financial.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+
+import hu.financial.model.Transaction;
+import hu.financial.repository.projection.TransactionRow;
+
+public interface TransactionRowRepository {
+
+    Slice<TransactionRow> findRows(Specification<Transaction> specification, Pageable pageable);
+}
@@ -1,6 +1,10 @@
 package hu.financial.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 import hu.financial.model.User;
 
 
@@ -9,6 +13,16 @@ public interface UserRepository extends JpaRepository<User, Long> {
     User findByUsername(String username);
     User findByEmail(String email);
 
+    @Query("SELECT u.credentialVersion FROM User u WHERE u.id = :id")
+    Integer findCredentialVersionById(@Param("id") Long id);
+
+    @Query(value = "SELECT data_version FROM users WHERE id = :id", nativeQuery = true)
+    Long findDataVersionById(@Param("id") Long id);
+
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE users SET data_version = data_version + 1 WHERE id = :id", nativeQuery = true)
+    int incrementDataVersion(@Param("id") Long id);
+
    
 }
-
@@ -0,0 +1,12 @@
+package hu.financial.repository.projection;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public record BudgetRow(
+        Long id,
+        BigDecimal amount,
+        LocalDate month,
+        Long categoryId,
+        String categoryName) {
+}
@@ -0,0 +1,16 @@
+package hu.financial.repository.projection;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public record DailyTotals(LocalDate day, BigDecimal income, BigDecimal expense) {
+
+    public DailyTotals {
+        income = zeroIfNull(income);
+        expense = zeroIfNull(expense);
+    }
+
+    private static BigDecimal zeroIfNull(BigDecimal value) {
+        return value == null ? BigDecimal.ZERO : value;
+    }
+}
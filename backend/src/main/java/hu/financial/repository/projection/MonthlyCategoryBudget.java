@@ -0,0 +1,7 @@
+package hu.financial.repository.projection;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public record MonthlyCategoryBudget(Long categoryId, String categoryName, LocalDate month, BigDecimal amount) {
+}
@@ -0,0 +1,15 @@
+package hu.financial.repository.projection;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public interface TransactionPosting {
+
+    String getType();
+
+    Long getCategoryId();
+
+    BigDecimal getAmount();
+
+    LocalDate getDate();
+}
@@ -0,0 +1,16 @@
+package hu.financial.repository.projection;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import hu.financial.model.enums.TransactionType;
+
+public record TransactionRow(
+        Long id,
+        TransactionType type,
+        String description,
+        Long categoryId,
+        String categoryName,
+        BigDecimal amount,
+        LocalDate date) {
+}
@@ -0,0 +1,17 @@
+package hu.financial.repository.projection;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public interface UpsertedBudget {
+
+    Long getId();
+
+    BigDecimal getAmount();
+
+    LocalDate getMonth();
+
+    Long getCategoryId();
+
+    String getCategoryName();
+}
@@ -6,8 +6,10 @@ import java.util.List;
 
 import org.springframework.data.jpa.domain.Specification;
 
+import hu.financial.dto.transaction.TransactionCursor;
 import hu.financial.dto.transaction.TransactionFilter;
 import hu.financial.model.Transaction;
+import jakarta.persistence.criteria.Expression;
 import jakarta.persistence.criteria.Predicate;
 
 public final class TransactionSpecifications {
@@ -34,4 +36,28 @@ public final class TransactionSpecifications {
             return builder.and(predicates.toArray(new Predicate[0]));
         };
     }
+
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    public static Specification<Transaction> after(TransactionCursor cursor) {
+        return (root, query, builder) -> {
+            TransactionCursor.Key leading = cursor.keys().get(0);
+            Expression<Comparable> leadingPath = root.get(leading.property());
+            Predicate bound = leading.direction().isAscending()
+                    ? builder.greaterThanOrEqualTo(leadingPath, (Comparable) leading.value())
+                    : builder.lessThanOrEqualTo(leadingPath, (Comparable) leading.value());
+            List<Predicate> alternatives = new ArrayList<>();
+            List<Predicate> tied = new ArrayList<>();
+            for (TransactionCursor.Key key : cursor.keys()) {
+                Expression<Comparable> path = root.get(key.property());
+                Comparable value = key.value();
+                List<Predicate> alternative = new ArrayList<>(tied);
+                alternative.add(key.direction().isAscending()
+                        ? builder.greaterThan(path, value)
+                        : builder.lessThan(path, value));
+                alternatives.add(builder.and(alternative.toArray(new Predicate[0])));
+                tied.add(builder.equal(path, value));
+            }
+            return builder.and(bound, builder.or(alternatives.toArray(new Predicate[0])));
+        };
+    }
 }
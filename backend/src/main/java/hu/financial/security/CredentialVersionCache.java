@@ -0,0 +1,53 @@
+package hu.financial.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import hu.financial.event.PrincipalChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+@Component
+public class CredentialVersionCache implements MeterBinder {
+
+    public static final String CACHE_NAME = "credential-versions";
+
+    private final Cache<Long, Integer> versions;
+
+    public CredentialVersionCache(
+            @Value("${security.credential-version-cache.ttl:1m}") Duration ttl,
+            @Value("${security.credential-version-cache.maximum-size:100000}") long maximumSize) {
+        this.versions = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+    }
+
+    public boolean isCurrent(AuthenticatedUser principal, Function<Long, Integer> loader) {
+        return versions.get(principal.id(), loader) == principal.credentialVersion();
+    }
+
+    public void evict(Long userId) {
+        if (userId != null) {
+            versions.invalidate(userId);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onPrincipalChanged(PrincipalChangedEvent event) {
+        evict(event.userId());
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, versions, CACHE_NAME);
+    }
+}
@@ -0,0 +1,173 @@
+package hu.financial.security;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+public class LoginThrottle implements MeterBinder {
+
+    private static final String ACCOUNT_PREFIX = "account:";
+    private static final String ADDRESS_PREFIX = "address:";
+
+    private final Stripe[] stripes;
+    private final int accountFreeAttempts;
+    private final int addressFreeAttempts;
+    private final long baseDelayMillis;
+    private final long maxDelayMillis;
+    private final long resetAfterMillis;
+    private final Clock clock;
+    private final AtomicLong throttled = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+
+    @Autowired
+    public LoginThrottle(
+            @Value("${security.login-throttle.account-free-attempts:5}") int accountFreeAttempts,
+            @Value("${security.login-throttle.address-free-attempts:20}") int addressFreeAttempts,
+            @Value("${security.login-throttle.base-delay:1s}") Duration baseDelay,
+            @Value("${security.login-throttle.max-delay:15m}") Duration maxDelay,
+            @Value("${security.login-throttle.reset-after:30m}") Duration resetAfter,
+            @Value("${security.login-throttle.stripes:64}") int stripeCount,
+            @Value("${security.login-throttle.max-entries:100000}") int maxEntries) {
+        this(accountFreeAttempts, addressFreeAttempts, baseDelay, maxDelay, resetAfter, stripeCount, maxEntries,
+                Clock.systemUTC());
+    }
+
+    LoginThrottle(int accountFreeAttempts, int addressFreeAttempts, Duration baseDelay, Duration maxDelay,
+            Duration resetAfter, int stripeCount, int maxEntries, Clock clock) {
+        this.accountFreeAttempts = accountFreeAttempts;
+        this.addressFreeAttempts = addressFreeAttempts;
+        this.baseDelayMillis = baseDelay.toMillis();
+        this.maxDelayMillis = maxDelay.toMillis();
+        this.resetAfterMillis = resetAfter.toMillis();
+        this.clock = clock;
+        int perStripe = Math.max(1, maxEntries / stripeCount);
+        this.stripes = new Stripe[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new Stripe(perStripe);
+        }
+    }
+
+    public Optional<Duration> retryAfter(String account, String address) {
+        long now = clock.millis();
+        long blockedUntil = Math.max(blockedUntil(accountKey(account), now), blockedUntil(addressKey(address), now));
+        if (blockedUntil <= now) {
+            return Optional.empty();
+        }
+        throttled.incrementAndGet();
+        return Optional.of(Duration.ofMillis(blockedUntil - now));
+    }
+
+    public void recordFailure(String account, String address) {
+        long now = clock.millis();
+        failures.incrementAndGet();
+        recordFailure(accountKey(account), accountFreeAttempts, now);
+        recordFailure(addressKey(address), addressFreeAttempts, now);
+    }
+
+    public void recordSuccess(String account) {
+        String key = accountKey(account);
+        if (key != null) {
+            Stripe stripe = stripeFor(key);
+            synchronized (stripe) {
+                stripe.entries.remove(key);
+            }
+        }
+    }
+
+    public long throttledCount() {
+        return throttled.get();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("security.login.throttled", throttled, AtomicLong::get)
+                .description("Login attempts rejected before the password hash was computed")
+                .register(registry);
+        FunctionCounter.builder("security.login.failures", failures, AtomicLong::get)
+                .description("Login attempts that failed password verification")
+                .register(registry);
+    }
+
+    private long blockedUntil(String key, long now) {
+        if (key == null) {
+            return 0;
+        }
+        Stripe stripe = stripeFor(key);
+        synchronized (stripe) {
+            Failures entry = stripe.entries.get(key);
+            if (entry == null) {
+                return 0;
+            }
+            if (now - entry.lastFailure > resetAfterMillis) {
+                stripe.entries.remove(key);
+                return 0;
+            }
+            return entry.blockedUntil;
+        }
+    }
+
+    private void recordFailure(String key, int freeAttempts, long now) {
+        if (key == null) {
+            return;
+        }
+        Stripe stripe = stripeFor(key);
+        synchronized (stripe) {
+            Failures entry = stripe.entries.get(key);
+            if (entry == null || now - entry.lastFailure > resetAfterMillis) {
+                entry = new Failures();
+                stripe.entries.put(key, entry);
+            }
+            entry.count++;
+            entry.lastFailure = now;
+            int excess = entry.count - freeAttempts;
+            if (excess >= 0) {
+                long delay = baseDelayMillis << Math.min(excess, 30);
+                entry.blockedUntil = now + Math.min(delay, maxDelayMillis);
+            }
+        }
+    }
+
+    private Stripe stripeFor(String key) {
+        int hash = key.hashCode();
+        return stripes[Math.floorMod(hash ^ (hash >>> 16), stripes.length)];
+    }
+
+    private static String accountKey(String account) {
+        return account == null ? null : ACCOUNT_PREFIX + account.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static String addressKey(String address) {
+        return address == null ? null : ADDRESS_PREFIX + address;
+    }
+
+    private static final class Failures {
+        private int count;
+        private long lastFailure;
+        private long blockedUntil;
+    }
+
+    private static final class Stripe {
+        private final Map<String, Failures> entries;
+
+        private Stripe(int capacity) {
+            this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Failures> eldest) {
+                    return size() > capacity;
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package hu.financial.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import hu.financial.event.PrincipalChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+@Component
+public class PrincipalCache implements MeterBinder {
+
+    public static final String CACHE_NAME = "principals";
+
+    private final Cache<String, UserDetails> principals;
+
+    public PrincipalCache(
+            @Value("${security.principal-cache.ttl:5m}") Duration ttl,
+            @Value("${security.principal-cache.maximum-size:10000}") long maximumSize) {
+        this.principals = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+    }
+
+    public UserDetails get(String subject, Function<String, UserDetails> loader) {
+        return principals.get(subject, loader);
+    }
+
+    public void evict(String subject) {
+        if (subject != null) {
+            principals.invalidate(subject);
+        }
+    }
+
+    // After commit, so a request racing the write cannot re-cache the old user.
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onPrincipalChanged(PrincipalChangedEvent event) {
+        event.subjects().forEach(this::evict);
+    }
+
+    public long hitCount() {
+        return principals.stats().hitCount();
+    }
+
+    public long missCount() {
+        return principals.stats().missCount();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, principals, CACHE_NAME);
+    }
+}
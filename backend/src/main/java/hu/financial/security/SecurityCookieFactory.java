@@ -12,6 +12,10 @@ public class SecurityCookieFactory {
 
     public static final String AUTH_COOKIE_NAME = "authToken";
 
+    public static final String REFRESH_COOKIE_NAME = "refreshToken";
+
+    private static final String REFRESH_COOKIE_PATH = "/api/auth";
+
     private final JwtService jwtService;
     private final CookieProperties cookieProperties;
 
@@ -32,6 +36,18 @@ public class SecurityCookieFactory {
                 .build();
     }
 
+    public ResponseCookie createRefreshCookie(String token, Duration lifetime) {
+        return refreshCookieBuilder(token)
+                .maxAge(lifetime)
+                .build();
+    }
+
+    public ResponseCookie expireRefreshCookie() {
+        return refreshCookieBuilder("")
+                .maxAge(Duration.ZERO)
+                .build();
+    }
+
     public CookieCsrfTokenRepository csrfTokenRepository() {
         CookieCsrfTokenRepository repository = CookieCsrfTokenRepository.withHttpOnlyFalse();
         repository.setCookiePath("/");
@@ -55,4 +71,12 @@ public class SecurityCookieFactory {
                 .sameSite(cookieProperties.getSameSite())
                 .path("/");
     }
+
+    private ResponseCookie.ResponseCookieBuilder refreshCookieBuilder(String value) {
+        return ResponseCookie.from(REFRESH_COOKIE_NAME, value)
+                .httpOnly(true)
+                .secure(cookieProperties.isSecure())
+                .sameSite(cookieProperties.getSameSite())
+                .path(REFRESH_COOKIE_PATH);
+    }
 }
@@ -0,0 +1,83 @@
+package hu.financial.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+public class TokenRevocationList implements MeterBinder {
+
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    private final int expectedRevocations;
+    private final Map<String, Instant> revoked = new ConcurrentHashMap<>();
+    private volatile BloomFilter filter;
+    private volatile int capacity;
+    private volatile Counter exactLookups;
+
+    public TokenRevocationList(@Value("${security.revocation.expected-size:100000}") int expectedRevocations) {
+        this.expectedRevocations = expectedRevocations;
+        this.capacity = expectedRevocations;
+        this.filter = new BloomFilter(expectedRevocations, FALSE_POSITIVE_RATE);
+    }
+
+    public void add(String jti, Instant expiresAt) {
+        if (jti == null || expiresAt == null) {
+            return;
+        }
+        revoked.put(jti, expiresAt);
+        filter.put(jti);
+        if (revoked.size() > capacity) {
+            rebuild();
+        }
+    }
+
+    public boolean isRevoked(String jti) {
+        if (jti == null || !filter.mightContain(jti)) {
+            return false;
+        }
+        Counter counter = exactLookups;
+        if (counter != null) {
+            counter.increment();
+        }
+        Instant expiresAt = revoked.get(jti);
+        return expiresAt != null && expiresAt.isAfter(Instant.now());
+    }
+
+    public int size() {
+        return revoked.size();
+    }
+
+    public void pruneExpired(Instant now) {
+        if (revoked.values().removeIf(expiresAt -> !expiresAt.isAfter(now))) {
+            rebuild();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("security.revocation.size", revoked, Map::size)
+                .description("Revoked tokens that have not expired yet")
+                .register(registry);
+        exactLookups = Counter.builder("security.revocation.exact-lookups")
+                .description("Token checks that passed the Bloom filter and needed the exact set")
+                .register(registry);
+    }
+
+    private synchronized void rebuild() {
+        int rebuiltCapacity = Math.max(expectedRevocations, revoked.size() * 2);
+        BloomFilter rebuilt = new BloomFilter(rebuiltCapacity, FALSE_POSITIVE_RATE);
+        revoked.keySet().forEach(rebuilt::put);
+        filter = rebuilt;
+        capacity = rebuiltCapacity;
+        // entries added while the first pass ran may have gone into the old filter
+        revoked.keySet().forEach(rebuilt::put);
+    }
+}
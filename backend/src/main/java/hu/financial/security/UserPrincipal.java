@@ -0,0 +1,8 @@
+package hu.financial.security;
+
+import org.springframework.security.core.userdetails.UserDetails;
+
+public interface UserPrincipal extends UserDetails {
+
+    Long getId();
+}
@@ -4,6 +4,7 @@ import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.transaction.annotation.Transactional;
 import hu.financial.dto.user.LoginUserDto;
@@ -20,15 +21,18 @@ public class AuthenticationService {
     private final UserRepository userRepository;
     private final AuthenticationManager authenticationManager;
     private final PasswordEncoder passwordEncoder;
+    private final LastLoginRecorder lastLoginRecorder;
 
     public AuthenticationService(
         UserRepository userRepository, 
         AuthenticationManager authenticationManager, 
-        PasswordEncoder passwordEncoder
+        PasswordEncoder passwordEncoder,
+        LastLoginRecorder lastLoginRecorder
     ){
         this.userRepository = userRepository;
         this.authenticationManager = authenticationManager;
         this.passwordEncoder = passwordEncoder;
+        this.lastLoginRecorder = lastLoginRecorder;
     }
 
     @Transactional
@@ -46,24 +50,23 @@ public class AuthenticationService {
         user.setPassword(passwordEncoder.encode(input.password()));
         user.setCreatedAt(LocalDateTime.now());
         try {
-            return userRepository.save(user);
+            return userRepository.saveAndFlush(user);
         } catch (DataIntegrityViolationException e) {
             throw new DuplicateUserException("Account with this email or username already exists");
         }
     }
 
-    @Transactional
     public User authenticate(LoginUserDto input) {
-        authenticationManager.authenticate(
+        Authentication authentication = authenticationManager.authenticate(
             new UsernamePasswordAuthenticationToken(input.email(), input.password())
         );
 
-        User user = userRepository.findByEmail(input.email());
-        if (user == null) {
+        if (!(authentication.getPrincipal() instanceof User user)) {
             throw new UserNotFoundException("User not found with email: " + input.email());
         }
-        user.setLastLogin(LocalDateTime.now());
-        userRepository.save(user);
+        LocalDateTime loginTime = LocalDateTime.now();
+        user.setLastLogin(loginTime);
+        lastLoginRecorder.record(user.getId(), loginTime);
         return user;
     }
 }
@@ -1,23 +1,37 @@
 package hu.financial.service;
 
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.transaction.annotation.Transactional;
 import hu.financial.repository.BudgetRepository;
+import hu.financial.repository.projection.BudgetRow;
+import hu.financial.repository.projection.UpsertedBudget;
 import hu.financial.repository.spec.BudgetSpecifications;
 import hu.financial.model.Budget;
 import hu.financial.model.User;
 import hu.financial.exception.budget.BudgetNotFoundException;
 import hu.financial.exception.budget.BudgetValidationException;
 import hu.financial.exception.budget.DuplicateBudgetException;
+import hu.financial.exception.category.CategoryNotFoundException;
 import hu.financial.dto.budget.BudgetFilter;
 import hu.financial.dto.budget.CreateBudgetDto;
 import hu.financial.dto.budget.BudgetResponseDto;
+import hu.financial.dto.budget.BudgetSheetItemDto;
+import hu.financial.event.UserDataChangedEvent;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.time.YearMonth;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.OptionalLong;
+import java.util.Set;
 
 @Service
 public class BudgetService {
@@ -32,10 +46,64 @@ public class BudgetService {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private ListCountCache listCountCache;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     @Transactional
     public Budget createBudget(Budget budget) {
-        validateBudgetForCreation(budget);
-        return budgetRepository.save(budget);
+        validateAmount(budget.getAmount());
+        Budget savedBudget;
+        try {
+            savedBudget = budgetRepository.saveAndFlush(budget);
+        } catch (DataIntegrityViolationException ex) {
+            throw new DuplicateBudgetException(budget.getCategory().getId(), budget.getMonth());
+        }
+        publishChange(budget);
+        return savedBudget;
+    }
+
+    @Transactional
+    public BudgetRow upsertOwnedBudget(Long userId, Long categoryId, YearMonth month, BigDecimal amount) {
+        validateAmount(amount);
+        UpsertedBudget budget = budgetRepository.upsertOwned(userId, categoryId, month.atDay(1), scale(amount))
+                .orElseThrow(() -> new CategoryNotFoundException(categoryId));
+        eventPublisher.publishEvent(new UserDataChangedEvent(userId));
+        return toRow(budget);
+    }
+
+    @Transactional
+    public List<BudgetRow> upsertOwnedMonth(Long userId, YearMonth month, List<BudgetSheetItemDto> sheet) {
+        Long[] categoryIds = new Long[sheet.size()];
+        BigDecimal[] amounts = new BigDecimal[sheet.size()];
+        Set<Long> requested = new LinkedHashSet<>();
+        for (int i = 0; i < sheet.size(); i++) {
+            BudgetSheetItemDto item = sheet.get(i);
+            validateAmount(item.amount());
+            if (!requested.add(item.categoryId())) {
+                throw new BudgetValidationException("Budget sheet lists category " + item.categoryId() + " more than once");
+            }
+            categoryIds[i] = item.categoryId();
+            amounts[i] = scale(item.amount());
+        }
+        List<UpsertedBudget> budgets = budgetRepository.upsertOwnedMonth(userId, month.atDay(1), categoryIds, amounts);
+        if (budgets.size() < requested.size()) {
+            budgets.forEach(budget -> requested.remove(budget.getCategoryId()));
+            throw new CategoryNotFoundException(requested.iterator().next());
+        }
+        eventPublisher.publishEvent(new UserDataChangedEvent(userId));
+        return budgets.stream().map(BudgetService::toRow).toList();
+    }
+
+    private static BigDecimal scale(BigDecimal amount) {
+        return amount.setScale(2, RoundingMode.HALF_UP);
+    }
+
+    private static BudgetRow toRow(UpsertedBudget budget) {
+        return new BudgetRow(budget.getId(), budget.getAmount(), budget.getMonth(), budget.getCategoryId(),
+                budget.getCategoryName());
     }
     
     public List<Budget> getAllBudgets() {
@@ -43,48 +111,55 @@ public class BudgetService {
     }
 
     public Page<Budget> getBudgetsByUserId(Long userId, BudgetFilter filter, Pageable pageable) {
-        return budgetRepository.findAll(BudgetSpecifications.ownedBy(userId, filter), pageable);
+        Specification<Budget> specification = BudgetSpecifications.ownedBy(userId, filter);
+        OptionalLong total = listCountCache.get(userId, filter);
+        if (total.isPresent()) {
+            Slice<Budget> slice = budgetRepository.findBy(specification, query -> query.slice(pageable));
+            return new PageImpl<>(slice.getContent(), pageable, total.getAsLong());
+        }
+        long stamp = listCountCache.stamp(userId);
+        Page<Budget> page = budgetRepository.findAll(specification, pageable);
+        listCountCache.put(userId, filter, page.getTotalElements(), stamp);
+        return page;
+    }
+
+    public Slice<Budget> sliceBudgetsByUserId(Long userId, BudgetFilter filter, Pageable pageable) {
+        return budgetRepository.findBy(BudgetSpecifications.ownedBy(userId, filter), query -> query.slice(pageable));
     }
     
-    public Budget getBudgetById(Long id) {
-        return budgetRepository.findById(id)
+    public BudgetRow getOwnedBudgetRow(Long id, Long userId) {
+        return budgetRepository.findOwnedRow(id, userId)
                 .orElseThrow(() -> new BudgetNotFoundException(id));
     }
 
     @Transactional
-    public Budget updateBudget(Long id, Budget budget) {
-        Budget existingBudget = budgetRepository.findById(id)
-                .orElseThrow(() -> new BudgetNotFoundException(id));
+    public Budget updateOwnedBudget(Long id, Budget budget) {
         validateAmount(budget.getAmount());
-        validateBudgetForUpdate(existingBudget, budget);
-        existingBudget.setAmount(budget.getAmount());
-        existingBudget.setMonth(budget.getMonth());
-        existingBudget.setCategory(budget.getCategory());
-        return budgetRepository.save(existingBudget);
+        int updated;
+        try {
+            updated = budgetRepository.updateOwned(id, budget.getUser().getId(), budget.getAmount(), budget.getMonth(),
+                    budget.getCategory());
+        } catch (DataIntegrityViolationException ex) {
+            throw new DuplicateBudgetException(budget.getCategory().getId(), budget.getMonth());
+        }
+        if (updated == 0) {
+            throw new BudgetNotFoundException(id);
+        }
+        budget.setId(id);
+        publishChange(budget);
+        return budget;
     }
 
     @Transactional
-    public void deleteBudget(Long id) {
-        Budget existingBudget = budgetRepository.findById(id)
-                .orElseThrow(() -> new BudgetNotFoundException(id));
-        budgetRepository.delete(existingBudget);
-    }
-
-    private void validateBudgetForCreation(Budget budget) {
-        validateAmount(budget.getAmount());
-        if (budgetRepository.findByUserAndCategoryAndMonth(budget.getUser(), budget.getCategory(), budget.getMonth()) != null) {
-            throw new DuplicateBudgetException(budget.getCategory().getId(), budget.getMonth());
+    public void deleteOwnedBudget(Long id, Long userId) {
+        if (budgetRepository.deleteOwned(id, userId) == 0) {
+            throw new BudgetNotFoundException(id);
         }
+        eventPublisher.publishEvent(new UserDataChangedEvent(userId));
     }
 
-    private void validateBudgetForUpdate(Budget existingBudget, Budget budget) {
-        boolean categoryChanged = !existingBudget.getCategory().getId().equals(budget.getCategory().getId());
-        boolean monthChanged = !existingBudget.getMonth().equals(budget.getMonth());
-        if (categoryChanged || monthChanged) {
-            if (budgetRepository.findByUserAndCategoryAndMonth(budget.getUser(), budget.getCategory(), budget.getMonth()) != null) {
-                throw new DuplicateBudgetException(budget.getCategory().getId(), budget.getMonth());
-            }
-        }
+    private void publishChange(Budget budget) {
+        eventPublisher.publishEvent(new UserDataChangedEvent(budget.getUser().getId()));
     }
 
     private void validateAmount(BigDecimal amount) {
@@ -96,13 +171,17 @@ public class BudgetService {
     public Budget mapToEntity(CreateBudgetDto dto) {
         User currentUser = userService.getCurrentUser();
         Budget budget = new Budget();
-        budget.setAmount(dto.amount().setScale(2, RoundingMode.HALF_UP));
+        budget.setAmount(scale(dto.amount()));
         budget.setMonth(dto.month().withDayOfMonth(1));
         budget.setCategory(categoryService.getOwnedCategoryById(dto.categoryId(), currentUser.getId()));
         budget.setUser(currentUser);
         return budget;
     }
 
+    public BudgetResponseDto mapRowToDto(BudgetRow row) {
+        return new BudgetResponseDto(row.id(), row.amount(), row.month(), row.categoryId(), row.categoryName());
+    }
+
     public BudgetResponseDto mapToDto(Budget budget) {
         return new BudgetResponseDto(
                 budget.getId(),
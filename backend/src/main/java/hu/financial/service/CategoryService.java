@@ -2,6 +2,8 @@ package hu.financial.service;
 
 import java.util.List;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import hu.financial.repository.CategoryRepository;
@@ -10,6 +12,7 @@ import hu.financial.exception.category.DuplicateCategoryException;
 import hu.financial.exception.category.CategoryNotFoundException;
 import hu.financial.dto.category.CategoryResponseDto;
 import hu.financial.dto.category.CreateCategoryDto;
+import hu.financial.event.UserDataChangedEvent;
 
 @Service
 public class CategoryService {
@@ -20,10 +23,20 @@ public class CategoryService {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     @Transactional
     public Category createCategory(Category category) {
         validateCategoryForCreation(category);
-        return categoryRepository.save(category);
+        Category savedCategory;
+        try {
+            savedCategory = categoryRepository.saveAndFlush(category);
+        } catch (DataIntegrityViolationException ex) {
+            throw new DuplicateCategoryException("name", category.getName());
+        }
+        publishChange(category.getUser().getId());
+        return savedCategory;
     }
 
     public Category getCategoryById(Long id) {
@@ -32,33 +45,36 @@ public class CategoryService {
     }
 
     public Category getOwnedCategoryById(Long id, Long userId) {
-        Category category = getCategoryById(id);
-        if (!category.getUser().getId().equals(userId)) {
-            throw new CategoryNotFoundException(id);
-        }
-        return category;
+        return categoryRepository.findByIdAndUserId(id, userId)
+                .orElseThrow(() -> new CategoryNotFoundException(id));
     }
 
     @Transactional
-    public Category updateCategory(Category category) {
-        Category existingCategory = categoryRepository.findById(category.getId())
-                .orElseThrow(() -> new CategoryNotFoundException(category.getId()));
-        validateCategoryForUpdate(existingCategory, category);
-        existingCategory.setName(category.getName());
-        existingCategory.setDescription(category.getDescription());
-        return categoryRepository.save(existingCategory);
+    public Category updateOwnedCategory(Long userId, Category category) {
+        int updated;
+        try {
+            updated = categoryRepository.updateOwned(category.getId(), userId, category.getName(),
+                    category.getDescription());
+        } catch (DataIntegrityViolationException ex) {
+            throw new DuplicateCategoryException("name", category.getName());
+        }
+        if (updated == 0) {
+            throw new CategoryNotFoundException(category.getId());
+        }
+        publishChange(userId);
+        return category;
     }
 
     @Transactional
     public void deleteCategory(Long id, Long userId) {
-        Category existingCategory = categoryRepository.findById(id).orElse(null);
-        if (existingCategory == null) {
+        if (categoryRepository.deleteOwned(id, userId) == 0) {
             throw new CategoryNotFoundException(id);
         }
-        if (!existingCategory.getUser().getId().equals(userId)) {
-            throw new CategoryNotFoundException("Category not found or you don't have permission to delete it");
-        }
-        categoryRepository.deleteById(id);
+        publishChange(userId);
+    }
+
+    private void publishChange(Long userId) {
+        eventPublisher.publishEvent(new UserDataChangedEvent(userId));
     }
 
     public List<Category> getAllCategories() {
@@ -76,14 +92,6 @@ public class CategoryService {
         }
     }
 
-    private void validateCategoryForUpdate(Category existingCategory, Category category) {
-        if (!existingCategory.getName().equals(category.getName())) {
-            if (categoryRepository.findByUserAndName(existingCategory.getUser(), category.getName()) != null) {
-                throw new DuplicateCategoryException("name", category.getName());
-            }
-        }
-    }
-
     public CategoryResponseDto mapToDto(Category category) {
         return new CategoryResponseDto(
                 category.getId(),
@@ -2,36 +2,80 @@ package hu.financial.service;
 
 import org.springframework.stereotype.Service;
 import org.springframework.beans.factory.annotation.Value;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import java.util.function.Function;
 import java.security.Key;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
 import java.util.Map;
+import java.util.Optional;
 import org.springframework.security.core.userdetails.UserDetails;
+import hu.financial.model.User;
+import hu.financial.security.AuthenticatedUser;
+import hu.financial.security.TokenDigests;
+import java.time.Duration;
 import java.util.Date;
 import io.jsonwebtoken.SignatureAlgorithm;
 import java.util.HashMap;
+import java.util.UUID;
 
 @Service
 public class JwtService {
-    
-    @Value("${security.jwt.secret-key}")
-    private String secretKey;
 
-    @Value("${security.jwt.expiration-time}")
-    private Long jwtExpiration;
+    public static final String USER_ID_CLAIM = "uid";
+
+    public static final String CREDENTIAL_VERSION_CLAIM = "cv";
+
+    private final Key signInKey;
+
+    private final JwtParser parser;
+
+    private final Long jwtExpiration;
+
+    private final Cache<String, Claims> verifiedClaims;
+
+    public JwtService(
+            @Value("${security.jwt.secret-key}") String secretKey,
+            @Value("${security.jwt.expiration-time}") Long jwtExpiration,
+            @Value("${security.jwt.claims-cache-size:10000}") long claimsCacheSize) {
+        this.signInKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey));
+        this.parser = Jwts.parserBuilder().setSigningKey(signInKey).build();
+        this.jwtExpiration = jwtExpiration;
+        this.verifiedClaims = Caffeine.newBuilder()
+                .maximumSize(claimsCacheSize)
+                .expireAfter(Expiry.creating((String digest, Claims claims) -> timeUntilExpiration(claims)))
+                .build();
+    }
 
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
     }
 
+    public String extractTokenId(String token) {
+        return extractClaim(token, Claims::getId);
+    }
+
     public boolean isTokenValid(String token, UserDetails userDetails) {
         final String username = extractUsername(token);
         return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
     }
 
+    public Optional<AuthenticatedUser> extractAuthenticatedUser(String token) {
+        Claims claims = extractAllClaims(token);
+        Long userId = claims.get(USER_ID_CLAIM, Long.class);
+        Integer credentialVersion = claims.get(CREDENTIAL_VERSION_CLAIM, Integer.class);
+        if (userId == null || credentialVersion == null || claims.getSubject() == null
+                || claims.getExpiration().before(new Date())) {
+            return Optional.empty();
+        }
+        return Optional.of(new AuthenticatedUser(userId, claims.getSubject(), credentialVersion));
+    }
+
     private boolean isTokenExpired(String token) {
         return extractExpiration(token).before(new Date());
     }
@@ -49,18 +93,16 @@ public class JwtService {
         return claimsResolver.apply(claims);
     }
 
-    private Claims extractAllClaims(String token) {
-        return Jwts
-        .parserBuilder()
-        .setSigningKey(getSignInKey())
-        .build()
-        .parseClaimsJws(token)
-        .getBody();
+    public Claims extractAllClaims(String token) {
+        return verifiedClaims.get(TokenDigests.sha256(token), ignored -> parser.parseClaimsJws(token).getBody());
     }
 
-    private Key getSignInKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(secretKey);
-        return Keys.hmacShaKeyFor(keyBytes);
+    private static Duration timeUntilExpiration(Claims claims) {
+        Date expiration = claims.getExpiration();
+        if (expiration == null) {
+            return Duration.ZERO;
+        }
+        return Duration.ofMillis(Math.max(0, expiration.getTime() - System.currentTimeMillis()));
     }
 
     private String generateToken(Map<String, Object> extraClaims, UserDetails userDetails) {
@@ -68,7 +110,12 @@ public class JwtService {
     }
 
     public String generateToken(UserDetails userDetails) {
-        return generateToken(new HashMap<>(), userDetails);
+        Map<String, Object> claims = new HashMap<>();
+        if (userDetails instanceof User user && user.getId() != null) {
+            claims.put(USER_ID_CLAIM, user.getId());
+            claims.put(CREDENTIAL_VERSION_CLAIM, user.getCredentialVersion());
+        }
+        return generateToken(claims, userDetails);
     }
 
     private String buildToken(Map<String, Object> extraClaims, UserDetails userDetails, Long expiration) {
@@ -76,9 +123,11 @@ public class JwtService {
         .builder()
         .setClaims(extraClaims)
         .setSubject(userDetails.getUsername())
+        .setId(UUID.randomUUID().toString())
         .setIssuedAt(new Date(System.currentTimeMillis()))
-        .setExpiration(new Date(System.currentTimeMillis() + expiration * 1000))        .signWith(getSignInKey(), SignatureAlgorithm.HS256)
+        .setExpiration(new Date(System.currentTimeMillis() + expiration * 1000))
+        .signWith(signInKey, SignatureAlgorithm.HS256)
         .compact();
     }
-   
+
 }
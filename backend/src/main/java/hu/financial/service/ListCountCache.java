@@ -0,0 +1,87 @@
+package hu.financial.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import hu.financial.event.UserDataChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+public class ListCountCache implements MeterBinder {
+
+    public static final String CACHE_NAME = "list-counts";
+
+    private final Cache<Long, UserCounts> counts;
+
+    private final int maximumFiltersPerUser;
+
+    private final AtomicLong generations = new AtomicLong();
+
+    public ListCountCache(
+            @Value("${cache.list-counts.ttl:10m}") Duration ttl,
+            @Value("${cache.list-counts.maximum-size:10000}") long maximumSize,
+            @Value("${cache.list-counts.maximum-filters-per-user:64}") int maximumFiltersPerUser) {
+        this.counts = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+        this.maximumFiltersPerUser = maximumFiltersPerUser;
+    }
+
+    public OptionalLong get(Long userId, Object filter) {
+        UserCounts user = counts.getIfPresent(userId);
+        Long total = user == null ? null : user.totals().get(filter);
+        return total == null ? OptionalLong.empty() : OptionalLong.of(total);
+    }
+
+    // Taken before the count query runs; put() drops the result if the user's
+    // data changed in between, so a count that raced a write is never cached.
+    public long stamp(Long userId) {
+        return counts.get(userId, id -> new UserCounts(generations.incrementAndGet())).generation();
+    }
+
+    public void put(Long userId, Object filter, long total, long stamp) {
+        UserCounts user = counts.getIfPresent(userId);
+        if (user == null || user.generation() != stamp) {
+            return;
+        }
+        if (user.totals().size() < maximumFiltersPerUser || user.totals().containsKey(filter)) {
+            user.totals().put(filter, total);
+        }
+    }
+
+    public void invalidate(Long userId) {
+        if (userId != null) {
+            counts.invalidate(userId);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserDataChanged(UserDataChangedEvent event) {
+        invalidate(event.userId());
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, counts, CACHE_NAME);
+    }
+
+    private record UserCounts(long generation, Map<Object, Long> totals) {
+
+        UserCounts(long generation) {
+            this(generation, new ConcurrentHashMap<>());
+        }
+    }
+}
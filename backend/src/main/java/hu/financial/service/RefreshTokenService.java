@@ -0,0 +1,86 @@
+package hu.financial.service;
+
+import hu.financial.exception.user.InvalidRefreshTokenException;
+import hu.financial.model.RefreshToken;
+import hu.financial.model.User;
+import hu.financial.repository.RefreshTokenRepository;
+import hu.financial.security.TokenDigests;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
+
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+@Service
+public class RefreshTokenService {
+
+    private static final int TOKEN_BYTES = 32;
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final Duration lifetime;
+    private final SecureRandom random = new SecureRandom();
+
+    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository,
+            @Value("${security.jwt.refresh-expiration-time:1209600}") long refreshExpiration) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.lifetime = Duration.ofSeconds(refreshExpiration);
+    }
+
+    public record Rotation(User user, String refreshToken) {
+    }
+
+    @Transactional
+    public String issue(User user) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        LocalDateTime now = LocalDateTime.now();
+        refreshTokenRepository.save(new RefreshToken(TokenDigests.sha256(token), user, now.plus(lifetime), now));
+        return token;
+    }
+
+    @Transactional(noRollbackFor = InvalidRefreshTokenException.class)
+    public Rotation rotate(String token) {
+        if (!StringUtils.hasText(token)) {
+            throw new InvalidRefreshTokenException("Refresh token is missing");
+        }
+        String tokenHash = TokenDigests.sha256(token);
+        RefreshToken stored = refreshTokenRepository.findWithUserByTokenHash(tokenHash)
+                .orElseThrow(() -> new InvalidRefreshTokenException("Refresh token is not recognised"));
+        if (refreshTokenRepository.deleteByTokenHash(tokenHash) == 0) {
+            throw new InvalidRefreshTokenException("Refresh token was already used");
+        }
+        if (stored.getExpiresAt().isBefore(LocalDateTime.now())) {
+            throw new InvalidRefreshTokenException("Refresh token has expired");
+        }
+        User user = stored.getUser();
+        return new Rotation(user, issue(user));
+    }
+
+    @Transactional
+    public void revoke(String token) {
+        if (StringUtils.hasText(token)) {
+            refreshTokenRepository.deleteByTokenHash(TokenDigests.sha256(token));
+        }
+    }
+
+    @Transactional
+    public void revokeAll(Long userId) {
+        refreshTokenRepository.deleteByUserId(userId);
+    }
+
+    @Scheduled(fixedDelayString = "${security.jwt.refresh-purge-interval:1h}")
+    @Transactional
+    public void purgeExpired() {
+        refreshTokenRepository.deleteExpired(LocalDateTime.now());
+    }
+
+    public Duration getLifetime() {
+        return lifetime;
+    }
+}
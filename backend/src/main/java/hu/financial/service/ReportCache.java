@@ -0,0 +1,208 @@
+package hu.financial.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import hu.financial.dto.report.BudgetStatusResponseDto;
+import hu.financial.dto.report.CategoryBreakdownResponseDto;
+import hu.financial.dto.report.DashboardResponseDto;
+import hu.financial.dto.report.RangeBudgetStatusResponseDto;
+import hu.financial.dto.report.RangeCategoryBreakdownResponseDto;
+import hu.financial.dto.report.TrendResponseDto;
+import hu.financial.event.UserDataChangedEvent;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+@Component
+public class ReportCache implements MeterBinder {
+
+    public static final String CACHE_NAME = "reports";
+
+    static final int USER_BYTES = 256;
+
+    static final int REPORT_BYTES = 512;
+
+    static final int ROW_BYTES = 192;
+
+    public enum Report {
+        SUMMARY,
+        CATEGORIES,
+        TREND,
+        BUDGET_STATUS,
+        DASHBOARD
+    }
+
+    private final Cache<Long, UserReports> reports;
+
+    private final int maximumReportsPerUser;
+
+    private final AtomicLong generations = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final LongAdder evictions = new LongAdder();
+
+    private final LongAdder evictedWeight = new LongAdder();
+
+    public ReportCache(
+            @Value("${cache.reports.ttl:10m}") Duration ttl,
+            @Value("${cache.reports.maximum-weight:64MB}") DataSize maximumWeight,
+            @Value("${cache.reports.maximum-reports-per-user:64}") int maximumReportsPerUser) {
+        this.reports = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumWeight(maximumWeight.toBytes())
+                .weigher((Long userId, UserReports user) -> user.weight())
+                .removalListener((Long userId, UserReports user, RemovalCause cause) -> {
+                    if (cause.wasEvicted() && user != null) {
+                        evictions.increment();
+                        evictedWeight.add(user.weight());
+                    }
+                })
+                .executor(Runnable::run)
+                .build();
+        this.maximumReportsPerUser = maximumReportsPerUser;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T get(Long userId, Report report, Object period, Supplier<T> loader) {
+        Key key = new Key(report, period);
+        UserReports user = reports.getIfPresent(userId);
+        Object cached = user == null ? null : user.entries().get(key);
+        if (cached != null) {
+            hits.increment();
+            return (T) cached;
+        }
+        misses.increment();
+        long stamp = stamp(userId);
+        T value = loader.get();
+        put(userId, key, value, stamp);
+        return value;
+    }
+
+    // Same generation guard as ListCountCache: a report computed while the
+    // user's data changed is returned to its caller but never cached.
+    private long stamp(Long userId) {
+        return reports.get(userId, id -> new UserReports(generations.incrementAndGet())).generation();
+    }
+
+    private void put(Long userId, Key key, Object value, long stamp) {
+        UserReports current = reports.getIfPresent(userId);
+        if (current == null || current.generation() != stamp || !current.accepts(key, maximumReportsPerUser)) {
+            return;
+        }
+        reports.asMap().computeIfPresent(userId,
+                (id, user) -> user.generation() == stamp ? user.with(key, value) : user);
+    }
+
+    public void invalidate(Long userId) {
+        if (userId != null) {
+            reports.invalidate(userId);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserDataChanged(UserDataChangedEvent event) {
+        invalidate(event.userId());
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    public long evictionCount() {
+        return evictions.sum();
+    }
+
+    public long weightedSize() {
+        reports.cleanUp();
+        return reports.policy().eviction().orElseThrow().weightedSize().orElse(0);
+    }
+
+    double hitRatio() {
+        long total = hits.sum() + misses.sum();
+        return total == 0 ? 1.0 : (double) hits.sum() / total;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("cache.gets", hits, LongAdder::sum)
+                .tags("cache", CACHE_NAME, "result", "hit")
+                .register(registry);
+        FunctionCounter.builder("cache.gets", misses, LongAdder::sum)
+                .tags("cache", CACHE_NAME, "result", "miss")
+                .register(registry);
+        Gauge.builder("cache.hit.ratio", this, ReportCache::hitRatio)
+                .tags("cache", CACHE_NAME)
+                .register(registry);
+        FunctionCounter.builder("cache.evictions", evictions, LongAdder::sum)
+                .tags("cache", CACHE_NAME)
+                .register(registry);
+        FunctionCounter.builder("cache.eviction.weight", evictedWeight, LongAdder::sum)
+                .tags("cache", CACHE_NAME)
+                .baseUnit("bytes")
+                .register(registry);
+        Gauge.builder("cache.weight", this, ReportCache::weightedSize)
+                .tags("cache", CACHE_NAME)
+                .baseUnit("bytes")
+                .register(registry);
+        Gauge.builder("cache.size", reports, Cache::estimatedSize)
+                .tags("cache", CACHE_NAME)
+                .register(registry);
+    }
+
+    static int estimateBytes(Object report) {
+        if (report instanceof DashboardResponseDto dashboard) {
+            return estimateBytes(dashboard.summary()) + estimateBytes(dashboard.categories())
+                    + estimateBytes(dashboard.trend()) + estimateBytes(dashboard.budgetStatus());
+        }
+        return REPORT_BYTES + ROW_BYTES * switch (report) {
+            case CategoryBreakdownResponseDto breakdown -> breakdown.categories().size();
+            case BudgetStatusResponseDto status -> status.categories().size();
+            case RangeCategoryBreakdownResponseDto breakdown -> breakdown.categories().size();
+            case RangeBudgetStatusResponseDto status -> status.categories().size();
+            case TrendResponseDto trend -> trend.points().size();
+            default -> 0;
+        };
+    }
+
+    private record Key(Report report, Object period) {
+    }
+
+    private record UserReports(long generation, Map<Key, Object> entries, int weight) {
+
+        UserReports(long generation) {
+            this(generation, Map.of(), USER_BYTES);
+        }
+
+        boolean accepts(Key key, int maximumReports) {
+            return entries.size() < maximumReports || entries.containsKey(key);
+        }
+
+        UserReports with(Key key, Object value) {
+            Map<Key, Object> copy = new HashMap<>(entries);
+            Object previous = copy.put(key, value);
+            int delta = estimateBytes(value) - (previous == null ? 0 : estimateBytes(previous));
+            return new UserReports(generation, Map.copyOf(copy), weight + delta);
+        }
+    }
+}
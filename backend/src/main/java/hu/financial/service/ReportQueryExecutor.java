@@ -0,0 +1,50 @@
+package hu.financial.service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+
+import jakarta.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+// Every concurrent report query holds its own pooled connection, so the
+// permits are shared by all dashboards and stay below the pool size; the
+// rest of the pool is left to the other endpoints.
+@Component
+public class ReportQueryExecutor {
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final Semaphore permits;
+
+    public ReportQueryExecutor(
+            @Value("${reports.dashboard.max-concurrent-queries:0}") int maxConcurrentQueries,
+            @Value("${spring.datasource.hikari.maximum-pool-size:10}") int poolSize) {
+        int limit = maxConcurrentQueries > 0 ? maxConcurrentQueries : Math.max(1, poolSize / 2);
+        this.permits = new Semaphore(Math.min(limit, Math.max(1, poolSize - 1)), true);
+    }
+
+    public <T> CompletableFuture<T> submit(Supplier<T> query) {
+        return CompletableFuture.supplyAsync(() -> {
+            permits.acquireUninterruptibly();
+            try {
+                return query.get();
+            } finally {
+                permits.release();
+            }
+        }, executor);
+    }
+
+    public int availablePermits() {
+        return permits.availablePermits();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.close();
+    }
+}
@@ -1,15 +1,21 @@
 package hu.financial.service;
 
 import java.math.BigDecimal;
+import java.math.MathContext;
 import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.time.YearMonth;
 import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -21,18 +27,32 @@ import hu.financial.dto.report.BudgetStatusItemDto;
 import hu.financial.dto.report.BudgetStatusResponseDto;
 import hu.financial.dto.report.CategoryBreakdownItemDto;
 import hu.financial.dto.report.CategoryBreakdownResponseDto;
+import hu.financial.dto.report.DashboardResponseDto;
 import hu.financial.dto.report.MetricSummaryDto;
+import hu.financial.dto.report.RangeBudgetStatusResponseDto;
+import hu.financial.dto.report.RangeCategoryBreakdownResponseDto;
+import hu.financial.dto.report.RangeSummaryResponseDto;
 import hu.financial.dto.report.ReportPeriod;
+import hu.financial.dto.report.ReportRange;
 import hu.financial.dto.report.SavingsRateSummaryDto;
 import hu.financial.dto.report.SummaryResponseDto;
+import hu.financial.dto.report.TrendGranularity;
 import hu.financial.dto.report.TrendPeriod;
 import hu.financial.dto.report.TrendPointDto;
 import hu.financial.dto.report.TrendResponseDto;
+import hu.financial.model.BalanceCheckpoint;
+import hu.financial.model.TransactionMonthlyRollup;
+import hu.financial.model.TransactionMonthlyRollupId;
 import hu.financial.model.enums.TransactionType;
+import hu.financial.repository.BalanceCheckpointRepository;
 import hu.financial.repository.BudgetRepository;
+import hu.financial.repository.TransactionDailyRollupRepository;
 import hu.financial.repository.TransactionRepository;
+import hu.financial.repository.TransactionRollupRepository;
 import hu.financial.repository.projection.CategoryBudgetTotal;
 import hu.financial.repository.projection.CategoryExpenseTotal;
+import hu.financial.repository.projection.DailyTotals;
+import hu.financial.repository.projection.MonthlyCategoryBudget;
 import hu.financial.repository.projection.MonthlyTotals;
 import hu.financial.repository.projection.TransactionTotals;
 
@@ -45,76 +65,78 @@ public class ReportService {
 
     private static final int PERCENT_SCALE = 1;
 
+    private static final int DASHBOARD_ATTEMPTS = 3;
+
     private static final Comparator<BudgetStatusItemDto> BY_RISK_THEN_CATEGORY = Comparator
             .comparing(BudgetStatusItemDto::percentageUsed,
                     Comparator.nullsLast(Comparator.<BigDecimal>reverseOrder()))
             .thenComparing(BudgetStatusItemDto::categoryId, Comparator.<Long>naturalOrder());
 
+    private static final Comparator<CategoryExpenseTotal> BY_TOTAL_THEN_CATEGORY = Comparator
+            .comparing(CategoryExpenseTotal::total, Comparator.<BigDecimal>reverseOrder())
+            .thenComparing(CategoryExpenseTotal::categoryId, Comparator.<Long>naturalOrder());
+
     @Autowired
-    private TransactionRepository transactionRepository;
+    private TransactionRollupRepository rollupRepository;
 
     @Autowired
     private BudgetRepository budgetRepository;
 
+    @Autowired
+    private BalanceCheckpointRepository checkpointRepository;
+
+    @Autowired
+    private TransactionDailyRollupRepository dailyRollupRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private ReportQueryExecutor queryExecutor;
+
+    @Autowired
+    private UserService userService;
+
     @Transactional(readOnly = true)
     public SummaryResponseDto summarize(Long userId, ReportPeriod period) {
-        TransactionTotals totals = transactionRepository.summarize(
+        List<MonthlyTotals> monthly = rollupRepository.summarizeMonthlyTotals(
                 userId,
-                period.start(),
-                period.end(),
                 period.previousStart(),
-                period.previousEnd(),
+                period.end(),
                 TransactionType.INCOME,
                 TransactionType.EXPENSE);
+        Optional<BalanceCheckpoint> currentClose = checkpointRepository.findClosingAt(userId, period.end());
+        Optional<BalanceCheckpoint> previousClose = checkpointRepository.findClosingAt(userId, period.previousEnd());
 
-        return new SummaryResponseDto(
-                period.month().toString(),
-                period.previousMonth().toString(),
-                metric(totals.currentBalance(), totals.previousBalance()),
-                metric(totals.currentIncome(), totals.previousIncome()),
-                metric(totals.currentExpense(), totals.previousExpense()),
-                savingsRate(totals));
+        return summary(period, byMonth(monthly), currentClose, previousClose);
     }
 
     @Transactional(readOnly = true)
     public CategoryBreakdownResponseDto breakdownExpensesByCategory(Long userId, ReportPeriod period) {
-        List<CategoryExpenseTotal> rows = transactionRepository.summarizeExpensesByCategory(
-                userId,
-                period.start(),
-                period.end(),
-                TransactionType.EXPENSE);
-
-        BigDecimal total = rows.stream()
-                .map(CategoryExpenseTotal::total)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        List<CategoryBreakdownItemDto> categories = rows.stream()
-                .map(row -> new CategoryBreakdownItemDto(
-                        row.categoryId(),
-                        row.categoryName(),
-                        money(row.total()),
-                        share(row.total(), total)))
-                .toList();
-
-        return new CategoryBreakdownResponseDto(period.month().toString(), money(total), categories);
+        return breakdown(period, expensesByCategory(userId, period));
     }
 
     @Transactional(readOnly = true)
     public TrendResponseDto trend(Long userId, TrendPeriod period) {
-        Map<YearMonth, MonthlyTotals> byMonth = transactionRepository.summarizeMonthlyTotals(
+        if (period.granularity() != TrendGranularity.MONTH) {
+            List<DailyTotals> daily = dailyRollupRepository.summarizeDailyTotals(
+                    userId,
+                    period.start(),
+                    period.end(),
+                    TransactionType.INCOME,
+                    TransactionType.EXPENSE);
+
+            return trend(period, byBucket(period.granularity(), daily));
+        }
+
+        List<MonthlyTotals> monthly = rollupRepository.summarizeMonthlyTotals(
                 userId,
                 period.start(),
                 period.end(),
                 TransactionType.INCOME,
-                TransactionType.EXPENSE)
-                .stream()
-                .collect(Collectors.toMap(MonthlyTotals::yearMonth, Function.identity()));
-
-        List<TrendPointDto> points = period.monthsInOrder().stream()
-                .map(month -> point(month, byMonth.get(month)))
-                .toList();
+                TransactionType.EXPENSE);
 
-        return new TrendResponseDto(period.month().toString(), period.months(), points);
+        return trend(period, byBucket(byMonth(monthly)));
     }
 
     @Transactional(readOnly = true)
@@ -124,60 +146,351 @@ public class ReportService {
                 period.start(),
                 period.end());
 
-        List<CategoryExpenseTotal> expenses = transactionRepository.summarizeExpensesByCategory(
+        return budgetStatus(period, budgets, expensesByCategory(userId, period));
+    }
+
+    @Transactional(readOnly = true)
+    public RangeSummaryResponseDto summarize(Long userId, ReportRange range) {
+        ReportRange previous = range.previous();
+        Totals current = totalsWithin(userId, range);
+        Totals preceding = totalsWithin(userId, previous);
+        Totals currentClose = closingAt(userId, range.to());
+        Totals previousClose = closingAt(userId, previous.to());
+
+        return summary(range, previous, new TransactionTotals(
+                current.income(),
+                current.expense(),
+                preceding.income(),
+                preceding.expense(),
+                currentClose.income(),
+                currentClose.expense(),
+                previousClose.income(),
+                previousClose.expense()));
+    }
+
+    @Transactional(readOnly = true)
+    public RangeCategoryBreakdownResponseDto breakdownExpensesByCategory(Long userId, ReportRange range) {
+        return breakdown(range, expensesByCategory(userId, range));
+    }
+
+    @Transactional(readOnly = true)
+    public RangeBudgetStatusResponseDto budgetStatus(Long userId, ReportRange range) {
+        List<MonthlyCategoryBudget> budgets = budgetRepository.findMonthlyBudgets(
                 userId,
-                period.start(),
-                period.end(),
-                TransactionType.EXPENSE);
+                range.from().withDayOfMonth(1),
+                range.to());
 
-        Map<Long, BigDecimal> spentByCategory = expenses.stream()
-                .collect(Collectors.toMap(CategoryExpenseTotal::categoryId, CategoryExpenseTotal::total));
+        return budgetStatus(range, prorate(range, budgets), expensesByCategory(userId, range));
+    }
 
-        Set<Long> budgetedCategoryIds = budgets.stream()
-                .map(CategoryBudgetTotal::categoryId)
-                .collect(Collectors.toSet());
+    // Not transactional: every query runs on its own virtual thread and
+    // connection, limited by ReportQueryExecutor, so the five reads share no
+    // snapshot. Every write bumps the user's data version in the committing
+    // transaction, so an unchanged version before and after the reads means
+    // no write landed in between; otherwise the dashboard is read again. If
+    // writes keep landing, the last attempt is returned as read.
+    public DashboardResponseDto dashboard(Long userId, TrendPeriod trendPeriod) {
+        for (int attempt = 1; ; attempt++) {
+            Long version = userService.findDataVersion(userId);
+            DashboardResponseDto dashboard = readDashboard(userId, trendPeriod);
+            if (attempt == DASHBOARD_ATTEMPTS || Objects.equals(version, userService.findDataVersion(userId))) {
+                return dashboard;
+            }
+        }
+    }
 
-        List<BudgetStatusItemDto> categories = budgets.stream()
-                .map(budget -> statusItem(budget, spentByCategory.getOrDefault(budget.categoryId(), BigDecimal.ZERO)))
-                .sorted(BY_RISK_THEN_CATEGORY)
-                .toList();
+    // The monthly rows serve both the trend and the summary, the category
+    // expenses both the breakdown and the budget status.
+    private DashboardResponseDto readDashboard(Long userId, TrendPeriod trendPeriod) {
+        ReportPeriod period = new ReportPeriod(trendPeriod.month());
+        LocalDate monthlyStart = trendPeriod.start().isBefore(period.previousStart())
+                ? trendPeriod.start()
+                : period.previousStart();
 
-        BigDecimal totalBudgeted = sum(categories.stream().map(BudgetStatusItemDto::budgeted));
-        BigDecimal totalSpent = sum(categories.stream().map(BudgetStatusItemDto::spent));
-        BigDecimal unbudgetedSpending = sum(expenses.stream()
-                .filter(expense -> !budgetedCategoryIds.contains(expense.categoryId()))
-                .map(CategoryExpenseTotal::total));
+        CompletableFuture<List<MonthlyTotals>> monthly = query(() -> rollupRepository.summarizeMonthlyTotals(
+                userId,
+                monthlyStart,
+                period.end(),
+                TransactionType.INCOME,
+                TransactionType.EXPENSE));
+        CompletableFuture<Optional<BalanceCheckpoint>> currentClose =
+                query(() -> checkpointRepository.findClosingAt(userId, period.end()));
+        CompletableFuture<Optional<BalanceCheckpoint>> previousClose =
+                query(() -> checkpointRepository.findClosingAt(userId, period.previousEnd()));
+        CompletableFuture<List<CategoryExpenseTotal>> expenses = query(() -> expensesByCategory(userId, period));
+        CompletableFuture<List<CategoryBudgetTotal>> budgets = query(() -> budgetRepository.summarizeBudgetsByCategory(
+                userId,
+                period.start(),
+                period.end()));
 
-        return new BudgetStatusResponseDto(
+        Map<YearMonth, MonthlyTotals> byMonth = byMonth(await(monthly));
+        List<CategoryExpenseTotal> expenseRows = await(expenses);
+
+        return new DashboardResponseDto(
                 period.month().toString(),
-                money(totalBudgeted),
-                money(totalSpent),
-                money(unbudgetedSpending),
-                categories);
+                summary(period, byMonth, await(currentClose), await(previousClose)),
+                breakdown(period, expenseRows),
+                trend(trendPeriod, byBucket(byMonth)),
+                budgetStatus(period, await(budgets), expenseRows));
     }
 
     @Transactional(readOnly = true)
     public Optional<BudgetStatusItemDto> categoryBudgetStatus(Long userId, Long categoryId, YearMonth month) {
         LocalDate start = month.atDay(1);
-        LocalDate end = month.atEndOfMonth();
 
-        Optional<CategoryBudgetTotal> budget = budgetRepository.summarizeBudgetsByCategory(userId, start, end).stream()
-                .filter(b -> b.categoryId().equals(categoryId))
-                .findFirst();
+        Optional<CategoryBudgetTotal> budget = budgetRepository.findCategoryBudget(userId, categoryId, start);
 
         if (budget.isEmpty()) {
             return Optional.empty();
         }
 
-        BigDecimal spent = transactionRepository.summarizeExpensesByCategory(userId, start, end, TransactionType.EXPENSE).stream()
-                .filter(e -> e.categoryId().equals(categoryId))
-                .map(CategoryExpenseTotal::total)
-                .findFirst()
+        BigDecimal spent = rollupRepository
+                .findById(new TransactionMonthlyRollupId(userId, start, categoryId, TransactionType.EXPENSE))
+                .map(TransactionMonthlyRollup::getTotal)
                 .orElse(BigDecimal.ZERO);
 
         return Optional.of(statusItem(budget.get(), spent));
     }
 
+    private List<CategoryExpenseTotal> expensesByCategory(Long userId, ReportPeriod period) {
+        return rollupRepository.summarizeExpensesByCategory(
+                userId,
+                period.start(),
+                period.end(),
+                TransactionType.EXPENSE);
+    }
+
+    // Whole months come from the monthly rollup; only the partial months at
+    // either end of the range are read day by day.
+    private Totals totalsWithin(Long userId, ReportRange range) {
+        Totals totals = range.wholeMonths()
+                .map(months -> combine(rollupRepository.summarizeMonthlyTotals(
+                        userId,
+                        months.from(),
+                        months.to(),
+                        TransactionType.INCOME,
+                        TransactionType.EXPENSE).stream().map(row -> new Totals(row.income(), row.expense()))))
+                .orElse(Totals.ZERO);
+        for (ReportRange edge : range.partialMonths()) {
+            totals = totals.plus(dailyTotals(userId, edge.from(), edge.to()));
+        }
+        return totals;
+    }
+
+    private Totals closingAt(Long userId, LocalDate date) {
+        if (date.equals(YearMonth.from(date).atEndOfMonth())) {
+            return checkpoint(checkpointRepository.findClosingAt(userId, date));
+        }
+        LocalDate monthStart = date.withDayOfMonth(1);
+        return checkpoint(checkpointRepository.findClosingAt(userId, monthStart.minusDays(1)))
+                .plus(dailyTotals(userId, monthStart, date));
+    }
+
+    private Totals dailyTotals(Long userId, LocalDate start, LocalDate end) {
+        return combine(dailyRollupRepository.summarizeDailyTotals(
+                userId,
+                start,
+                end,
+                TransactionType.INCOME,
+                TransactionType.EXPENSE).stream().map(row -> new Totals(row.income(), row.expense())));
+    }
+
+    // The rollup has no per-day category split, so the partial months at the
+    // edges are summed from the transactions themselves.
+    private List<CategoryExpenseTotal> expensesByCategory(Long userId, ReportRange range) {
+        Stream<CategoryExpenseTotal> rows = range.wholeMonths()
+                .map(months -> rollupRepository.summarizeExpensesByCategory(
+                        userId,
+                        months.from(),
+                        months.to(),
+                        TransactionType.EXPENSE).stream())
+                .orElseGet(Stream::empty);
+        for (ReportRange edge : range.partialMonths()) {
+            rows = Stream.concat(rows, transactionRepository.summarizeExpensesByCategory(
+                    userId,
+                    edge.from(),
+                    edge.to(),
+                    TransactionType.EXPENSE).stream());
+        }
+        return rows
+                .collect(Collectors.toMap(CategoryExpenseTotal::categoryId, Function.identity(),
+                        (left, right) -> new CategoryExpenseTotal(
+                                left.categoryId(), left.categoryName(), left.total().add(right.total())),
+                        LinkedHashMap::new))
+                .values().stream()
+                .sorted(BY_TOTAL_THEN_CATEGORY)
+                .toList();
+    }
+
+    private <T> CompletableFuture<T> query(Supplier<T> query) {
+        return queryExecutor.submit(query);
+    }
+
+    private static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static Map<YearMonth, MonthlyTotals> byMonth(List<MonthlyTotals> rows) {
+        return rows.stream().collect(Collectors.toMap(MonthlyTotals::yearMonth, Function.identity()));
+    }
+
+    private static SummaryResponseDto summary(ReportPeriod period, Map<YearMonth, MonthlyTotals> byMonth,
+            Optional<BalanceCheckpoint> currentClose, Optional<BalanceCheckpoint> previousClose) {
+        TransactionTotals totals = totals(
+                byMonth.get(period.month()),
+                byMonth.get(period.previousMonth()),
+                currentClose.orElse(null),
+                previousClose.orElse(null));
+
+        return new SummaryResponseDto(
+                period.month().toString(),
+                period.previousMonth().toString(),
+                metric(totals.currentBalance(), totals.previousBalance()),
+                metric(totals.currentIncome(), totals.previousIncome()),
+                metric(totals.currentExpense(), totals.previousExpense()),
+                savingsRate(totals));
+    }
+
+    private static RangeSummaryResponseDto summary(ReportRange range, ReportRange previous, TransactionTotals totals) {
+        return new RangeSummaryResponseDto(
+                range.from().toString(),
+                range.to().toString(),
+                previous.from().toString(),
+                previous.to().toString(),
+                metric(totals.currentBalance(), totals.previousBalance()),
+                metric(totals.currentIncome(), totals.previousIncome()),
+                metric(totals.currentExpense(), totals.previousExpense()),
+                savingsRate(totals));
+    }
+
+    private static CategoryBreakdownResponseDto breakdown(ReportPeriod period, List<CategoryExpenseTotal> rows) {
+        BigDecimal total = sum(rows.stream().map(CategoryExpenseTotal::total));
+
+        return new CategoryBreakdownResponseDto(period.month().toString(), money(total), breakdownItems(rows, total));
+    }
+
+    private static RangeCategoryBreakdownResponseDto breakdown(ReportRange range, List<CategoryExpenseTotal> rows) {
+        BigDecimal total = sum(rows.stream().map(CategoryExpenseTotal::total));
+
+        return new RangeCategoryBreakdownResponseDto(range.from().toString(), range.to().toString(), money(total),
+                breakdownItems(rows, total));
+    }
+
+    private static List<CategoryBreakdownItemDto> breakdownItems(List<CategoryExpenseTotal> rows, BigDecimal total) {
+        return rows.stream()
+                .map(row -> new CategoryBreakdownItemDto(
+                        row.categoryId(),
+                        row.categoryName(),
+                        money(row.total()),
+                        share(row.total(), total)))
+                .toList();
+    }
+
+    private static Map<LocalDate, Totals> byBucket(Map<YearMonth, MonthlyTotals> byMonth) {
+        return byMonth.values().stream().collect(Collectors.toMap(
+                totals -> totals.yearMonth().atDay(1),
+                totals -> new Totals(totals.income(), totals.expense())));
+    }
+
+    private static Map<LocalDate, Totals> byBucket(TrendGranularity granularity, List<DailyTotals> rows) {
+        return rows.stream().collect(Collectors.toMap(
+                totals -> granularity.bucketStart(totals.day()),
+                totals -> new Totals(totals.income(), totals.expense()),
+                Totals::plus));
+    }
+
+    private static TrendResponseDto trend(TrendPeriod period, Map<LocalDate, Totals> byBucket) {
+        List<TrendPointDto> points = period.bucketsInOrder().stream()
+                .map(bucket -> point(bucket, byBucket.get(bucket)))
+                .toList();
+
+        return new TrendResponseDto(period.month().toString(), period.months(), period.granularity(), points);
+    }
+
+    private static BudgetStatusResponseDto budgetStatus(ReportPeriod period, List<CategoryBudgetTotal> budgets,
+            List<CategoryExpenseTotal> expenses) {
+        List<BudgetStatusItemDto> categories = statusItems(budgets, expenses);
+
+        return new BudgetStatusResponseDto(
+                period.month().toString(),
+                money(sum(categories.stream().map(BudgetStatusItemDto::budgeted))),
+                money(sum(categories.stream().map(BudgetStatusItemDto::spent))),
+                money(unbudgetedSpending(budgets, expenses)),
+                categories);
+    }
+
+    private static RangeBudgetStatusResponseDto budgetStatus(ReportRange range, List<CategoryBudgetTotal> budgets,
+            List<CategoryExpenseTotal> expenses) {
+        List<BudgetStatusItemDto> categories = statusItems(budgets, expenses);
+
+        return new RangeBudgetStatusResponseDto(
+                range.from().toString(),
+                range.to().toString(),
+                money(sum(categories.stream().map(BudgetStatusItemDto::budgeted))),
+                money(sum(categories.stream().map(BudgetStatusItemDto::spent))),
+                money(unbudgetedSpending(budgets, expenses)),
+                categories);
+    }
+
+    private static List<BudgetStatusItemDto> statusItems(List<CategoryBudgetTotal> budgets,
+            List<CategoryExpenseTotal> expenses) {
+        Map<Long, BigDecimal> spentByCategory = expenses.stream()
+                .collect(Collectors.toMap(CategoryExpenseTotal::categoryId, CategoryExpenseTotal::total));
+
+        return budgets.stream()
+                .map(budget -> statusItem(budget, spentByCategory.getOrDefault(budget.categoryId(), BigDecimal.ZERO)))
+                .sorted(BY_RISK_THEN_CATEGORY)
+                .toList();
+    }
+
+    private static BigDecimal unbudgetedSpending(List<CategoryBudgetTotal> budgets,
+            List<CategoryExpenseTotal> expenses) {
+        Set<Long> budgetedCategoryIds = budgets.stream()
+                .map(CategoryBudgetTotal::categoryId)
+                .collect(Collectors.toSet());
+
+        return sum(expenses.stream()
+                .filter(expense -> !budgetedCategoryIds.contains(expense.categoryId()))
+                .map(CategoryExpenseTotal::total));
+    }
+
+    // A budget covers its calendar month, so a range holding only part of a
+    // month is measured against the same part of that month's budget.
+    private static List<CategoryBudgetTotal> prorate(ReportRange range, List<MonthlyCategoryBudget> budgets) {
+        Map<Long, CategoryBudgetTotal> byCategory = new LinkedHashMap<>();
+        for (MonthlyCategoryBudget budget : budgets) {
+            YearMonth month = YearMonth.from(budget.month());
+            BigDecimal share = budget.amount()
+                    .multiply(BigDecimal.valueOf(range.daysIn(month)))
+                    .divide(BigDecimal.valueOf(month.lengthOfMonth()), MathContext.DECIMAL64);
+            byCategory.merge(budget.categoryId(),
+                    new CategoryBudgetTotal(budget.categoryId(), budget.categoryName(), share),
+                    (left, right) -> new CategoryBudgetTotal(
+                            left.categoryId(), left.categoryName(), left.total().add(right.total())));
+        }
+        return List.copyOf(byCategory.values());
+    }
+
+    private static TransactionTotals totals(MonthlyTotals current, MonthlyTotals previous,
+            BalanceCheckpoint currentClose, BalanceCheckpoint previousClose) {
+        return new TransactionTotals(
+                current == null ? null : current.income(),
+                current == null ? null : current.expense(),
+                previous == null ? null : previous.income(),
+                previous == null ? null : previous.expense(),
+                currentClose == null ? null : currentClose.getIncomeToDate(),
+                currentClose == null ? null : currentClose.getExpenseToDate(),
+                previousClose == null ? null : previousClose.getIncomeToDate(),
+                previousClose == null ? null : previousClose.getExpenseToDate());
+    }
+
     private static BudgetStatusItemDto statusItem(CategoryBudgetTotal budget, BigDecimal spent) {
         return new BudgetStatusItemDto(
                 budget.categoryId(),
@@ -192,10 +505,20 @@ public class ReportService {
         return values.reduce(BigDecimal.ZERO, BigDecimal::add);
     }
 
-    private static TrendPointDto point(YearMonth month, MonthlyTotals totals) {
+    private static Totals combine(Stream<Totals> values) {
+        return values.reduce(Totals.ZERO, Totals::plus);
+    }
+
+    private static Totals checkpoint(Optional<BalanceCheckpoint> checkpoint) {
+        return checkpoint
+                .map(close -> new Totals(close.getIncomeToDate(), close.getExpenseToDate()))
+                .orElse(Totals.ZERO);
+    }
+
+    private static TrendPointDto point(LocalDate bucket, Totals totals) {
         BigDecimal income = totals == null ? BigDecimal.ZERO : totals.income();
         BigDecimal expense = totals == null ? BigDecimal.ZERO : totals.expense();
-        return new TrendPointDto(month.toString(), money(income), money(expense));
+        return new TrendPointDto(YearMonth.from(bucket).toString(), bucket.toString(), money(income), money(expense));
     }
 
     private static BigDecimal share(BigDecimal part, BigDecimal total) {
@@ -239,4 +562,13 @@ public class ReportService {
     private static BigDecimal money(BigDecimal value) {
         return value.setScale(MONEY_SCALE, RoundingMode.HALF_UP);
     }
+
+    private record Totals(BigDecimal income, BigDecimal expense) {
+
+        static final Totals ZERO = new Totals(BigDecimal.ZERO, BigDecimal.ZERO);
+
+        Totals plus(Totals other) {
+            return new Totals(income.add(other.income()), expense.add(other.expense()));
+        }
+    }
 }
@@ -0,0 +1,83 @@
+package hu.financial.service;
+
+import hu.financial.model.RevokedToken;
+import hu.financial.repository.RevokedTokenRepository;
+import hu.financial.security.TokenRevocationList;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+@Service
+public class TokenRevocationService {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenRevocationService.class);
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final TokenRevocationList revocationList;
+    private final JwtService jwtService;
+    private final Duration syncOverlap;
+    private volatile LocalDateTime lastSync;
+
+    public TokenRevocationService(RevokedTokenRepository revokedTokenRepository,
+            TokenRevocationList revocationList, JwtService jwtService,
+            @Value("${security.revocation.sync-overlap:30s}") Duration syncOverlap) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.revocationList = revocationList;
+        this.jwtService = jwtService;
+        this.syncOverlap = syncOverlap;
+    }
+
+    @Transactional
+    public void revoke(String token) {
+        if (!StringUtils.hasText(token)) {
+            return;
+        }
+        Claims claims;
+        try {
+            claims = jwtService.extractAllClaims(token);
+        } catch (JwtException e) {
+            log.debug("Not revoking an unusable token: {}", e.getMessage());
+            return;
+        }
+        if (claims.getId() == null || claims.getExpiration() == null) {
+            return;
+        }
+        LocalDateTime expiresAt = LocalDateTime.ofInstant(claims.getExpiration().toInstant(), ZoneId.systemDefault());
+        revokedTokenRepository.save(new RevokedToken(claims.getId(), expiresAt, LocalDateTime.now()));
+        revocationList.add(claims.getId(), claims.getExpiration().toInstant());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${security.revocation.refresh-interval:5s}",
+            initialDelayString = "${security.revocation.refresh-interval:5s}")
+    public synchronized void refresh() {
+        LocalDateTime now = LocalDateTime.now();
+        List<RevokedToken> revoked = lastSync == null
+                ? revokedTokenRepository.findByExpiresAtAfter(now)
+                : revokedTokenRepository.findByRevokedAtGreaterThanEqualAndExpiresAtAfter(lastSync.minus(syncOverlap), now);
+        for (RevokedToken token : revoked) {
+            revocationList.add(token.getJti(), token.getExpiresAt().atZone(ZoneId.systemDefault()).toInstant());
+        }
+        revocationList.pruneExpired(now.atZone(ZoneId.systemDefault()).toInstant());
+        lastSync = now;
+    }
+
+    @Scheduled(fixedDelayString = "${security.revocation.purge-interval:1h}")
+    @Transactional
+    public void purgeExpired() {
+        revokedTokenRepository.deleteExpired(LocalDateTime.now());
+    }
+}
@@ -0,0 +1,154 @@
+package hu.financial.service;
+
+import hu.financial.dto.transaction.TransactionFilter;
+import hu.financial.dto.transaction.TransferFormat;
+import hu.financial.model.enums.TransactionType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionOperations;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+public class TransactionExportService {
+
+    private static final Logger log = LoggerFactory.getLogger(TransactionExportService.class);
+
+    static final String CSV_HEADER = "id,type,description,categoryId,categoryName,amount,date";
+
+    private static final String SELECT_SQL = "SELECT t.id, t.type, t.description, t.category_id, c.name, t.amount, t.date "
+            + "FROM transactions t JOIN categories c ON c.id = t.category_id WHERE t.user_id = ?";
+
+    private static final String ORDER_BY_SQL = " ORDER BY t.date DESC, t.id DESC";
+
+    private static final int WRITE_BUFFER_CHARS = 64 * 1024;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionOperations transactionOperations;
+    private final ObjectMapper objectMapper;
+    private final int fetchSize;
+
+    public TransactionExportService(JdbcTemplate jdbcTemplate, TransactionOperations transactionOperations,
+            ObjectMapper objectMapper,
+            @Value("${transactions.export.fetch-size:1000}") int fetchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionOperations = transactionOperations;
+        this.objectMapper = objectMapper;
+        this.fetchSize = fetchSize;
+    }
+
+    public void exportTransactions(Long userId, TransactionFilter filter, TransferFormat format,
+            OutputStream body) {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(body, StandardCharsets.UTF_8), WRITE_BUFFER_CHARS);
+        long[] exported = new long[1];
+        try {
+            if (format == TransferFormat.CSV) {
+                writer.write(CSV_HEADER);
+                writer.write('\n');
+            }
+            transactionOperations.executeWithoutResult(status -> jdbcTemplate.query(query(userId, filter),
+                    resultSet -> {
+                        write(writer, format, row(resultSet));
+                        exported[0]++;
+                    }));
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write the export body", e);
+        }
+        log.debug("Exported {} transactions for user {} as {}", exported[0], userId, format);
+    }
+
+    private PreparedStatementCreator query(Long userId, TransactionFilter filter) {
+        StringBuilder sql = new StringBuilder(SELECT_SQL);
+        List<Object> args = new ArrayList<>();
+        args.add(userId);
+        if (filter.from() != null) {
+            sql.append(" AND t.date >= ?");
+            args.add(Date.valueOf(filter.from()));
+        }
+        if (filter.to() != null) {
+            sql.append(" AND t.date <= ?");
+            args.add(Date.valueOf(filter.to()));
+        }
+        if (filter.categoryId() != null) {
+            sql.append(" AND t.category_id = ?");
+            args.add(filter.categoryId());
+        }
+        if (filter.type() != null) {
+            sql.append(" AND t.type = ?");
+            args.add(filter.type().name());
+        }
+        sql.append(ORDER_BY_SQL);
+        return connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql.toString(),
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(fetchSize);
+            for (int i = 0; i < args.size(); i++) {
+                statement.setObject(i + 1, args.get(i));
+            }
+            return statement;
+        };
+    }
+
+    private static ExportRow row(ResultSet resultSet) throws SQLException {
+        return new ExportRow(
+                resultSet.getLong("id"),
+                TransactionType.valueOf(resultSet.getString("type")),
+                resultSet.getString("description"),
+                resultSet.getLong("category_id"),
+                resultSet.getString("name"),
+                resultSet.getBigDecimal("amount"),
+                resultSet.getDate("date").toLocalDate());
+    }
+
+    private void write(Writer writer, TransferFormat format, ExportRow row) {
+        try {
+            if (format == TransferFormat.CSV) {
+                writer.write(csvLine(row));
+            } else {
+                writer.write(objectMapper.writeValueAsString(row));
+            }
+            writer.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write the export body", e);
+        }
+    }
+
+    static String csvLine(ExportRow row) {
+        return row.id() + "," + row.type() + "," + csvField(row.description()) + "," + row.categoryId() + ","
+                + csvField(row.categoryName()) + "," + row.amount().toPlainString() + "," + row.date();
+    }
+
+    static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+
+    record ExportRow(Long id, TransactionType type, String description, Long categoryId, String categoryName,
+            BigDecimal amount, LocalDate date) {
+    }
+}
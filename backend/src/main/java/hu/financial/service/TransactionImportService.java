@@ -0,0 +1,652 @@
+package hu.financial.service;
+
+import hu.financial.dto.transaction.CreateTransactionDto;
+import hu.financial.dto.transaction.TransactionImportResultDto;
+import hu.financial.dto.transaction.TransferFormat;
+import hu.financial.event.UserDataChangedEvent;
+import hu.financial.exception.InvalidRequestParameterException;
+import hu.financial.model.enums.TransactionType;
+import hu.financial.repository.BalanceCheckpointRepository;
+import hu.financial.repository.TransactionDailyRollupRepository;
+import hu.financial.repository.TransactionRollupRepository;
+import hu.financial.repository.CategoryRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.postgresql.PGConnection;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionOperations;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+@Service
+public class TransactionImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(TransactionImportService.class);
+
+    public static final String HEADER_PARAMETER = "header";
+
+    private static final String INSERT_SQL =
+            "INSERT INTO transactions (type, description, category_id, user_id, amount, date) VALUES (?, ?, ?, ?, ?, ?)";
+
+    private static final String COPY_SQL = "COPY transaction_import_staging "
+            + "(import_id, line, type, description, category_id, amount, date) FROM STDIN WITH (FORMAT csv)";
+
+    private static final String MERGE_SQL = "INSERT INTO transactions (type, description, category_id, user_id, amount, date) "
+            + "SELECT s.type, s.description, s.category_id, c.user_id, s.amount, s.date "
+            + "FROM transaction_import_staging s JOIN categories c ON c.id = s.category_id AND c.user_id = ? "
+            + "WHERE s.import_id = ? ORDER BY s.line";
+
+    private static final String UNOWNED_STAGED_ROWS_SQL = "SELECT s.line, s.category_id FROM transaction_import_staging s "
+            + "WHERE s.import_id = ? AND NOT EXISTS "
+            + "(SELECT 1 FROM categories c WHERE c.id = s.category_id AND c.user_id = ?) ORDER BY s.line";
+
+    private static final String MERGE_ROLLUP_SQL = "INSERT INTO transaction_monthly_rollup "
+            + "(user_id, month_value, category_id, type, total, transaction_count) "
+            + "SELECT c.user_id, date_trunc('month', s.date)::date, s.category_id, s.type, SUM(s.amount), COUNT(*) "
+            + "FROM transaction_import_staging s JOIN categories c ON c.id = s.category_id AND c.user_id = ? "
+            + "WHERE s.import_id = ? "
+            + "GROUP BY c.user_id, date_trunc('month', s.date)::date, s.category_id, s.type "
+            + "ON CONFLICT (user_id, month_value, category_id, type) "
+            + "DO UPDATE SET total = transaction_monthly_rollup.total + EXCLUDED.total, "
+            + "transaction_count = transaction_monthly_rollup.transaction_count + EXCLUDED.transaction_count";
+
+    private static final String MERGE_DAILY_ROLLUP_SQL = "INSERT INTO transaction_daily_rollup "
+            + "(user_id, day_value, type, total, transaction_count) "
+            + "SELECT c.user_id, s.date, s.type, SUM(s.amount), COUNT(*) "
+            + "FROM transaction_import_staging s JOIN categories c ON c.id = s.category_id AND c.user_id = ? "
+            + "WHERE s.import_id = ? "
+            + "GROUP BY c.user_id, s.date, s.type "
+            + "ON CONFLICT (user_id, day_value, type) "
+            + "DO UPDATE SET total = transaction_daily_rollup.total + EXCLUDED.total, "
+            + "transaction_count = transaction_daily_rollup.transaction_count + EXCLUDED.transaction_count";
+
+    private static final String STAGED_MONTH_DELTAS = "SELECT date_trunc('month', s.date)::date AS month_value, "
+            + "SUM(CASE WHEN s.type = 'INCOME' THEN s.amount ELSE 0 END) AS income, "
+            + "SUM(CASE WHEN s.type = 'EXPENSE' THEN s.amount ELSE 0 END) AS expense "
+            + "FROM transaction_import_staging s JOIN categories c ON c.id = s.category_id AND c.user_id = ? "
+            + "WHERE s.import_id = ? GROUP BY date_trunc('month', s.date)::date";
+
+    private static final String SEED_CHECKPOINTS_SQL = "INSERT INTO balance_checkpoints "
+            + "(user_id, month_value, income_to_date, expense_to_date) "
+            + "SELECT ?, d.month_value, "
+            + "COALESCE((SELECT p.income_to_date FROM balance_checkpoints p WHERE p.user_id = ? "
+            + "AND p.month_value < d.month_value ORDER BY p.month_value DESC LIMIT 1), 0), "
+            + "COALESCE((SELECT p.expense_to_date FROM balance_checkpoints p WHERE p.user_id = ? "
+            + "AND p.month_value < d.month_value ORDER BY p.month_value DESC LIMIT 1), 0) "
+            + "FROM (" + STAGED_MONTH_DELTAS + ") d "
+            + "ON CONFLICT (user_id, month_value) DO NOTHING";
+
+    private static final String SHIFT_CHECKPOINTS_SQL = "UPDATE balance_checkpoints b "
+            + "SET income_to_date = b.income_to_date + t.income, expense_to_date = b.expense_to_date + t.expense "
+            + "FROM (SELECT b2.month_value, SUM(d.income) AS income, SUM(d.expense) AS expense "
+            + "FROM balance_checkpoints b2 JOIN (" + STAGED_MONTH_DELTAS + ") d ON d.month_value <= b2.month_value "
+            + "WHERE b2.user_id = ? GROUP BY b2.month_value) t "
+            + "WHERE b.user_id = ? AND b.month_value = t.month_value";
+
+    private static final String CLEAR_STAGING_SQL = "DELETE FROM transaction_import_staging WHERE import_id = ?";
+
+    private static final int COPY_BUFFER_CHARS = 64 * 1024;
+
+    private static final int MAX_DESCRIPTION_LENGTH = 255;
+
+    private static final List<String> REQUIRED_COLUMNS = List.of("type", "categoryid", "amount", "date");
+
+    public enum Mode {
+        BATCH,
+        COPY
+    }
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionOperations transactionOperations;
+    private final CategoryRepository categoryRepository;
+    private final TransactionRollupRepository rollupRepository;
+    private final BalanceCheckpointRepository checkpointRepository;
+    private final TransactionDailyRollupRepository dailyRollupRepository;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int batchSize;
+    private final int maxReportedErrors;
+
+    public TransactionImportService(DataSource dataSource, JdbcTemplate jdbcTemplate,
+            TransactionOperations transactionOperations,
+            CategoryRepository categoryRepository, TransactionRollupRepository rollupRepository,
+            BalanceCheckpointRepository checkpointRepository,
+            TransactionDailyRollupRepository dailyRollupRepository,
+            ObjectMapper objectMapper, Validator validator,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${transactions.import.batch-size:1000}") int batchSize,
+            @Value("${transactions.import.max-reported-errors:1000}") int maxReportedErrors) {
+        this.dataSource = dataSource;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionOperations = transactionOperations;
+        this.categoryRepository = categoryRepository;
+        this.rollupRepository = rollupRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.dailyRollupRepository = dailyRollupRepository;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.eventPublisher = eventPublisher;
+        this.batchSize = batchSize;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    public TransactionImportResultDto importTransactions(Long userId, InputStream body, TransferFormat format) {
+        return importTransactions(userId, body, format, Mode.BATCH);
+    }
+
+    public TransactionImportResultDto importTransactions(Long userId, InputStream body, TransferFormat format, Mode mode) {
+        long started = System.nanoTime();
+        ImportRun run = mode == Mode.COPY ? new CopyRun(userId) : new BatchRun(userId);
+        read(run, body, format);
+        long elapsedMillis = Duration.ofNanos(System.nanoTime() - started).toMillis();
+        long rowsPerSecond = run.imported * 1000L / Math.max(1, elapsedMillis);
+        log.info("Imported {} transactions ({} rejected) for user {} in {} ms via {} ({} rows/s)",
+                run.imported, run.rejected, userId, elapsedMillis, mode, rowsPerSecond);
+        return new TransactionImportResultDto(run.imported, run.rejected, run.errors, run.errorsTruncated,
+                elapsedMillis, rowsPerSecond);
+    }
+
+    private void read(ImportRun run, InputStream body, TransferFormat format) {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            Map<String, Integer> columns = null;
+            long lineNumber = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (lineNumber == 1 && line.startsWith("\uFEFF")) {
+                    line = line.substring(1);
+                }
+                if (line.isBlank()) {
+                    continue;
+                }
+                if (format == TransferFormat.CSV && columns == null) {
+                    columns = parseHeader(line);
+                    continue;
+                }
+                try {
+                    CreateTransactionDto row = format == TransferFormat.CSV ? parseCsvRow(line, columns) : parseJsonRow(line);
+                    String violations = validate(row);
+                    if (violations == null) {
+                        run.accept(lineNumber, row);
+                    } else {
+                        run.reject(lineNumber, violations);
+                    }
+                } catch (RowFormatException e) {
+                    run.reject(lineNumber, e.getMessage());
+                }
+            }
+            run.finish();
+        } catch (IOException e) {
+            run.abort();
+            throw new UncheckedIOException("Could not read the import body", e);
+        } catch (RuntimeException e) {
+            run.abort();
+            throw e;
+        }
+    }
+
+    private Map<String, Integer> parseHeader(String line) {
+        Map<String, Integer> columns = new HashMap<>();
+        List<String> names = splitCsvLine(line);
+        for (int i = 0; i < names.size(); i++) {
+            columns.putIfAbsent(normalizeColumn(names.get(i)), i);
+        }
+        if (!columns.keySet().containsAll(REQUIRED_COLUMNS)) {
+            throw new InvalidRequestParameterException(HEADER_PARAMETER,
+                    "CSV header must name the columns type, categoryId, amount and date");
+        }
+        return columns;
+    }
+
+    private static String normalizeColumn(String name) {
+        return name.trim().replace("_", "").replace(" ", "").toLowerCase(Locale.ROOT);
+    }
+
+    private CreateTransactionDto parseCsvRow(String line, Map<String, Integer> columns) {
+        List<String> fields = splitCsvLine(line);
+        return new CreateTransactionDto(
+                parseType(field(fields, columns, "type")),
+                field(fields, columns, "description"),
+                parseCategoryId(field(fields, columns, "categoryid")),
+                parseAmount(field(fields, columns, "amount")),
+                parseDate(field(fields, columns, "date")));
+    }
+
+    private static String field(List<String> fields, Map<String, Integer> columns, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= fields.size() || fields.get(index).isBlank()) {
+            return null;
+        }
+        return fields.get(index).trim();
+    }
+
+    private CreateTransactionDto parseJsonRow(String line) {
+        try {
+            CreateTransactionDto row = objectMapper.readValue(line, CreateTransactionDto.class);
+            if (row == null) {
+                throw new RowFormatException("malformed JSON row: expected an object");
+            }
+            return row;
+        } catch (JacksonException e) {
+            throw new RowFormatException("malformed JSON row: " + e.getOriginalMessage());
+        }
+    }
+
+    private static TransactionType parseType(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return TransactionType.valueOf(value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new RowFormatException("type: must be INCOME or EXPENSE");
+        }
+    }
+
+    private static Long parseCategoryId(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Long.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new RowFormatException("categoryId: must be a number");
+        }
+    }
+
+    private static BigDecimal parseAmount(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return new BigDecimal(value);
+        } catch (NumberFormatException e) {
+            throw new RowFormatException("amount: must be a decimal number");
+        }
+    }
+
+    private static LocalDate parseDate(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new RowFormatException("date: must be an ISO date (YYYY-MM-DD)");
+        }
+    }
+
+    private String validate(CreateTransactionDto row) {
+        List<String> messages = validator.validate(row).stream()
+                .sorted(Comparator.comparing((ConstraintViolation<CreateTransactionDto> v) -> v.getPropertyPath().toString()))
+                .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                .collect(Collectors.toCollection(ArrayList::new));
+        if (row.description() != null && row.description().length() > MAX_DESCRIPTION_LENGTH) {
+            messages.add("description: must be at most " + MAX_DESCRIPTION_LENGTH + " characters");
+        }
+        return messages.isEmpty() ? null : String.join("; ", messages);
+    }
+
+    static List<String> splitCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        if (quoted) {
+            throw new RowFormatException("unterminated quoted field");
+        }
+        fields.add(current.toString());
+        return fields;
+    }
+
+    static void appendCopyRow(StringBuilder out, UUID importId, long line, CreateTransactionDto row) {
+        out.append(importId).append(',')
+                .append(line).append(',')
+                .append(row.type().name()).append(',');
+        if (row.description() != null) {
+            out.append('"').append(row.description().replace("\"", "\"\"")).append('"');
+        }
+        out.append(',')
+                .append(row.categoryId()).append(',')
+                .append(row.amount().setScale(2, RoundingMode.HALF_UP).toPlainString()).append(',')
+                .append(row.date()).append('\n');
+    }
+
+    private record PendingRow(long line, CreateTransactionDto row) {
+    }
+
+    private record RollupKey(LocalDate month, Long categoryId, TransactionType type) {
+    }
+
+    private record CheckpointKey(LocalDate month, TransactionType type) {
+    }
+
+    private record DailyKey(LocalDate day, TransactionType type) {
+    }
+
+    private record RollupDelta(BigDecimal total, long count) {
+
+        RollupDelta plus(RollupDelta other) {
+            return new RollupDelta(total.add(other.total()), count + other.count());
+        }
+    }
+
+    private static class RowFormatException extends RuntimeException {
+
+        RowFormatException(String message) {
+            super(message);
+        }
+    }
+
+    private abstract class ImportRun {
+
+        protected final Long userId;
+        private final List<TransactionImportResultDto.RowError> errors = new ArrayList<>();
+        protected int imported;
+        private int rejected;
+        private boolean errorsTruncated;
+
+        ImportRun(Long userId) {
+            this.userId = userId;
+        }
+
+        abstract void accept(long line, CreateTransactionDto row);
+
+        abstract void finish();
+
+        void abort() {
+        }
+
+        void reject(long line, String message) {
+            rejected++;
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new TransactionImportResultDto.RowError(line, message));
+            } else {
+                errorsTruncated = true;
+            }
+        }
+    }
+
+    private class BatchRun extends ImportRun {
+
+        private final List<PendingRow> pending = new ArrayList<>();
+        private final Set<Long> ownedCategoryIds = new HashSet<>();
+        private final Set<Long> foreignCategoryIds = new HashSet<>();
+
+        BatchRun(Long userId) {
+            super(userId);
+        }
+
+        @Override
+        void accept(long line, CreateTransactionDto row) {
+            pending.add(new PendingRow(line, row));
+            if (pending.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        @Override
+        void finish() {
+            flush();
+        }
+
+        private void flush() {
+            if (pending.isEmpty()) {
+                return;
+            }
+            resolveCategories();
+            List<PendingRow> batch = new ArrayList<>(pending.size());
+            for (PendingRow pendingRow : pending) {
+                Long categoryId = pendingRow.row().categoryId();
+                if (ownedCategoryIds.contains(categoryId)) {
+                    batch.add(pendingRow);
+                } else {
+                    reject(pendingRow.line(), "categoryId: Category not found with id: " + categoryId);
+                }
+            }
+            pending.clear();
+            insert(batch);
+        }
+
+        private void resolveCategories() {
+            Set<Long> unresolved = new HashSet<>();
+            for (PendingRow pendingRow : pending) {
+                Long categoryId = pendingRow.row().categoryId();
+                if (!ownedCategoryIds.contains(categoryId) && !foreignCategoryIds.contains(categoryId)) {
+                    unresolved.add(categoryId);
+                }
+            }
+            if (unresolved.isEmpty()) {
+                return;
+            }
+            Set<Long> owned = categoryRepository.findOwnedIds(userId, unresolved);
+            ownedCategoryIds.addAll(owned);
+            unresolved.removeAll(owned);
+            foreignCategoryIds.addAll(unresolved);
+        }
+
+        private void insert(List<PendingRow> batch) {
+            if (batch.isEmpty()) {
+                return;
+            }
+            try {
+                transactionOperations.executeWithoutResult(status -> {
+                    jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), (statement, pendingRow) -> {
+                        CreateTransactionDto row = pendingRow.row();
+                        statement.setString(1, row.type().name());
+                        statement.setString(2, row.description());
+                        statement.setLong(3, row.categoryId());
+                        statement.setLong(4, userId);
+                        statement.setBigDecimal(5, row.amount().setScale(2, RoundingMode.HALF_UP));
+                        statement.setDate(6, Date.valueOf(row.date()));
+                    });
+                    recordRollup(batch);
+                    eventPublisher.publishEvent(new UserDataChangedEvent(userId));
+                });
+                imported += batch.size();
+            } catch (DataAccessException e) {
+                log.warn("Import batch of {} rows for user {} was rolled back: {}", batch.size(), userId, e.getMessage());
+                batch.forEach(pendingRow -> reject(pendingRow.line(),
+                        "row could not be stored; the batch it belonged to was rolled back"));
+            }
+        }
+
+        private void recordRollup(List<PendingRow> batch) {
+            Map<RollupKey, RollupDelta> deltas = new HashMap<>();
+            Map<DailyKey, RollupDelta> dailyDeltas = new HashMap<>();
+            for (PendingRow pendingRow : batch) {
+                CreateTransactionDto row = pendingRow.row();
+                RollupDelta delta = new RollupDelta(row.amount().setScale(2, RoundingMode.HALF_UP), 1);
+                deltas.merge(new RollupKey(row.date().withDayOfMonth(1), row.categoryId(), row.type()),
+                        delta, RollupDelta::plus);
+                dailyDeltas.merge(new DailyKey(row.date(), row.type()), delta, RollupDelta::plus);
+            }
+            checkpointRepository.lockOwner(userId);
+            deltas.forEach((key, delta) -> rollupRepository.add(userId, key.month(), key.categoryId(),
+                    key.type().name(), delta.total(), delta.count()));
+            dailyDeltas.forEach((key, delta) -> dailyRollupRepository.add(userId, key.day(), key.type().name(),
+                    delta.total(), delta.count()));
+
+            Map<CheckpointKey, BigDecimal> checkpoints = new TreeMap<>(
+                    Comparator.comparing(CheckpointKey::month).thenComparing(CheckpointKey::type));
+            deltas.forEach((key, delta) -> checkpoints.merge(new CheckpointKey(key.month(), key.type()),
+                    delta.total(), BigDecimal::add));
+            checkpoints.forEach((key, amount) -> checkpointRepository.add(userId, key.month(), key.type(), amount));
+        }
+    }
+
+    // Rows are spooled to a temporary file while the body arrives, so a slow
+    // upload holds no connection; the COPY and the merge then run in one short
+    // transaction at the end.
+    private class CopyRun extends ImportRun {
+
+        private final UUID importId = UUID.randomUUID();
+        private final StringBuilder buffer = new StringBuilder();
+        private Path spool;
+        private Writer spoolWriter;
+        private int staged;
+
+        CopyRun(Long userId) {
+            super(userId);
+        }
+
+        @Override
+        void accept(long line, CreateTransactionDto row) {
+            appendCopyRow(buffer, importId, line, row);
+            staged++;
+            if (buffer.length() >= COPY_BUFFER_CHARS) {
+                writeBuffer();
+            }
+        }
+
+        @Override
+        void finish() {
+            if (staged == 0) {
+                return;
+            }
+            try {
+                writeBuffer();
+                closeSpool();
+                transactionOperations.executeWithoutResult(status -> merge());
+            } finally {
+                deleteSpool();
+            }
+        }
+
+        @Override
+        void abort() {
+            try {
+                closeSpool();
+            } catch (UncheckedIOException e) {
+                log.warn("Could not close the spool file for import {}: {}", importId, e.getMessage());
+            }
+            deleteSpool();
+        }
+
+        private void merge() {
+            try (InputStream rows = Files.newInputStream(spool)) {
+                Connection connection = DataSourceUtils.getConnection(dataSource);
+                connection.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_SQL, rows, COPY_BUFFER_CHARS);
+            } catch (SQLException e) {
+                throw jdbcTemplate.getExceptionTranslator().translate("COPY", COPY_SQL, e);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not read the spooled import rows", e);
+            }
+            checkpointRepository.lockOwner(userId);
+            imported = jdbcTemplate.update(MERGE_SQL, userId, importId);
+            jdbcTemplate.update(MERGE_ROLLUP_SQL, userId, importId);
+            jdbcTemplate.update(MERGE_DAILY_ROLLUP_SQL, userId, importId);
+            jdbcTemplate.update(SEED_CHECKPOINTS_SQL, userId, userId, userId, userId, importId);
+            jdbcTemplate.update(SHIFT_CHECKPOINTS_SQL, userId, importId, userId, userId);
+            if (imported < staged) {
+                jdbcTemplate.query(UNOWNED_STAGED_ROWS_SQL, resultSet -> {
+                    reject(resultSet.getLong("line"),
+                            "categoryId: Category not found with id: " + resultSet.getLong("category_id"));
+                }, importId, userId);
+            }
+            jdbcTemplate.update(CLEAR_STAGING_SQL, importId);
+            if (imported > 0) {
+                eventPublisher.publishEvent(new UserDataChangedEvent(userId));
+            }
+        }
+
+        private void writeBuffer() {
+            if (buffer.isEmpty()) {
+                return;
+            }
+            try {
+                if (spoolWriter == null) {
+                    spool = Files.createTempFile("transaction-import-", ".csv");
+                    spoolWriter = Files.newBufferedWriter(spool, StandardCharsets.UTF_8);
+                }
+                spoolWriter.append(buffer);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not spool the import body", e);
+            }
+            buffer.setLength(0);
+        }
+
+        private void closeSpool() {
+            if (spoolWriter == null) {
+                return;
+            }
+            try {
+                spoolWriter.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not spool the import body", e);
+            } finally {
+                spoolWriter = null;
+            }
+        }
+
+        private void deleteSpool() {
+            if (spool == null) {
+                return;
+            }
+            try {
+                Files.deleteIfExists(spool);
+            } catch (IOException e) {
+                log.warn("Could not delete the spool file for import {}: {}", importId, e.getMessage());
+            }
+            spool = null;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package hu.financial.service;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionOperations;
+
+import hu.financial.event.UserDataChangedEvent;
+import hu.financial.repository.BalanceCheckpointRepository;
+
+@Service
+public class TransactionRollupService {
+
+    private static final Logger log = LoggerFactory.getLogger(TransactionRollupService.class);
+
+    private static final String USER_IDS_SQL = "SELECT id FROM users ORDER BY id";
+
+    private static final String UPSERT_ACTUAL_SQL = "INSERT INTO transaction_monthly_rollup "
+            + "(user_id, month_value, category_id, type, total, transaction_count) "
+            + "SELECT user_id, date_trunc('month', date)::date, category_id, type, SUM(amount), COUNT(*) "
+            + "FROM transactions WHERE user_id = ? "
+            + "GROUP BY user_id, date_trunc('month', date)::date, category_id, type "
+            + "ON CONFLICT (user_id, month_value, category_id, type) "
+            + "DO UPDATE SET total = EXCLUDED.total, transaction_count = EXCLUDED.transaction_count "
+            + "WHERE transaction_monthly_rollup.total <> EXCLUDED.total "
+            + "OR transaction_monthly_rollup.transaction_count <> EXCLUDED.transaction_count";
+
+    private static final String DELETE_STALE_SQL = "DELETE FROM transaction_monthly_rollup r WHERE r.user_id = ? "
+            + "AND NOT EXISTS (SELECT 1 FROM transactions t WHERE t.user_id = r.user_id "
+            + "AND t.category_id = r.category_id AND t.type = r.type "
+            + "AND t.date >= r.month_value AND t.date < r.month_value + INTERVAL '1 month')";
+
+    private static final String UPSERT_DAILY_SQL = "INSERT INTO transaction_daily_rollup "
+            + "(user_id, day_value, type, total, transaction_count) "
+            + "SELECT user_id, date, type, SUM(amount), COUNT(*) "
+            + "FROM transactions WHERE user_id = ? "
+            + "GROUP BY user_id, date, type "
+            + "ON CONFLICT (user_id, day_value, type) "
+            + "DO UPDATE SET total = EXCLUDED.total, transaction_count = EXCLUDED.transaction_count "
+            + "WHERE transaction_daily_rollup.total <> EXCLUDED.total "
+            + "OR transaction_daily_rollup.transaction_count <> EXCLUDED.transaction_count";
+
+    private static final String DELETE_STALE_DAILY_SQL = "DELETE FROM transaction_daily_rollup r WHERE r.user_id = ? "
+            + "AND NOT EXISTS (SELECT 1 FROM transactions t WHERE t.user_id = r.user_id "
+            + "AND t.type = r.type AND t.date = r.day_value)";
+
+    private static final String UPSERT_CHECKPOINTS_SQL = "INSERT INTO balance_checkpoints "
+            + "(user_id, month_value, income_to_date, expense_to_date) "
+            + "SELECT user_id, month_value, "
+            + "SUM(SUM(CASE WHEN type = 'INCOME' THEN total ELSE 0 END)) OVER (ORDER BY month_value), "
+            + "SUM(SUM(CASE WHEN type = 'EXPENSE' THEN total ELSE 0 END)) OVER (ORDER BY month_value) "
+            + "FROM transaction_monthly_rollup WHERE user_id = ? GROUP BY user_id, month_value "
+            + "ON CONFLICT (user_id, month_value) "
+            + "DO UPDATE SET income_to_date = EXCLUDED.income_to_date, expense_to_date = EXCLUDED.expense_to_date "
+            + "WHERE balance_checkpoints.income_to_date <> EXCLUDED.income_to_date "
+            + "OR balance_checkpoints.expense_to_date <> EXCLUDED.expense_to_date";
+
+    private static final String DELETE_STALE_CHECKPOINTS_SQL = "DELETE FROM balance_checkpoints b WHERE b.user_id = ? "
+            + "AND NOT EXISTS (SELECT 1 FROM transaction_monthly_rollup r "
+            + "WHERE r.user_id = b.user_id AND r.month_value = b.month_value)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionOperations transactionOperations;
+    private final BalanceCheckpointRepository checkpointRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public TransactionRollupService(JdbcTemplate jdbcTemplate, TransactionOperations transactionOperations,
+            BalanceCheckpointRepository checkpointRepository, ApplicationEventPublisher eventPublisher) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionOperations = transactionOperations;
+        this.checkpointRepository = checkpointRepository;
+        this.eventPublisher = eventPublisher;
+    }
+
+    public int rebuild(Long userId) {
+        Integer corrected = transactionOperations.execute(status -> {
+            // Every write path takes the owner's row lock before it touches the rollups, so this
+            // waits only for that user's in-flight writes and blocks nobody else's.
+            checkpointRepository.lockOwner(userId);
+            return jdbcTemplate.update(UPSERT_ACTUAL_SQL, userId)
+                    + jdbcTemplate.update(DELETE_STALE_SQL, userId)
+                    + jdbcTemplate.update(UPSERT_DAILY_SQL, userId)
+                    + jdbcTemplate.update(DELETE_STALE_DAILY_SQL, userId)
+                    + jdbcTemplate.update(UPSERT_CHECKPOINTS_SQL, userId)
+                    + jdbcTemplate.update(DELETE_STALE_CHECKPOINTS_SQL, userId);
+        });
+        int rows = corrected == null ? 0 : corrected;
+        if (rows > 0) {
+            eventPublisher.publishEvent(new UserDataChangedEvent(userId));
+        }
+        return rows;
+    }
+
+    @Scheduled(cron = "${transactions.rollup.rebuild-cron:0 30 3 * * *}")
+    public void rebuildAll() {
+        List<Long> userIds = jdbcTemplate.queryForList(USER_IDS_SQL, Long.class);
+        int corrected = 0;
+        for (Long userId : userIds) {
+            corrected += rebuild(userId);
+        }
+        if (corrected > 0) {
+            log.info("Reconciled monthly and daily rollups and balance checkpoints; rewrote {} rows across {} users",
+                    corrected, userIds.size());
+        }
+    }
+}
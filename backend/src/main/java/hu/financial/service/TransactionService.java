@@ -2,15 +2,30 @@ package hu.financial.service;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.time.LocalDate;
 import java.time.YearMonth;
 import java.util.List;
+import java.util.OptionalLong;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.transaction.annotation.Transactional;
+import hu.financial.repository.BalanceCheckpointRepository;
+import hu.financial.repository.TransactionDailyRollupRepository;
 import hu.financial.repository.TransactionRepository;
+import hu.financial.repository.TransactionRollupRepository;
+import hu.financial.repository.projection.TransactionPosting;
+import hu.financial.repository.projection.TransactionRow;
 import hu.financial.repository.spec.TransactionSpecifications;
+import hu.financial.dto.common.CursorResponse;
+import hu.financial.dto.transaction.TransactionCursor;
 import hu.financial.dto.transaction.TransactionFilter;
 import hu.financial.model.Transaction;
 import hu.financial.model.User;
@@ -19,6 +34,7 @@ import hu.financial.exception.transaction.TransactionValidationException;
 import hu.financial.dto.transaction.CreateTransactionDto;
 import hu.financial.dto.transaction.TransactionResponseDto;
 import hu.financial.dto.transaction.BudgetWarningDto;
+import hu.financial.event.UserDataChangedEvent;
 import hu.financial.model.enums.TransactionType;
 
 @Service
@@ -36,10 +52,28 @@ public class TransactionService {
   @Autowired
   private ReportService reportService;
 
+  @Autowired
+  private ListCountCache listCountCache;
+
+  @Autowired
+  private TransactionRollupRepository rollupRepository;
+
+  @Autowired
+  private BalanceCheckpointRepository checkpointRepository;
+
+  @Autowired
+  private TransactionDailyRollupRepository dailyRollupRepository;
+
+  @Autowired
+  private ApplicationEventPublisher eventPublisher;
+
   @Transactional
   public Transaction createTransaction(Transaction transaction) {
     validateTransactionForCreation(transaction);
-    return transactionRepository.save(transaction);
+    Transaction savedTransaction = transactionRepository.save(transaction);
+    recordRollup(savedTransaction, false);
+    publishChange(transaction);
+    return savedTransaction;
   }
 
   public List<Transaction> getAllTransactions() {
@@ -50,22 +84,23 @@ public class TransactionService {
     return transactions;
   }
 
-  public Transaction getTransactionById(Long id) {
-    return transactionRepository.findById(id)
+  public TransactionRow getOwnedTransactionRow(Long id, Long userId) {
+    return transactionRepository.findOwnedRow(id, userId)
         .orElseThrow(() -> new TransactionNotFoundException(id));
   }
 
   @Transactional
-  public Transaction updateTransaction(Long id, Transaction transaction) {
-    Transaction existingTransaction = transactionRepository.findById(id)
-        .orElseThrow(() -> new TransactionNotFoundException(id));
+  public Transaction updateOwnedTransaction(Long id, Transaction transaction) {
     validateAmount(transaction.getAmount());
-    existingTransaction.setType(transaction.getType());
-    existingTransaction.setDescription(transaction.getDescription());
-    existingTransaction.setCategory(transaction.getCategory());
-    existingTransaction.setAmount(transaction.getAmount());
-    existingTransaction.setDate(transaction.getDate());
-    return transactionRepository.save(existingTransaction);
+    Long userId = transaction.getUser().getId();
+    TransactionPosting previous = transactionRepository.updateOwned(id, userId, transaction.getType().name(),
+        transaction.getDescription(), transaction.getCategory().getId(), transaction.getAmount(), transaction.getDate())
+        .orElseThrow(() -> new TransactionNotFoundException(id));
+    transaction.setId(id);
+    recordRollup(userId, previous, true);
+    recordRollup(transaction, false);
+    publishChange(transaction);
+    return transaction;
   }
 
   private void validateTransactionForCreation(Transaction transaction) {
@@ -78,15 +113,67 @@ public class TransactionService {
     }
   }
 
-  public Page<Transaction> getTransactionsByUserId(Long userId, TransactionFilter filter, Pageable pageable) {
-    return transactionRepository.findAll(TransactionSpecifications.ownedBy(userId, filter), pageable);
+  public Page<TransactionRow> getTransactionsByUserId(Long userId, TransactionFilter filter, Pageable pageable) {
+    Specification<Transaction> specification = TransactionSpecifications.ownedBy(userId, filter);
+    OptionalLong cachedTotal = listCountCache.get(userId, filter);
+    long stamp = listCountCache.stamp(userId);
+    Slice<TransactionRow> rows = transactionRepository.findRows(specification, pageable);
+    if (cachedTotal.isPresent()) {
+      return new PageImpl<>(rows.getContent(), pageable, cachedTotal.getAsLong());
+    }
+    long total = rows.hasNext() || (rows.getContent().isEmpty() && pageable.getOffset() > 0)
+        ? transactionRepository.count(specification)
+        : pageable.getOffset() + rows.getNumberOfElements();
+    listCountCache.put(userId, filter, total, stamp);
+    return new PageImpl<>(rows.getContent(), pageable, total);
+  }
+
+  public Slice<TransactionRow> sliceTransactionsByUserId(Long userId, TransactionFilter filter, Pageable pageable) {
+    return transactionRepository.findRows(TransactionSpecifications.ownedBy(userId, filter), pageable);
+  }
+
+  public CursorResponse<TransactionRow> scrollTransactionsByUserId(
+      Long userId, TransactionFilter filter, Sort sort, TransactionCursor after, int size) {
+    Specification<Transaction> specification = TransactionSpecifications.ownedBy(userId, filter);
+    if (after != null) {
+      specification = specification.and(TransactionSpecifications.after(after));
+    }
+    Slice<TransactionRow> rows = transactionRepository.findRows(specification, PageRequest.of(0, size, sort));
+    List<TransactionRow> content = rows.getContent();
+    String nextCursor = rows.hasNext() ? TransactionCursor.after(content.get(content.size() - 1), sort).encode() : null;
+    return new CursorResponse<>(content, size, nextCursor, rows.hasNext());
   }
 
   @Transactional
-  public void deleteTransaction(Long id) {
-    Transaction existingTransaction = transactionRepository.findById(id)
+  public void deleteOwnedTransaction(Long id, Long userId) {
+    TransactionPosting deleted = transactionRepository.deleteOwned(id, userId)
         .orElseThrow(() -> new TransactionNotFoundException(id));
-    transactionRepository.delete(existingTransaction);
+    recordRollup(userId, deleted, true);
+    eventPublisher.publishEvent(new UserDataChangedEvent(userId));
+  }
+
+  private void recordRollup(Transaction transaction, boolean reverse) {
+    recordRollup(transaction.getUser().getId(), transaction.getDate(), transaction.getCategory().getId(),
+        transaction.getType(), transaction.getAmount(), reverse);
+  }
+
+  private void recordRollup(Long userId, TransactionPosting posting, boolean reverse) {
+    recordRollup(userId, posting.getDate(), posting.getCategoryId(), TransactionType.valueOf(posting.getType()),
+        posting.getAmount(), reverse);
+  }
+
+  private void recordRollup(Long userId, LocalDate date, Long categoryId, TransactionType type, BigDecimal amount,
+      boolean reverse) {
+    BigDecimal signed = reverse ? amount.negate() : amount;
+    LocalDate month = date.withDayOfMonth(1);
+    checkpointRepository.lockOwner(userId);
+    rollupRepository.add(userId, month, categoryId, type.name(), signed, reverse ? -1 : 1);
+    checkpointRepository.add(userId, month, type, signed);
+    dailyRollupRepository.add(userId, date, type.name(), signed, reverse ? -1 : 1);
+  }
+
+  private void publishChange(Transaction transaction) {
+    eventPublisher.publishEvent(new UserDataChangedEvent(transaction.getUser().getId()));
   }
 
   public Transaction mapToEntity(CreateTransactionDto dto) {
@@ -109,6 +196,18 @@ public class TransactionService {
     return mapToDto(transaction, null);
   }
 
+  public TransactionResponseDto mapRowToDto(TransactionRow row) {
+    return new TransactionResponseDto(
+        row.id(),
+        row.type(),
+        row.description(),
+        row.categoryId(),
+        row.categoryName(),
+        row.amount(),
+        row.date(),
+        null);
+  }
+
   private TransactionResponseDto mapToDto(Transaction transaction, BudgetWarningDto budgetWarning) {
     return new TransactionResponseDto(
         transaction.getId(),
@@ -0,0 +1,63 @@
+package hu.financial.service;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import hu.financial.exception.transaction.TransferUnavailableException;
+
+// An export streams from an open cursor, so it holds a pooled connection and
+// transaction for as long as the client takes to download. The permits cap how
+// many do so at once, below the pool size; a request that cannot get one within
+// the wait is turned away with 503 instead of queueing behind slow clients.
+@Component
+public class TransferPermits {
+
+    private final Semaphore permits;
+
+    private final Duration acquireTimeout;
+
+    public TransferPermits(
+            @Value("${transactions.transfer.max-concurrent:0}") int maxConcurrent,
+            @Value("${transactions.transfer.acquire-timeout:2s}") Duration acquireTimeout,
+            @Value("${spring.datasource.hikari.maximum-pool-size:10}") int poolSize) {
+        int limit = maxConcurrent > 0 ? maxConcurrent : Math.max(1, poolSize / 4);
+        this.permits = new Semaphore(Math.min(limit, Math.max(1, poolSize - 1)), true);
+        this.acquireTimeout = acquireTimeout;
+    }
+
+    public Permit acquire() {
+        try {
+            if (!permits.tryAcquire(acquireTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new TransferUnavailableException("Too many concurrent exports, please retry shortly");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TransferUnavailableException("Interrupted while waiting for an export slot");
+        }
+        return new Permit();
+    }
+
+    public int availablePermits() {
+        return permits.availablePermits();
+    }
+
+    public final class Permit implements AutoCloseable {
+
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit() {
+        }
+
+        @Override
+        public void close() {
+            if (released.compareAndSet(false, true)) {
+                permits.release();
+            }
+        }
+    }
+}
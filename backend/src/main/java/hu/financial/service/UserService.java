@@ -4,14 +4,19 @@ import hu.financial.dto.user.ChangePasswordRequestDto;
 import hu.financial.dto.user.UpdateProfileDto;
 import hu.financial.dto.user.UserResponseDto;
 import hu.financial.dto.user.GetUserByIdDto;
+import hu.financial.event.PrincipalChangedEvent;
+import hu.financial.event.UserDataChangedEvent;
 import hu.financial.mapper.UserMapper;
 import hu.financial.model.User;
 import hu.financial.repository.UserRepository;
 import hu.financial.exception.user.DuplicateUserException;
 import hu.financial.exception.user.InvalidPasswordException;
 import hu.financial.exception.user.UserNotFoundException;
+import hu.financial.security.UserPrincipal;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -19,8 +24,11 @@ import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
 import org.springframework.util.StringUtils;
 
+import java.util.List;
 import java.util.Objects;
 
 @Service
@@ -34,6 +42,12 @@ public class UserService implements UserDetailsService {
 
     @Autowired
     private UserMapper userMapper;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
   
 
     public long countUsers(){
@@ -56,6 +70,7 @@ public class UserService implements UserDetailsService {
     @Transactional
     public User updateUser(Long id, UpdateProfileDto updateProfileDto) {
         User existingUser = getUserById(id);
+        String previousUsername = existingUser.getUsername();
     
         User userDetails = new User();
         userDetails.setUsername(updateProfileDto.username());
@@ -70,17 +85,23 @@ public class UserService implements UserDetailsService {
             existingUser.setEmail(updateProfileDto.email());
         }
         
-        return userRepository.save(existingUser);
+        User savedUser;
+        try {
+            savedUser = userRepository.saveAndFlush(existingUser);
+        } catch (DataIntegrityViolationException e) {
+            throw new DuplicateUserException("Account with this email or username already exists");
+        }
+        eventPublisher.publishEvent(new PrincipalChangedEvent(savedUser.getId(),
+                List.of(previousUsername, savedUser.getUsername())));
+        return savedUser;
     }
     
     @Transactional
     public void deleteUser(Long id) {
-        if (userRepository.findById(id).isEmpty()) {
-            throw new UserNotFoundException(id);
-        }
-        else {
-            userRepository.deleteById(id);
-        }
+        User existingUser = userRepository.findById(id)
+                .orElseThrow(() -> new UserNotFoundException(id));
+        userRepository.deleteById(id);
+        eventPublisher.publishEvent(new PrincipalChangedEvent(id, List.of(existingUser.getUsername())));
     }
 
     private void validateUserForUpdate(User existingUser, User userDetails) {
@@ -121,17 +142,51 @@ public class UserService implements UserDetailsService {
     }
 
     @Transactional
-    public void changePassword(User user, ChangePasswordRequestDto request) {
+    public User changePassword(User user, ChangePasswordRequestDto request) {
         if (!verifyPassword(request.currentPassword(), user.getPassword())) {
             throw new InvalidPasswordException("currentPassword", "Current password is incorrect");
         }
         User existingUser = getUserById(user.getId());
         existingUser.setPassword(passwordEncoder.encode(request.newPassword()));
+        existingUser.setCredentialVersion(existingUser.getCredentialVersion() + 1);
         userRepository.save(existingUser);
+        eventPublisher.publishEvent(new PrincipalChangedEvent(existingUser.getId(),
+                List.of(existingUser.getUsername())));
+        refreshTokenService.revokeAll(existingUser.getId());
+        return existingUser;
+    }
+
+    public Integer findCredentialVersion(Long id) {
+        Integer credentialVersion = userRepository.findCredentialVersionById(id);
+        if (credentialVersion == null) {
+            throw new UsernameNotFoundException("User not found with id: " + id);
+        }
+        return credentialVersion;
+    }
+
+    public Long findDataVersion(Long id) {
+        return userRepository.findDataVersionById(id);
+    }
+
+    // Bumped inside the writing transaction, so the new version becomes
+    // visible together with the data it describes.
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onUserDataChanged(UserDataChangedEvent event) {
+        if (event.userId() != null) {
+            userRepository.incrementDataVersion(event.userId());
+        }
     }
 
     public User getCurrentUser() {
-        return (User) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        Object principal = SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        if (principal instanceof User user) {
+            return user;
+        }
+        return userRepository.getReferenceById(((UserPrincipal) principal).getId());
+    }
+
+    public Long getCurrentUserId() {
+        return ((UserPrincipal) SecurityContextHolder.getContext().getAuthentication().getPrincipal()).getId();
     }
 
     @Transactional(readOnly = true)
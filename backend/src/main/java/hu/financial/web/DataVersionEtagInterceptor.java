@@ -0,0 +1,63 @@
+package hu.financial.web;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.time.YearMonth;
+import java.util.Map;
+import java.util.TreeMap;
+
+import hu.financial.security.TokenDigests;
+import hu.financial.security.UserPrincipal;
+import hu.financial.service.UserService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+public class DataVersionEtagInterceptor implements HandlerInterceptor {
+
+    static final String CACHE_CONTROL = "private, no-cache";
+
+    private final UserService userService;
+
+    public DataVersionEtagInterceptor(UserService userService) {
+        this.userService = userService;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!HttpMethod.GET.matches(request.getMethod()) && !HttpMethod.HEAD.matches(request.getMethod())) {
+            return true;
+        }
+        Long userId = currentUserId();
+        Long version = userId == null ? null : userService.findDataVersion(userId);
+        if (version == null) {
+            return true;
+        }
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+        return !new ServletWebRequest(request, response).checkNotModified(etag(userId, version, request));
+    }
+
+    // The server month is part of the tag because reports default to it when
+    // no month is requested, so the same URL changes meaning at month end.
+    static String etag(Long userId, long version, HttpServletRequest request) {
+        StringBuilder resource = new StringBuilder()
+                .append(userId).append('|')
+                .append(request.getRequestURI()).append('|')
+                .append(YearMonth.now());
+        Map<String, String[]> parameters = new TreeMap<>(request.getParameterMap());
+        parameters.forEach((name, values) -> resource.append('|').append(name).append('=')
+                .append(String.join(",", values)));
+        return "W/\"" + version + "-" + TokenDigests.sha256(resource.toString()).substring(0, 16) + "\"";
+    }
+
+    private static Long currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof UserPrincipal principal) {
+            return principal.getId();
+        }
+        return null;
+    }
+}
@@ -34,6 +34,14 @@ public final class SortWhitelist {
     }
 
     public Sort toSort(String sort) {
+        return toSort(sort, false);
+    }
+
+    public Sort toKeysetSort(String sort) {
+        return toSort(sort, true);
+    }
+
+    private Sort toSort(String sort, boolean alignTieBreaker) {
         if (sort == null || sort.isBlank()) {
             throw invalid();
         }
@@ -50,7 +58,8 @@ public final class SortWhitelist {
         if (field.equals(tieBreaker.getProperty())) {
             return primary;
         }
-        return primary.and(Sort.by(tieBreaker));
+        Sort.Order secondary = alignTieBreaker ? tieBreaker.with(direction) : tieBreaker;
+        return primary.and(Sort.by(secondary));
     }
 
     private Sort.Direction direction(String value) {
@@ -0,0 +1,19 @@
+CREATE TABLE transaction_monthly_rollup (
+    user_id BIGINT NOT NULL,
+    month_value DATE NOT NULL,
+    category_id BIGINT NOT NULL,
+    type VARCHAR(255) NOT NULL,
+    total NUMERIC(19,2) NOT NULL,
+    transaction_count BIGINT NOT NULL,
+    CONSTRAINT pk_transaction_monthly_rollup PRIMARY KEY (user_id, month_value, category_id, type),
+    CONSTRAINT fk_transaction_monthly_rollup_user FOREIGN KEY (user_id) REFERENCES users (id) ON DELETE CASCADE,
+    CONSTRAINT fk_transaction_monthly_rollup_category FOREIGN KEY (category_id) REFERENCES categories (id) ON DELETE CASCADE,
+    CONSTRAINT ck_transaction_monthly_rollup_type CHECK (type IN ('INCOME', 'EXPENSE'))
+);
+
+CREATE INDEX idx_transaction_monthly_rollup_category_id ON transaction_monthly_rollup (category_id);
+
+INSERT INTO transaction_monthly_rollup (user_id, month_value, category_id, type, total, transaction_count)
+SELECT user_id, date_trunc('month', date)::date, category_id, type, SUM(amount), COUNT(*)
+FROM transactions
+GROUP BY user_id, date_trunc('month', date)::date, category_id, type;
@@ -0,0 +1,15 @@
+CREATE TABLE balance_checkpoints (
+    user_id BIGINT NOT NULL,
+    month_value DATE NOT NULL,
+    income_to_date NUMERIC(19,2) NOT NULL,
+    expense_to_date NUMERIC(19,2) NOT NULL,
+    CONSTRAINT pk_balance_checkpoints PRIMARY KEY (user_id, month_value),
+    CONSTRAINT fk_balance_checkpoints_user FOREIGN KEY (user_id) REFERENCES users (id) ON DELETE CASCADE
+);
+
+INSERT INTO balance_checkpoints (user_id, month_value, income_to_date, expense_to_date)
+SELECT user_id, month_value,
+    SUM(SUM(CASE WHEN type = 'INCOME' THEN total ELSE 0 END)) OVER (PARTITION BY user_id ORDER BY month_value),
+    SUM(SUM(CASE WHEN type = 'EXPENSE' THEN total ELSE 0 END)) OVER (PARTITION BY user_id ORDER BY month_value)
+FROM transaction_monthly_rollup
+GROUP BY user_id, month_value;
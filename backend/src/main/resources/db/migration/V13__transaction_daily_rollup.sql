@@ -0,0 +1,15 @@
+CREATE TABLE transaction_daily_rollup (
+    user_id BIGINT NOT NULL,
+    day_value DATE NOT NULL,
+    type VARCHAR(255) NOT NULL,
+    total NUMERIC(19,2) NOT NULL,
+    transaction_count BIGINT NOT NULL,
+    CONSTRAINT pk_transaction_daily_rollup PRIMARY KEY (user_id, day_value, type),
+    CONSTRAINT fk_transaction_daily_rollup_user FOREIGN KEY (user_id) REFERENCES users (id) ON DELETE CASCADE,
+    CONSTRAINT ck_transaction_daily_rollup_type CHECK (type IN ('INCOME', 'EXPENSE'))
+);
+
+INSERT INTO transaction_daily_rollup (user_id, day_value, type, total, transaction_count)
+SELECT user_id, date, type, SUM(amount), COUNT(*)
+FROM transactions
+GROUP BY user_id, date, type;
@@ -0,0 +1,5 @@
+CREATE INDEX idx_transactions_user_id_date_id ON transactions (user_id, date, id);
+
+CREATE INDEX idx_transactions_user_id_amount_id ON transactions (user_id, amount, id);
+
+DROP INDEX idx_transactions_user_id_date;
@@ -0,0 +1,19 @@
+ALTER TABLE users ALTER COLUMN id DROP IDENTITY;
+CREATE SEQUENCE users_seq INCREMENT BY 50 OWNED BY users.id;
+SELECT setval('users_seq', COALESCE((SELECT max(id) FROM users), 0) + 50);
+ALTER TABLE users ALTER COLUMN id SET DEFAULT nextval('users_seq');
+
+ALTER TABLE categories ALTER COLUMN id DROP IDENTITY;
+CREATE SEQUENCE categories_seq INCREMENT BY 50 OWNED BY categories.id;
+SELECT setval('categories_seq', COALESCE((SELECT max(id) FROM categories), 0) + 50);
+ALTER TABLE categories ALTER COLUMN id SET DEFAULT nextval('categories_seq');
+
+ALTER TABLE budgets ALTER COLUMN id DROP IDENTITY;
+CREATE SEQUENCE budgets_seq INCREMENT BY 50 OWNED BY budgets.id;
+SELECT setval('budgets_seq', COALESCE((SELECT max(id) FROM budgets), 0) + 50);
+ALTER TABLE budgets ALTER COLUMN id SET DEFAULT nextval('budgets_seq');
+
+ALTER TABLE transactions ALTER COLUMN id DROP IDENTITY;
+CREATE SEQUENCE transactions_seq INCREMENT BY 50 OWNED BY transactions.id;
+SELECT setval('transactions_seq', COALESCE((SELECT max(id) FROM transactions), 0) + 50);
+ALTER TABLE transactions ALTER COLUMN id SET DEFAULT nextval('transactions_seq');
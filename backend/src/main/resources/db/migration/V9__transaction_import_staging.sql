@@ -0,0 +1,11 @@
+CREATE UNLOGGED TABLE transaction_import_staging (
+    import_id UUID NOT NULL,
+    line BIGINT NOT NULL,
+    type VARCHAR(255) NOT NULL,
+    description VARCHAR(255),
+    category_id BIGINT NOT NULL,
+    amount NUMERIC(19,2) NOT NULL,
+    date DATE NOT NULL
+);
+
+CREATE INDEX idx_transaction_import_staging_import_id ON transaction_import_staging (import_id);
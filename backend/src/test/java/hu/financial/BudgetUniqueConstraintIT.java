@@ -2,6 +2,8 @@ package hu.financial;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicLong;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -17,14 +19,20 @@ import org.testcontainers.junit.jupiter.Testcontainers;
 import org.testcontainers.postgresql.PostgreSQLContainer;
 import org.testcontainers.utility.DockerImageName;
 
+import hu.financial.dto.budget.BudgetSheetItemDto;
+import hu.financial.exception.budget.DuplicateBudgetException;
+import hu.financial.exception.category.CategoryNotFoundException;
 import hu.financial.model.Budget;
 import hu.financial.model.Category;
 import hu.financial.model.User;
 import hu.financial.repository.BudgetRepository;
 import hu.financial.repository.CategoryRepository;
 import hu.financial.repository.UserRepository;
+import hu.financial.repository.projection.BudgetRow;
+import hu.financial.service.BudgetService;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 @SpringBootTest
@@ -53,6 +61,9 @@ class BudgetUniqueConstraintIT {
     @Autowired
     private BudgetRepository budgetRepository;
 
+    @Autowired
+    private BudgetService budgetService;
+
     private User owner;
 
     private User stranger;
@@ -123,4 +134,61 @@ class BudgetUniqueConstraintIT {
 
         assertDoesNotThrow(() -> budget(stranger, strangerFood, LocalDate.of(2026, 7, 1), "50.00"));
     }
+
+    @Test
+    void createBudget_TwiceForTheSameCategoryAndMonth_ThrowsDuplicateBudgetFromInsideTheService() {
+        budgetService.createBudget(new Budget(null, new BigDecimal("100.00"), LocalDate.of(2026, 7, 1), owner,
+                ownerFood));
+
+        assertThrows(DuplicateBudgetException.class, () -> budgetService.createBudget(
+                new Budget(null, new BigDecimal("50.00"), LocalDate.of(2026, 7, 1), owner, ownerFood)));
+        assertEquals(1, budgetRepository.count());
+    }
+
+    @Test
+    void upsertOwnedBudget_SecondCallForTheSameCategoryAndMonth_UpdatesTheSameRow() {
+        BudgetRow inserted = budgetService.upsertOwnedBudget(owner.getId(), ownerFood.getId(), YearMonth.of(2026, 7),
+                new BigDecimal("100.00"));
+        BudgetRow updated = budgetService.upsertOwnedBudget(owner.getId(), ownerFood.getId(), YearMonth.of(2026, 7),
+                new BigDecimal("140.00"));
+
+        assertEquals(inserted.id(), updated.id());
+        assertEquals(new BigDecimal("140.00"), updated.amount());
+        assertEquals(LocalDate.of(2026, 7, 1), updated.month());
+        assertEquals("owner food", updated.categoryName());
+        assertEquals(1, budgetRepository.count());
+    }
+
+    @Test
+    void upsertOwnedBudget_OnAStrangersCategory_ThrowsCategoryNotFoundAndStoresNothing() {
+        assertThrows(CategoryNotFoundException.class, () -> budgetService.upsertOwnedBudget(owner.getId(),
+                strangerFood.getId(), YearMonth.of(2026, 7), new BigDecimal("100.00")));
+
+        assertEquals(0, budgetRepository.count());
+    }
+
+    @Test
+    void upsertOwnedMonth_InsertsNewCategoriesAndUpdatesExistingOnesInOneStatement() {
+        Budget existing = budget(owner, ownerFood, LocalDate.of(2026, 7, 1), "100.00");
+
+        List<BudgetRow> sheet = budgetService.upsertOwnedMonth(owner.getId(), YearMonth.of(2026, 7), List.of(
+                new BudgetSheetItemDto(ownerFood.getId(), new BigDecimal("300")),
+                new BudgetSheetItemDto(ownerTravel.getId(), new BigDecimal("40"))));
+
+        assertEquals(List.of("owner food", "owner travel"), sheet.stream().map(BudgetRow::categoryName).toList());
+        assertEquals(existing.getId(), sheet.get(0).id());
+        assertEquals(new BigDecimal("300.00"), sheet.get(0).amount());
+        assertEquals(new BigDecimal("40.00"), sheet.get(1).amount());
+        assertEquals(2, budgetRepository.count());
+    }
+
+    @Test
+    void upsertOwnedMonth_WithAStrangersCategory_RollsBackTheWholeSheet() {
+        assertThrows(CategoryNotFoundException.class, () -> budgetService.upsertOwnedMonth(owner.getId(),
+                YearMonth.of(2026, 7), List.of(
+                        new BudgetSheetItemDto(ownerFood.getId(), new BigDecimal("300")),
+                        new BudgetSheetItemDto(strangerFood.getId(), new BigDecimal("40")))));
+
+        assertEquals(0, budgetRepository.count());
+    }
 }
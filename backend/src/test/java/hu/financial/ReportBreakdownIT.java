@@ -31,6 +31,7 @@ import hu.financial.repository.CategoryRepository;
 import hu.financial.repository.TransactionRepository;
 import hu.financial.repository.UserRepository;
 import hu.financial.service.ReportService;
+import hu.financial.service.TransactionRollupService;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
@@ -74,6 +75,9 @@ class ReportBreakdownIT {
     @Autowired
     private ReportService reportService;
 
+    @Autowired
+    private TransactionRollupService rollupService;
+
     private User owner;
 
     private User stranger;
@@ -129,6 +133,8 @@ class ReportBreakdownIT {
         persist(stranger, strangerFood, TransactionType.EXPENSE, LocalDate.of(2026, 7, 10), "7000.00");
         persist(stranger, strangerHome, TransactionType.EXPENSE, LocalDate.of(2026, 7, 11), "3000.00");
         persist(stranger, strangerHome, TransactionType.INCOME, LocalDate.of(2026, 8, 2), "2000.00");
+
+        rollupService.rebuildAll();
     }
 
     private void persist(User user, Category category, TransactionType type, LocalDate date, String amount) {
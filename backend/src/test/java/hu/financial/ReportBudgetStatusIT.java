@@ -31,6 +31,7 @@ import hu.financial.repository.CategoryRepository;
 import hu.financial.repository.TransactionRepository;
 import hu.financial.repository.UserRepository;
 import hu.financial.service.ReportService;
+import hu.financial.service.TransactionRollupService;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
@@ -78,6 +79,9 @@ class ReportBudgetStatusIT {
     @Autowired
     private ReportService reportService;
 
+    @Autowired
+    private TransactionRollupService rollupService;
+
     private User owner;
 
     private User stranger;
@@ -148,6 +152,8 @@ class ReportBudgetStatusIT {
 
         expense(stranger, strangerFood, LocalDate.of(2026, 7, 10), "7000.00");
         expense(stranger, strangerHome, LocalDate.of(2026, 7, 11), "3000.00");
+
+        rollupService.rebuildAll();
     }
 
     private void budget(User user, Category category, LocalDate month, String amount) {
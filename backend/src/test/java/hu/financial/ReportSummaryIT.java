@@ -2,15 +2,23 @@ package hu.financial;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 import org.testcontainers.postgresql.PostgreSQLContainer;
@@ -26,10 +34,13 @@ import hu.financial.repository.CategoryRepository;
 import hu.financial.repository.TransactionRepository;
 import hu.financial.repository.UserRepository;
 import hu.financial.service.ReportService;
+import hu.financial.service.TransactionRollupService;
+import hu.financial.service.TransactionService;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @SpringBootTest
 @ActiveProfiles("test")
@@ -66,12 +77,26 @@ class ReportSummaryIT {
     @Autowired
     private ReportService reportService;
 
+    @Autowired
+    private TransactionRollupService rollupService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
     private User owner;
 
     private User stranger;
 
     private User newcomer;
 
+    private Category ownerCategory;
+
     @BeforeEach
     void seedTwoUsersWithOverlappingMonths() {
         transactionRepository.deleteAll();
@@ -84,7 +109,7 @@ class ReportSummaryIT {
         newcomer = userRepository.saveAndFlush(
                 new User("reportnewcomer" + run, "encoded-password", "reportnewcomer" + run + "@example.com"));
 
-        Category ownerCategory = categoryRepository.saveAndFlush(new Category("owner budget", "own", owner));
+        ownerCategory = categoryRepository.saveAndFlush(new Category("owner budget", "own", owner));
         Category strangerCategory = categoryRepository
                 .saveAndFlush(new Category("stranger budget", "not yours", stranger));
 
@@ -100,6 +125,8 @@ class ReportSummaryIT {
         persist(stranger, strangerCategory, TransactionType.EXPENSE, LocalDate.of(2026, 6, 3), "20000.00");
         persist(stranger, strangerCategory, TransactionType.INCOME, LocalDate.of(2026, 7, 2), "70000.00");
         persist(stranger, strangerCategory, TransactionType.EXPENSE, LocalDate.of(2026, 7, 3), "30000.00");
+
+        rollupService.rebuildAll();
     }
 
     private void persist(User user, Category category, TransactionType type, LocalDate date, String amount) {
@@ -113,6 +140,25 @@ class ReportSummaryIT {
         transactionRepository.saveAndFlush(transaction);
     }
 
+    private Transaction income(LocalDate date, String amount) {
+        Transaction transaction = new Transaction();
+        transaction.setType(TransactionType.INCOME);
+        transaction.setDescription("concurrent-" + date);
+        transaction.setCategory(ownerCategory);
+        transaction.setUser(owner);
+        transaction.setAmount(new BigDecimal(amount));
+        transaction.setDate(date);
+        return transaction;
+    }
+
+    private int driftedCheckpoints(User user) {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM balance_checkpoints b "
+                + "WHERE b.user_id = ? AND b.income_to_date - b.expense_to_date <> (SELECT "
+                + "COALESCE(SUM(CASE WHEN t.type = 'INCOME' THEN t.amount ELSE -t.amount END), 0) FROM transactions t "
+                + "WHERE t.user_id = b.user_id AND t.date < b.month_value + INTERVAL '1 month')", Integer.class,
+                user.getId());
+    }
+
     private SummaryResponseDto summaryFor(User user, String month) {
         return reportService.summarize(user.getId(), ReportPeriod.of(month));
     }
@@ -248,4 +294,85 @@ class ReportSummaryIT {
         assertNull(summary.savingsRate().current());
         assertNull(summary.savingsRate().deltaPoints());
     }
+
+    @Test
+    void rollupRebuild_CorrectsDriftedAndMissingMonths_AndIsANoOpOnceReconciled() {
+        jdbcTemplate.update("UPDATE transaction_monthly_rollup SET total = total + 1 "
+                + "WHERE user_id = ? AND month_value = DATE '2026-07-01' AND type = 'EXPENSE'", owner.getId());
+        jdbcTemplate.update("DELETE FROM transaction_monthly_rollup "
+                + "WHERE user_id = ? AND month_value = DATE '2026-06-01' AND type = 'INCOME'", owner.getId());
+        assertEquals(new BigDecimal("201.00"), summaryFor(owner, REQUESTED_MONTH).expense().current());
+
+        assertEquals(2, rollupService.rebuild(owner.getId()));
+        assertEquals(0, rollupService.rebuild(owner.getId()));
+
+        SummaryResponseDto summary = summaryFor(owner, REQUESTED_MONTH);
+        assertEquals(new BigDecimal("200.00"), summary.expense().current());
+        assertEquals(new BigDecimal("400.00"), summary.income().previous());
+    }
+
+    @Test
+    void balanceCheckpoints_FollowAPastDatedTransactionThroughCreateEditAndDelete() {
+        Transaction backdated = new Transaction();
+        backdated.setType(TransactionType.INCOME);
+        backdated.setDescription("late refund");
+        backdated.setCategory(ownerCategory);
+        backdated.setUser(owner);
+        backdated.setAmount(new BigDecimal("50.00"));
+        backdated.setDate(LocalDate.of(2026, 5, 15));
+        Long id = transactionService.createTransaction(backdated).getId();
+
+        SummaryResponseDto afterCreate = summaryFor(owner, REQUESTED_MONTH);
+        assertEquals(new BigDecimal("1650.00"), afterCreate.balance().current());
+        assertEquals(new BigDecimal("1350.00"), afterCreate.balance().previous());
+
+        Transaction moved = new Transaction();
+        moved.setType(TransactionType.INCOME);
+        moved.setDescription("late refund");
+        moved.setCategory(ownerCategory);
+        moved.setUser(owner);
+        moved.setAmount(new BigDecimal("50.00"));
+        moved.setDate(LocalDate.of(2026, 7, 20));
+        transactionService.updateOwnedTransaction(id, moved);
+
+        SummaryResponseDto afterEdit = summaryFor(owner, REQUESTED_MONTH);
+        assertEquals(new BigDecimal("1650.00"), afterEdit.balance().current());
+        assertEquals(new BigDecimal("1300.00"), afterEdit.balance().previous());
+
+        transactionService.deleteOwnedTransaction(id, owner.getId());
+
+        SummaryResponseDto afterDelete = summaryFor(owner, REQUESTED_MONTH);
+        assertEquals(new BigDecimal("1600.00"), afterDelete.balance().current());
+        assertEquals(new BigDecimal("1300.00"), afterDelete.balance().previous());
+        assertEquals(0, driftedCheckpoints(owner));
+    }
+
+    @Test
+    void balanceCheckpoints_ConcurrentNewMonthAndPastDatedWrites_DoNotLoseADelta() throws Exception {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        CountDownLatch seeded = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> newMonth = executor.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+                transactionService.createTransaction(income(LocalDate.of(2026, 9, 15), "70.00"));
+                seeded.countDown();
+                try {
+                    Thread.sleep(500);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+            assertTrue(seeded.await(10, TimeUnit.SECONDS));
+            Future<?> pastDated = executor.submit(
+                    () -> transactionService.createTransaction(income(LocalDate.of(2026, 5, 20), "30.00")));
+
+            newMonth.get(10, TimeUnit.SECONDS);
+            pastDated.get(10, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(0, driftedCheckpoints(owner));
+        assertEquals(new BigDecimal("11699.00"), summaryFor(owner, "2026-09").balance().current());
+    }
 }
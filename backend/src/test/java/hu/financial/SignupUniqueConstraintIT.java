@@ -0,0 +1,88 @@
+package hu.financial;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import hu.financial.dto.user.RegisterUserDto;
+import hu.financial.exception.user.DuplicateUserException;
+import hu.financial.model.User;
+import hu.financial.repository.UserRepository;
+import hu.financial.service.AuthenticationService;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Testcontainers
+class SignupUniqueConstraintIT {
+
+    @Container
+    static PostgreSQLContainer postgres = new PostgreSQLContainer(DockerImageName.parse("postgres:15"));
+
+    @DynamicPropertySource
+    static void configureDatasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    private static final AtomicLong SEEDS = new AtomicLong();
+
+    @Autowired
+    private AuthenticationService authenticationService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void concurrentSignups_ThatBothPassThePreChecks_LoseWithDuplicateUserRatherThanAnUnmappedError()
+            throws Exception {
+        String run = Long.toString(SEEDS.incrementAndGet());
+        RegisterUserDto input = new RegisterUserDto("racer" + run, "password123", "racer" + run + "@example.com");
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        AtomicReference<Future<User>> second = new AtomicReference<>();
+        try {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                authenticationService.signup(input);
+                second.set(executor.submit(() -> authenticationService.signup(input)));
+                try {
+                    Thread.sleep(500);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+
+            ExecutionException thrown = assertThrows(ExecutionException.class,
+                    () -> second.get().get(10, TimeUnit.SECONDS));
+            assertInstanceOf(DuplicateUserException.class, thrown.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, userRepository.findAll().stream()
+                .filter(user -> user.getEmail().equals(input.email()))
+                .count());
+    }
+}
@@ -0,0 +1,124 @@
+package hu.financial;
+
+import hu.financial.model.Category;
+import hu.financial.model.Transaction;
+import hu.financial.model.User;
+import hu.financial.model.enums.TransactionType;
+import hu.financial.repository.CategoryRepository;
+import hu.financial.repository.TransactionRepository;
+import hu.financial.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+@Testcontainers
+class TransactionBatchInsertIT {
+
+    @Container
+    static PostgreSQLContainer postgres = new PostgreSQLContainer(DockerImageName.parse("postgres:15"));
+
+    @DynamicPropertySource
+    static void configureDatasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    private static final AtomicLong SEEDS = new AtomicLong();
+
+    private static final int ROWS = 1_000;
+
+    private static final int ALLOCATION_SIZE = 50;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User owner;
+
+    private Category category;
+
+    @BeforeEach
+    void seedOwner() {
+        transactionRepository.deleteAll();
+        String run = Long.toString(SEEDS.incrementAndGet());
+        owner = userRepository.saveAndFlush(
+                new User("batchowner" + run, "encoded-password", "batchowner" + run + "@example.com"));
+        category = categoryRepository.saveAndFlush(new Category("batch", "batched rows", owner));
+    }
+
+    private List<Transaction> newTransactions(int count) {
+        List<Transaction> transactions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            transactions.add(new Transaction(null, TransactionType.EXPENSE, "row " + i, category, owner,
+                    new BigDecimal("1.00"), LocalDate.of(2026, 1, 1)));
+        }
+        return transactions;
+    }
+
+    @Test
+    void saveAll_ThousandRows_IsSentInJdbcBatchesInsteadOfOneStatementPerRow() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        transactionTemplate.executeWithoutResult(status -> transactionRepository.saveAll(newTransactions(ROWS)));
+
+        long insertBatches = ROWS / ALLOCATION_SIZE;
+        long sequenceCalls = ROWS / ALLOCATION_SIZE + 1;
+        assertEquals(ROWS, statistics.getEntityInsertCount());
+        assertTrue(statistics.getPrepareStatementCount() <= insertBatches + sequenceCalls,
+                "expected at most " + (insertBatches + sequenceCalls) + " statements but "
+                        + statistics.getPrepareStatementCount() + " were prepared");
+        assertEquals(ROWS, transactionRepository.count());
+    }
+
+    @Test
+    void plainSqlInsertsAndPooledIds_NeverCollide() {
+        transactionTemplate.executeWithoutResult(status -> transactionRepository.saveAll(newTransactions(10)));
+        jdbcTemplate.update("INSERT INTO transactions (type, description, category_id, user_id, amount, date) "
+                + "VALUES ('EXPENSE', 'plain sql', ?, ?, 1.00, DATE '2026-01-01')", category.getId(), owner.getId());
+        transactionTemplate.executeWithoutResult(status -> transactionRepository.saveAll(newTransactions(ALLOCATION_SIZE)));
+
+        assertEquals(ALLOCATION_SIZE + 11, transactionRepository.count());
+        assertEquals(ALLOCATION_SIZE + 11, jdbcTemplate.queryForObject(
+                "SELECT count(DISTINCT id) FROM transactions", Integer.class));
+    }
+}
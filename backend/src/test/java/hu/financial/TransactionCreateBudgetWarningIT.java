@@ -26,6 +26,7 @@ import hu.financial.repository.BudgetRepository;
 import hu.financial.repository.CategoryRepository;
 import hu.financial.repository.TransactionRepository;
 import hu.financial.repository.UserRepository;
+import hu.financial.service.TransactionRollupService;
 import hu.financial.service.TransactionService;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -64,6 +65,9 @@ class TransactionCreateBudgetWarningIT {
     @Autowired
     private TransactionService transactionService;
 
+    @Autowired
+    private TransactionRollupService rollupService;
+
     private User owner;
 
     private Category groceries;
@@ -97,6 +101,7 @@ class TransactionCreateBudgetWarningIT {
         transaction.setAmount(amount);
         transaction.setDate(date);
         transactionRepository.saveAndFlush(transaction);
+        rollupService.rebuild(owner.getId());
     }
 
     private Transaction newExpense(BigDecimal amount, LocalDate date) {
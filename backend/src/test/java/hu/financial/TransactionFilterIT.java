@@ -8,6 +8,7 @@ import hu.financial.model.enums.TransactionType;
 import hu.financial.repository.CategoryRepository;
 import hu.financial.repository.TransactionRepository;
 import hu.financial.repository.UserRepository;
+import hu.financial.repository.projection.TransactionRow;
 import hu.financial.service.TransactionService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -126,35 +127,35 @@ class TransactionFilterIT {
         return transactionRepository.saveAndFlush(transaction);
     }
 
-    private Page<Transaction> query(User user, TransactionFilter filter) {
+    private Page<TransactionRow> query(User user, TransactionFilter filter) {
         return transactionService.getTransactionsByUserId(user.getId(), filter, FIRST_PAGE);
     }
 
-    private static List<Long> idsOf(Page<Transaction> page) {
-        return page.getContent().stream().map(Transaction::getId).toList();
+    private static List<Long> idsOf(Page<TransactionRow> page) {
+        return page.getContent().stream().map(TransactionRow::id).toList();
     }
 
     @Test
     void unfiltered_ReturnsOnlyTheOwnersRows_BecauseTheUserFilterLivesInSql() {
-        Page<Transaction> page = query(owner, TransactionFilter.unfiltered());
+        Page<TransactionRow> page = query(owner, TransactionFilter.unfiltered());
 
         assertEquals(7, transactionRepository.count());
         assertEquals(4, page.getTotalElements());
-        assertTrue(page.getContent().stream().allMatch(t -> t.getUser().getId().equals(owner.getId())));
-        assertTrue(page.getContent().stream().noneMatch(t -> t.getDescription().startsWith("stranger-")));
+        assertTrue(page.getContent().stream().allMatch(t -> t.description().startsWith("owner-")));
+        assertTrue(page.getContent().stream().noneMatch(t -> t.categoryId().equals(strangerGroceries.getId())));
     }
 
     @Test
     void unfiltered_ForTheOtherUser_ReturnsOnlyThatUsersRows() {
-        Page<Transaction> page = query(stranger, TransactionFilter.unfiltered());
+        Page<TransactionRow> page = query(stranger, TransactionFilter.unfiltered());
 
         assertEquals(3, page.getTotalElements());
-        assertTrue(page.getContent().stream().allMatch(t -> t.getUser().getId().equals(stranger.getId())));
+        assertTrue(page.getContent().stream().allMatch(t -> t.description().startsWith("stranger-")));
     }
 
     @Test
     void unfiltered_OrdersByDateDescendingWithTheIdTieBreaker() {
-        Page<Transaction> page = query(owner, TransactionFilter.unfiltered());
+        Page<TransactionRow> page = query(owner, TransactionFilter.unfiltered());
 
         assertEquals(List.of(lateIncome.getId(), middleExpense.getId(), earlyIncome.getId(), earlyExpense.getId()),
                 idsOf(page));
@@ -162,8 +163,8 @@ class TransactionFilterIT {
 
     @Test
     void fromFilter_IsInclusiveOnItsOwnBoundary() {
-        Page<Transaction> onBoundary = query(owner, new TransactionFilter(EARLY, null, null, null));
-        Page<Transaction> afterBoundary = query(owner, new TransactionFilter(MIDDLE, null, null, null));
+        Page<TransactionRow> onBoundary = query(owner, new TransactionFilter(EARLY, null, null, null));
+        Page<TransactionRow> afterBoundary = query(owner, new TransactionFilter(MIDDLE, null, null, null));
 
         assertEquals(4, onBoundary.getTotalElements());
         assertEquals(2, afterBoundary.getTotalElements());
@@ -172,7 +173,7 @@ class TransactionFilterIT {
 
     @Test
     void toFilter_IsInclusiveOnItsOwnBoundary() {
-        Page<Transaction> page = query(owner, new TransactionFilter(null, EARLY, null, null));
+        Page<TransactionRow> page = query(owner, new TransactionFilter(null, EARLY, null, null));
 
         assertEquals(2, page.getTotalElements());
         assertEquals(List.of(earlyIncome.getId(), earlyExpense.getId()), idsOf(page));
@@ -180,7 +181,7 @@ class TransactionFilterIT {
 
     @Test
     void fromAndTo_NarrowToASingleDay_WithoutLeakingTheOtherUser() {
-        Page<Transaction> page = query(owner, new TransactionFilter(MIDDLE, MIDDLE, null, null));
+        Page<TransactionRow> page = query(owner, new TransactionFilter(MIDDLE, MIDDLE, null, null));
 
         assertEquals(1, page.getTotalElements());
         assertEquals(List.of(middleExpense.getId()), idsOf(page));
@@ -188,7 +189,7 @@ class TransactionFilterIT {
 
     @Test
     void categoryFilter_MatchesExactlyOneOwnCategory() {
-        Page<Transaction> page = query(owner, new TransactionFilter(null, null, ownerGroceries.getId(), null));
+        Page<TransactionRow> page = query(owner, new TransactionFilter(null, null, ownerGroceries.getId(), null));
 
         assertEquals(2, page.getTotalElements());
         assertEquals(List.of(earlyIncome.getId(), earlyExpense.getId()), idsOf(page));
@@ -196,7 +197,7 @@ class TransactionFilterIT {
 
     @Test
     void categoryFilter_OnAnotherUsersCategory_ReturnsAnEmptyPageInsteadOfLeakingOrFailing() {
-        Page<Transaction> page = query(owner, new TransactionFilter(null, null, strangerGroceries.getId(), null));
+        Page<TransactionRow> page = query(owner, new TransactionFilter(null, null, strangerGroceries.getId(), null));
 
         assertEquals(0, page.getTotalElements());
         assertTrue(page.getContent().isEmpty());
@@ -205,15 +206,15 @@ class TransactionFilterIT {
 
     @Test
     void categoryFilter_OnAnUnknownCategory_ReturnsAnEmptyPage() {
-        Page<Transaction> page = query(owner, new TransactionFilter(null, null, -1L, null));
+        Page<TransactionRow> page = query(owner, new TransactionFilter(null, null, -1L, null));
 
         assertEquals(0, page.getTotalElements());
     }
 
     @Test
     void typeFilter_MatchesExactly() {
-        Page<Transaction> income = query(owner, new TransactionFilter(null, null, null, TransactionType.INCOME));
-        Page<Transaction> expense = query(owner, new TransactionFilter(null, null, null, TransactionType.EXPENSE));
+        Page<TransactionRow> income = query(owner, new TransactionFilter(null, null, null, TransactionType.INCOME));
+        Page<TransactionRow> expense = query(owner, new TransactionFilter(null, null, null, TransactionType.EXPENSE));
 
         assertEquals(List.of(lateIncome.getId(), earlyIncome.getId()), idsOf(income));
         assertEquals(List.of(middleExpense.getId(), earlyExpense.getId()), idsOf(expense));
@@ -221,7 +222,7 @@ class TransactionFilterIT {
 
     @Test
     void everyFilterCombined_NarrowsToTheSingleMatchingRow() {
-        Page<Transaction> page = query(owner, new TransactionFilter(EARLY, MIDDLE, ownerGroceries.getId(),
+        Page<TransactionRow> page = query(owner, new TransactionFilter(EARLY, MIDDLE, ownerGroceries.getId(),
                 TransactionType.INCOME));
 
         assertEquals(1, page.getTotalElements());
@@ -232,7 +233,7 @@ class TransactionFilterIT {
     void totalElements_CountsTheFilteredSetNotThePageAndNotTheWholeTable() {
         Pageable singleRowPage = PageRequest.of(0, 1, CONTRACT_SORT);
 
-        Page<Transaction> page = transactionService.getTransactionsByUserId(owner.getId(),
+        Page<TransactionRow> page = transactionService.getTransactionsByUserId(owner.getId(),
                 new TransactionFilter(null, null, null, TransactionType.INCOME), singleRowPage);
 
         assertEquals(1, page.getContent().size());
@@ -246,9 +247,9 @@ class TransactionFilterIT {
         List<Long> seen = new ArrayList<>();
 
         for (int pageNumber = 0; pageNumber < 2; pageNumber++) {
-            Page<Transaction> page = transactionService.getTransactionsByUserId(owner.getId(), filter,
+            Page<TransactionRow> page = transactionService.getTransactionsByUserId(owner.getId(), filter,
                     PageRequest.of(pageNumber, 3, CONTRACT_SORT));
-            page.getContent().forEach(transaction -> seen.add(transaction.getId()));
+            page.getContent().forEach(transaction -> seen.add(transaction.id()));
         }
 
         assertEquals(4, seen.size());
@@ -0,0 +1,157 @@
+package hu.financial;
+
+import hu.financial.dto.transaction.TransactionImportResultDto;
+import hu.financial.dto.transaction.TransferFormat;
+import hu.financial.model.Category;
+import hu.financial.model.User;
+import hu.financial.repository.CategoryRepository;
+import hu.financial.repository.TransactionRepository;
+import hu.financial.repository.UserRepository;
+import hu.financial.service.TransactionImportService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Testcontainers
+class TransactionImportIT {
+
+    @Container
+    static PostgreSQLContainer postgres = new PostgreSQLContainer(DockerImageName.parse("postgres:15"));
+
+    @DynamicPropertySource
+    static void configureDatasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("transactions.import.batch-size", () -> "500");
+    }
+
+    private static final AtomicLong SEEDS = new AtomicLong();
+
+    private static final int ROWS = 2_345;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private TransactionImportService transactionImportService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User owner;
+
+    private Category ownerCategory;
+
+    private Category strangerCategory;
+
+    @BeforeEach
+    void seedOwnerAndStranger() {
+        transactionRepository.deleteAll();
+        String run = Long.toString(SEEDS.incrementAndGet());
+        owner = userRepository.saveAndFlush(
+                new User("importowner" + run, "encoded-password", "importowner" + run + "@example.com"));
+        User stranger = userRepository.saveAndFlush(
+                new User("importstranger" + run, "encoded-password", "importstranger" + run + "@example.com"));
+        ownerCategory = categoryRepository.saveAndFlush(new Category("owner import", "owner rows", owner));
+        strangerCategory = categoryRepository.saveAndFlush(new Category("stranger import", "stranger rows", stranger));
+    }
+
+    private TransactionImportResultDto importCsv(String csv) {
+        return importCsv(csv, TransactionImportService.Mode.BATCH);
+    }
+
+    private TransactionImportResultDto importCsv(String csv, TransactionImportService.Mode mode) {
+        return transactionImportService.importTransactions(owner.getId(),
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), TransferFormat.CSV,
+                mode);
+    }
+
+    private BigDecimal monthlyExpenses(Category category) {
+        return jdbcTemplate.queryForObject("SELECT total FROM transaction_monthly_rollup "
+                + "WHERE user_id = ? AND category_id = ? AND month_value = DATE '2026-03-01' AND type = 'EXPENSE'",
+                BigDecimal.class, owner.getId(), category.getId());
+    }
+
+    @Test
+    void csvImport_StoresEveryValidRowForTheOwnerAcrossSeveralBatches() {
+        StringBuilder csv = new StringBuilder("type,description,categoryId,amount,date\n");
+        for (int i = 0; i < ROWS; i++) {
+            csv.append("EXPENSE,row ").append(i).append(',').append(ownerCategory.getId()).append(",1.25,2026-03-01\n");
+        }
+
+        TransactionImportResultDto result = importCsv(csv.toString());
+
+        assertEquals(ROWS, result.imported());
+        assertEquals(0, result.rejected());
+        assertEquals(ROWS, jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM transactions WHERE user_id = ?", Integer.class, owner.getId()));
+        assertEquals(0, new BigDecimal("2931.25").compareTo(jdbcTemplate.queryForObject(
+                "SELECT sum(amount) FROM transactions WHERE user_id = ?", BigDecimal.class, owner.getId())));
+        assertEquals(0, new BigDecimal("2931.25").compareTo(monthlyExpenses(ownerCategory)));
+    }
+
+    @Test
+    void csvImport_NeverWritesIntoAnotherUsersCategory() {
+        TransactionImportResultDto result = importCsv("type,categoryId,amount,date\n"
+                + "EXPENSE," + ownerCategory.getId() + ",5.00,2026-03-01\n"
+                + "EXPENSE," + strangerCategory.getId() + ",5.00,2026-03-01\n");
+
+        assertEquals(1, result.imported());
+        assertEquals(1, result.rejected());
+        assertEquals(3, result.errors().get(0).line());
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM transactions WHERE category_id = ?", Integer.class, strangerCategory.getId()));
+    }
+
+    @Test
+    void copyImport_MergesOwnedRowsAndRejectsForeignCategoriesInSql() {
+        StringBuilder csv = new StringBuilder("type,description,categoryId,amount,date\n");
+        for (int i = 0; i < ROWS; i++) {
+            csv.append("EXPENSE,\"row, ").append(i).append("\",").append(ownerCategory.getId())
+                    .append(",1.25,2026-03-01\n");
+        }
+        csv.append("EXPENSE,foreign,").append(strangerCategory.getId()).append(",5.00,2026-03-01\n");
+
+        TransactionImportResultDto result = importCsv(csv.toString(), TransactionImportService.Mode.COPY);
+
+        assertEquals(ROWS, result.imported());
+        assertEquals(1, result.rejected());
+        assertEquals(ROWS + 2L, result.errors().get(0).line());
+        assertEquals(ROWS, jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM transactions WHERE user_id = ?", Integer.class, owner.getId()));
+        assertEquals("row, 0", jdbcTemplate.queryForObject(
+                "SELECT description FROM transactions WHERE user_id = ? ORDER BY id LIMIT 1", String.class,
+                owner.getId()));
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM transaction_import_staging", Integer.class));
+        assertEquals(0, new BigDecimal("1.25").multiply(BigDecimal.valueOf(ROWS)).compareTo(monthlyExpenses(ownerCategory)));
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM transaction_monthly_rollup WHERE category_id = ?", Integer.class,
+                strangerCategory.getId()));
+    }
+}
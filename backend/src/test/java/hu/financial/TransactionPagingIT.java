@@ -5,10 +5,18 @@ import hu.financial.model.Transaction;
 import hu.financial.model.User;
 import hu.financial.model.enums.TransactionType;
 import hu.financial.repository.CategoryRepository;
+import hu.financial.dto.common.CursorResponse;
+import hu.financial.dto.transaction.TransactionCursor;
 import hu.financial.dto.transaction.TransactionFilter;
+import hu.financial.dto.transaction.TransferFormat;
 import hu.financial.repository.TransactionRepository;
 import hu.financial.repository.UserRepository;
+import hu.financial.repository.projection.TransactionRow;
+import hu.financial.service.TransactionExportService;
 import hu.financial.service.TransactionService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -16,6 +24,7 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
@@ -24,7 +33,9 @@ import org.testcontainers.junit.jupiter.Testcontainers;
 import org.testcontainers.postgresql.PostgreSQLContainer;
 import org.testcontainers.utility.DockerImageName;
 
+import java.io.ByteArrayOutputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
@@ -34,7 +45,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
-@SpringBootTest
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
 @ActiveProfiles("test")
 @Testcontainers
 class TransactionPagingIT {
@@ -55,6 +66,8 @@ class TransactionPagingIT {
 
     private static final Sort CONTRACT_SORT = Sort.by(Sort.Order.desc("date"), Sort.Order.desc("id"));
 
+    private static final Sort AMOUNT_ASC_SORT = Sort.by(Sort.Order.asc("amount"), Sort.Order.asc("id"));
+
     @Autowired
     private UserRepository userRepository;
 
@@ -67,6 +80,15 @@ class TransactionPagingIT {
     @Autowired
     private TransactionService transactionService;
 
+    @Autowired
+    private TransactionExportService transactionExportService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     private User owner;
 
     private User stranger;
@@ -110,19 +132,35 @@ class TransactionPagingIT {
 
     @Test
     void pagedQuery_ReturnsOnlyTheOwnersRows_BecauseTheFilterLivesInSql() {
-        Page<Transaction> page = transactionService.getTransactionsByUserId(
+        Page<TransactionRow> page = transactionService.getTransactionsByUserId(
                 owner.getId(), TransactionFilter.unfiltered(), PageRequest.of(0, 20, CONTRACT_SORT));
 
         assertEquals(5, page.getTotalElements());
         assertEquals(5, page.getContent().size());
-        assertTrue(page.getContent().stream().allMatch(t -> t.getUser().getId().equals(owner.getId())));
-        assertTrue(page.getContent().stream().noneMatch(t -> t.getDescription().startsWith("stranger-")));
+        assertTrue(ownerTransactionIds.containsAll(page.getContent().stream().map(TransactionRow::id).toList()));
+        assertTrue(page.getContent().stream().noneMatch(t -> t.description().startsWith("stranger-")));
+    }
+
+    @Test
+    void pagedQuery_ReadsProjectedRowsWithoutHydratingEntities() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        Page<TransactionRow> page = transactionService.getTransactionsByUserId(
+                owner.getId(), TransactionFilter.unfiltered(), PageRequest.of(0, 2, CONTRACT_SORT));
+
+        assertEquals(2, page.getContent().size());
+        assertEquals("owner groceries", page.getContent().get(0).categoryName());
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertTrue(statistics.getPrepareStatementCount() <= 2,
+                "expected the row query plus at most one count, but "
+                        + statistics.getPrepareStatementCount() + " were prepared");
     }
 
     @Test
     void pagedQuery_TotalElements_CountsOnlyTheOwnerNotEveryUser() {
         long everyRow = transactionRepository.count();
-        Page<Transaction> page = transactionService.getTransactionsByUserId(
+        Page<TransactionRow> page = transactionService.getTransactionsByUserId(
                 owner.getId(), TransactionFilter.unfiltered(), PageRequest.of(0, 2, CONTRACT_SORT));
 
         assertEquals(8, everyRow);
@@ -132,20 +170,20 @@ class TransactionPagingIT {
 
     @Test
     void pagedQuery_FirstPage_NeverLeaksAnotherUsersRowIntoASmallPage() {
-        Page<Transaction> page = transactionService.getTransactionsByUserId(
+        Page<TransactionRow> page = transactionService.getTransactionsByUserId(
                 stranger.getId(), TransactionFilter.unfiltered(), PageRequest.of(0, 20, CONTRACT_SORT));
 
         assertEquals(3, page.getTotalElements());
-        assertTrue(page.getContent().stream().allMatch(t -> t.getUser().getId().equals(stranger.getId())));
+        assertTrue(page.getContent().stream().allMatch(t -> t.description().startsWith("stranger-")));
     }
 
     @Test
     void pagedQuery_WithIdenticalDates_PagesDoNotOverlapOrDropRows() {
         List<Long> seen = new ArrayList<>();
         for (int pageNumber = 0; pageNumber < 3; pageNumber++) {
-            Page<Transaction> page = transactionService.getTransactionsByUserId(
+            Page<TransactionRow> page = transactionService.getTransactionsByUserId(
                     owner.getId(), TransactionFilter.unfiltered(), PageRequest.of(pageNumber, 2, CONTRACT_SORT));
-            page.getContent().forEach(t -> seen.add(t.getId()));
+            page.getContent().forEach(t -> seen.add(t.id()));
         }
 
         assertEquals(5, seen.size());
@@ -155,10 +193,10 @@ class TransactionPagingIT {
 
     @Test
     void pagedQuery_WithIdenticalDates_OrdersByTheIdTieBreakerDescending() {
-        Page<Transaction> page = transactionService.getTransactionsByUserId(
+        Page<TransactionRow> page = transactionService.getTransactionsByUserId(
                 owner.getId(), TransactionFilter.unfiltered(), PageRequest.of(0, 20, CONTRACT_SORT));
 
-        List<Long> ids = page.getContent().stream().map(Transaction::getId).toList();
+        List<Long> ids = page.getContent().stream().map(TransactionRow::id).toList();
         List<Long> descending = new ArrayList<>(ownerTransactionIds);
         descending.sort((left, right) -> Long.compare(right, left));
 
@@ -167,9 +205,9 @@ class TransactionPagingIT {
 
     @Test
     void pagedQuery_BoundaryFlags_DescribeTheOwnersSliceNotTheWholeTable() {
-        Page<Transaction> first = transactionService.getTransactionsByUserId(
+        Page<TransactionRow> first = transactionService.getTransactionsByUserId(
                 owner.getId(), TransactionFilter.unfiltered(), PageRequest.of(0, 2, CONTRACT_SORT));
-        Page<Transaction> last = transactionService.getTransactionsByUserId(
+        Page<TransactionRow> last = transactionService.getTransactionsByUserId(
                 owner.getId(), TransactionFilter.unfiltered(), PageRequest.of(2, 2, CONTRACT_SORT));
 
         assertTrue(first.isFirst());
@@ -178,4 +216,87 @@ class TransactionPagingIT {
         assertTrue(last.isLast());
         assertEquals(1, last.getContent().size());
     }
+
+    @Test
+    void scroll_WithIdenticalDates_WalksEveryRowOnceUsingOnlyTheCursor() {
+        List<Long> seen = new ArrayList<>();
+        TransactionCursor cursor = null;
+        CursorResponse<TransactionRow> slice;
+        do {
+            slice = transactionService.scrollTransactionsByUserId(
+                    owner.getId(), TransactionFilter.unfiltered(), CONTRACT_SORT, cursor, 2);
+            slice.content().forEach(t -> seen.add(t.id()));
+            cursor = slice.hasNext() ? TransactionCursor.decode(slice.nextCursor(), CONTRACT_SORT) : null;
+        } while (cursor != null);
+
+        List<Long> descending = new ArrayList<>(ownerTransactionIds);
+        descending.sort((left, right) -> Long.compare(right, left));
+        assertEquals(descending, seen);
+    }
+
+    @Test
+    void scroll_AscendingWithTiedAmounts_WalksEveryRowOnceInIdOrder() {
+        List<Long> seen = new ArrayList<>();
+        TransactionCursor cursor = null;
+        CursorResponse<TransactionRow> slice;
+        do {
+            slice = transactionService.scrollTransactionsByUserId(
+                    owner.getId(), TransactionFilter.unfiltered(), AMOUNT_ASC_SORT, cursor, 2);
+            slice.content().forEach(t -> seen.add(t.id()));
+            cursor = slice.hasNext() ? TransactionCursor.decode(slice.nextCursor(), AMOUNT_ASC_SORT) : null;
+        } while (cursor != null);
+
+        List<Long> ascending = new ArrayList<>(ownerTransactionIds);
+        ascending.sort(Long::compare);
+        assertEquals(ascending, seen);
+    }
+
+    @Test
+    void scroll_DeepPagePredicate_SeeksTheKeysetIndexInsteadOfRescanningTheUsersRange() {
+        jdbcTemplate.update("""
+                INSERT INTO transactions (type, description, category_id, user_id, amount, date)
+                SELECT 'EXPENSE', 'bulk-' || n, c.id, c.user_id, 1.00, DATE '2020-01-01' + (n % 2000)
+                FROM categories c CROSS JOIN generate_series(1, 20000) AS n
+                WHERE c.user_id = ?
+                """, owner.getId());
+        jdbcTemplate.execute("ANALYZE transactions");
+
+        String plan = String.join("\n", jdbcTemplate.queryForList("""
+                EXPLAIN SELECT t.id FROM transactions t
+                WHERE t.user_id = %d
+                  AND t.date <= DATE '2020-06-01'
+                  AND (t.date < DATE '2020-06-01' OR (t.date = DATE '2020-06-01' AND t.id < 1000))
+                ORDER BY t.date DESC, t.id DESC
+                LIMIT 21
+                """.formatted(owner.getId()), String.class));
+
+        assertTrue(plan.contains("idx_transactions_user_id_date_id"), plan);
+        assertTrue(plan.lines().anyMatch(line -> line.contains("Index Cond") && line.contains("date <=")), plan);
+        assertFalse(plan.contains("Sort Key"), plan);
+    }
+
+    @Test
+    void scroll_NeverCrossesIntoAnotherUsersRows() {
+        CursorResponse<TransactionRow> slice = transactionService.scrollTransactionsByUserId(
+                stranger.getId(), TransactionFilter.unfiltered(), CONTRACT_SORT, null, 20);
+
+        assertEquals(3, slice.content().size());
+        assertFalse(slice.hasNext());
+        assertTrue(slice.content().stream().allMatch(t -> t.description().startsWith("stranger-")));
+    }
+
+    @Test
+    void export_StreamsOnlyTheOwnersRowsInTheContractOrder() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        transactionExportService.exportTransactions(owner.getId(), TransactionFilter.unfiltered(),
+                TransferFormat.CSV, out);
+
+        List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+        List<Long> descending = new ArrayList<>(ownerTransactionIds);
+        descending.sort((left, right) -> Long.compare(right, left));
+        assertEquals("id,type,description,categoryId,categoryName,amount,date", lines.get(0));
+        assertEquals(descending, lines.stream().skip(1).map(line -> Long.valueOf(line.split(",")[0])).toList());
+        assertTrue(lines.stream().skip(1).noneMatch(line -> line.contains("stranger-")));
+    }
 }
@@ -12,12 +12,18 @@ import hu.financial.filter.JwtAuthenticationFilter;
 import hu.financial.mapper.UserMapper;
 import hu.financial.model.User;
 import hu.financial.security.CookieProperties;
+import hu.financial.security.CredentialVersionCache;
+import hu.financial.security.LoginThrottle;
+import hu.financial.security.PrincipalCache;
 import hu.financial.security.CsrfCookieFilter;
 import hu.financial.security.RestAccessDeniedHandler;
+import hu.financial.security.TokenRevocationList;
 import hu.financial.security.SecurityCookieFactory;
 import hu.financial.service.AuthenticationService;
 import hu.financial.service.CategoryService;
 import hu.financial.service.JwtService;
+import hu.financial.service.RefreshTokenService;
+import hu.financial.service.TokenRevocationService;
 import hu.financial.service.UserService;
 import jakarta.servlet.http.Cookie;
 import org.junit.jupiter.api.BeforeEach;
@@ -36,6 +42,7 @@ import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.lenient;
@@ -45,7 +52,9 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 
 @WebMvcTest(controllers = { AuthenticationController.class, CategoryController.class, UserController.class })
 @Import({ SecurityConfig.class, JwtAuthenticationFilter.class, CookieProperties.class, RestAccessDeniedHandler.class,
-        SecurityCookieFactory.class, CsrfCookieFilter.class, JwtService.class, FilterRegistrationConfig.class })
+        SecurityCookieFactory.class, CsrfCookieFilter.class, JwtService.class, PrincipalCache.class,
+        CredentialVersionCache.class, TokenRevocationList.class, LoginThrottle.class,
+        FilterRegistrationConfig.class })
 @ActiveProfiles("test")
 @TestPropertySource(properties = {
         "security.jwt.expiration-time=3600",
@@ -74,6 +83,12 @@ class CsrfExemptionScopeTest {
     @MockitoBean
     private UserMapper userMapper;
 
+    @MockitoBean
+    private RefreshTokenService refreshTokenService;
+
+    @MockitoBean
+    private TokenRevocationService tokenRevocationService;
+
     private User currentUser;
 
     @BeforeEach
@@ -85,6 +100,8 @@ class CsrfExemptionScopeTest {
         lenient().when(userService.getCurrentUser()).thenReturn(currentUser);
         lenient().when(authenticationService.authenticate(any(LoginUserDto.class))).thenReturn(currentUser);
         lenient().when(authenticationService.signup(any(RegisterUserDto.class))).thenReturn(currentUser);
+        lenient().when(refreshTokenService.issue(any(User.class))).thenReturn("refresh-token");
+        lenient().when(refreshTokenService.getLifetime()).thenReturn(Duration.ofDays(14));
         lenient().when(userMapper.mapToDto(any(User.class))).thenReturn(
                 new UserResponseDto(1L, "testuser", "test@example.com", LocalDateTime.now(), null));
     }
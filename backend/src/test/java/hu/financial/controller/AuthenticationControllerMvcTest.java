@@ -6,16 +6,24 @@ import hu.financial.config.SecurityConfig;
 import hu.financial.dto.user.LoginUserDto;
 import hu.financial.dto.user.RegisterUserDto;
 import hu.financial.dto.user.UserResponseDto;
+import hu.financial.exception.PasswordHashingUnavailableException;
 import hu.financial.exception.user.DuplicateUserException;
+import hu.financial.exception.user.InvalidRefreshTokenException;
 import hu.financial.filter.JwtAuthenticationFilter;
 import hu.financial.mapper.UserMapper;
 import hu.financial.model.User;
 import hu.financial.security.SecurityCookieFactory;
 import hu.financial.security.CookieProperties;
+import hu.financial.security.CredentialVersionCache;
+import hu.financial.security.LoginThrottle;
+import hu.financial.security.PrincipalCache;
 import hu.financial.security.CsrfCookieFilter;
 import hu.financial.security.RestAccessDeniedHandler;
+import hu.financial.security.TokenRevocationList;
 import hu.financial.service.AuthenticationService;
 import hu.financial.service.JwtService;
+import hu.financial.service.RefreshTokenService;
+import hu.financial.service.TokenRevocationService;
 import hu.financial.service.UserService;
 import jakarta.servlet.http.Cookie;
 import org.junit.jupiter.api.BeforeEach;
@@ -33,6 +41,7 @@ import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -41,14 +50,20 @@ import static org.hamcrest.Matchers.not;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.never;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(AuthenticationController.class)
 @Import({ SecurityConfig.class, JwtAuthenticationFilter.class, CookieProperties.class, RestAccessDeniedHandler.class,
-        SecurityCookieFactory.class, CsrfCookieFilter.class, JwtService.class, FilterRegistrationConfig.class })
+        SecurityCookieFactory.class, CsrfCookieFilter.class, JwtService.class, PrincipalCache.class,
+        CredentialVersionCache.class, TokenRevocationList.class, LoginThrottle.class,
+        FilterRegistrationConfig.class })
 @ActiveProfiles("test")
 @TestPropertySource(properties = {
         "security.jwt.expiration-time=3600",
@@ -72,12 +87,20 @@ class AuthenticationControllerMvcTest {
     @MockitoBean
     private UserService userService;
 
+    @MockitoBean
+    private RefreshTokenService refreshTokenService;
+
+    @MockitoBean
+    private TokenRevocationService tokenRevocationService;
+
     private User testUser;
 
     @BeforeEach
     void setUp() {
         testUser = new User("testuser", "encoded-password", "test@example.com", LocalDateTime.now());
         testUser.setId(1L);
+        when(refreshTokenService.issue(any(User.class))).thenReturn("refresh-token");
+        when(refreshTokenService.getLifetime()).thenReturn(Duration.ofDays(14));
     }
 
     private String authCookieHeader(MvcResult result) {
@@ -120,6 +143,19 @@ class AuthenticationControllerMvcTest {
                 .andExpect(jsonPath("$.expiresIn").doesNotExist());
     }
 
+    @Test
+    void login_PasswordHashingSaturated_Returns503WithRetryAfter() throws Exception {
+        when(authenticationService.authenticate(any(LoginUserDto.class)))
+                .thenThrow(new PasswordHashingUnavailableException("Too many concurrent sign-ins, please retry shortly"));
+
+        mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new LoginUserDto("test@example.com", "password"))))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"))
+                .andExpect(jsonPath("$.status").value(503));
+    }
+
     @Test
     void login_InvalidBody_Returns400WithFieldErrors() throws Exception {
         mockMvc.perform(post("/api/auth/login")
@@ -192,4 +228,71 @@ class AuthenticationControllerMvcTest {
         mockMvc.perform(post("/api/auth/logout").cookie(new Cookie("authToken", "whatever")))
                 .andExpect(status().isNoContent());
     }
+
+    @Test
+    void login_ValidCredentials_AlsoSetsARefreshCookieScopedToTheAuthEndpoints() throws Exception {
+        when(authenticationService.authenticate(any(LoginUserDto.class))).thenReturn(testUser);
+
+        MvcResult result = mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new LoginUserDto("test@example.com", "password123"))))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        String refreshCookie = result.getResponse().getHeaders(HttpHeaders.SET_COOKIE).stream()
+                .filter(value -> value.startsWith("refreshToken="))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("no refreshToken Set-Cookie header was sent"));
+        assertThat(refreshCookie, containsString("refreshToken=refresh-token"));
+        assertThat(refreshCookie, containsString("Path=/api/auth"));
+        assertThat(refreshCookie, containsString("HttpOnly"));
+        assertThat(refreshCookie, containsString("Max-Age=1209600"));
+    }
+
+    @Test
+    void refresh_WithRefreshCookieAndCsrfToken_IssuesNewCookiesWithoutAuthenticating() throws Exception {
+        when(refreshTokenService.rotate("refresh-token"))
+                .thenReturn(new RefreshTokenService.Rotation(testUser, "rotated-token"));
+        Cookie csrf = mockMvc.perform(get("/api/users/count")).andReturn().getResponse().getCookie("XSRF-TOKEN");
+
+        MvcResult result = mockMvc.perform(post("/api/auth/refresh")
+                .cookie(new Cookie("refreshToken", "refresh-token"), csrf)
+                .header("X-XSRF-TOKEN", csrf.getValue()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.message").value("success"))
+                .andReturn();
+
+        assertThat(authCookieHeader(result), containsString("Max-Age=3600"));
+        assertTrue(result.getResponse().getHeaders(HttpHeaders.SET_COOKIE).stream()
+                .anyMatch(value -> value.startsWith("refreshToken=rotated-token")));
+        verify(authenticationService, never()).authenticate(any());
+    }
+
+    @Test
+    void refresh_WithUnknownRefreshCookie_Returns401AndClearsBothCookies() throws Exception {
+        when(refreshTokenService.rotate("stale"))
+                .thenThrow(new InvalidRefreshTokenException("Refresh token is not recognised"));
+        Cookie csrf = mockMvc.perform(get("/api/users/count")).andReturn().getResponse().getCookie("XSRF-TOKEN");
+
+        MvcResult result = mockMvc.perform(post("/api/auth/refresh")
+                .cookie(new Cookie("refreshToken", "stale"), csrf)
+                .header("X-XSRF-TOKEN", csrf.getValue()))
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.message").value("invalid_refresh_token"))
+                .andReturn();
+
+        assertTrue(result.getResponse().getHeaders(HttpHeaders.SET_COOKIE).stream()
+                .filter(value -> value.startsWith("authToken=") || value.startsWith("refreshToken="))
+                .allMatch(value -> value.contains("Max-Age=0")));
+    }
+
+    @Test
+    void logout_RevokesTheAccessTokenAndTheRefreshToken() throws Exception {
+        mockMvc.perform(post("/api/auth/logout")
+                .cookie(new Cookie("authToken", "access-token"), new Cookie("refreshToken", "refresh-token")))
+                .andExpect(status().isNoContent());
+
+        verify(tokenRevocationService).revoke("access-token");
+        verify(refreshTokenService).revoke("refresh-token");
+    }
 }
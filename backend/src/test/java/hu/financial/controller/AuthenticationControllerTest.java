@@ -10,6 +10,8 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseCookie;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.core.AuthenticationException;
 
 import hu.financial.dto.user.LoginUserDto;
@@ -18,16 +20,22 @@ import hu.financial.dto.user.UserResponseDto;
 import hu.financial.mapper.UserMapper;
 import hu.financial.model.User;
 import hu.financial.dto.user.LoginResponse;
+import hu.financial.exception.user.InvalidRefreshTokenException;
+import hu.financial.security.LoginThrottle;
 import hu.financial.security.SecurityCookieFactory;
 import hu.financial.service.AuthenticationService;
 import hu.financial.service.JwtService;
+import hu.financial.service.RefreshTokenService;
+import hu.financial.service.TokenRevocationService;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.Optional;
 
 @ExtendWith(MockitoExtension.class)
 public class AuthenticationControllerTest {
@@ -44,12 +52,22 @@ public class AuthenticationControllerTest {
     @Mock
     private SecurityCookieFactory securityCookieFactory;
 
+    @Mock
+    private RefreshTokenService refreshTokenService;
+
+    @Mock
+    private TokenRevocationService tokenRevocationService;
+
+    @Mock
+    private LoginThrottle loginThrottle;
+
     @InjectMocks
     private AuthenticationController authenticationController;
 
     private User testUser;
     private RegisterUserDto registerUserDto;
     private LoginUserDto loginUserDto;
+    private MockHttpServletRequest request;
 
     @BeforeEach
     void setUp() {
@@ -58,13 +76,24 @@ public class AuthenticationControllerTest {
 
         registerUserDto = new RegisterUserDto("testuser", "password123", "test@example.com");
         loginUserDto = new LoginUserDto("test@example.com", "password123");
+        request = new MockHttpServletRequest();
+        request.setRemoteAddr("203.0.113.7");
     }
 
     private void stubSuccessfulLogin() {
         when(authenticationService.authenticate(any(LoginUserDto.class))).thenReturn(testUser);
+        when(refreshTokenService.issue(testUser)).thenReturn("refresh");
+        stubSessionCookies();
+    }
+
+    private void stubSessionCookies() {
         when(jwtService.generateToken(any(User.class))).thenReturn("token");
         when(securityCookieFactory.createAuthCookie("token")).thenReturn(
                 ResponseCookie.from("authToken", "token").maxAge(Duration.ofSeconds(3600)).path("/").build());
+        when(refreshTokenService.getLifetime()).thenReturn(Duration.ofDays(14));
+        when(securityCookieFactory.createRefreshCookie(any(String.class), eq(Duration.ofDays(14)))).thenAnswer(
+                invocation -> ResponseCookie.from("refreshToken", invocation.getArgument(0))
+                        .maxAge(Duration.ofDays(14)).path("/api/auth").build());
     }
 
     @Test
@@ -93,7 +122,7 @@ public class AuthenticationControllerTest {
                 .thenThrow(new AuthenticationException("Invalid credentials") {
                 });
 
-        ResponseEntity<LoginResponse> response = authenticationController.login(loginUserDto);
+        ResponseEntity<LoginResponse> response = authenticationController.login(loginUserDto, request);
 
         assertNotNull(response);
         assertEquals(HttpStatus.UNAUTHORIZED, response.getStatusCode());
@@ -110,7 +139,7 @@ public class AuthenticationControllerTest {
         when(authenticationService.authenticate(any(LoginUserDto.class)))
                 .thenThrow(new RuntimeException("Unexpected error"));
 
-        assertThrows(RuntimeException.class, () -> authenticationController.login(loginUserDto));
+        assertThrows(RuntimeException.class, () -> authenticationController.login(loginUserDto, request));
 
         verify(jwtService, never()).generateToken(any(User.class));
     }
@@ -129,7 +158,7 @@ public class AuthenticationControllerTest {
         stubSuccessfulLogin();
         when(jwtService.getExpirationTime()).thenReturn(3600L);
 
-        ResponseEntity<LoginResponse> response = authenticationController.login(loginUserDto);
+        ResponseEntity<LoginResponse> response = authenticationController.login(loginUserDto, request);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals("success", response.getBody().message());
@@ -142,7 +171,7 @@ public class AuthenticationControllerTest {
     void login_ShouldCallJwtService_WithCorrectUser() {
         stubSuccessfulLogin();
 
-        authenticationController.login(loginUserDto);
+        authenticationController.login(loginUserDto, request);
 
         verify(jwtService, times(1)).generateToken(testUser);
         verify(securityCookieFactory, times(1)).createAuthCookie("token");
@@ -150,13 +179,92 @@ public class AuthenticationControllerTest {
 
     @Test
     void logout_ShouldReturnNoContent_AndSendExpiredCookie() {
-        when(securityCookieFactory.expireAuthCookie()).thenReturn(
-                ResponseCookie.from("authToken", "").maxAge(Duration.ZERO).path("/").build());
+        stubExpiredCookies();
 
-        ResponseEntity<Void> response = authenticationController.logout();
+        ResponseEntity<Void> response = authenticationController.logout("access", "refresh");
 
         assertEquals(HttpStatus.NO_CONTENT, response.getStatusCode());
         assertNull(response.getBody());
-        assertTrue(response.getHeaders().getFirst(HttpHeaders.SET_COOKIE).contains("Max-Age=0"));
+        assertTrue(response.getHeaders().get(HttpHeaders.SET_COOKIE).stream().allMatch(c -> c.contains("Max-Age=0")));
+        verify(tokenRevocationService).revoke("access");
+        verify(refreshTokenService).revoke("refresh");
+    }
+
+    @Test
+    void login_ShouldAlsoSetARefreshCookie() {
+        stubSuccessfulLogin();
+
+        ResponseEntity<LoginResponse> response = authenticationController.login(loginUserDto, request);
+
+        assertTrue(response.getHeaders().get(HttpHeaders.SET_COOKIE).stream()
+                .anyMatch(c -> c.startsWith("refreshToken=refresh")));
+    }
+
+    @Test
+    void refresh_ShouldIssueNewCookies_WithoutCheckingThePassword() {
+        when(refreshTokenService.rotate("refresh"))
+                .thenReturn(new RefreshTokenService.Rotation(testUser, "rotated"));
+        stubSessionCookies();
+
+        ResponseEntity<LoginResponse> response = authenticationController.refresh("refresh");
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("success", response.getBody().message());
+        assertTrue(response.getHeaders().get(HttpHeaders.SET_COOKIE).stream()
+                .anyMatch(c -> c.startsWith("refreshToken=rotated")));
+        verifyNoInteractions(authenticationService);
+    }
+
+    @Test
+    void refresh_WithAnUnknownToken_Returns401AndClearsTheCookies() {
+        when(refreshTokenService.rotate("stale")).thenThrow(new InvalidRefreshTokenException("Refresh token is not recognised"));
+        stubExpiredCookies();
+
+        ResponseEntity<LoginResponse> response = authenticationController.refresh("stale");
+
+        assertEquals(HttpStatus.UNAUTHORIZED, response.getStatusCode());
+        assertEquals("invalid_refresh_token", response.getBody().message());
+        assertTrue(response.getHeaders().get(HttpHeaders.SET_COOKIE).stream().allMatch(c -> c.contains("Max-Age=0")));
+        verify(jwtService, never()).generateToken(any());
+    }
+
+    private void stubExpiredCookies() {
+        when(securityCookieFactory.expireAuthCookie()).thenReturn(
+                ResponseCookie.from("authToken", "").maxAge(Duration.ZERO).path("/").build());
+        when(securityCookieFactory.expireRefreshCookie()).thenReturn(
+                ResponseCookie.from("refreshToken", "").maxAge(Duration.ZERO).path("/api/auth").build());
+    }
+
+    @Test
+    void login_WhenThrottled_Returns429_WithoutAuthenticating() {
+        when(loginThrottle.retryAfter("test@example.com", "203.0.113.7"))
+                .thenReturn(Optional.of(Duration.ofSeconds(8)));
+
+        ResponseEntity<LoginResponse> response = authenticationController.login(loginUserDto, request);
+
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, response.getStatusCode());
+        assertEquals("8", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertEquals("too_many_attempts", response.getBody().message());
+        verifyNoInteractions(authenticationService);
+    }
+
+    @Test
+    void login_FailedAttempt_IsRecordedForTheAccountAndTheAddress() {
+        when(authenticationService.authenticate(any(LoginUserDto.class)))
+                .thenThrow(new BadCredentialsException("Bad credentials"));
+
+        authenticationController.login(loginUserDto, request);
+
+        verify(loginThrottle).recordFailure("test@example.com", "203.0.113.7");
+        verify(loginThrottle, never()).recordSuccess(any());
+    }
+
+    @Test
+    void login_Success_ClearsTheAccountsFailures() {
+        stubSuccessfulLogin();
+
+        authenticationController.login(loginUserDto, request);
+
+        verify(loginThrottle).recordSuccess("test@example.com");
     }
 }
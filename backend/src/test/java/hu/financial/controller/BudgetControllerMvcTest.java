@@ -3,20 +3,28 @@ package hu.financial.controller;
 import tools.jackson.databind.ObjectMapper;
 import hu.financial.config.FilterRegistrationConfig;
 import hu.financial.config.SecurityConfig;
+import hu.financial.dto.budget.BudgetSheetDto;
+import hu.financial.dto.budget.BudgetSheetItemDto;
 import hu.financial.dto.budget.CreateBudgetDto;
+import hu.financial.dto.budget.UpsertBudgetDto;
 import hu.financial.filter.JwtAuthenticationFilter;
 import hu.financial.model.Budget;
 import hu.financial.model.Category;
 import hu.financial.model.User;
 import hu.financial.repository.BudgetRepository;
 import hu.financial.repository.CategoryRepository;
+import hu.financial.repository.projection.UpsertedBudget;
 import hu.financial.security.CookieProperties;
+import hu.financial.security.CredentialVersionCache;
+import hu.financial.security.PrincipalCache;
 import hu.financial.security.CsrfCookieFilter;
 import hu.financial.security.RestAccessDeniedHandler;
+import hu.financial.security.TokenRevocationList;
 import hu.financial.security.SecurityCookieFactory;
 import hu.financial.service.BudgetService;
 import hu.financial.service.CategoryService;
 import hu.financial.service.JwtService;
+import hu.financial.service.ListCountCache;
 import hu.financial.service.UserService;
 import jakarta.servlet.http.Cookie;
 import org.junit.jupiter.api.BeforeEach;
@@ -28,14 +36,18 @@ import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
 import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.event.TransactionalEventListenerFactory;
 import org.springframework.test.web.servlet.MvcResult;
 
 import java.math.BigDecimal;
@@ -45,10 +57,13 @@ import java.util.Optional;
 
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
@@ -60,8 +75,10 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 
 @WebMvcTest(BudgetController.class)
 @Import({ SecurityConfig.class, JwtAuthenticationFilter.class, CookieProperties.class, RestAccessDeniedHandler.class,
-        SecurityCookieFactory.class, CsrfCookieFilter.class, JwtService.class, BudgetService.class,
-        CategoryService.class, FilterRegistrationConfig.class })
+        SecurityCookieFactory.class, CsrfCookieFilter.class, JwtService.class, PrincipalCache.class,
+        CredentialVersionCache.class, TokenRevocationList.class, BudgetService.class,
+        CategoryService.class, ListCountCache.class, TransactionalEventListenerFactory.class,
+        FilterRegistrationConfig.class })
 @ActiveProfiles("test")
 @TestPropertySource(properties = {
         "security.jwt.expiration-time=3600",
@@ -86,6 +103,9 @@ class BudgetControllerMvcTest {
     @Autowired
     private JwtService jwtService;
 
+    @Autowired
+    private ListCountCache listCountCache;
+
     @MockitoBean
     private UserService userService;
 
@@ -103,6 +123,7 @@ class BudgetControllerMvcTest {
     void setUp() {
         currentUser = new User("testuser", "encoded-password", "test@example.com");
         currentUser.setId(1L);
+        listCountCache.invalidate(currentUser.getId());
         User otherUser = new User("other", "encoded-password", "other@example.com");
         otherUser.setId(2L);
 
@@ -115,22 +136,24 @@ class BudgetControllerMvcTest {
 
         ownBudget = new Budget(OWN_BUDGET_ID, new BigDecimal("100.00"), LocalDate.of(2026, 1, 1),
                 currentUser, ownCategory);
-        Budget foreignBudget = new Budget(FOREIGN_BUDGET_ID, new BigDecimal("50.00"), LocalDate.of(2026, 1, 1),
-                otherUser, foreignCategory);
 
         when(userService.loadUserByUsername("testuser")).thenReturn(currentUser);
         when(userService.getCurrentUser()).thenReturn(currentUser);
 
-        when(categoryRepository.findById(OWN_CATEGORY_ID)).thenReturn(Optional.of(ownCategory));
-        when(categoryRepository.findById(OTHER_OWN_CATEGORY_ID)).thenReturn(Optional.of(otherOwnCategory));
-        when(categoryRepository.findById(FOREIGN_CATEGORY_ID)).thenReturn(Optional.of(foreignCategory));
-
-        when(budgetRepository.findById(OWN_BUDGET_ID)).thenReturn(Optional.of(ownBudget));
-        when(budgetRepository.findById(FOREIGN_BUDGET_ID)).thenReturn(Optional.of(foreignBudget));
-        when(budgetRepository.findById(UNKNOWN_BUDGET_ID)).thenReturn(Optional.empty());
+        when(categoryRepository.findByIdAndUserId(OWN_CATEGORY_ID, currentUser.getId()))
+                .thenReturn(Optional.of(ownCategory));
+        when(categoryRepository.findByIdAndUserId(OTHER_OWN_CATEGORY_ID, currentUser.getId()))
+                .thenReturn(Optional.of(otherOwnCategory));
+        when(categoryRepository.findByIdAndUserId(FOREIGN_CATEGORY_ID, otherUser.getId()))
+                .thenReturn(Optional.of(foreignCategory));
+
+        when(budgetRepository.updateOwned(eq(OWN_BUDGET_ID), eq(currentUser.getId()), any(), any(), any()))
+                .thenReturn(1);
+        when(budgetRepository.updateOwned(eq(FOREIGN_BUDGET_ID), eq(otherUser.getId()), any(), any(), any()))
+                .thenReturn(1);
         when(budgetRepository.findAll(anySpecification(), any(Pageable.class)))
                 .thenAnswer(invocation -> new PageImpl<Budget>(List.of(), invocation.getArgument(1), 0));
-        when(budgetRepository.save(any(Budget.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(budgetRepository.saveAndFlush(any(Budget.class))).thenAnswer(invocation -> invocation.getArgument(0));
     }
 
     private Cookie authCookie() {
@@ -146,6 +169,30 @@ class BudgetControllerMvcTest {
         return cookie;
     }
 
+    private static UpsertedBudget upserted(Long id, String amount, Long categoryId, String categoryName) {
+        return new UpsertedBudget() {
+            public Long getId() {
+                return id;
+            }
+
+            public BigDecimal getAmount() {
+                return new BigDecimal(amount);
+            }
+
+            public LocalDate getMonth() {
+                return LocalDate.of(2026, 3, 1);
+            }
+
+            public Long getCategoryId() {
+                return categoryId;
+            }
+
+            public String getCategoryName() {
+                return categoryName;
+            }
+        };
+    }
+
     private String json(Object body) throws Exception {
         return objectMapper.writeValueAsString(body);
     }
@@ -183,6 +230,38 @@ class BudgetControllerMvcTest {
                 .andExpect(jsonPath("$.last").value(true));
     }
 
+    @Test
+    void getMyBudgets_CountFalse_ReturnsASliceWithoutTotalsAndNeverCounts() throws Exception {
+        when(budgetRepository.findBy(anySpecification(), any()))
+                .thenReturn(new SliceImpl<>(List.of(ownBudget), PageRequest.of(0, 20), false));
+
+        mockMvc.perform(get("/api/budgets").param("count", "false").cookie(authCookie()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.content[0].id").value(OWN_BUDGET_ID))
+                .andExpect(jsonPath("$.last").value(true))
+                .andExpect(jsonPath("$.totalElements").doesNotExist())
+                .andExpect(jsonPath("$.totalPages").doesNotExist());
+
+        verify(budgetRepository, never()).findAll(anySpecification(), any(Pageable.class));
+    }
+
+    @Test
+    void getMyBudgets_RepeatedWithTheSameFilter_ReusesTheCachedTotal() throws Exception {
+        when(budgetRepository.findAll(anySpecification(), any(Pageable.class)))
+                .thenAnswer(invocation -> new PageImpl<>(List.of(ownBudget), invocation.getArgument(1), 1));
+        when(budgetRepository.findBy(anySpecification(), any()))
+                .thenReturn(new SliceImpl<>(List.of(ownBudget), PageRequest.of(0, 20), false));
+
+        mockMvc.perform(get("/api/budgets").param("month", "2026-01").cookie(authCookie()));
+        mockMvc.perform(get("/api/budgets").param("month", "2026-01").cookie(authCookie()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(1));
+
+        verify(budgetRepository, times(1)).findAll(anySpecification(), any(Pageable.class));
+        verify(budgetRepository, times(1)).findBy(anySpecification(), any());
+    }
+
     @Test
     void getMyBudgets_WithoutParameters_UsesPageZeroSizeTwentyAndMonthDescending() throws Exception {
         mockMvc.perform(get("/api/budgets").cookie(authCookie()))
@@ -328,7 +407,7 @@ class BudgetControllerMvcTest {
                 .andExpect(jsonPath("$.status").value(404))
                 .andExpect(jsonPath("$.message").exists());
 
-        verify(budgetRepository, never()).save(any(Budget.class));
+        verify(budgetRepository, never()).updateOwned(any(), any(), any(), any(), any());
     }
 
     @Test
@@ -364,11 +443,14 @@ class BudgetControllerMvcTest {
                 .andExpect(jsonPath("$.categoryId").value(OTHER_OWN_CATEGORY_ID))
                 .andExpect(jsonPath("$.categoryName").value("travel"));
 
-        ArgumentCaptor<Budget> saved = ArgumentCaptor.forClass(Budget.class);
-        verify(budgetRepository).save(saved.capture());
-        assertEquals(0, new BigDecimal("250.55").compareTo(saved.getValue().getAmount()));
-        assertEquals(LocalDate.of(2026, 2, 1), saved.getValue().getMonth());
-        assertEquals(OTHER_OWN_CATEGORY_ID, saved.getValue().getCategory().getId());
+        ArgumentCaptor<BigDecimal> amount = ArgumentCaptor.forClass(BigDecimal.class);
+        ArgumentCaptor<Category> category = ArgumentCaptor.forClass(Category.class);
+        verify(budgetRepository).updateOwned(eq(OWN_BUDGET_ID), eq(currentUser.getId()), amount.capture(),
+                eq(LocalDate.of(2026, 2, 1)), category.capture());
+        assertEquals(0, new BigDecimal("250.55").compareTo(amount.getValue()));
+        assertEquals(OTHER_OWN_CATEGORY_ID, category.getValue().getId());
+        verify(budgetRepository, never()).findById(any());
+        verify(budgetRepository, never()).save(any(Budget.class));
     }
 
     @Test
@@ -386,7 +468,7 @@ class BudgetControllerMvcTest {
                 .andExpect(jsonPath("$.fieldErrors.month").exists())
                 .andExpect(jsonPath("$.fieldErrors.categoryId").exists());
 
-        verify(budgetRepository, never()).save(any(Budget.class));
+        verify(budgetRepository, never()).updateOwned(any(), any(), any(), any(), any());
     }
 
     @Test
@@ -402,7 +484,7 @@ class BudgetControllerMvcTest {
                 .andExpect(status().isNotFound())
                 .andExpect(jsonPath("$.status").value(404));
 
-        verify(budgetRepository, never()).save(any(Budget.class));
+        verify(budgetRepository).updateOwned(eq(FOREIGN_BUDGET_ID), eq(currentUser.getId()), any(), any(), any());
     }
 
     @Test
@@ -418,7 +500,7 @@ class BudgetControllerMvcTest {
                 .andExpect(status().isNotFound())
                 .andExpect(jsonPath("$.status").value(404));
 
-        verify(budgetRepository, never()).save(any(Budget.class));
+        verify(budgetRepository).updateOwned(eq(UNKNOWN_BUDGET_ID), eq(currentUser.getId()), any(), any(), any());
     }
 
     @Test
@@ -431,7 +513,7 @@ class BudgetControllerMvcTest {
                 .andExpect(status().isForbidden())
                 .andExpect(jsonPath("$.status").value(403));
 
-        verify(budgetRepository, never()).save(any(Budget.class));
+        verify(budgetRepository, never()).updateOwned(any(), any(), any(), any(), any());
     }
 
     @Test
@@ -449,9 +531,8 @@ class BudgetControllerMvcTest {
     @Test
     void createBudget_DuplicateForSameUserCategoryAndMonth_Returns409WithDuplicateResourceTitle() throws Exception {
         Cookie csrf = csrfCookie();
-        Budget conflicting = new Budget(77L, new BigDecimal("300.00"), LocalDate.of(2026, 3, 1),
-                currentUser, null);
-        when(budgetRepository.findByUserAndCategoryAndMonth(any(), any(), any())).thenReturn(conflicting);
+        when(budgetRepository.saveAndFlush(any(Budget.class)))
+                .thenThrow(new DataIntegrityViolationException("uk_budgets_user_id_category_id_month_value"));
 
         mockMvc.perform(post("/api/budgets")
                 .cookie(authCookie(), csrf)
@@ -465,15 +546,14 @@ class BudgetControllerMvcTest {
                 .andExpect(jsonPath("$.error").value("Duplicate Resource"))
                 .andExpect(jsonPath("$.message").exists());
 
-        verify(budgetRepository, never()).save(any(Budget.class));
+        verify(budgetRepository, times(1)).saveAndFlush(any(Budget.class));
     }
 
     @Test
     void updateBudget_CategoryChangeCollidesWithAnotherBudget_Returns409WithDuplicateResourceTitle() throws Exception {
         Cookie csrf = csrfCookie();
-        Budget conflicting = new Budget(78L, new BigDecimal("300.00"), ownBudget.getMonth(),
-                currentUser, null);
-        when(budgetRepository.findByUserAndCategoryAndMonth(any(), any(), any())).thenReturn(conflicting);
+        when(budgetRepository.updateOwned(eq(OWN_BUDGET_ID), eq(currentUser.getId()), any(), any(), any()))
+                .thenThrow(new DataIntegrityViolationException("uk_budgets_user_id_category_id_month_value"));
 
         mockMvc.perform(put("/api/budgets/{id}", OWN_BUDGET_ID)
                 .cookie(authCookie(), csrf)
@@ -485,11 +565,11 @@ class BudgetControllerMvcTest {
                 .andExpect(jsonPath("$.status").value(409))
                 .andExpect(jsonPath("$.error").value("Duplicate Resource"));
 
-        verify(budgetRepository, never()).save(any(Budget.class));
+        verify(budgetRepository).updateOwned(eq(OWN_BUDGET_ID), eq(currentUser.getId()), any(), any(), any());
     }
 
     @Test
-    void updateBudget_OnlyAmountChanges_SucceedsWithoutTriggeringTheDuplicateCheck() throws Exception {
+    void updateBudget_OnlyAmountChanges_SucceedsWithOneUpdateStatement() throws Exception {
         Cookie csrf = csrfCookie();
 
         mockMvc.perform(put("/api/budgets/{id}", OWN_BUDGET_ID)
@@ -501,7 +581,150 @@ class BudgetControllerMvcTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.amount").value(777.00));
 
-        verify(budgetRepository, never()).findByUserAndCategoryAndMonth(any(), any(), any());
+        verify(budgetRepository).updateOwned(eq(OWN_BUDGET_ID), eq(currentUser.getId()), any(),
+                eq(ownBudget.getMonth()), any());
+        verify(budgetRepository, never()).findById(any());
+    }
+
+    @Test
+    void upsertBudget_StoresTheAmountForTheCategoryAndMonthInOneStatement() throws Exception {
+        Cookie csrf = csrfCookie();
+        when(budgetRepository.upsertOwned(currentUser.getId(), OWN_CATEGORY_ID, LocalDate.of(2026, 3, 1),
+                new BigDecimal("120.50")))
+                .thenReturn(Optional.of(upserted(OWN_BUDGET_ID, "120.50", OWN_CATEGORY_ID, "groceries")));
+
+        mockMvc.perform(put("/api/budgets/{categoryId}/{month}", OWN_CATEGORY_ID, "2026-03")
+                .cookie(authCookie(), csrf)
+                .header("X-XSRF-TOKEN", csrf.getValue())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json(new UpsertBudgetDto(new BigDecimal("120.5")))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(OWN_BUDGET_ID))
+                .andExpect(jsonPath("$.amount").value(120.50))
+                .andExpect(jsonPath("$.month").value("2026-03-01"))
+                .andExpect(jsonPath("$.categoryId").value(OWN_CATEGORY_ID))
+                .andExpect(jsonPath("$.categoryName").value("groceries"));
+
+        verify(budgetRepository, never()).saveAndFlush(any(Budget.class));
+        verify(budgetRepository, never()).updateOwned(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void upsertBudget_WithForeignCategoryId_Returns404() throws Exception {
+        Cookie csrf = csrfCookie();
+
+        mockMvc.perform(put("/api/budgets/{categoryId}/{month}", FOREIGN_CATEGORY_ID, "2026-03")
+                .cookie(authCookie(), csrf)
+                .header("X-XSRF-TOKEN", csrf.getValue())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json(new UpsertBudgetDto(new BigDecimal("120.00")))))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.status").value(404));
+
+        verify(budgetRepository).upsertOwned(currentUser.getId(), FOREIGN_CATEGORY_ID, LocalDate.of(2026, 3, 1),
+                new BigDecimal("120.00"));
+    }
+
+    @Test
+    void upsertBudget_MalformedMonth_Returns400BeforeAnyStatement() throws Exception {
+        Cookie csrf = csrfCookie();
+
+        mockMvc.perform(put("/api/budgets/{categoryId}/{month}", OWN_CATEGORY_ID, "2026-03-01")
+                .cookie(authCookie(), csrf)
+                .header("X-XSRF-TOKEN", csrf.getValue())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json(new UpsertBudgetDto(new BigDecimal("120.00")))))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status").value(400));
+
+        verify(budgetRepository, never()).upsertOwned(any(), any(), any(), any());
+    }
+
+    @Test
+    void upsertMonth_StoresTheWholeSheetInOneStatement() throws Exception {
+        Cookie csrf = csrfCookie();
+        when(budgetRepository.upsertOwnedMonth(eq(currentUser.getId()), eq(LocalDate.of(2026, 3, 1)), any(), any()))
+                .thenReturn(List.of(upserted(OWN_BUDGET_ID, "120.00", OWN_CATEGORY_ID, "groceries"),
+                        upserted(7L, "80.00", OTHER_OWN_CATEGORY_ID, "travel")));
+
+        mockMvc.perform(put("/api/budgets/months/{month}", "2026-03")
+                .cookie(authCookie(), csrf)
+                .header("X-XSRF-TOKEN", csrf.getValue())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json(new BudgetSheetDto(List.of(
+                        new BudgetSheetItemDto(OWN_CATEGORY_ID, new BigDecimal("120")),
+                        new BudgetSheetItemDto(OTHER_OWN_CATEGORY_ID, new BigDecimal("80")))))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].categoryName").value("groceries"))
+                .andExpect(jsonPath("$[1].id").value(7))
+                .andExpect(jsonPath("$[1].month").value("2026-03-01"));
+
+        ArgumentCaptor<Long[]> categoryIds = ArgumentCaptor.forClass(Long[].class);
+        ArgumentCaptor<BigDecimal[]> amounts = ArgumentCaptor.forClass(BigDecimal[].class);
+        verify(budgetRepository, times(1)).upsertOwnedMonth(eq(currentUser.getId()), eq(LocalDate.of(2026, 3, 1)),
+                categoryIds.capture(), amounts.capture());
+        assertArrayEquals(new Long[] { OWN_CATEGORY_ID, OTHER_OWN_CATEGORY_ID }, categoryIds.getValue());
+        assertArrayEquals(new BigDecimal[] { new BigDecimal("120.00"), new BigDecimal("80.00") }, amounts.getValue());
+        verify(budgetRepository, never()).upsertOwned(any(), any(), any(), any());
+    }
+
+    @Test
+    void upsertMonth_WithAForeignCategoryInTheSheet_Returns404() throws Exception {
+        Cookie csrf = csrfCookie();
+        when(budgetRepository.upsertOwnedMonth(eq(currentUser.getId()), eq(LocalDate.of(2026, 3, 1)), any(), any()))
+                .thenReturn(List.of(upserted(OWN_BUDGET_ID, "120.00", OWN_CATEGORY_ID, "groceries")));
+
+        mockMvc.perform(put("/api/budgets/months/{month}", "2026-03")
+                .cookie(authCookie(), csrf)
+                .header("X-XSRF-TOKEN", csrf.getValue())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json(new BudgetSheetDto(List.of(
+                        new BudgetSheetItemDto(OWN_CATEGORY_ID, new BigDecimal("120")),
+                        new BudgetSheetItemDto(FOREIGN_CATEGORY_ID, new BigDecimal("80")))))))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.status").value(404));
+    }
+
+    @Test
+    void upsertMonth_EmptySheetOrInvalidEntry_Returns400WithFieldErrors() throws Exception {
+        Cookie csrf = csrfCookie();
+
+        mockMvc.perform(put("/api/budgets/months/{month}", "2026-03")
+                .cookie(authCookie(), csrf)
+                .header("X-XSRF-TOKEN", csrf.getValue())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json(new BudgetSheetDto(List.of()))))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.fieldErrors.budgets").exists());
+
+        mockMvc.perform(put("/api/budgets/months/{month}", "2026-03")
+                .cookie(authCookie(), csrf)
+                .header("X-XSRF-TOKEN", csrf.getValue())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json(new BudgetSheetDto(List.of(new BudgetSheetItemDto(null, BigDecimal.ZERO))))))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.fieldErrors['budgets[0].categoryId']").exists())
+                .andExpect(jsonPath("$.fieldErrors['budgets[0].amount']").exists());
+
+        verify(budgetRepository, never()).upsertOwnedMonth(any(), any(), any(), any());
+    }
+
+    @Test
+    void upsertMonth_SameCategoryTwice_Returns400() throws Exception {
+        Cookie csrf = csrfCookie();
+
+        mockMvc.perform(put("/api/budgets/months/{month}", "2026-03")
+                .cookie(authCookie(), csrf)
+                .header("X-XSRF-TOKEN", csrf.getValue())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json(new BudgetSheetDto(List.of(
+                        new BudgetSheetItemDto(OWN_CATEGORY_ID, new BigDecimal("120")),
+                        new BudgetSheetItemDto(OWN_CATEGORY_ID, new BigDecimal("80")))))))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status").value(400));
+
+        verify(budgetRepository, never()).upsertOwnedMonth(any(), any(), any(), any());
     }
 
     @Test
@@ -516,6 +739,6 @@ class BudgetControllerMvcTest {
                         OWN_CATEGORY_ID))))
                 .andExpect(status().isUnauthorized());
 
-        verify(budgetRepository, never()).save(any(Budget.class));
+        verify(budgetRepository, never()).updateOwned(any(), any(), any(), any(), any());
     }
 }
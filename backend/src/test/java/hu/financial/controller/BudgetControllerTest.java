@@ -21,6 +21,7 @@ import hu.financial.dto.budget.BudgetFilter;
 import hu.financial.dto.budget.CreateBudgetDto;
 import hu.financial.dto.budget.BudgetResponseDto;
 import hu.financial.dto.common.PageResponse;
+import hu.financial.repository.projection.BudgetRow;
 import hu.financial.exception.InvalidRequestParameterException;
 import hu.financial.exception.budget.BudgetNotFoundException;
 import hu.financial.exception.category.CategoryNotFoundException;
@@ -96,7 +97,7 @@ public class BudgetControllerTest {
         when(budgetService.mapToDto(testBudget)).thenReturn(budgetResponseDto);
 
         ResponseEntity<PageResponse<BudgetResponseDto>> response =
-                budgetController.getMyBudgets(0, 20, "month,desc", null, null);
+                budgetController.getMyBudgets(0, 20, "month,desc", null, null, true);
 
         assertNotNull(response);
         assertEquals(HttpStatus.OK, response.getStatusCode());
@@ -120,7 +121,7 @@ public class BudgetControllerTest {
         when(budgetService.getBudgetsByUserId(eq(testUser.getId()), any(BudgetFilter.class), any(Pageable.class)))
                 .thenReturn(new PageImpl<>(List.of(), PageRequest.of(0, 20), 0));
 
-        budgetController.getMyBudgets(0, 20, "month,desc", "2026-02", 7L);
+        budgetController.getMyBudgets(0, 20, "month,desc", "2026-02", 7L, true);
 
         verify(budgetService).getBudgetsByUserId(eq(testUser.getId()), filter.capture(), any(Pageable.class));
         assertEquals(new BudgetFilter(YearMonth.of(2026, 2), 7L), filter.getValue());
@@ -129,22 +130,24 @@ public class BudgetControllerTest {
     @Test
     void getMyBudgets_ShouldRejectUnknownSortField_WithoutTouchingTheService() {
         assertThrows(InvalidRequestParameterException.class,
-                () -> budgetController.getMyBudgets(0, 20, "user", null, null));
+                () -> budgetController.getMyBudgets(0, 20, "user", null, null, true));
         verify(budgetService, never()).getBudgetsByUserId(any(), any(), any());
     }
 
     @Test
     void getMyBudgets_ShouldRejectMalformedMonth_WithoutTouchingTheService() {
         assertThrows(InvalidRequestParameterException.class,
-                () -> budgetController.getMyBudgets(0, 20, "month,desc", "2026-02-01", null));
+                () -> budgetController.getMyBudgets(0, 20, "month,desc", "2026-02-01", null, true));
         verify(budgetService, never()).getBudgetsByUserId(any(), any(), any());
     }
 
     @Test
     void getBudgetById_ShouldReturnBudget_WhenOwnedByCurrentUser() {
+        BudgetRow row = new BudgetRow(testBudget.getId(), testBudget.getAmount(), testBudget.getMonth(),
+                testCategory.getId(), testCategory.getName());
         when(userService.getCurrentUser()).thenReturn(testUser);
-        when(budgetService.getBudgetById(testBudget.getId())).thenReturn(testBudget);
-        when(budgetService.mapToDto(testBudget)).thenReturn(budgetResponseDto);
+        when(budgetService.getOwnedBudgetRow(testBudget.getId(), testUser.getId())).thenReturn(row);
+        when(budgetService.mapRowToDto(row)).thenReturn(budgetResponseDto);
 
         ResponseEntity<BudgetResponseDto> response = budgetController.getBudgetById(testBudget.getId());
 
@@ -155,33 +158,18 @@ public class BudgetControllerTest {
     }
 
     @Test
-    void getBudgetById_ShouldThrowNotFound_WhenBudgetMissing() {
+    void getBudgetById_ShouldThrowNotFound_WhenMissingOrOwnedByAnotherUser() {
         when(userService.getCurrentUser()).thenReturn(testUser);
-        when(budgetService.getBudgetById(99L)).thenReturn(null);
+        when(budgetService.getOwnedBudgetRow(99L, testUser.getId())).thenThrow(new BudgetNotFoundException(99L));
 
         assertThrows(BudgetNotFoundException.class,
                 () -> budgetController.getBudgetById(99L));
     }
 
-    @Test
-    void getBudgetById_ShouldThrowNotFound_WhenOwnedByAnotherUser() {
-        User otherUser = new User("other", "password123", "other@example.com");
-        otherUser.setId(2L);
-        Budget foreignBudget = new Budget(5L, new BigDecimal("50.00"), LocalDate.now(), otherUser, testCategory);
-
-        when(userService.getCurrentUser()).thenReturn(testUser);
-        when(budgetService.getBudgetById(foreignBudget.getId())).thenReturn(foreignBudget);
-
-        assertThrows(BudgetNotFoundException.class,
-                () -> budgetController.getBudgetById(foreignBudget.getId()));
-    }
-
     @Test
     void updateBudget_ShouldReturnBudget_WhenOwnedByCurrentUser() {
-        when(userService.getCurrentUser()).thenReturn(testUser);
-        when(budgetService.getBudgetById(testBudget.getId())).thenReturn(testBudget);
         when(budgetService.mapToEntity(any(CreateBudgetDto.class))).thenReturn(testBudget);
-        when(budgetService.updateBudget(eq(testBudget.getId()), any(Budget.class))).thenReturn(testBudget);
+        when(budgetService.updateOwnedBudget(eq(testBudget.getId()), any(Budget.class))).thenReturn(testBudget);
         when(budgetService.mapToDto(testBudget)).thenReturn(budgetResponseDto);
 
         ResponseEntity<BudgetResponseDto> response = budgetController.updateBudget(testBudget.getId(), createBudgetDto);
@@ -189,58 +177,46 @@ public class BudgetControllerTest {
         assertNotNull(response);
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
-        verify(budgetService).updateBudget(eq(testBudget.getId()), any(Budget.class));
+        verify(budgetService).updateOwnedBudget(eq(testBudget.getId()), any(Budget.class));
     }
 
     @Test
     void updateBudget_ShouldThrowNotFound_WhenNewCategoryOwnedByAnotherUser() {
-        when(userService.getCurrentUser()).thenReturn(testUser);
-        when(budgetService.getBudgetById(testBudget.getId())).thenReturn(testBudget);
         when(budgetService.mapToEntity(any(CreateBudgetDto.class)))
                 .thenThrow(new CategoryNotFoundException(99L));
 
         assertThrows(CategoryNotFoundException.class,
                 () -> budgetController.updateBudget(testBudget.getId(), createBudgetDto));
-        verify(budgetService, never()).updateBudget(any(), any());
+        verify(budgetService, never()).updateOwnedBudget(any(), any());
     }
 
     @Test
-    void updateBudget_ShouldThrowNotFound_WhenOwnedByAnotherUser() {
-        User otherUser = new User("other", "password123", "other@example.com");
-        otherUser.setId(2L);
-        Budget foreignBudget = new Budget(5L, new BigDecimal("50.00"), LocalDate.now(), otherUser, testCategory);
-
-        when(userService.getCurrentUser()).thenReturn(testUser);
-        when(budgetService.getBudgetById(foreignBudget.getId())).thenReturn(foreignBudget);
+    void updateBudget_ShouldThrowNotFound_WhenMissingOrOwnedByAnotherUser() {
+        when(budgetService.mapToEntity(any(CreateBudgetDto.class))).thenReturn(testBudget);
+        when(budgetService.updateOwnedBudget(eq(5L), any(Budget.class))).thenThrow(new BudgetNotFoundException(5L));
 
         assertThrows(BudgetNotFoundException.class,
-                () -> budgetController.updateBudget(foreignBudget.getId(), createBudgetDto));
-        verify(budgetService, never()).updateBudget(any(), any());
+                () -> budgetController.updateBudget(5L, createBudgetDto));
+        verify(budgetService, never()).mapToDto(any());
     }
 
     @Test
     void deleteBudget_ShouldReturnNoContent_WhenOwnedByCurrentUser() {
         when(userService.getCurrentUser()).thenReturn(testUser);
-        when(budgetService.getBudgetById(testBudget.getId())).thenReturn(testBudget);
-        doNothing().when(budgetService).deleteBudget(testBudget.getId());
+        doNothing().when(budgetService).deleteOwnedBudget(testBudget.getId(), testUser.getId());
 
         ResponseEntity<Void> response = budgetController.deleteBudget(testBudget.getId());
 
         assertEquals(HttpStatus.NO_CONTENT, response.getStatusCode());
-        verify(budgetService).deleteBudget(testBudget.getId());
+        verify(budgetService).deleteOwnedBudget(testBudget.getId(), testUser.getId());
     }
 
     @Test
-    void deleteBudget_ShouldThrowNotFound_WhenOwnedByAnotherUser() {
-        User otherUser = new User("other", "password123", "other@example.com");
-        otherUser.setId(2L);
-        Budget foreignBudget = new Budget(5L, new BigDecimal("50.00"), LocalDate.now(), otherUser, testCategory);
-
+    void deleteBudget_ShouldThrowNotFound_WhenMissingOrOwnedByAnotherUser() {
         when(userService.getCurrentUser()).thenReturn(testUser);
-        when(budgetService.getBudgetById(foreignBudget.getId())).thenReturn(foreignBudget);
+        doThrow(new BudgetNotFoundException(5L)).when(budgetService).deleteOwnedBudget(5L, testUser.getId());
 
         assertThrows(BudgetNotFoundException.class,
-                () -> budgetController.deleteBudget(foreignBudget.getId()));
-        verify(budgetService, never()).deleteBudget(any());
+                () -> budgetController.deleteBudget(5L));
     }
 }
@@ -102,8 +102,7 @@ public class CategoryControllerTest {
     void updateCategory_ShouldReturnCategory_WhenValidCategory() {
         // Arrange
         when(userService.getCurrentUser()).thenReturn(testUser);
-        when(categoryService.getOwnedCategoryById(testCategory.getId(), testUser.getId())).thenReturn(testCategory);
-        when(categoryService.updateCategory(any(Category.class))).thenReturn(testCategory);
+        when(categoryService.updateOwnedCategory(eq(testUser.getId()), any(Category.class))).thenReturn(testCategory);
         when(categoryService.mapToDto(any(Category.class))).thenReturn(categoryResponseDto);
 
         // Act
@@ -115,7 +114,8 @@ public class CategoryControllerTest {
         assertEquals(testCategory.getName(), response.getBody().name());
         assertEquals(testCategory.getDescription(), response.getBody().description());
 
-        verify(categoryService).getOwnedCategoryById(testCategory.getId(), testUser.getId());
+        verify(categoryService).updateOwnedCategory(eq(testUser.getId()), argThat(category ->
+                testCategory.getId().equals(category.getId()) && createCategoryDto.name().equals(category.getName())));
         verify(categoryService).mapToDto(testCategory);
     }
 
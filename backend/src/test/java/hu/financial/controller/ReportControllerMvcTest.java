@@ -4,6 +4,7 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.YearMonth;
 import java.util.List;
+import java.util.Optional;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -20,42 +21,61 @@ import org.springframework.test.web.servlet.MockMvc;
 
 import hu.financial.config.FilterRegistrationConfig;
 import hu.financial.config.SecurityConfig;
+import hu.financial.dto.report.TrendPeriod;
+import hu.financial.event.UserDataChangedEvent;
 import hu.financial.filter.JwtAuthenticationFilter;
+import hu.financial.model.BalanceCheckpoint;
+import hu.financial.model.BalanceCheckpointId;
 import hu.financial.model.User;
 import hu.financial.model.enums.TransactionType;
+import hu.financial.repository.BalanceCheckpointRepository;
 import hu.financial.repository.BudgetRepository;
+import hu.financial.repository.TransactionDailyRollupRepository;
 import hu.financial.repository.TransactionRepository;
+import hu.financial.repository.TransactionRollupRepository;
 import hu.financial.repository.projection.CategoryBudgetTotal;
 import hu.financial.repository.projection.CategoryExpenseTotal;
+import hu.financial.repository.projection.DailyTotals;
+import hu.financial.repository.projection.MonthlyCategoryBudget;
 import hu.financial.repository.projection.MonthlyTotals;
 import hu.financial.repository.projection.TransactionTotals;
 import hu.financial.security.CookieProperties;
+import hu.financial.security.CredentialVersionCache;
+import hu.financial.security.PrincipalCache;
 import hu.financial.security.CsrfCookieFilter;
 import hu.financial.security.RestAccessDeniedHandler;
+import hu.financial.security.TokenRevocationList;
 import hu.financial.security.SecurityCookieFactory;
 import hu.financial.service.JwtService;
+import hu.financial.service.ReportCache;
+import hu.financial.service.ReportQueryExecutor;
 import hu.financial.service.ReportService;
 import hu.financial.service.UserService;
 import jakarta.servlet.http.Cookie;
 
 import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.startsWith;
 import static org.hamcrest.Matchers.nullValue;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(ReportController.class)
 @Import({ SecurityConfig.class, JwtAuthenticationFilter.class, CookieProperties.class, RestAccessDeniedHandler.class,
-        SecurityCookieFactory.class, CsrfCookieFilter.class, JwtService.class, ReportService.class,
-        FilterRegistrationConfig.class })
+        SecurityCookieFactory.class, CsrfCookieFilter.class, JwtService.class, PrincipalCache.class,
+        CredentialVersionCache.class, TokenRevocationList.class, ReportService.class, ReportQueryExecutor.class,
+        ReportCache.class, FilterRegistrationConfig.class })
 @ActiveProfiles("test")
 @TestPropertySource(properties = {
         "security.jwt.expiration-time=3600",
@@ -72,14 +92,26 @@ class ReportControllerMvcTest {
     @Autowired
     private JwtService jwtService;
 
+    @Autowired
+    private ReportCache reportCache;
+
     @MockitoBean
     private UserService userService;
 
     @MockitoBean
-    private TransactionRepository transactionRepository;
+    private BudgetRepository budgetRepository;
 
     @MockitoBean
-    private BudgetRepository budgetRepository;
+    private TransactionRollupRepository rollupRepository;
+
+    @MockitoBean
+    private BalanceCheckpointRepository checkpointRepository;
+
+    @MockitoBean
+    private TransactionDailyRollupRepository dailyRollupRepository;
+
+    @MockitoBean
+    private TransactionRepository transactionRepository;
 
     private User currentUser;
 
@@ -90,6 +122,7 @@ class ReportControllerMvcTest {
 
         when(userService.loadUserByUsername("testuser")).thenReturn(currentUser);
         when(userService.getCurrentUser()).thenReturn(currentUser);
+        reportCache.invalidate(CURRENT_USER_ID);
     }
 
     private Cookie authCookie() {
@@ -97,7 +130,25 @@ class ReportControllerMvcTest {
     }
 
     private void givenTotals(TransactionTotals totals) {
-        when(transactionRepository.summarize(anyLong(), any(), any(), any(), any(), any(), any())).thenReturn(totals);
+        when(rollupRepository.summarizeMonthlyTotals(anyLong(), any(), any(), any(), any())).thenAnswer(invocation -> {
+            YearMonth previous = YearMonth.from(invocation.<LocalDate>getArgument(1));
+            YearMonth current = previous.plusMonths(1);
+            return List.of(
+                    new MonthlyTotals(previous.getYear(), previous.getMonthValue(),
+                            totals.previousIncome(), totals.previousExpense()),
+                    new MonthlyTotals(current.getYear(), current.getMonthValue(),
+                            totals.currentIncome(), totals.currentExpense()));
+        });
+        when(checkpointRepository.findClosingAt(anyLong(), any())).thenReturn(
+                Optional.of(new BalanceCheckpoint(new BalanceCheckpointId(CURRENT_USER_ID, LocalDate.of(2026, 7, 1)),
+                        totals.incomeUntilCurrentEnd(), totals.expenseUntilCurrentEnd())),
+                Optional.of(new BalanceCheckpoint(new BalanceCheckpointId(CURRENT_USER_ID, LocalDate.of(2026, 6, 1)),
+                        totals.incomeUntilPreviousEnd(), totals.expenseUntilPreviousEnd())));
+    }
+
+    private void verifyNoSummaryQuery() {
+        verify(rollupRepository, never()).summarizeMonthlyTotals(anyLong(), any(), any(), any(), any());
+        verify(checkpointRepository, never()).findClosingAt(anyLong(), any());
     }
 
     private static TransactionTotals populatedTotals() {
@@ -214,7 +265,7 @@ class ReportControllerMvcTest {
                 .andExpect(jsonPath("$.fieldErrors.month").exists())
                 .andExpect(jsonPath("$.fieldErrors['getSummary.month']").doesNotExist());
 
-        verify(transactionRepository, never()).summarize(anyLong(), any(), any(), any(), any(), any(), any());
+        verifyNoSummaryQuery();
     }
 
     @Test
@@ -223,7 +274,7 @@ class ReportControllerMvcTest {
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$.fieldErrors.month").exists());
 
-        verify(transactionRepository, never()).summarize(anyLong(), any(), any(), any(), any(), any(), any());
+        verifyNoSummaryQuery();
     }
 
     @Test
@@ -244,14 +295,14 @@ class ReportControllerMvcTest {
         mockMvc.perform(get("/api/reports/summary").param("month", "2026-07").cookie(authCookie()))
                 .andExpect(status().isOk());
 
-        verify(transactionRepository).summarize(
+        verify(rollupRepository).summarizeMonthlyTotals(
                 eq(CURRENT_USER_ID),
-                eq(LocalDate.of(2026, 7, 1)),
-                eq(LocalDate.of(2026, 7, 31)),
                 eq(LocalDate.of(2026, 6, 1)),
-                eq(LocalDate.of(2026, 6, 30)),
+                eq(LocalDate.of(2026, 7, 31)),
                 eq(TransactionType.INCOME),
                 eq(TransactionType.EXPENSE));
+        verify(checkpointRepository).findClosingAt(CURRENT_USER_ID, LocalDate.of(2026, 7, 31));
+        verify(checkpointRepository).findClosingAt(CURRENT_USER_ID, LocalDate.of(2026, 6, 30));
     }
 
     @Test
@@ -265,8 +316,9 @@ class ReportControllerMvcTest {
                 .andExpect(status().isOk());
 
         ArgumentCaptor<Long> userId = ArgumentCaptor.forClass(Long.class);
-        verify(transactionRepository).summarize(userId.capture(), any(), any(), any(), any(), any(), any());
+        verify(rollupRepository).summarizeMonthlyTotals(userId.capture(), any(), any(), any(), any());
         assertEquals(CURRENT_USER_ID, userId.getValue());
+        verify(checkpointRepository, times(2)).findClosingAt(eq(CURRENT_USER_ID), any());
     }
 
     @Test
@@ -274,25 +326,109 @@ class ReportControllerMvcTest {
         mockMvc.perform(get("/api/reports/summary").param("month", "2026-07"))
                 .andExpect(status().isUnauthorized());
 
-        verify(transactionRepository, never()).summarize(anyLong(), any(), any(), any(), any(), any(), any());
+        verifyNoSummaryQuery();
     }
 
     @Test
-    void getSummary_RunsExactlyOneQueryPerRequest() throws Exception {
+    void getSummary_RunsOneRollupQueryAndTwoCheckpointLookupsPerRequest() throws Exception {
         givenTotals(populatedTotals());
 
         mockMvc.perform(get("/api/reports/summary").param("month", "2026-07").cookie(authCookie()))
                 .andExpect(status().isOk());
 
-        verify(transactionRepository).summarize(anyLong(), any(), any(), any(), any(), any(), any());
+        verify(rollupRepository).summarizeMonthlyTotals(anyLong(), any(), any(), any(), any());
+        verify(checkpointRepository, times(2)).findClosingAt(anyLong(), any());
+    }
+
+    @Test
+    void getSummary_RepeatedForTheSameMonth_IsServedFromTheCacheWithoutQuerying() throws Exception {
+        givenTotals(populatedTotals());
+
+        mockMvc.perform(get("/api/reports/summary").param("month", "2026-07").cookie(authCookie()))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/reports/summary").param("month", "2026-07").cookie(authCookie()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.month").value("2026-07"));
+
+        verify(rollupRepository, times(1)).summarizeMonthlyTotals(anyLong(), any(), any(), any(), any());
+        verify(checkpointRepository, times(2)).findClosingAt(anyLong(), any());
+    }
+
+    @Test
+    void getSummary_AfterTheUsersDataChanged_QueriesAgain() throws Exception {
+        givenTotals(populatedTotals());
+        mockMvc.perform(get("/api/reports/summary").param("month", "2026-07").cookie(authCookie()))
+                .andExpect(status().isOk());
+
+        reportCache.onUserDataChanged(new UserDataChangedEvent(CURRENT_USER_ID));
+        mockMvc.perform(get("/api/reports/summary").param("month", "2026-07").cookie(authCookie()))
+                .andExpect(status().isOk());
+
+        verify(rollupRepository, times(2)).summarizeMonthlyTotals(anyLong(), any(), any(), any(), any());
+    }
+
+    @Test
+    void getSummary_CarriesAWeakEtagOfTheUsersDataVersionAndAsksForRevalidation() throws Exception {
+        givenTotals(populatedTotals());
+        when(userService.findDataVersion(CURRENT_USER_ID)).thenReturn(5L);
+
+        mockMvc.perform(get("/api/reports/summary").param("month", "2026-07").cookie(authCookie()))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", startsWith("W/\"5-")))
+                .andExpect(header().string("Cache-Control", "private, no-cache"));
+    }
+
+    @Test
+    void getSummary_WithAMatchingIfNoneMatch_Returns304BeforeAnyQuery() throws Exception {
+        givenTotals(populatedTotals());
+        when(userService.findDataVersion(CURRENT_USER_ID)).thenReturn(5L);
+        String etag = mockMvc.perform(get("/api/reports/summary").param("month", "2026-07").cookie(authCookie()))
+                .andReturn().getResponse().getHeader("ETag");
+        reportCache.invalidate(CURRENT_USER_ID);
+
+        mockMvc.perform(get("/api/reports/summary").param("month", "2026-07").cookie(authCookie())
+                        .header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        verify(rollupRepository, times(1)).summarizeMonthlyTotals(anyLong(), any(), any(), any(), any());
+    }
+
+    @Test
+    void getSummary_AfterTheDataVersionMoved_IgnoresTheOldEtagAndAnswersInFull() throws Exception {
+        givenTotals(populatedTotals());
+        when(userService.findDataVersion(CURRENT_USER_ID)).thenReturn(5L, 6L);
+        String etag = mockMvc.perform(get("/api/reports/summary").param("month", "2026-07").cookie(authCookie()))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/reports/summary").param("month", "2026-07").cookie(authCookie())
+                        .header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", startsWith("W/\"6-")));
+    }
+
+    @Test
+    void getSummary_EtagDependsOnTheParametersButNotTheirOrder() throws Exception {
+        givenMonthlyRows(List.of());
+        when(userService.findDataVersion(CURRENT_USER_ID)).thenReturn(5L);
+
+        String first = mockMvc.perform(get("/api/reports/trend?month=2026-07&months=3").cookie(authCookie()))
+                .andReturn().getResponse().getHeader("ETag");
+        String reordered = mockMvc.perform(get("/api/reports/trend?months=3&month=2026-07").cookie(authCookie()))
+                .andReturn().getResponse().getHeader("ETag");
+        String otherMonth = mockMvc.perform(get("/api/reports/trend?months=3&month=2026-06").cookie(authCookie()))
+                .andReturn().getResponse().getHeader("ETag");
+
+        assertEquals(first, reordered);
+        assertNotEquals(first, otherMonth);
     }
 
     private void givenCategoryRows(List<CategoryExpenseTotal> rows) {
-        when(transactionRepository.summarizeExpensesByCategory(anyLong(), any(), any(), any())).thenReturn(rows);
+        when(rollupRepository.summarizeExpensesByCategory(anyLong(), any(), any(), any())).thenReturn(rows);
     }
 
     private void givenMonthlyRows(List<MonthlyTotals> rows) {
-        when(transactionRepository.summarizeMonthlyTotals(anyLong(), any(), any(), any(), any())).thenReturn(rows);
+        when(rollupRepository.summarizeMonthlyTotals(anyLong(), any(), any(), any(), any())).thenReturn(rows);
     }
 
     private static List<CategoryExpenseTotal> populatedCategoryRows() {
@@ -401,7 +537,7 @@ class ReportControllerMvcTest {
                 .andExpect(jsonPath("$.fieldErrors.month").exists())
                 .andExpect(jsonPath("$.fieldErrors['getCategoryBreakdown.month']").doesNotExist());
 
-        verify(transactionRepository, never()).summarizeExpensesByCategory(anyLong(), any(), any(), any());
+        verify(rollupRepository, never()).summarizeExpensesByCategory(anyLong(), any(), any(), any());
     }
 
     @Test
@@ -411,7 +547,7 @@ class ReportControllerMvcTest {
         mockMvc.perform(get("/api/reports/categories").param("month", "2026-07").cookie(authCookie()))
                 .andExpect(status().isOk());
 
-        verify(transactionRepository).summarizeExpensesByCategory(
+        verify(rollupRepository).summarizeExpensesByCategory(
                 eq(CURRENT_USER_ID),
                 eq(LocalDate.of(2026, 7, 1)),
                 eq(LocalDate.of(2026, 7, 31)),
@@ -429,7 +565,7 @@ class ReportControllerMvcTest {
                 .andExpect(status().isOk());
 
         ArgumentCaptor<Long> userId = ArgumentCaptor.forClass(Long.class);
-        verify(transactionRepository).summarizeExpensesByCategory(userId.capture(), any(), any(), any());
+        verify(rollupRepository).summarizeExpensesByCategory(userId.capture(), any(), any(), any());
         assertEquals(CURRENT_USER_ID, userId.getValue());
     }
 
@@ -438,7 +574,7 @@ class ReportControllerMvcTest {
         mockMvc.perform(get("/api/reports/categories").param("month", "2026-07"))
                 .andExpect(status().isUnauthorized());
 
-        verify(transactionRepository, never()).summarizeExpensesByCategory(anyLong(), any(), any(), any());
+        verify(rollupRepository, never()).summarizeExpensesByCategory(anyLong(), any(), any(), any());
     }
 
     @Test
@@ -471,7 +607,8 @@ class ReportControllerMvcTest {
                 .andExpect(jsonPath("$.points[2].expense").value(0.00))
                 .andExpect(jsonPath("$.points[3].month").value("2026-06"))
                 .andExpect(jsonPath("$.points[3].income").value(450000.00))
-                .andExpect(content().string(containsString("{\"month\":\"2026-05\",\"income\":0.00,\"expense\":0.00}")));
+                .andExpect(content().string(containsString(
+                        "{\"month\":\"2026-05\",\"start\":\"2026-05-01\",\"income\":0.00,\"expense\":0.00}")));
     }
 
     @Test
@@ -534,12 +671,12 @@ class ReportControllerMvcTest {
                 .andExpect(jsonPath("$.points.length()").value(1))
                 .andExpect(jsonPath("$.points[0].month").value("2026-08"));
 
-        mockMvc.perform(get("/api/reports/trend").param("month", "2026-08").param("months", "24")
+        mockMvc.perform(get("/api/reports/trend").param("month", "2026-08").param("months", "120")
                 .cookie(authCookie()))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.points.length()").value(24))
-                .andExpect(jsonPath("$.points[0].month").value("2024-09"))
-                .andExpect(jsonPath("$.points[23].month").value("2026-08"));
+                .andExpect(jsonPath("$.points.length()").value(120))
+                .andExpect(jsonPath("$.points[0].month").value("2016-09"))
+                .andExpect(jsonPath("$.points[119].month").value("2026-08"));
     }
 
     @Test
@@ -551,17 +688,60 @@ class ReportControllerMvcTest {
                 .andExpect(jsonPath("$.fieldErrors.months").exists())
                 .andExpect(jsonPath("$.fieldErrors['getTrend.months']").doesNotExist());
 
-        verify(transactionRepository, never()).summarizeMonthlyTotals(anyLong(), any(), any(), any(), any());
+        verify(rollupRepository, never()).summarizeMonthlyTotals(anyLong(), any(), any(), any(), any());
     }
 
     @Test
     void getTrend_MonthsAboveTheRange_Returns400WithAMonthsFieldErrorAndNoQuery() throws Exception {
-        mockMvc.perform(get("/api/reports/trend").param("month", "2026-08").param("months", "25")
+        mockMvc.perform(get("/api/reports/trend").param("month", "2026-08").param("months", "121")
                 .cookie(authCookie()))
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$.fieldErrors.months").exists());
 
-        verify(transactionRepository, never()).summarizeMonthlyTotals(anyLong(), any(), any(), any(), any());
+        verify(rollupRepository, never()).summarizeMonthlyTotals(anyLong(), any(), any(), any(), any());
+    }
+
+    @Test
+    void getTrend_ByWeek_ReadsTheDailyRollupAndLabelsEachWeekByItsMonday() throws Exception {
+        when(dailyRollupRepository.summarizeDailyTotals(anyLong(), any(), any(), any(), any())).thenReturn(List.of(
+                new DailyTotals(LocalDate.of(2026, 8, 4), new BigDecimal("120.00"), new BigDecimal("45.50"))));
+
+        mockMvc.perform(get("/api/reports/trend").param("month", "2026-08").param("months", "1")
+                .param("granularity", "week")
+                .cookie(authCookie()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.granularity").value("WEEK"))
+                .andExpect(jsonPath("$.points.length()").value(6))
+                .andExpect(jsonPath("$.points[0].start").value("2026-07-27"))
+                .andExpect(jsonPath("$.points[1].start").value("2026-08-03"))
+                .andExpect(jsonPath("$.points[1].income").value(120.00))
+                .andExpect(jsonPath("$.points[1].expense").value(45.50));
+
+        verify(dailyRollupRepository).summarizeDailyTotals(CURRENT_USER_ID, LocalDate.of(2026, 8, 1),
+                LocalDate.of(2026, 8, 31), TransactionType.INCOME, TransactionType.EXPENSE);
+        verify(rollupRepository, never()).summarizeMonthlyTotals(anyLong(), any(), any(), any(), any());
+    }
+
+    @Test
+    void getTrend_DailyBucketsBeyondAYear_Returns400WithAMonthsFieldErrorAndNoQuery() throws Exception {
+        mockMvc.perform(get("/api/reports/trend").param("month", "2026-08").param("months", "13")
+                .param("granularity", "day")
+                .cookie(authCookie()))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.fieldErrors.months").exists());
+
+        verify(dailyRollupRepository, never()).summarizeDailyTotals(anyLong(), any(), any(), any(), any());
+    }
+
+    @Test
+    void getTrend_UnknownGranularity_Returns400WithAGranularityFieldErrorAndNoQuery() throws Exception {
+        mockMvc.perform(get("/api/reports/trend").param("month", "2026-08").param("granularity", "fortnight")
+                .cookie(authCookie()))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.fieldErrors.granularity").exists());
+
+        verify(rollupRepository, never()).summarizeMonthlyTotals(anyLong(), any(), any(), any(), any());
+        verify(dailyRollupRepository, never()).summarizeDailyTotals(anyLong(), any(), any(), any(), any());
     }
 
     @Test
@@ -571,7 +751,7 @@ class ReportControllerMvcTest {
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$.fieldErrors.months").exists());
 
-        verify(transactionRepository, never()).summarizeMonthlyTotals(anyLong(), any(), any(), any(), any());
+        verify(rollupRepository, never()).summarizeMonthlyTotals(anyLong(), any(), any(), any(), any());
     }
 
     @Test
@@ -581,7 +761,7 @@ class ReportControllerMvcTest {
                 .andExpect(jsonPath("$.fieldErrors.month").exists())
                 .andExpect(jsonPath("$.fieldErrors['getTrend.month']").doesNotExist());
 
-        verify(transactionRepository, never()).summarizeMonthlyTotals(anyLong(), any(), any(), any(), any());
+        verify(rollupRepository, never()).summarizeMonthlyTotals(anyLong(), any(), any(), any(), any());
     }
 
     @Test
@@ -592,7 +772,7 @@ class ReportControllerMvcTest {
                 .cookie(authCookie()))
                 .andExpect(status().isOk());
 
-        verify(transactionRepository).summarizeMonthlyTotals(
+        verify(rollupRepository).summarizeMonthlyTotals(
                 eq(CURRENT_USER_ID),
                 eq(LocalDate.of(2026, 3, 1)),
                 eq(LocalDate.of(2026, 8, 31)),
@@ -611,7 +791,7 @@ class ReportControllerMvcTest {
                 .andExpect(status().isOk());
 
         ArgumentCaptor<Long> userId = ArgumentCaptor.forClass(Long.class);
-        verify(transactionRepository).summarizeMonthlyTotals(userId.capture(), any(), any(), any(), any());
+        verify(rollupRepository).summarizeMonthlyTotals(userId.capture(), any(), any(), any(), any());
         assertEquals(CURRENT_USER_ID, userId.getValue());
     }
 
@@ -620,7 +800,7 @@ class ReportControllerMvcTest {
         mockMvc.perform(get("/api/reports/trend").param("month", "2026-08"))
                 .andExpect(status().isUnauthorized());
 
-        verify(transactionRepository, never()).summarizeMonthlyTotals(anyLong(), any(), any(), any(), any());
+        verify(rollupRepository, never()).summarizeMonthlyTotals(anyLong(), any(), any(), any(), any());
     }
 
     private void givenBudgetRows(List<CategoryBudgetTotal> rows) {
@@ -747,7 +927,7 @@ class ReportControllerMvcTest {
                 .andExpect(jsonPath("$.fieldErrors['getBudgetStatus.month']").doesNotExist());
 
         verify(budgetRepository, never()).summarizeBudgetsByCategory(anyLong(), any(), any());
-        verify(transactionRepository, never()).summarizeExpensesByCategory(anyLong(), any(), any(), any());
+        verify(rollupRepository, never()).summarizeExpensesByCategory(anyLong(), any(), any(), any());
     }
 
     @Test
@@ -762,7 +942,7 @@ class ReportControllerMvcTest {
                 eq(CURRENT_USER_ID),
                 eq(LocalDate.of(2026, 8, 1)),
                 eq(LocalDate.of(2026, 8, 31)));
-        verify(transactionRepository).summarizeExpensesByCategory(
+        verify(rollupRepository).summarizeExpensesByCategory(
                 eq(CURRENT_USER_ID),
                 eq(LocalDate.of(2026, 8, 1)),
                 eq(LocalDate.of(2026, 8, 31)),
@@ -783,7 +963,7 @@ class ReportControllerMvcTest {
         ArgumentCaptor<Long> budgetUserId = ArgumentCaptor.forClass(Long.class);
         ArgumentCaptor<Long> expenseUserId = ArgumentCaptor.forClass(Long.class);
         verify(budgetRepository).summarizeBudgetsByCategory(budgetUserId.capture(), any(), any());
-        verify(transactionRepository).summarizeExpensesByCategory(expenseUserId.capture(), any(), any(), any());
+        verify(rollupRepository).summarizeExpensesByCategory(expenseUserId.capture(), any(), any(), any());
         assertEquals(CURRENT_USER_ID, budgetUserId.getValue());
         assertEquals(CURRENT_USER_ID, expenseUserId.getValue());
     }
@@ -794,6 +974,141 @@ class ReportControllerMvcTest {
                 .andExpect(status().isUnauthorized());
 
         verify(budgetRepository, never()).summarizeBudgetsByCategory(anyLong(), any(), any());
+        verify(rollupRepository, never()).summarizeExpensesByCategory(anyLong(), any(), any(), any());
+    }
+
+    private void givenDashboardData() {
+        givenTotals(populatedTotals());
+        when(checkpointRepository.findClosingAt(anyLong(), eq(LocalDate.of(2026, 8, 31)))).thenReturn(
+                Optional.of(new BalanceCheckpoint(new BalanceCheckpointId(CURRENT_USER_ID, LocalDate.of(2026, 8, 1)),
+                        new BigDecimal("1900.00"), new BigDecimal("300.00"))));
+        when(checkpointRepository.findClosingAt(anyLong(), eq(LocalDate.of(2026, 7, 31)))).thenReturn(
+                Optional.of(new BalanceCheckpoint(new BalanceCheckpointId(CURRENT_USER_ID, LocalDate.of(2026, 7, 1)),
+                        new BigDecimal("1400.00"), new BigDecimal("100.00"))));
+        givenBudgetRows(populatedBudgetRows());
+        givenCategoryRows(expenseRowsWithOneUnbudgetedCategory());
+    }
+
+    @Test
+    void getDashboard_ReturnsAllFourSectionsForTheRequestedMonthInOnePayload() throws Exception {
+        givenDashboardData();
+
+        mockMvc.perform(get("/api/reports/dashboard").param("month", "2026-08").param("months", "2")
+                .cookie(authCookie()))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.month").value("2026-08"))
+                .andExpect(jsonPath("$.summary.previousMonth").value("2026-07"))
+                .andExpect(jsonPath("$.summary.balance.current").value(1600.00))
+                .andExpect(jsonPath("$.summary.income.current").value(500.00))
+                .andExpect(jsonPath("$.categories.total").value(240000.00))
+                .andExpect(jsonPath("$.categories.categories.length()").value(3))
+                .andExpect(jsonPath("$.trend.months").value(2))
+                .andExpect(jsonPath("$.trend.points[0].month").value("2026-07"))
+                .andExpect(jsonPath("$.trend.points[1].expense").value(200.00))
+                .andExpect(jsonPath("$.budgetStatus.totalBudgeted").value(250000.00))
+                .andExpect(jsonPath("$.budgetStatus.unbudgetedSpending").value(42000.00))
+                .andExpect(jsonPath("$.budgetStatus.categories.length()").value(2));
+    }
+
+    @Test
+    void getDashboard_AggregatesTheCategoryExpensesOnceForBothSections() throws Exception {
+        givenDashboardData();
+
+        mockMvc.perform(get("/api/reports/dashboard").param("month", "2026-08").cookie(authCookie()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.trend.points.length()").value(TrendPeriod.DEFAULT_MONTHS));
+
+        verify(rollupRepository, times(1)).summarizeExpensesByCategory(anyLong(), any(), any(), any());
+        verify(rollupRepository, times(1)).summarizeMonthlyTotals(anyLong(), any(), any(), any(), any());
+        verify(budgetRepository, times(1)).summarizeBudgetsByCategory(anyLong(), any(), any());
+        verify(checkpointRepository, times(2)).findClosingAt(anyLong(), any());
+    }
+
+    @Test
+    void getDashboard_MalformedMonth_Returns400AndNeverQueries() throws Exception {
+        mockMvc.perform(get("/api/reports/dashboard").param("month", "2026-08-01").cookie(authCookie()))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.fieldErrors.month").exists());
+
+        verify(rollupRepository, never()).summarizeMonthlyTotals(anyLong(), any(), any(), any(), any());
+        verify(budgetRepository, never()).summarizeBudgetsByCategory(anyLong(), any(), any());
+    }
+
+    @Test
+    void getDashboard_WithoutAuthCookie_Returns401AndNeverQueries() throws Exception {
+        mockMvc.perform(get("/api/reports/dashboard").param("month", "2026-08"))
+                .andExpect(status().isUnauthorized());
+
+        verifyNoSummaryQuery();
+        verify(budgetRepository, never()).summarizeBudgetsByCategory(anyLong(), any(), any());
+    }
+
+    @Test
+    void getRangeCategoryBreakdown_ReturnsTheRangeAndMergesTheEdgeTransactionsIntoTheMonths() throws Exception {
+        when(rollupRepository.summarizeExpensesByCategory(CURRENT_USER_ID, LocalDate.of(2026, 2, 1),
+                LocalDate.of(2026, 2, 28), TransactionType.EXPENSE)).thenReturn(List.of(
+                        new CategoryExpenseTotal(1L, "Élelmiszer", new BigDecimal("300.00"))));
+        when(transactionRepository.summarizeExpensesByCategory(CURRENT_USER_ID, LocalDate.of(2026, 1, 25),
+                LocalDate.of(2026, 1, 31), TransactionType.EXPENSE)).thenReturn(List.of(
+                        new CategoryExpenseTotal(1L, "Élelmiszer", new BigDecimal("100.00"))));
+        when(transactionRepository.summarizeExpensesByCategory(CURRENT_USER_ID, LocalDate.of(2026, 3, 1),
+                LocalDate.of(2026, 3, 24), TransactionType.EXPENSE)).thenReturn(List.of());
+
+        mockMvc.perform(get("/api/reports/range/categories").param("from", "2026-01-25").param("to", "2026-03-24")
+                .cookie(authCookie()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.from").value("2026-01-25"))
+                .andExpect(jsonPath("$.to").value("2026-03-24"))
+                .andExpect(jsonPath("$.total").value(400.00))
+                .andExpect(jsonPath("$.categories[0].total").value(400.00))
+                .andExpect(jsonPath("$.categories[0].percentage").value(100.0));
+    }
+
+    @Test
+    void getRangeSummary_ReturnsBothRangesForAQuarter() throws Exception {
+        mockMvc.perform(get("/api/reports/range/summary").param("from", "2026-04-01").param("to", "2026-06-30")
+                .cookie(authCookie()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.from").value("2026-04-01"))
+                .andExpect(jsonPath("$.previousFrom").value("2026-01-01"))
+                .andExpect(jsonPath("$.previousTo").value("2026-03-31"))
+                .andExpect(jsonPath("$.income.current").value(0.00));
+
+        verify(rollupRepository).summarizeMonthlyTotals(CURRENT_USER_ID, LocalDate.of(2026, 4, 1),
+                LocalDate.of(2026, 6, 30), TransactionType.INCOME, TransactionType.EXPENSE);
+        verify(dailyRollupRepository, never()).summarizeDailyTotals(anyLong(), any(), any(), any(), any());
+    }
+
+    @Test
+    void getRangeBudgetStatus_ReturnsTheProratedBudgets() throws Exception {
+        when(budgetRepository.findMonthlyBudgets(CURRENT_USER_ID, LocalDate.of(2026, 1, 1),
+                LocalDate.of(2026, 1, 15))).thenReturn(List.of(new MonthlyCategoryBudget(
+                        1L, "Élelmiszer", LocalDate.of(2026, 1, 1), new BigDecimal("310.00"))));
+
+        mockMvc.perform(get("/api/reports/range/budget-status").param("from", "2026-01-01").param("to", "2026-01-15")
+                .cookie(authCookie()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalBudgeted").value(150.00))
+                .andExpect(jsonPath("$.categories[0].budgeted").value(150.00));
+    }
+
+    @Test
+    void getRangeSummary_ToBeforeFrom_Returns400WithAToFieldErrorAndNoQuery() throws Exception {
+        mockMvc.perform(get("/api/reports/range/summary").param("from", "2026-03-02").param("to", "2026-03-01")
+                .cookie(authCookie()))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.fieldErrors.to").exists());
+
+        verifyNoSummaryQuery();
+    }
+
+    @Test
+    void getRangeCategoryBreakdown_WithoutFrom_Returns400WithAFromFieldError() throws Exception {
+        mockMvc.perform(get("/api/reports/range/categories").param("to", "2026-03-01").cookie(authCookie()))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.fieldErrors.from").exists());
+
         verify(transactionRepository, never()).summarizeExpensesByCategory(anyLong(), any(), any(), any());
     }
 }
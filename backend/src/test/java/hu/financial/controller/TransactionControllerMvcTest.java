@@ -4,24 +4,42 @@ import tools.jackson.databind.ObjectMapper;
 import hu.financial.config.FilterRegistrationConfig;
 import hu.financial.config.SecurityConfig;
 import hu.financial.dto.transaction.CreateTransactionDto;
+import hu.financial.dto.transaction.TransactionCursor;
+import hu.financial.dto.transaction.TransactionFilter;
+import hu.financial.dto.transaction.TransactionImportResultDto;
+import hu.financial.dto.transaction.TransferFormat;
 import hu.financial.filter.JwtAuthenticationFilter;
 import hu.financial.model.Category;
 import hu.financial.model.Transaction;
+import hu.financial.model.TransactionMonthlyRollup;
+import hu.financial.model.TransactionMonthlyRollupId;
 import hu.financial.model.User;
 import hu.financial.model.enums.TransactionType;
+import hu.financial.repository.BalanceCheckpointRepository;
 import hu.financial.repository.BudgetRepository;
 import hu.financial.repository.CategoryRepository;
 import hu.financial.repository.TransactionRepository;
+import hu.financial.repository.TransactionDailyRollupRepository;
+import hu.financial.repository.TransactionRollupRepository;
 import hu.financial.repository.projection.CategoryBudgetTotal;
-import hu.financial.repository.projection.CategoryExpenseTotal;
+import hu.financial.repository.projection.TransactionPosting;
+import hu.financial.repository.projection.TransactionRow;
 import hu.financial.security.CookieProperties;
+import hu.financial.security.CredentialVersionCache;
+import hu.financial.security.PrincipalCache;
 import hu.financial.security.CsrfCookieFilter;
 import hu.financial.security.RestAccessDeniedHandler;
+import hu.financial.security.TokenRevocationList;
 import hu.financial.security.SecurityCookieFactory;
 import hu.financial.service.CategoryService;
 import hu.financial.service.JwtService;
+import hu.financial.service.ListCountCache;
+import hu.financial.service.ReportQueryExecutor;
 import hu.financial.service.ReportService;
+import hu.financial.service.TransactionExportService;
+import hu.financial.service.TransactionImportService;
 import hu.financial.service.TransactionService;
+import hu.financial.service.TransferPermits;
 import hu.financial.service.UserService;
 import jakarta.servlet.http.Cookie;
 import org.junit.jupiter.api.BeforeEach;
@@ -33,18 +51,23 @@ import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
 import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.context.annotation.Import;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.event.TransactionalEventListenerFactory;
 import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.OutputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -53,27 +76,35 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import org.mockito.InOrder;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(TransactionController.class)
 @Import({ SecurityConfig.class, JwtAuthenticationFilter.class, CookieProperties.class, RestAccessDeniedHandler.class,
-        SecurityCookieFactory.class, CsrfCookieFilter.class, JwtService.class, TransactionService.class,
-        CategoryService.class, ReportService.class, FilterRegistrationConfig.class })
+        SecurityCookieFactory.class, CsrfCookieFilter.class, JwtService.class, PrincipalCache.class,
+        CredentialVersionCache.class, TokenRevocationList.class, TransactionService.class,
+        CategoryService.class, ListCountCache.class, TransactionalEventListenerFactory.class,
+        ReportService.class, ReportQueryExecutor.class, TransferPermits.class, FilterRegistrationConfig.class })
 @ActiveProfiles("test")
 @TestPropertySource(properties = {
         "security.jwt.expiration-time=3600",
         "security.cookie.secure=false",
-        "security.cookie.same-site=Lax"
+        "security.cookie.same-site=Lax",
+        "transactions.transfer.acquire-timeout=0s"
 })
 class TransactionControllerMvcTest {
 
@@ -93,6 +124,12 @@ class TransactionControllerMvcTest {
     @Autowired
     private JwtService jwtService;
 
+    @Autowired
+    private ListCountCache listCountCache;
+
+    @Autowired
+    private TransferPermits transferPermits;
+
     @MockitoBean
     private UserService userService;
 
@@ -105,14 +142,32 @@ class TransactionControllerMvcTest {
     @MockitoBean
     private BudgetRepository budgetRepository;
 
+    @MockitoBean
+    private TransactionRollupRepository rollupRepository;
+
+    @MockitoBean
+    private BalanceCheckpointRepository checkpointRepository;
+
+    @MockitoBean
+    private TransactionDailyRollupRepository dailyRollupRepository;
+
+    @MockitoBean
+    private TransactionImportService transactionImportService;
+
+    @MockitoBean
+    private TransactionExportService transactionExportService;
+
     private User currentUser;
 
     private Transaction ownTransaction;
 
+    private TransactionRow ownRow;
+
     @BeforeEach
     void setUp() {
         currentUser = new User("testuser", "encoded-password", "test@example.com");
         currentUser.setId(1L);
+        listCountCache.invalidate(currentUser.getId());
         User otherUser = new User("other", "encoded-password", "other@example.com");
         otherUser.setId(2L);
 
@@ -125,24 +180,51 @@ class TransactionControllerMvcTest {
 
         ownTransaction = new Transaction(OWN_TRANSACTION_ID, TransactionType.EXPENSE, "weekly shopping",
                 ownCategory, currentUser, new BigDecimal("100.00"), LocalDate.of(2026, 1, 1));
+        ownRow = new TransactionRow(OWN_TRANSACTION_ID, TransactionType.EXPENSE, "weekly shopping",
+                OWN_CATEGORY_ID, "groceries", new BigDecimal("100.00"), LocalDate.of(2026, 1, 1));
         Transaction foreignTransaction = new Transaction(FOREIGN_TRANSACTION_ID, TransactionType.EXPENSE, "not yours",
                 foreignCategory, otherUser, new BigDecimal("50.00"), LocalDate.of(2026, 1, 1));
 
         when(userService.loadUserByUsername("testuser")).thenReturn(currentUser);
         when(userService.getCurrentUser()).thenReturn(currentUser);
 
-        when(categoryRepository.findById(OWN_CATEGORY_ID)).thenReturn(Optional.of(ownCategory));
-        when(categoryRepository.findById(OTHER_OWN_CATEGORY_ID)).thenReturn(Optional.of(otherOwnCategory));
-        when(categoryRepository.findById(FOREIGN_CATEGORY_ID)).thenReturn(Optional.of(foreignCategory));
-
-        when(transactionRepository.findById(OWN_TRANSACTION_ID)).thenReturn(Optional.of(ownTransaction));
-        when(transactionRepository.findById(FOREIGN_TRANSACTION_ID)).thenReturn(Optional.of(foreignTransaction));
-        when(transactionRepository.findById(UNKNOWN_TRANSACTION_ID)).thenReturn(Optional.empty());
-        when(transactionRepository.findAll(anySpecification(), any(Pageable.class)))
-                .thenAnswer(invocation -> new PageImpl<Transaction>(List.of(), invocation.getArgument(1), 0));
+        when(categoryRepository.findByIdAndUserId(OWN_CATEGORY_ID, currentUser.getId()))
+                .thenReturn(Optional.of(ownCategory));
+        when(categoryRepository.findByIdAndUserId(OTHER_OWN_CATEGORY_ID, currentUser.getId()))
+                .thenReturn(Optional.of(otherOwnCategory));
+        when(categoryRepository.findByIdAndUserId(FOREIGN_CATEGORY_ID, otherUser.getId()))
+                .thenReturn(Optional.of(foreignCategory));
+
+        when(transactionRepository.findOwnedRow(OWN_TRANSACTION_ID, currentUser.getId())).thenReturn(Optional.of(ownRow));
+        when(transactionRepository.updateOwned(eq(OWN_TRANSACTION_ID), eq(currentUser.getId()), any(), any(), any(),
+                any(), any())).thenReturn(Optional.of(posting(ownTransaction)));
+        when(transactionRepository.updateOwned(eq(FOREIGN_TRANSACTION_ID), eq(otherUser.getId()), any(), any(), any(),
+                any(), any())).thenReturn(Optional.of(posting(foreignTransaction)));
+        when(transactionRepository.findRows(anySpecification(), any(Pageable.class)))
+                .thenAnswer(invocation -> new SliceImpl<TransactionRow>(List.of(), invocation.getArgument(1), false));
         when(transactionRepository.save(any(Transaction.class))).thenAnswer(invocation -> invocation.getArgument(0));
         when(budgetRepository.summarizeBudgetsByCategory(any(), any(), any())).thenReturn(List.of());
-        when(transactionRepository.summarizeExpensesByCategory(any(), any(), any(), any())).thenReturn(List.of());
+        when(rollupRepository.summarizeExpensesByCategory(any(), any(), any(), any())).thenReturn(List.of());
+    }
+
+    private static TransactionPosting posting(Transaction transaction) {
+        return new TransactionPosting() {
+            public String getType() {
+                return transaction.getType().name();
+            }
+
+            public Long getCategoryId() {
+                return transaction.getCategory().getId();
+            }
+
+            public BigDecimal getAmount() {
+                return transaction.getAmount();
+            }
+
+            public LocalDate getDate() {
+                return transaction.getDate();
+            }
+        };
     }
 
     private CreateTransactionDto expensePayload(BigDecimal amount, LocalDate date, Long categoryId) {
@@ -153,13 +235,14 @@ class TransactionControllerMvcTest {
         return new CreateTransactionDto(TransactionType.INCOME, "paycheck", categoryId, amount, date);
     }
 
-    private void givenBudgetAndSpent(LocalDate start, LocalDate end, Long categoryId, String categoryName,
+    private void givenBudgetAndSpent(LocalDate month, Long categoryId, String categoryName,
             String budgeted, String spent) {
-        when(budgetRepository.summarizeBudgetsByCategory(eq(currentUser.getId()), eq(start), eq(end)))
-                .thenReturn(List.of(new CategoryBudgetTotal(categoryId, categoryName, new BigDecimal(budgeted))));
-        when(transactionRepository.summarizeExpensesByCategory(eq(currentUser.getId()), eq(start), eq(end),
-                eq(TransactionType.EXPENSE)))
-                .thenReturn(List.of(new CategoryExpenseTotal(categoryId, categoryName, new BigDecimal(spent))));
+        TransactionMonthlyRollupId key = new TransactionMonthlyRollupId(currentUser.getId(), month, categoryId,
+                TransactionType.EXPENSE);
+        when(budgetRepository.findCategoryBudget(currentUser.getId(), categoryId, month))
+                .thenReturn(Optional.of(new CategoryBudgetTotal(categoryId, categoryName, new BigDecimal(budgeted))));
+        when(rollupRepository.findById(key))
+                .thenReturn(Optional.of(new TransactionMonthlyRollup(key, new BigDecimal(spent), 1)));
     }
 
     private Cookie authCookie() {
@@ -199,7 +282,7 @@ class TransactionControllerMvcTest {
                 .andExpect(jsonPath("$.status").value(404))
                 .andExpect(jsonPath("$.message").exists());
 
-        verify(transactionRepository, never()).save(any(Transaction.class));
+        verify(transactionRepository, never()).updateOwned(any(), any(), any(), any(), any(), any(), any());
     }
 
     @Test
@@ -221,7 +304,7 @@ class TransactionControllerMvcTest {
     @Test
     void createTransaction_ReturnsABudgetWarning_WhenTheNewExpensePushesTheCategoryOverBudget() throws Exception {
         Cookie csrf = csrfCookie();
-        givenBudgetAndSpent(LocalDate.of(2026, 7, 1), LocalDate.of(2026, 7, 31), OWN_CATEGORY_ID, "groceries",
+        givenBudgetAndSpent(LocalDate.of(2026, 7, 1), OWN_CATEGORY_ID, "groceries",
                 "150000.00", "162000.00");
 
         mockMvc.perform(post("/api/transactions")
@@ -242,7 +325,7 @@ class TransactionControllerMvcTest {
     @Test
     void createTransaction_BudgetWarningFieldsAreJsonNumbers_NotStrings() throws Exception {
         Cookie csrf = csrfCookie();
-        givenBudgetAndSpent(LocalDate.of(2026, 7, 1), LocalDate.of(2026, 7, 31), OWN_CATEGORY_ID, "groceries",
+        givenBudgetAndSpent(LocalDate.of(2026, 7, 1), OWN_CATEGORY_ID, "groceries",
                 "150000.00", "162000.00");
 
         mockMvc.perform(post("/api/transactions")
@@ -260,7 +343,7 @@ class TransactionControllerMvcTest {
     @Test
     void createTransaction_BudgetWarningIsNull_WhenTheExpenseStaysWithinBudget() throws Exception {
         Cookie csrf = csrfCookie();
-        givenBudgetAndSpent(LocalDate.of(2026, 7, 1), LocalDate.of(2026, 7, 31), OWN_CATEGORY_ID, "groceries",
+        givenBudgetAndSpent(LocalDate.of(2026, 7, 1), OWN_CATEGORY_ID, "groceries",
                 "150000.00", "36000.00");
 
         mockMvc.perform(post("/api/transactions")
@@ -276,7 +359,7 @@ class TransactionControllerMvcTest {
     void createTransaction_BudgetWarningIsNull_WhenSpendingExactlyMatchesTheBudget_BecauseTheThresholdIsRemainingBelowZero()
             throws Exception {
         Cookie csrf = csrfCookie();
-        givenBudgetAndSpent(LocalDate.of(2026, 7, 1), LocalDate.of(2026, 7, 31), OWN_CATEGORY_ID, "groceries",
+        givenBudgetAndSpent(LocalDate.of(2026, 7, 1), OWN_CATEGORY_ID, "groceries",
                 "150000.00", "150000.00");
 
         mockMvc.perform(post("/api/transactions")
@@ -291,7 +374,7 @@ class TransactionControllerMvcTest {
     @Test
     void createTransaction_BudgetWarningIsPresent_WhenSpendingIsOneCentOverTheBudget() throws Exception {
         Cookie csrf = csrfCookie();
-        givenBudgetAndSpent(LocalDate.of(2026, 7, 1), LocalDate.of(2026, 7, 31), OWN_CATEGORY_ID, "groceries",
+        givenBudgetAndSpent(LocalDate.of(2026, 7, 1), OWN_CATEGORY_ID, "groceries",
                 "150000.00", "150000.01");
 
         mockMvc.perform(post("/api/transactions")
@@ -319,7 +402,7 @@ class TransactionControllerMvcTest {
     @Test
     void createTransaction_BudgetWarningIsNull_ForIncome_EvenWhenTheCategoryBudgetIsOverspent() throws Exception {
         Cookie csrf = csrfCookie();
-        givenBudgetAndSpent(LocalDate.of(2026, 7, 1), LocalDate.of(2026, 7, 31), OTHER_OWN_CATEGORY_ID, "salary",
+        givenBudgetAndSpent(LocalDate.of(2026, 7, 1), OTHER_OWN_CATEGORY_ID, "salary",
                 "150000.00", "162000.00");
 
         mockMvc.perform(post("/api/transactions")
@@ -330,15 +413,14 @@ class TransactionControllerMvcTest {
                 .andExpect(status().isCreated())
                 .andExpect(jsonPath("$.budgetWarning").value(nullValue()));
 
-        verify(budgetRepository, never()).summarizeBudgetsByCategory(any(), any(), any());
+        verify(budgetRepository, never()).findCategoryBudget(any(), any(), any());
     }
 
     @Test
     void createTransaction_UsesTheTransactionsOwnDateMonth_NotTheServerClocksCurrentMonth() throws Exception {
         Cookie csrf = csrfCookie();
         LocalDate longAgoStart = LocalDate.of(2019, 3, 1);
-        LocalDate longAgoEnd = LocalDate.of(2019, 3, 31);
-        givenBudgetAndSpent(longAgoStart, longAgoEnd, OWN_CATEGORY_ID, "groceries", "150000.00", "162000.00");
+        givenBudgetAndSpent(longAgoStart, OWN_CATEGORY_ID, "groceries", "150000.00", "162000.00");
 
         mockMvc.perform(post("/api/transactions")
                 .cookie(authCookie(), csrf)
@@ -348,13 +430,13 @@ class TransactionControllerMvcTest {
                 .andExpect(status().isCreated())
                 .andExpect(jsonPath("$.budgetWarning.remaining").value(-12000.00));
 
-        verify(budgetRepository).summarizeBudgetsByCategory(eq(currentUser.getId()), eq(longAgoStart), eq(longAgoEnd));
+        verify(budgetRepository).findCategoryBudget(currentUser.getId(), OWN_CATEGORY_ID, longAgoStart);
     }
 
     @Test
     void createTransaction_ReadsTheSpentTotalAfterSavingTheNewTransaction_NotBeforeIt() throws Exception {
         Cookie csrf = csrfCookie();
-        givenBudgetAndSpent(LocalDate.of(2026, 7, 1), LocalDate.of(2026, 7, 31), OWN_CATEGORY_ID, "groceries",
+        givenBudgetAndSpent(LocalDate.of(2026, 7, 1), OWN_CATEGORY_ID, "groceries",
                 "150000.00", "162000.00");
 
         mockMvc.perform(post("/api/transactions")
@@ -364,16 +446,18 @@ class TransactionControllerMvcTest {
                 .content(json(expensePayload(new BigDecimal("250.00"), LocalDate.of(2026, 7, 15), OWN_CATEGORY_ID))))
                 .andExpect(status().isCreated());
 
-        InOrder order = inOrder(transactionRepository);
+        InOrder order = inOrder(transactionRepository, rollupRepository);
         order.verify(transactionRepository).save(any(Transaction.class));
-        order.verify(transactionRepository).summarizeExpensesByCategory(eq(currentUser.getId()),
-                eq(LocalDate.of(2026, 7, 1)), eq(LocalDate.of(2026, 7, 31)), eq(TransactionType.EXPENSE));
+        order.verify(rollupRepository).add(currentUser.getId(), LocalDate.of(2026, 7, 1), OWN_CATEGORY_ID, "EXPENSE",
+                new BigDecimal("250.00"), 1);
+        order.verify(rollupRepository).findById(new TransactionMonthlyRollupId(currentUser.getId(),
+                LocalDate.of(2026, 7, 1), OWN_CATEGORY_ID, TransactionType.EXPENSE));
     }
 
     @Test
     void updateTransaction_ResponseBudgetWarning_IsAlwaysNull_EvenWhenTheEditedCategoryIsOverBudget() throws Exception {
         Cookie csrf = csrfCookie();
-        givenBudgetAndSpent(LocalDate.of(2026, 2, 1), LocalDate.of(2026, 2, 28), OWN_CATEGORY_ID, "groceries",
+        givenBudgetAndSpent(LocalDate.of(2026, 2, 1), OWN_CATEGORY_ID, "groceries",
                 "100.00", "9999.00");
 
         mockMvc.perform(put("/api/transactions/{id}", OWN_TRANSACTION_ID)
@@ -395,8 +479,8 @@ class TransactionControllerMvcTest {
 
     @Test
     void getMyTransactions_ResponseBudgetWarning_IsAlwaysNullOnEveryRow() throws Exception {
-        when(transactionRepository.findAll(anySpecification(), any(Pageable.class)))
-                .thenAnswer(invocation -> new PageImpl<>(List.of(ownTransaction), invocation.getArgument(1), 1));
+        when(transactionRepository.findRows(anySpecification(), any(Pageable.class)))
+                .thenAnswer(invocation -> new SliceImpl<>(List.of(ownRow), invocation.getArgument(1), false));
 
         mockMvc.perform(get("/api/transactions").cookie(authCookie()))
                 .andExpect(status().isOk())
@@ -421,13 +505,12 @@ class TransactionControllerMvcTest {
                 .andExpect(jsonPath("$.amount").value(250.55))
                 .andExpect(jsonPath("$.date").value("2026-02-01"));
 
-        ArgumentCaptor<Transaction> saved = ArgumentCaptor.forClass(Transaction.class);
-        verify(transactionRepository).save(saved.capture());
-        assertEquals(TransactionType.INCOME, saved.getValue().getType());
-        assertEquals("monthly salary", saved.getValue().getDescription());
-        assertEquals(OTHER_OWN_CATEGORY_ID, saved.getValue().getCategory().getId());
-        assertEquals(0, new BigDecimal("250.55").compareTo(saved.getValue().getAmount()));
-        assertEquals(LocalDate.of(2026, 2, 1), saved.getValue().getDate());
+        ArgumentCaptor<BigDecimal> amount = ArgumentCaptor.forClass(BigDecimal.class);
+        verify(transactionRepository).updateOwned(eq(OWN_TRANSACTION_ID), eq(currentUser.getId()), eq("INCOME"),
+                eq("monthly salary"), eq(OTHER_OWN_CATEGORY_ID), amount.capture(), eq(LocalDate.of(2026, 2, 1)));
+        assertEquals(0, new BigDecimal("250.55").compareTo(amount.getValue()));
+        verify(transactionRepository, never()).findById(any());
+        verify(transactionRepository, never()).save(any(Transaction.class));
     }
 
     @Test
@@ -446,7 +529,7 @@ class TransactionControllerMvcTest {
                 .andExpect(jsonPath("$.fieldErrors.amount").exists())
                 .andExpect(jsonPath("$.fieldErrors.date").exists());
 
-        verify(transactionRepository, never()).save(any(Transaction.class));
+        verify(transactionRepository, never()).updateOwned(any(), any(), any(), any(), any(), any(), any());
     }
 
     @Test
@@ -461,7 +544,8 @@ class TransactionControllerMvcTest {
                 .andExpect(status().isNotFound())
                 .andExpect(jsonPath("$.status").value(404));
 
-        verify(transactionRepository, never()).save(any(Transaction.class));
+        verify(transactionRepository).updateOwned(eq(FOREIGN_TRANSACTION_ID), eq(currentUser.getId()), any(), any(),
+                any(), any(), any());
     }
 
     @Test
@@ -476,7 +560,8 @@ class TransactionControllerMvcTest {
                 .andExpect(status().isNotFound())
                 .andExpect(jsonPath("$.status").value(404));
 
-        verify(transactionRepository, never()).save(any(Transaction.class));
+        verify(transactionRepository).updateOwned(eq(UNKNOWN_TRANSACTION_ID), eq(currentUser.getId()), any(), any(),
+                any(), any(), any());
     }
 
     @Test
@@ -488,7 +573,7 @@ class TransactionControllerMvcTest {
                 .andExpect(status().isForbidden())
                 .andExpect(jsonPath("$.status").value(403));
 
-        verify(transactionRepository, never()).save(any(Transaction.class));
+        verify(transactionRepository, never()).updateOwned(any(), any(), any(), any(), any(), any(), any());
     }
 
     private static Specification<Transaction> anySpecification() {
@@ -497,14 +582,273 @@ class TransactionControllerMvcTest {
 
     private Pageable capturedPageable() {
         ArgumentCaptor<Pageable> pageable = ArgumentCaptor.forClass(Pageable.class);
-        verify(transactionRepository).findAll(anySpecification(), pageable.capture());
+        verify(transactionRepository).findRows(anySpecification(), pageable.capture());
         return pageable.getValue();
     }
 
+    @Test
+    void scrollMyTransactions_FullSlice_ReturnsNextCursorAndNeverCounts() throws Exception {
+        when(transactionRepository.findRows(anySpecification(), any(Pageable.class)))
+                .thenAnswer(invocation -> new SliceImpl<>(List.of(ownRow), invocation.getArgument(1), true));
+
+        String nextCursor = new TransactionCursor(List.of(
+                new TransactionCursor.Key("date", Sort.Direction.DESC, LocalDate.of(2026, 1, 1)),
+                new TransactionCursor.Key("id", Sort.Direction.DESC, OWN_TRANSACTION_ID))).encode();
+
+        mockMvc.perform(get("/api/transactions/scroll").param("size", "1").cookie(authCookie()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.content[0].id").value(OWN_TRANSACTION_ID))
+                .andExpect(jsonPath("$.size").value(1))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andExpect(jsonPath("$.nextCursor").value(nextCursor))
+                .andExpect(jsonPath("$.totalElements").doesNotExist());
+
+        assertEquals(PageRequest.of(0, 1, Sort.by(Sort.Order.desc("date"), Sort.Order.desc("id"))),
+                capturedPageable());
+        verify(transactionRepository, never()).findAll(anySpecification(), any(Pageable.class));
+        verify(transactionRepository, never()).count(anySpecification());
+    }
+
+    @Test
+    void scrollMyTransactions_LastSlice_HasNoNextCursor() throws Exception {
+        when(transactionRepository.findRows(anySpecification(), any(Pageable.class)))
+                .thenAnswer(invocation -> new SliceImpl<>(List.of(ownRow), invocation.getArgument(1), false));
+
+        mockMvc.perform(get("/api/transactions/scroll").param("size", "5").cookie(authCookie()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.hasNext").value(false))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    void scrollMyTransactions_WithACursorAndEveryFilter_QueriesOnce() throws Exception {
+        String cursor = new TransactionCursor(List.of(
+                new TransactionCursor.Key("amount", Sort.Direction.ASC, new BigDecimal("10.00")),
+                new TransactionCursor.Key("id", Sort.Direction.ASC, 7L))).encode();
+
+        mockMvc.perform(get("/api/transactions/scroll")
+                .param("sort", "amount,asc")
+                .param("cursor", cursor)
+                .param("from", "2026-01-01")
+                .param("to", "2026-01-31")
+                .param("categoryId", OWN_CATEGORY_ID.toString())
+                .param("type", "EXPENSE")
+                .cookie(authCookie()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.hasNext").value(false));
+
+        verify(transactionRepository).findRows(anySpecification(), any(Pageable.class));
+    }
+
+    @Test
+    void scrollMyTransactions_CursorFromADifferentSort_Returns400WithoutQuerying() throws Exception {
+        String cursor = new TransactionCursor(List.of(
+                new TransactionCursor.Key("date", Sort.Direction.DESC, LocalDate.of(2026, 1, 1)),
+                new TransactionCursor.Key("id", Sort.Direction.DESC, 7L))).encode();
+
+        mockMvc.perform(get("/api/transactions/scroll")
+                .param("sort", "amount,desc")
+                .param("cursor", cursor)
+                .cookie(authCookie()))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.fieldErrors.cursor").exists());
+
+        verify(transactionRepository, never()).findRows(anySpecification(), any(Pageable.class));
+    }
+
+    @Test
+    void importTransactions_Csv_StreamsTheBodyToTheImporterForTheCurrentUser() throws Exception {
+        when(transactionImportService.importTransactions(eq(currentUser.getId()), any(),
+                eq(TransferFormat.CSV), eq(TransactionImportService.Mode.BATCH)))
+                .thenReturn(new TransactionImportResultDto(2, 1,
+                        List.of(new TransactionImportResultDto.RowError(3, "type: must be INCOME or EXPENSE")), false,
+                        40, 50));
+        Cookie csrf = csrfCookie();
+
+        mockMvc.perform(post("/api/transactions/import")
+                .cookie(authCookie(), csrf)
+                .header("X-XSRF-TOKEN", csrf.getValue())
+                .contentType("text/csv")
+                .content("type,categoryId,amount,date\nEXPENSE,10,1.00,2026-01-01\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(2))
+                .andExpect(jsonPath("$.rejected").value(1))
+                .andExpect(jsonPath("$.errors[0].line").value(3))
+                .andExpect(jsonPath("$.errors[0].message").value("type: must be INCOME or EXPENSE"))
+                .andExpect(jsonPath("$.errorsTruncated").value(false))
+                .andExpect(jsonPath("$.elapsedMillis").value(40))
+                .andExpect(jsonPath("$.rowsPerSecond").value(50));
+    }
+
+    @Test
+    void importTransactions_Ndjson_IsPassedOnAsNdjson() throws Exception {
+        when(transactionImportService.importTransactions(any(), any(), any(), any()))
+                .thenReturn(new TransactionImportResultDto(0, 0, List.of(), false, 0, 0));
+        Cookie csrf = csrfCookie();
+
+        mockMvc.perform(post("/api/transactions/import")
+                .cookie(authCookie(), csrf)
+                .header("X-XSRF-TOKEN", csrf.getValue())
+                .contentType("application/x-ndjson")
+                .content("{}\n"))
+                .andExpect(status().isOk());
+
+        verify(transactionImportService).importTransactions(eq(currentUser.getId()), any(),
+                eq(TransferFormat.NDJSON), eq(TransactionImportService.Mode.BATCH));
+    }
+
+    @Test
+    void importTransactions_CopyMode_IsPassedOnToTheImporter() throws Exception {
+        when(transactionImportService.importTransactions(any(), any(), any(), any()))
+                .thenReturn(new TransactionImportResultDto(0, 0, List.of(), false, 0, 0));
+        Cookie csrf = csrfCookie();
+
+        mockMvc.perform(post("/api/transactions/import")
+                .param("mode", "COPY")
+                .cookie(authCookie(), csrf)
+                .header("X-XSRF-TOKEN", csrf.getValue())
+                .contentType("text/csv")
+                .content("type,categoryId,amount,date\n"))
+                .andExpect(status().isOk());
+
+        verify(transactionImportService).importTransactions(eq(currentUser.getId()), any(),
+                eq(TransferFormat.CSV), eq(TransactionImportService.Mode.COPY));
+    }
+
+    @Test
+    void importTransactions_UnknownMode_Returns400WithoutImporting() throws Exception {
+        Cookie csrf = csrfCookie();
+
+        mockMvc.perform(post("/api/transactions/import")
+                .param("mode", "TURBO")
+                .cookie(authCookie(), csrf)
+                .header("X-XSRF-TOKEN", csrf.getValue())
+                .contentType("text/csv")
+                .content("type,categoryId,amount,date\n"))
+                .andExpect(status().isBadRequest());
+
+        verify(transactionImportService, never()).importTransactions(any(), any(), any(), any());
+    }
+
+    @Test
+    void importTransactions_JsonArray_Returns415WithoutImporting() throws Exception {
+        Cookie csrf = csrfCookie();
+
+        mockMvc.perform(post("/api/transactions/import")
+                .cookie(authCookie(), csrf)
+                .header("X-XSRF-TOKEN", csrf.getValue())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[]"))
+                .andExpect(status().isUnsupportedMediaType())
+                .andExpect(jsonPath("$.status").value(415));
+
+        verify(transactionImportService, never()).importTransactions(any(), any(), any(), any());
+    }
+
+    @Test
+    void importTransactions_WithoutCsrfToken_Returns403WithoutImporting() throws Exception {
+        mockMvc.perform(post("/api/transactions/import")
+                .cookie(authCookie())
+                .contentType("text/csv")
+                .content("type,categoryId,amount,date\n"))
+                .andExpect(status().isForbidden());
+
+        verify(transactionImportService, never()).importTransactions(any(), any(), any(), any());
+    }
+
+    @Test
+    void exportMyTransactions_StreamsTheCurrentUsersFilteredRowsAsAnAttachment() throws Exception {
+        doAnswer(invocation -> {
+            invocation.getArgument(3, OutputStream.class).write("id,type\n1,EXPENSE\n".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(transactionExportService).exportTransactions(any(), any(), any(), any());
+
+        MvcResult started = mockMvc.perform(get("/api/transactions/export")
+                .param("from", "2026-01-01")
+                .param("type", "EXPENSE")
+                .cookie(authCookie()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("text/csv"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"transactions.csv\""))
+                .andExpect(content().string("id,type\n1,EXPENSE\n"));
+
+        verify(transactionExportService).exportTransactions(eq(currentUser.getId()),
+                eq(new TransactionFilter(LocalDate.of(2026, 1, 1), null, null, TransactionType.EXPENSE)),
+                eq(TransferFormat.CSV), any());
+        verify(transactionRepository, never()).count(ArgumentMatchers.<Specification<Transaction>>any());
+    }
+
+    @Test
+    void exportMyTransactions_Ndjson_UsesTheNdjsonMediaType() throws Exception {
+        MvcResult started = mockMvc.perform(get("/api/transactions/export")
+                .param("format", "NDJSON")
+                .cookie(authCookie()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"transactions.ndjson\""));
+
+        verify(transactionExportService).exportTransactions(eq(currentUser.getId()), eq(TransactionFilter.unfiltered()),
+                eq(TransferFormat.NDJSON), any());
+    }
+
+    @Test
+    void exportMyTransactions_WhenEveryTransferSlotIsTaken_Returns503WithoutStreaming() throws Exception {
+        List<TransferPermits.Permit> taken = new ArrayList<>();
+        try {
+            while (transferPermits.availablePermits() > 0) {
+                taken.add(transferPermits.acquire());
+            }
+
+            mockMvc.perform(get("/api/transactions/export")
+                    .cookie(authCookie()))
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(header().string("Retry-After", "1"));
+        } finally {
+            taken.forEach(TransferPermits.Permit::close);
+        }
+
+        verify(transactionExportService, never()).exportTransactions(any(), any(), any(), any());
+    }
+
+    @Test
+    void exportMyTransactions_GivesItsTransferSlotBackWhenTheDownloadEnds() throws Exception {
+        int available = transferPermits.availablePermits();
+        MvcResult started = mockMvc.perform(get("/api/transactions/export")
+                .cookie(authCookie()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk());
+
+        assertEquals(available, transferPermits.availablePermits());
+    }
+
+    @Test
+    void exportMyTransactions_WithReversedRange_Returns400WithoutStreaming() throws Exception {
+        mockMvc.perform(get("/api/transactions/export")
+                .param("from", "2026-02-01")
+                .param("to", "2026-01-01")
+                .cookie(authCookie()))
+                .andExpect(status().isBadRequest());
+
+        verify(transactionExportService, never()).exportTransactions(any(), any(), any(), any());
+    }
+
     @Test
     void getMyTransactions_ReturnsOwnPageWrapper_NotABareArray() throws Exception {
-        when(transactionRepository.findAll(anySpecification(), any(Pageable.class)))
-                .thenAnswer(invocation -> new PageImpl<>(List.of(ownTransaction), invocation.getArgument(1), 1));
+        when(transactionRepository.findRows(anySpecification(), any(Pageable.class)))
+                .thenAnswer(invocation -> new SliceImpl<>(List.of(ownRow), invocation.getArgument(1), false));
 
         mockMvc.perform(get("/api/transactions").cookie(authCookie()))
                 .andExpect(status().isOk())
@@ -524,6 +868,108 @@ class TransactionControllerMvcTest {
                 .andExpect(jsonPath("$.last").value(true));
     }
 
+    @Test
+    void getMyTransactions_CountFalse_ReturnsASliceWithoutTotalsAndNeverCounts() throws Exception {
+        when(transactionRepository.findRows(anySpecification(), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(List.of(ownRow), PageRequest.of(0, 1), true));
+
+        mockMvc.perform(get("/api/transactions").param("size", "1").param("count", "false").cookie(authCookie()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.content[0].id").value(OWN_TRANSACTION_ID))
+                .andExpect(jsonPath("$.first").value(true))
+                .andExpect(jsonPath("$.last").value(false))
+                .andExpect(jsonPath("$.totalElements").doesNotExist())
+                .andExpect(jsonPath("$.totalPages").doesNotExist());
+
+        verify(transactionRepository, never()).count(anySpecification());
+    }
+
+    @Test
+    void getMyTransactions_RepeatedWithTheSameFilter_ReusesTheCachedTotal() throws Exception {
+        when(transactionRepository.findRows(anySpecification(), any(Pageable.class)))
+                .thenAnswer(invocation -> new SliceImpl<>(List.of(ownRow), invocation.getArgument(1), true));
+        when(transactionRepository.count(anySpecification())).thenReturn(41L);
+
+        mockMvc.perform(get("/api/transactions").param("size", "1").cookie(authCookie()))
+                .andExpect(jsonPath("$.totalElements").value(41));
+        mockMvc.perform(get("/api/transactions").param("size", "1").cookie(authCookie()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(OWN_TRANSACTION_ID))
+                .andExpect(jsonPath("$.totalElements").value(41))
+                .andExpect(jsonPath("$.totalPages").value(41));
+
+        verify(transactionRepository, times(2)).findRows(anySpecification(), any(Pageable.class));
+        verify(transactionRepository, times(1)).count(anySpecification());
+    }
+
+    @Test
+    void getMyTransactions_DifferentFilter_DoesNotReuseAnotherFiltersTotal() throws Exception {
+        when(transactionRepository.findRows(anySpecification(), any(Pageable.class)))
+                .thenAnswer(invocation -> new SliceImpl<>(List.of(ownRow), invocation.getArgument(1), true));
+        when(transactionRepository.count(anySpecification())).thenReturn(41L);
+
+        mockMvc.perform(get("/api/transactions").param("size", "1").cookie(authCookie()));
+        mockMvc.perform(get("/api/transactions").param("size", "1").param("type", "INCOME").cookie(authCookie()))
+                .andExpect(status().isOk());
+
+        verify(transactionRepository, times(2)).count(anySpecification());
+    }
+
+    @Test
+    void getMyTransactions_AfterACreate_CountsAgain() throws Exception {
+        Cookie csrf = csrfCookie();
+        listCountCache.invalidate(currentUser.getId());
+        when(transactionRepository.findRows(anySpecification(), any(Pageable.class)))
+                .thenAnswer(invocation -> new SliceImpl<>(List.of(ownRow), invocation.getArgument(1), true));
+        when(transactionRepository.count(anySpecification())).thenReturn(41L);
+
+        mockMvc.perform(get("/api/transactions").param("size", "1").cookie(authCookie()))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/api/transactions")
+                .cookie(authCookie(), csrf)
+                .header("X-XSRF-TOKEN", csrf.getValue())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json(expensePayload(new BigDecimal("25.00"), LocalDate.of(2026, 1, 2), OWN_CATEGORY_ID))))
+                .andExpect(status().isCreated());
+        mockMvc.perform(get("/api/transactions").param("size", "1").cookie(authCookie()))
+                .andExpect(status().isOk());
+
+        verify(transactionRepository, times(2)).count(anySpecification());
+    }
+
+    @Test
+    void getMyTransactions_WithTheEtagOfTheCurrentDataVersion_Returns304WithoutQuerying() throws Exception {
+        when(userService.findDataVersion(currentUser.getId())).thenReturn(3L);
+        when(transactionRepository.findRows(anySpecification(), any(Pageable.class)))
+                .thenAnswer(invocation -> new SliceImpl<>(List.of(ownRow), invocation.getArgument(1), false));
+        String etag = mockMvc.perform(get("/api/transactions").param("type", "EXPENSE").cookie(authCookie()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/transactions").param("type", "EXPENSE").cookie(authCookie())
+                        .header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/api/transactions").param("type", "INCOME").cookie(authCookie())
+                        .header("If-None-Match", etag))
+                .andExpect(status().isOk());
+
+        verify(transactionRepository, times(2)).findRows(anySpecification(), any(Pageable.class));
+    }
+
+    @Test
+    void getMyTransactions_ShortFirstPage_DerivesTheTotalWithoutACountQuery() throws Exception {
+        when(transactionRepository.findRows(anySpecification(), any(Pageable.class)))
+                .thenAnswer(invocation -> new SliceImpl<>(List.of(ownRow), invocation.getArgument(1), false));
+
+        mockMvc.perform(get("/api/transactions").cookie(authCookie()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(1));
+
+        verify(transactionRepository, never()).count(anySpecification());
+        verify(transactionRepository, never()).findAll(anySpecification(), any(Pageable.class));
+    }
+
     @Test
     void getMyTransactions_WithoutParameters_UsesPageZeroSizeTwentyAndDateDescending() throws Exception {
         mockMvc.perform(get("/api/transactions").cookie(authCookie()))
@@ -550,8 +996,9 @@ class TransactionControllerMvcTest {
 
     @Test
     void getMyTransactions_MiddlePage_ReportsTotalsAndBoundaryFlags() throws Exception {
-        when(transactionRepository.findAll(anySpecification(), any(Pageable.class)))
-                .thenAnswer(invocation -> new PageImpl<>(List.of(ownTransaction), invocation.getArgument(1), 137));
+        when(transactionRepository.findRows(anySpecification(), any(Pageable.class)))
+                .thenAnswer(invocation -> new SliceImpl<>(List.of(ownRow), invocation.getArgument(1), true));
+        when(transactionRepository.count(anySpecification())).thenReturn(137L);
 
         mockMvc.perform(get("/api/transactions")
                 .param("page", "1")
@@ -592,7 +1039,7 @@ class TransactionControllerMvcTest {
                 .andExpect(jsonPath("$.status").value(400))
                 .andExpect(jsonPath("$.fieldErrors.sort").exists());
 
-        verify(transactionRepository, never()).findAll(anySpecification(), any(Pageable.class));
+        verify(transactionRepository, never()).findRows(anySpecification(), any(Pageable.class));
     }
 
     @Test
@@ -602,7 +1049,7 @@ class TransactionControllerMvcTest {
                 .andExpect(jsonPath("$.status").value(400))
                 .andExpect(jsonPath("$.fieldErrors.sort").exists());
 
-        verify(transactionRepository, never()).findAll(anySpecification(), any(Pageable.class));
+        verify(transactionRepository, never()).findRows(anySpecification(), any(Pageable.class));
     }
 
     @Test
@@ -614,7 +1061,7 @@ class TransactionControllerMvcTest {
                 .andExpect(jsonPath("$.fieldErrors.size").exists())
                 .andExpect(jsonPath("$.fieldErrors['getMyTransactions.size']").doesNotExist());
 
-        verify(transactionRepository, never()).findAll(anySpecification(), any(Pageable.class));
+        verify(transactionRepository, never()).findRows(anySpecification(), any(Pageable.class));
     }
 
     @Test
@@ -624,7 +1071,7 @@ class TransactionControllerMvcTest {
                 .andExpect(jsonPath("$.status").value(400))
                 .andExpect(jsonPath("$.fieldErrors.size").exists());
 
-        verify(transactionRepository, never()).findAll(anySpecification(), any(Pageable.class));
+        verify(transactionRepository, never()).findRows(anySpecification(), any(Pageable.class));
     }
 
     @Test
@@ -635,7 +1082,7 @@ class TransactionControllerMvcTest {
                 .andExpect(jsonPath("$.fieldErrors.page").exists())
                 .andExpect(jsonPath("$.fieldErrors['getMyTransactions.page']").doesNotExist());
 
-        verify(transactionRepository, never()).findAll(anySpecification(), any(Pageable.class));
+        verify(transactionRepository, never()).findRows(anySpecification(), any(Pageable.class));
     }
 
     @Test
@@ -653,7 +1100,7 @@ class TransactionControllerMvcTest {
                 .andExpect(status().isOk());
 
         verify(userService).getCurrentUser();
-        verify(transactionRepository).findAll(anySpecification(), any(Pageable.class));
+        verify(transactionRepository).findRows(anySpecification(), any(Pageable.class));
     }
 
     @Test
@@ -667,7 +1114,7 @@ class TransactionControllerMvcTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.content").isArray());
 
-        verify(transactionRepository).findAll(anySpecification(), any(Pageable.class));
+        verify(transactionRepository).findRows(anySpecification(), any(Pageable.class));
     }
 
     @Test
@@ -692,7 +1139,7 @@ class TransactionControllerMvcTest {
                 .andExpect(jsonPath("$.status").value(400))
                 .andExpect(jsonPath("$.fieldErrors.from").exists());
 
-        verify(transactionRepository, never()).findAll(anySpecification(), any(Pageable.class));
+        verify(transactionRepository, never()).findRows(anySpecification(), any(Pageable.class));
     }
 
     @Test
@@ -703,7 +1150,7 @@ class TransactionControllerMvcTest {
                 .cookie(authCookie()))
                 .andExpect(status().isOk());
 
-        verify(transactionRepository).findAll(anySpecification(), any(Pageable.class));
+        verify(transactionRepository).findRows(anySpecification(), any(Pageable.class));
     }
 
     @Test
@@ -713,7 +1160,7 @@ class TransactionControllerMvcTest {
                 .andExpect(jsonPath("$.status").value(400))
                 .andExpect(jsonPath("$.fieldErrors.from").exists());
 
-        verify(transactionRepository, never()).findAll(anySpecification(), any(Pageable.class));
+        verify(transactionRepository, never()).findRows(anySpecification(), any(Pageable.class));
     }
 
     @Test
@@ -723,7 +1170,7 @@ class TransactionControllerMvcTest {
                 .andExpect(jsonPath("$.status").value(400))
                 .andExpect(jsonPath("$.fieldErrors.type").exists());
 
-        verify(transactionRepository, never()).findAll(anySpecification(), any(Pageable.class));
+        verify(transactionRepository, never()).findRows(anySpecification(), any(Pageable.class));
     }
 
     @Test
@@ -733,7 +1180,7 @@ class TransactionControllerMvcTest {
                 .andExpect(jsonPath("$.status").value(400))
                 .andExpect(jsonPath("$.fieldErrors.categoryId").exists());
 
-        verify(transactionRepository, never()).findAll(anySpecification(), any(Pageable.class));
+        verify(transactionRepository, never()).findRows(anySpecification(), any(Pageable.class));
     }
 
     @Test
@@ -741,7 +1188,7 @@ class TransactionControllerMvcTest {
         mockMvc.perform(get("/api/transactions"))
                 .andExpect(status().isUnauthorized());
 
-        verify(transactionRepository, never()).findAll(anySpecification(), any(Pageable.class));
+        verify(transactionRepository, never()).findRows(anySpecification(), any(Pageable.class));
     }
 
     @Test
@@ -755,7 +1202,7 @@ class TransactionControllerMvcTest {
                 .content(json(validUpdate())))
                 .andExpect(status().isUnauthorized());
 
-        verify(transactionRepository, never()).save(any(Transaction.class));
+        verify(transactionRepository, never()).updateOwned(any(), any(), any(), any(), any(), any(), any());
     }
 
     @Test
@@ -21,6 +21,7 @@ import hu.financial.model.User;
 import hu.financial.model.Category;
 import hu.financial.model.Transaction;
 import hu.financial.model.enums.TransactionType;
+import hu.financial.repository.projection.TransactionRow;
 import hu.financial.dto.transaction.CreateTransactionDto;
 import hu.financial.dto.transaction.TransactionResponseDto;
 import hu.financial.exception.category.CategoryNotFoundException;
@@ -53,6 +54,7 @@ public class TransactionControllerTest {
     private User testUser;
     private Category testCategory;
     private Transaction testTransaction;
+    private TransactionRow testRow;
     private CreateTransactionDto createTransactionDto;
     private TransactionResponseDto transactionResponseDto;
 
@@ -66,6 +68,8 @@ public class TransactionControllerTest {
 
         testTransaction = new Transaction(1L, TransactionType.INCOME, "testdescription",
                 testCategory, testUser, new BigDecimal("100.00"), LocalDate.now());
+        testRow = new TransactionRow(1L, TransactionType.INCOME, "testdescription",
+                testCategory.getId(), testCategory.getName(), new BigDecimal("100.00"), testTransaction.getDate());
 
         createTransactionDto = new CreateTransactionDto(TransactionType.INCOME, "testdescription",
                 testCategory.getId(), new BigDecimal("100.00"), LocalDate.now());
@@ -108,11 +112,11 @@ public class TransactionControllerTest {
         when(userService.getCurrentUser()).thenReturn(testUser);
         when(transactionService.getTransactionsByUserId(eq(testUser.getId()), any(TransactionFilter.class),
                 any(Pageable.class)))
-                .thenReturn(new PageImpl<>(Arrays.asList(testTransaction), PageRequest.of(0, 20), 1));
-        when(transactionService.mapToDto(testTransaction)).thenReturn(transactionResponseDto);
+                .thenReturn(new PageImpl<>(Arrays.asList(testRow), PageRequest.of(0, 20), 1));
+        when(transactionService.mapRowToDto(testRow)).thenReturn(transactionResponseDto);
 
         ResponseEntity<PageResponse<TransactionResponseDto>> response =
-                transactionController.getMyTransactions(0, 20, "date,desc", null, null, null, null);
+                transactionController.getMyTransactions(0, 20, "date,desc", null, null, null, null, true);
 
         assertNotNull(response);
         assertEquals(HttpStatus.OK, response.getStatusCode());
@@ -139,7 +143,7 @@ public class TransactionControllerTest {
                 .thenReturn(new PageImpl<>(List.of(), PageRequest.of(0, 20), 0));
 
         transactionController.getMyTransactions(0, 20, "date,desc", LocalDate.of(2026, 1, 1),
-                LocalDate.of(2026, 1, 31), 7L, TransactionType.EXPENSE);
+                LocalDate.of(2026, 1, 31), 7L, TransactionType.EXPENSE, true);
 
         verify(transactionService).getTransactionsByUserId(eq(testUser.getId()), filter.capture(),
                 any(Pageable.class));
@@ -150,7 +154,7 @@ public class TransactionControllerTest {
     @Test
     void getMyTransactions_ShouldRejectUnknownSortField_WithoutTouchingTheService() {
         assertThrows(InvalidRequestParameterException.class,
-                () -> transactionController.getMyTransactions(0, 20, "password", null, null, null, null));
+                () -> transactionController.getMyTransactions(0, 20, "password", null, null, null, null, true));
         verify(transactionService, never()).getTransactionsByUserId(any(), any(), any());
     }
 
@@ -158,15 +162,15 @@ public class TransactionControllerTest {
     void getMyTransactions_ShouldRejectInvertedDateRange_WithoutTouchingTheService() {
         assertThrows(InvalidRequestParameterException.class,
                 () -> transactionController.getMyTransactions(0, 20, "date,desc", LocalDate.of(2026, 2, 1),
-                        LocalDate.of(2026, 1, 31), null, null));
+                        LocalDate.of(2026, 1, 31), null, null, true));
         verify(transactionService, never()).getTransactionsByUserId(any(), any(), any());
     }
 
     @Test
     void getTransactionById_ShouldReturnTransaction_WhenOwnedByCurrentUser() {
         when(userService.getCurrentUser()).thenReturn(testUser);
-        when(transactionService.getTransactionById(testTransaction.getId())).thenReturn(testTransaction);
-        when(transactionService.mapToDto(testTransaction)).thenReturn(transactionResponseDto);
+        when(transactionService.getOwnedTransactionRow(testTransaction.getId(), testUser.getId())).thenReturn(testRow);
+        when(transactionService.mapRowToDto(testRow)).thenReturn(transactionResponseDto);
 
         ResponseEntity<TransactionResponseDto> response = transactionController.getTransactionById(testTransaction.getId());
 
@@ -178,34 +182,19 @@ public class TransactionControllerTest {
     }
 
     @Test
-    void getTransactionById_ShouldThrowNotFound_WhenTransactionMissing() {
+    void getTransactionById_ShouldThrowNotFound_WhenMissingOrOwnedByAnotherUser() {
         when(userService.getCurrentUser()).thenReturn(testUser);
-        when(transactionService.getTransactionById(99L)).thenReturn(null);
+        when(transactionService.getOwnedTransactionRow(99L, testUser.getId()))
+                .thenThrow(new TransactionNotFoundException(99L));
 
         assertThrows(TransactionNotFoundException.class,
                 () -> transactionController.getTransactionById(99L));
     }
 
-    @Test
-    void getTransactionById_ShouldThrowNotFound_WhenOwnedByAnotherUser() {
-        User otherUser = new User("other", "password123", "other@example.com");
-        otherUser.setId(2L);
-        Transaction foreignTransaction = new Transaction(5L, TransactionType.EXPENSE, "foreign",
-                testCategory, otherUser, new BigDecimal("50.00"), LocalDate.now());
-
-        when(userService.getCurrentUser()).thenReturn(testUser);
-        when(transactionService.getTransactionById(foreignTransaction.getId())).thenReturn(foreignTransaction);
-
-        assertThrows(TransactionNotFoundException.class,
-                () -> transactionController.getTransactionById(foreignTransaction.getId()));
-    }
-
     @Test
     void updateTransaction_ShouldReturnTransaction_WhenOwnedByCurrentUser() {
-        when(userService.getCurrentUser()).thenReturn(testUser);
-        when(transactionService.getTransactionById(testTransaction.getId())).thenReturn(testTransaction);
         when(transactionService.mapToEntity(any(CreateTransactionDto.class))).thenReturn(testTransaction);
-        when(transactionService.updateTransaction(eq(testTransaction.getId()), any(Transaction.class))).thenReturn(testTransaction);
+        when(transactionService.updateOwnedTransaction(eq(testTransaction.getId()), any(Transaction.class))).thenReturn(testTransaction);
         when(transactionService.mapToDto(testTransaction)).thenReturn(transactionResponseDto);
 
         ResponseEntity<TransactionResponseDto> response = transactionController.updateTransaction(testTransaction.getId(), createTransactionDto);
@@ -213,62 +202,50 @@ public class TransactionControllerTest {
         assertNotNull(response);
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
-        verify(transactionService).updateTransaction(eq(testTransaction.getId()), any(Transaction.class));
+        verify(transactionService).updateOwnedTransaction(eq(testTransaction.getId()), any(Transaction.class));
         verify(transactionService).mapToDto(testTransaction);
         verify(transactionService, never()).mapToDtoWithBudgetWarning(any(Transaction.class));
     }
 
     @Test
     void updateTransaction_ShouldThrowNotFound_WhenNewCategoryOwnedByAnotherUser() {
-        when(userService.getCurrentUser()).thenReturn(testUser);
-        when(transactionService.getTransactionById(testTransaction.getId())).thenReturn(testTransaction);
         when(transactionService.mapToEntity(any(CreateTransactionDto.class)))
                 .thenThrow(new CategoryNotFoundException(99L));
 
         assertThrows(CategoryNotFoundException.class,
                 () -> transactionController.updateTransaction(testTransaction.getId(), createTransactionDto));
-        verify(transactionService, never()).updateTransaction(any(), any());
+        verify(transactionService, never()).updateOwnedTransaction(any(), any());
     }
 
     @Test
-    void updateTransaction_ShouldThrowNotFound_WhenOwnedByAnotherUser() {
-        User otherUser = new User("other", "password123", "other@example.com");
-        otherUser.setId(2L);
-        Transaction foreignTransaction = new Transaction(5L, TransactionType.EXPENSE, "foreign",
-                testCategory, otherUser, new BigDecimal("50.00"), LocalDate.now());
-
-        when(userService.getCurrentUser()).thenReturn(testUser);
-        when(transactionService.getTransactionById(foreignTransaction.getId())).thenReturn(foreignTransaction);
+    void updateTransaction_ShouldThrowNotFound_WhenMissingOrOwnedByAnotherUser() {
+        when(transactionService.mapToEntity(any(CreateTransactionDto.class))).thenReturn(testTransaction);
+        when(transactionService.updateOwnedTransaction(eq(5L), any(Transaction.class)))
+                .thenThrow(new TransactionNotFoundException(5L));
 
         assertThrows(TransactionNotFoundException.class,
-                () -> transactionController.updateTransaction(foreignTransaction.getId(), createTransactionDto));
-        verify(transactionService, never()).updateTransaction(any(), any());
+                () -> transactionController.updateTransaction(5L, createTransactionDto));
+        verify(transactionService, never()).mapToDto(any(Transaction.class));
     }
 
     @Test
     void deleteTransaction_ShouldReturnNoContent_WhenOwnedByCurrentUser() {
         when(userService.getCurrentUser()).thenReturn(testUser);
-        when(transactionService.getTransactionById(testTransaction.getId())).thenReturn(testTransaction);
-        doNothing().when(transactionService).deleteTransaction(testTransaction.getId());
+        doNothing().when(transactionService).deleteOwnedTransaction(testTransaction.getId(), testUser.getId());
 
         ResponseEntity<Void> response = transactionController.deleteTransaction(testTransaction.getId());
 
         assertEquals(HttpStatus.NO_CONTENT, response.getStatusCode());
-        verify(transactionService).deleteTransaction(testTransaction.getId());
+        verify(transactionService).deleteOwnedTransaction(testTransaction.getId(), testUser.getId());
     }
 
     @Test
-    void deleteTransaction_ShouldThrowNotFound_WhenOwnedByAnotherUser() {
-        User otherUser = new User("other", "password123", "other@example.com");
-        otherUser.setId(2L);
-        Transaction foreignTransaction = new Transaction(5L, TransactionType.EXPENSE, "foreign",
-                testCategory, otherUser, new BigDecimal("50.00"), LocalDate.now());
-
+    void deleteTransaction_ShouldThrowNotFound_WhenMissingOrOwnedByAnotherUser() {
         when(userService.getCurrentUser()).thenReturn(testUser);
-        when(transactionService.getTransactionById(foreignTransaction.getId())).thenReturn(foreignTransaction);
+        doThrow(new TransactionNotFoundException(5L)).when(transactionService)
+                .deleteOwnedTransaction(5L, testUser.getId());
 
         assertThrows(TransactionNotFoundException.class,
-                () -> transactionController.deleteTransaction(foreignTransaction.getId()));
-        verify(transactionService, never()).deleteTransaction(any());
+                () -> transactionController.deleteTransaction(5L));
     }
 }
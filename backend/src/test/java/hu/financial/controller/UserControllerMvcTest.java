@@ -11,10 +11,14 @@ import hu.financial.exception.user.InvalidPasswordException;
 import hu.financial.filter.JwtAuthenticationFilter;
 import hu.financial.model.User;
 import hu.financial.security.CookieProperties;
+import hu.financial.security.CredentialVersionCache;
+import hu.financial.security.PrincipalCache;
 import hu.financial.security.CsrfCookieFilter;
 import hu.financial.security.RestAccessDeniedHandler;
+import hu.financial.security.TokenRevocationList;
 import hu.financial.security.SecurityCookieFactory;
 import hu.financial.service.JwtService;
+import hu.financial.service.RefreshTokenService;
 import hu.financial.service.UserService;
 import jakarta.servlet.http.Cookie;
 import org.junit.jupiter.api.BeforeEach;
@@ -31,11 +35,13 @@ import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.startsWith;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
@@ -49,12 +55,15 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(UserController.class)
 @Import({ SecurityConfig.class, JwtAuthenticationFilter.class, CookieProperties.class, RestAccessDeniedHandler.class,
-        SecurityCookieFactory.class, CsrfCookieFilter.class, JwtService.class, FilterRegistrationConfig.class })
+        SecurityCookieFactory.class, CsrfCookieFilter.class, JwtService.class, PrincipalCache.class,
+        CredentialVersionCache.class, TokenRevocationList.class,
+        FilterRegistrationConfig.class })
 @ActiveProfiles("test")
 @TestPropertySource(properties = {
         "security.jwt.expiration-time=3600",
@@ -78,6 +87,9 @@ class UserControllerMvcTest {
     @MockitoBean
     private UserService userService;
 
+    @MockitoBean
+    private RefreshTokenService refreshTokenService;
+
     private User currentUser;
 
     @BeforeEach
@@ -119,6 +131,14 @@ class UserControllerMvcTest {
                 .andExpect(content().string(""));
     }
 
+    @Test
+    void metrics_ForAnOrdinaryAuthenticatedUser_Returns403() throws Exception {
+        mockMvc.perform(get("/actuator/metrics").cookie(authCookie()))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/actuator/metrics/security.login.throttled").cookie(authCookie()))
+                .andExpect(status().isForbidden());
+    }
+
     @Test
     void getProfile_Returns401_ButStillIssuesAReadableCsrfCookie_SoALoggedOutVisitorCanPost() throws Exception {
         MvcResult result = mockMvc.perform(get("/api/users/profile"))
@@ -330,6 +350,9 @@ class UserControllerMvcTest {
     @Test
     void changePassword_WithCsrfToken_Returns204AndEmptyBody() throws Exception {
         Cookie csrf = csrfCookie();
+        when(userService.changePassword(any(User.class), any(ChangePasswordRequestDto.class))).thenReturn(currentUser);
+        when(refreshTokenService.issue(currentUser)).thenReturn("refresh-token");
+        when(refreshTokenService.getLifetime()).thenReturn(Duration.ofDays(14));
 
         mockMvc.perform(post("/api/users/change-password")
                 .cookie(authCookie(), csrf)
@@ -338,7 +361,8 @@ class UserControllerMvcTest {
                 .content(objectMapper.writeValueAsString(
                         new ChangePasswordRequestDto("current123", "newpassword123"))))
                 .andExpect(status().isNoContent())
-                .andExpect(content().string(""));
+                .andExpect(content().string(""))
+                .andExpect(header().string(HttpHeaders.SET_COOKIE, startsWith("authToken=")));
 
         verify(userService).changePassword(any(User.class), any(ChangePasswordRequestDto.class));
     }
@@ -3,6 +3,10 @@ package hu.financial.controller;
 import hu.financial.dto.user.ChangePasswordRequestDto;
 import hu.financial.dto.user.GetUserByIdDto;
 import hu.financial.model.User;
+import hu.financial.security.AuthenticatedUser;
+import hu.financial.security.SecurityCookieFactory;
+import hu.financial.service.JwtService;
+import hu.financial.service.RefreshTokenService;
 import hu.financial.service.UserService;
 import hu.financial.exception.user.InvalidPasswordException;
 import hu.financial.exception.user.UserNotFoundException;
@@ -14,11 +18,14 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseCookie;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import hu.financial.dto.user.UpdateProfileDto;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -31,6 +38,15 @@ class UserControllerTest {
   @Mock
   private UserService userService;
 
+  @Mock
+  private JwtService jwtService;
+
+  @Mock
+  private SecurityCookieFactory securityCookieFactory;
+
+  @Mock
+  private RefreshTokenService refreshTokenService;
+
   @InjectMocks
   private UserController userController;
 
@@ -114,14 +130,36 @@ class UserControllerTest {
   @Test
   void changePassword_ValidRequest_ReturnsNoContent() {
     ChangePasswordRequestDto request = new ChangePasswordRequestDto("current123", "newpassword123");
+    when(userService.changePassword(currentUser, request)).thenReturn(currentUser);
+    when(jwtService.generateToken(currentUser)).thenReturn("fresh-token");
+    when(securityCookieFactory.createAuthCookie("fresh-token"))
+        .thenReturn(ResponseCookie.from("authToken", "fresh-token").build());
+    when(refreshTokenService.issue(currentUser)).thenReturn("fresh-refresh");
+    when(refreshTokenService.getLifetime()).thenReturn(Duration.ofDays(14));
+    when(securityCookieFactory.createRefreshCookie("fresh-refresh", Duration.ofDays(14)))
+        .thenReturn(ResponseCookie.from("refreshToken", "fresh-refresh").build());
 
     ResponseEntity<Void> response = userController.changePassword(authentication, request);
 
     assertEquals(HttpStatus.NO_CONTENT, response.getStatusCode());
     assertNull(response.getBody());
+    assertTrue(response.getHeaders().getFirst(HttpHeaders.SET_COOKIE).startsWith("authToken=fresh-token"));
     verify(userService).changePassword(currentUser, request);
   }
 
+  @Test
+  void getCurrentUserProfile_WithClaimsOnlyPrincipal_LoadsTheUserById() {
+    UserResponseDto expectedDto = new UserResponseDto(1L, "testuser", "test@example.com",
+        LocalDateTime.now(), null);
+    when(authentication.getPrincipal()).thenReturn(new AuthenticatedUser(1L, "testuser", 0));
+    when(userService.getUserById(1L)).thenReturn(currentUser);
+    when(userService.mapToUserProfileDto(currentUser)).thenReturn(expectedDto);
+
+    ResponseEntity<UserResponseDto> response = userController.getCurrentUserProfile(authentication);
+
+    assertEquals(expectedDto, response.getBody());
+  }
+
   @Test
   void changePassword_WrongCurrentPassword_PropagatesInvalidPasswordException() {
     ChangePasswordRequestDto request = new ChangePasswordRequestDto("wrong", "newpassword123");
@@ -0,0 +1,129 @@
+package hu.financial.dto.report;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import hu.financial.exception.InvalidRequestParameterException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ReportRangeTest {
+
+    private static ReportRange range(String from, String to) {
+        return ReportRange.of(from, to);
+    }
+
+    @Test
+    void of_ParsesBothEndsInclusive() {
+        ReportRange range = range("2026-01-25", "2026-02-24");
+
+        assertEquals(LocalDate.of(2026, 1, 25), range.from());
+        assertEquals(LocalDate.of(2026, 2, 24), range.to());
+    }
+
+    @Test
+    void of_AcceptsASingleDay() {
+        ReportRange range = range("2026-02-10", "2026-02-10");
+
+        assertEquals(range.from(), range.to());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "2026-02", "2026-2-1", "01/02/2026", "2026-02-30", "", "yesterday" })
+    void of_RejectsAFromThatIsNotYearDashMonthDashDay(String from) {
+        InvalidRequestParameterException exception = assertThrows(
+                InvalidRequestParameterException.class, () -> range(from, "2026-03-01"));
+
+        assertEquals("from", exception.getParameter());
+    }
+
+    @Test
+    void of_RequiresBothEnds() {
+        assertEquals("from", assertThrows(InvalidRequestParameterException.class,
+                () -> range(null, "2026-03-01")).getParameter());
+        assertEquals("to", assertThrows(InvalidRequestParameterException.class,
+                () -> range("2026-03-01", null)).getParameter());
+    }
+
+    @Test
+    void of_RejectsAToBeforeFrom() {
+        InvalidRequestParameterException exception = assertThrows(
+                InvalidRequestParameterException.class, () -> range("2026-03-02", "2026-03-01"));
+
+        assertEquals("to", exception.getParameter());
+    }
+
+    @Test
+    void of_CapsTheRangeBelowTenYears() {
+        assertEquals(LocalDate.of(2025, 12, 31), range("2016-01-01", "2025-12-31").to());
+
+        InvalidRequestParameterException exception = assertThrows(
+                InvalidRequestParameterException.class, () -> range("2016-01-01", "2026-01-01"));
+
+        assertEquals("to", exception.getParameter());
+    }
+
+    @Test
+    void previous_OfAQuarter_IsThePrecedingQuarter() {
+        assertEquals(range("2026-01-01", "2026-03-31"), range("2026-04-01", "2026-06-30").previous());
+    }
+
+    @Test
+    void previous_OfAPayCycle_IsThePrecedingPayCycle() {
+        assertEquals(range("2025-12-25", "2026-01-24"), range("2026-01-25", "2026-02-24").previous());
+    }
+
+    @Test
+    void previous_OfARangeThatIsNotWholeMonths_HasTheSameNumberOfDays() {
+        assertEquals(range("2026-02-03", "2026-02-12"), range("2026-02-13", "2026-02-22").previous());
+    }
+
+    @Test
+    void wholeMonths_OfAPayCycleSpanningThreeMonths_AreTheMonthsFullyInside() {
+        ReportRange range = range("2026-01-25", "2026-04-24");
+
+        assertEquals(Optional.of(range("2026-02-01", "2026-03-31")), range.wholeMonths());
+        assertEquals(List.of(range("2026-01-25", "2026-01-31"), range("2026-04-01", "2026-04-24")),
+                range.partialMonths());
+    }
+
+    @Test
+    void wholeMonths_OfAQuarter_LeavesNoPartialMonths() {
+        ReportRange range = range("2026-04-01", "2026-06-30");
+
+        assertEquals(Optional.of(range), range.wholeMonths());
+        assertEquals(List.of(), range.partialMonths());
+    }
+
+    @Test
+    void wholeMonths_OfARangeInsideOneMonth_IsEmptyAndTheRangeIsItsOwnPartialMonth() {
+        ReportRange range = range("2026-02-05", "2026-02-20");
+
+        assertEquals(Optional.empty(), range.wholeMonths());
+        assertEquals(List.of(range), range.partialMonths());
+    }
+
+    @Test
+    void wholeMonths_OfAPayCycleAcrossTwoMonths_IsEmptyAndTheWholeRangeIsReadAsOnePartialSpan() {
+        ReportRange range = range("2026-01-25", "2026-02-24");
+
+        assertEquals(Optional.empty(), range.wholeMonths());
+        assertEquals(List.of(range), range.partialMonths());
+    }
+
+    @Test
+    void daysIn_CountsOnlyTheDaysOfTheMonthInsideTheRange() {
+        ReportRange range = range("2026-01-25", "2026-02-24");
+
+        assertEquals(7, range.daysIn(YearMonth.of(2026, 1)));
+        assertEquals(24, range.daysIn(YearMonth.of(2026, 2)));
+        assertEquals(0, range.daysIn(YearMonth.of(2026, 3)));
+    }
+}
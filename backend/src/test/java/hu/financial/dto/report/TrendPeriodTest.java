@@ -50,8 +50,8 @@ class TrendPeriodTest {
     }
 
     @ParameterizedTest
-    @ValueSource(ints = { 0, -1, 25, 100, Integer.MIN_VALUE, Integer.MAX_VALUE })
-    void of_RejectsALengthOutsideOneToTwentyFour(int months) {
+    @ValueSource(ints = { 0, -1, 121, 240, Integer.MIN_VALUE, Integer.MAX_VALUE })
+    void of_RejectsALengthOutsideOneToOneHundredTwenty(int months) {
         InvalidRequestParameterException exception = assertThrows(
                 InvalidRequestParameterException.class, () -> TrendPeriod.of("2026-07", months, SERVER_MONTH));
 
@@ -59,7 +59,7 @@ class TrendPeriodTest {
     }
 
     @ParameterizedTest
-    @ValueSource(ints = { 1, 2, 6, 12, 23, 24 })
+    @ValueSource(ints = { 1, 2, 6, 12, 24, 60, 119, 120 })
     void of_AcceptsEveryLengthInsideTheSupportedRange(int months) {
         TrendPeriod period = TrendPeriod.of("2026-07", months, SERVER_MONTH);
 
@@ -67,6 +67,64 @@ class TrendPeriodTest {
         assertEquals(months, period.monthsInOrder().size());
     }
 
+    @Test
+    void of_WithoutGranularity_BucketsByMonth() {
+        TrendPeriod period = TrendPeriod.of("2026-07", 6, SERVER_MONTH);
+
+        assertEquals(TrendGranularity.MONTH, period.granularity());
+        assertEquals(period.monthsInOrder().stream().map(month -> month.atDay(1)).toList(), period.bucketsInOrder());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "day", "WEEK", " Month " })
+    void granularity_IsParsedCaseInsensitively(String granularity) {
+        assertEquals(granularity.trim().toUpperCase(), TrendGranularity.of(granularity).name());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "", "daily", "year", "QUARTER" })
+    void granularity_RejectsAnUnknownBucketSize(String granularity) {
+        InvalidRequestParameterException exception = assertThrows(
+                InvalidRequestParameterException.class, () -> TrendGranularity.of(granularity));
+
+        assertEquals("granularity", exception.getParameter());
+    }
+
+    @Test
+    void of_CapsTheLengthPerGranularity() {
+        assertEquals(12, TrendPeriod.of("2026-07", 12, TrendGranularity.DAY, SERVER_MONTH).months());
+        assertEquals(24, TrendPeriod.of("2026-07", 24, TrendGranularity.WEEK, SERVER_MONTH).months());
+
+        InvalidRequestParameterException daily = assertThrows(InvalidRequestParameterException.class,
+                () -> TrendPeriod.of("2026-07", 13, TrendGranularity.DAY, SERVER_MONTH));
+        InvalidRequestParameterException weekly = assertThrows(InvalidRequestParameterException.class,
+                () -> TrendPeriod.of("2026-07", 25, TrendGranularity.WEEK, SERVER_MONTH));
+
+        assertEquals("months", daily.getParameter());
+        assertEquals("months", weekly.getParameter());
+    }
+
+    @Test
+    void bucketsInOrder_ForDays_HasOneEntryPerCalendarDay() {
+        List<LocalDate> days = TrendPeriod.of("2024-02", 2, TrendGranularity.DAY, SERVER_MONTH).bucketsInOrder();
+
+        assertEquals(31 + 29, days.size());
+        assertEquals(LocalDate.of(2024, 1, 1), days.get(0));
+        assertEquals(LocalDate.of(2024, 2, 29), days.get(days.size() - 1));
+    }
+
+    @Test
+    void bucketsInOrder_ForWeeks_StartsOnTheMondayOfTheWeekHoldingTheFirstDay() {
+        List<LocalDate> weeks = TrendPeriod.of("2026-07", 1, TrendGranularity.WEEK, SERVER_MONTH).bucketsInOrder();
+
+        assertEquals(List.of(
+                LocalDate.of(2026, 6, 29),
+                LocalDate.of(2026, 7, 6),
+                LocalDate.of(2026, 7, 13),
+                LocalDate.of(2026, 7, 20),
+                LocalDate.of(2026, 7, 27)), weeks);
+    }
+
     @Test
     void monthsInOrder_HasExactlyMonthsEntriesEndingWithTheRequestedMonth() {
         TrendPeriod period = TrendPeriod.of("2026-08", 6, SERVER_MONTH);
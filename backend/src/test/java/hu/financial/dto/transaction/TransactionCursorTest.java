@@ -0,0 +1,72 @@
+package hu.financial.dto.transaction;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import hu.financial.exception.InvalidRequestParameterException;
+import hu.financial.model.enums.TransactionType;
+import hu.financial.repository.projection.TransactionRow;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TransactionCursorTest {
+
+    private static final Sort DATE_DESC = Sort.by(Sort.Order.desc("date"), Sort.Order.desc("id"));
+
+    private static final Sort AMOUNT_ASC = Sort.by(Sort.Order.asc("amount"), Sort.Order.desc("id"));
+
+    private static TransactionRow transaction() {
+        return new TransactionRow(42L, TransactionType.EXPENSE, "lunch", 10L, "food",
+                new BigDecimal("12.50"), LocalDate.of(2026, 3, 14));
+    }
+
+    @Test
+    void dateCursor_SurvivesAnEncodeDecodeRoundTrip() {
+        TransactionCursor cursor = TransactionCursor.after(transaction(), DATE_DESC);
+
+        TransactionCursor decoded = TransactionCursor.decode(cursor.encode(), DATE_DESC);
+
+        assertEquals(cursor, decoded);
+        assertEquals(LocalDate.of(2026, 3, 14), decoded.keys().get(0).value());
+        assertEquals(42L, decoded.keys().get(1).value());
+    }
+
+    @Test
+    void amountCursor_KeepsTheDecimalScale() {
+        TransactionCursor cursor = TransactionCursor.after(transaction(), AMOUNT_ASC);
+
+        TransactionCursor decoded = TransactionCursor.decode(cursor.encode(), AMOUNT_ASC);
+
+        assertEquals(new BigDecimal("12.50"), decoded.keys().get(0).value());
+        assertEquals(Sort.Direction.ASC, decoded.keys().get(0).direction());
+    }
+
+    @Test
+    void cursorIssuedForAnotherSort_IsRejectedWithTheCursorParameterAsKey() {
+        String cursor = TransactionCursor.after(transaction(), DATE_DESC).encode();
+
+        InvalidRequestParameterException exception = assertThrows(InvalidRequestParameterException.class,
+                () -> TransactionCursor.decode(cursor, AMOUNT_ASC));
+
+        assertEquals(TransactionCursor.PARAMETER_NAME, exception.getParameter());
+    }
+
+    @Test
+    void cursorWithTheSameFieldsInTheOtherDirection_IsRejected() {
+        String cursor = TransactionCursor.after(transaction(), DATE_DESC).encode();
+        Sort dateAsc = Sort.by(Sort.Order.asc("date"), Sort.Order.desc("id"));
+
+        assertThrows(InvalidRequestParameterException.class, () -> TransactionCursor.decode(cursor, dateAsc));
+    }
+
+    @Test
+    void garbageCursor_IsRejectedInsteadOfFailingInTheQuery() {
+        assertThrows(InvalidRequestParameterException.class, () -> TransactionCursor.decode("%%%", DATE_DESC));
+        assertThrows(InvalidRequestParameterException.class,
+                () -> TransactionCursor.decode("ZGF0ZSxERVNDLG5vdC1hLWRhdGU7aWQsREVTQyw0Mg", DATE_DESC));
+    }
+}
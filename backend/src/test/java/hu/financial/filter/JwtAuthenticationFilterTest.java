@@ -1,7 +1,12 @@
 package hu.financial.filter;
 
 import hu.financial.model.User;
+import hu.financial.security.AuthenticatedUser;
+import hu.financial.security.CredentialVersionCache;
+import hu.financial.security.PrincipalCache;
+import hu.financial.security.TokenRevocationList;
 import hu.financial.service.JwtService;
+import hu.financial.service.UserService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.http.Cookie;
 import org.junit.jupiter.api.AfterEach;
@@ -13,7 +18,10 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetailsService;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
@@ -22,6 +30,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -32,8 +41,11 @@ class JwtAuthenticationFilterTest {
     private JwtService jwtService;
 
     @Mock
-    private UserDetailsService userDetailsService;
+    private UserService userService;
 
+    private PrincipalCache principalCache;
+    private CredentialVersionCache credentialVersionCache;
+    private TokenRevocationList tokenRevocationList;
     private JwtAuthenticationFilter filter;
     private MockHttpServletRequest request;
     private MockHttpServletResponse response;
@@ -42,7 +54,11 @@ class JwtAuthenticationFilterTest {
 
     @BeforeEach
     void setUp() {
-        filter = new JwtAuthenticationFilter(jwtService, userDetailsService);
+        principalCache = new PrincipalCache(Duration.ofMinutes(5), 100);
+        credentialVersionCache = new CredentialVersionCache(Duration.ofMinutes(1), 100);
+        tokenRevocationList = new TokenRevocationList(100);
+        filter = new JwtAuthenticationFilter(
+                jwtService, userService, principalCache, credentialVersionCache, tokenRevocationList, false);
         request = new MockHttpServletRequest();
         response = new MockHttpServletResponse();
         filterChain = mock(FilterChain.class);
@@ -59,7 +75,7 @@ class JwtAuthenticationFilterTest {
     void doFilter_ShouldAuthenticate_WhenAuthTokenCookieIsValid() throws Exception {
         request.setCookies(new Cookie("authToken", "valid"));
         when(jwtService.extractUsername("valid")).thenReturn("testuser");
-        when(userDetailsService.loadUserByUsername("testuser")).thenReturn(user);
+        when(userService.loadUserByUsername("testuser")).thenReturn(user);
         when(jwtService.isTokenValid(eq("valid"), any())).thenReturn(true);
 
         filter.doFilter(request, response, filterChain);
@@ -69,6 +85,40 @@ class JwtAuthenticationFilterTest {
         verify(filterChain).doFilter(request, response);
     }
 
+    @Test
+    void doFilter_ShouldReuseTheCachedPrincipal_InsteadOfLoadingTheUserOnEveryRequest() throws Exception {
+        when(jwtService.extractUsername("valid")).thenReturn("testuser");
+        when(userService.loadUserByUsername("testuser")).thenReturn(user);
+        when(jwtService.isTokenValid(eq("valid"), any())).thenReturn(true);
+
+        for (int i = 0; i < 3; i++) {
+            MockHttpServletRequest next = new MockHttpServletRequest();
+            next.setCookies(new Cookie("authToken", "valid"));
+            filter.doFilter(next, new MockHttpServletResponse(), filterChain);
+            assertEquals(user, SecurityContextHolder.getContext().getAuthentication().getPrincipal());
+            SecurityContextHolder.clearContext();
+        }
+
+        verify(userService, times(1)).loadUserByUsername("testuser");
+        assertEquals(1, principalCache.missCount());
+        assertEquals(2, principalCache.hitCount());
+    }
+
+    @Test
+    void doFilter_ShouldLoadTheUserAgain_AfterThePrincipalWasEvicted() throws Exception {
+        request.setCookies(new Cookie("authToken", "valid"));
+        when(jwtService.extractUsername("valid")).thenReturn("testuser");
+        when(userService.loadUserByUsername("testuser")).thenReturn(user);
+        when(jwtService.isTokenValid(eq("valid"), any())).thenReturn(true);
+
+        filter.doFilter(request, response, filterChain);
+        SecurityContextHolder.clearContext();
+        principalCache.evict("testuser");
+        filter.doFilter(request, response, filterChain);
+
+        verify(userService, times(2)).loadUserByUsername("testuser");
+    }
+
     @Test
     void doFilter_ShouldIgnoreAuthorizationHeader_BecauseBearerTokensAreNoLongerAccepted() throws Exception {
         request.addHeader("Authorization", "Bearer valid");
@@ -84,7 +134,7 @@ class JwtAuthenticationFilterTest {
     void doFilter_ShouldLeaveContextEmpty_WhenTokenIsInvalid() throws Exception {
         request.setCookies(new Cookie("authToken", "invalid"));
         when(jwtService.extractUsername("invalid")).thenReturn("testuser");
-        when(userDetailsService.loadUserByUsername("testuser")).thenReturn(user);
+        when(userService.loadUserByUsername("testuser")).thenReturn(user);
         when(jwtService.isTokenValid(eq("invalid"), any())).thenReturn(false);
 
         filter.doFilter(request, response, filterChain);
@@ -110,7 +160,56 @@ class JwtAuthenticationFilterTest {
         filter.doFilter(request, response, filterChain);
 
         assertNull(SecurityContextHolder.getContext().getAuthentication());
-        verify(userDetailsService, never()).loadUserByUsername(any());
+        verify(userService, never()).loadUserByUsername(any());
+        verify(filterChain).doFilter(request, response);
+    }
+
+    @Test
+    void doFilter_InStatelessMode_ShouldAuthenticateFromClaims_WithoutLoadingTheUser() throws Exception {
+        JwtAuthenticationFilter stateless = new JwtAuthenticationFilter(
+                jwtService, userService, principalCache, credentialVersionCache, tokenRevocationList, true);
+        AuthenticatedUser principal = new AuthenticatedUser(1L, "testuser", 0);
+        when(jwtService.extractAuthenticatedUser("valid")).thenReturn(Optional.of(principal));
+        when(userService.findCredentialVersion(1L)).thenReturn(0);
+
+        for (int i = 0; i < 3; i++) {
+            MockHttpServletRequest next = new MockHttpServletRequest();
+            next.setCookies(new Cookie("authToken", "valid"));
+            stateless.doFilter(next, new MockHttpServletResponse(), filterChain);
+            assertEquals(principal, SecurityContextHolder.getContext().getAuthentication().getPrincipal());
+            SecurityContextHolder.clearContext();
+        }
+
+        verify(userService, times(1)).findCredentialVersion(1L);
+        verify(userService, never()).loadUserByUsername(any());
+    }
+
+    @Test
+    void doFilter_InStatelessMode_ShouldReject_WhenTheCredentialVersionHasChanged() throws Exception {
+        JwtAuthenticationFilter stateless = new JwtAuthenticationFilter(
+                jwtService, userService, principalCache, credentialVersionCache, tokenRevocationList, true);
+        request.setCookies(new Cookie("authToken", "stale"));
+        when(jwtService.extractAuthenticatedUser("stale"))
+                .thenReturn(Optional.of(new AuthenticatedUser(1L, "testuser", 0)));
+        when(userService.findCredentialVersion(1L)).thenReturn(1);
+
+        stateless.doFilter(request, response, filterChain);
+
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        verify(userService, never()).loadUserByUsername(any());
+        verify(filterChain).doFilter(request, response);
+    }
+
+    @Test
+    void doFilter_ShouldLeaveContextEmpty_WhenTheTokenWasRevoked_WithoutLoadingTheUser() throws Exception {
+        request.setCookies(new Cookie("authToken", "revoked"));
+        tokenRevocationList.add("revoked-jti", Instant.now().plusSeconds(3600));
+        when(jwtService.extractTokenId("revoked")).thenReturn("revoked-jti");
+
+        filter.doFilter(request, response, filterChain);
+
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        verify(userService, never()).loadUserByUsername(any());
         verify(filterChain).doFilter(request, response);
     }
 }
@@ -0,0 +1,124 @@
+package hu.financial.security;
+
+import hu.financial.exception.PasswordHashingUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BoundedPasswordEncoderTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final CountDownLatch started = new CountDownLatch(1);
+
+    private BoundedPasswordEncoder encoder;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        if (encoder != null) {
+            encoder.shutdown();
+        }
+    }
+
+    @Test
+    void encodeAndMatches_DelegateToTheWrappedEncoder_OnAWorkerThread() {
+        encoder = new BoundedPasswordEncoder(new ThreadRecordingEncoder(), 1, 1);
+
+        assertTrue(encoder.encode("secret").startsWith("password-hash-"));
+        assertTrue(encoder.matches("secret", "{plain}secret"));
+        assertFalse(encoder.matches("secret", "{plain}other"));
+    }
+
+    @Test
+    void encode_WhenWorkersAndQueueAreFull_RejectsImmediately() throws Exception {
+        encoder = new BoundedPasswordEncoder(new BlockingEncoder(), 1, 1);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        encoder.bindTo(registry);
+
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> encoder.encode("first"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> encoder.encode("second"));
+        waitForQueueDepth(1);
+
+        assertThrows(PasswordHashingUnavailableException.class, () -> encoder.encode("third"));
+        assertEquals(1.0, registry.get("security.password.hash.rejected").counter().count());
+        assertEquals(1.0, registry.get("security.password.hash.queue").gauge().value());
+
+        release.countDown();
+        assertEquals("first", running.get(5, TimeUnit.SECONDS));
+        assertEquals("second", queued.get(5, TimeUnit.SECONDS));
+        assertEquals(2, registry.get("security.password.hash.duration").timer().count());
+    }
+
+    @Test
+    void encode_PropagatesTheDelegatesRuntimeException() {
+        encoder = new BoundedPasswordEncoder(new FailingEncoder(), 1, 1);
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> encoder.encode("secret"));
+        assertEquals("rawPassword cannot be null", exception.getMessage());
+    }
+
+    private void waitForQueueDepth(int depth) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (encoder.queueDepth() < depth && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(depth, encoder.queueDepth());
+    }
+
+    private static class ThreadRecordingEncoder implements PasswordEncoder {
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            return Thread.currentThread().getName();
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return encodedPassword.equals("{plain}" + rawPassword);
+        }
+    }
+
+    private class BlockingEncoder implements PasswordEncoder {
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return rawPassword.toString();
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return false;
+        }
+    }
+
+    private static class FailingEncoder implements PasswordEncoder {
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            throw new IllegalArgumentException("rawPassword cannot be null");
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package hu.financial.security;
+
+import hu.financial.config.FilterRegistrationConfig;
+import hu.financial.config.SecurityConfig;
+import hu.financial.controller.AuthenticationController;
+import hu.financial.filter.JwtAuthenticationFilter;
+import hu.financial.mapper.UserMapper;
+import hu.financial.service.AuthenticationService;
+import hu.financial.service.JwtService;
+import hu.financial.service.RefreshTokenService;
+import hu.financial.service.TokenRevocationService;
+import hu.financial.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest(classes = ForwardedLoginAddressTest.TestApplication.class,
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "security.login-throttle.account-free-attempts=100",
+                "security.login-throttle.address-free-attempts=1",
+                "security.login-throttle.base-delay=1m",
+                "spring.autoconfigure.exclude="
+                        + "org.springframework.boot.jdbc.autoconfigure.DataSourceAutoConfiguration,"
+                        + "org.springframework.boot.hibernate.autoconfigure.HibernateJpaAutoConfiguration,"
+                        + "org.springframework.boot.flyway.autoconfigure.FlywayAutoConfiguration,"
+                        + "org.springframework.boot.data.jpa.autoconfigure.DataJpaRepositoriesAutoConfiguration"
+        })
+@ActiveProfiles("test")
+class ForwardedLoginAddressTest {
+
+    @Configuration
+    @EnableAutoConfiguration
+    @Import({ AuthenticationController.class, SecurityConfig.class, JwtAuthenticationFilter.class,
+            CookieProperties.class, RestAccessDeniedHandler.class, SecurityCookieFactory.class,
+            CsrfCookieFilter.class, JwtService.class, PrincipalCache.class, CredentialVersionCache.class,
+            TokenRevocationList.class, LoginThrottle.class, FilterRegistrationConfig.class })
+    static class TestApplication {
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @MockitoBean
+    private AuthenticationService authenticationService;
+
+    @MockitoBean
+    private UserMapper userMapper;
+
+    @MockitoBean
+    private UserService userService;
+
+    @MockitoBean
+    private RefreshTokenService refreshTokenService;
+
+    @MockitoBean
+    private TokenRevocationService tokenRevocationService;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @BeforeEach
+    void setUp() {
+        when(authenticationService.authenticate(any())).thenThrow(new BadCredentialsException("bad"));
+    }
+
+    private int login(String forwardedFor, String email) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .header("X-Forwarded-For", forwardedFor)
+                .POST(HttpRequest.BodyPublishers.ofString(
+                        "{\"email\":\"" + email + "\",\"password\":\"wrong-password\"}"))
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    @Test
+    void login_FromDifferentForwardedAddresses_DoesNotShareTheAddressBucket() throws Exception {
+        assertEquals(401, login("203.0.113.10", "first@example.com"));
+        assertEquals(429, login("203.0.113.10", "second@example.com"));
+
+        assertEquals(401, login("203.0.113.20", "third@example.com"));
+    }
+
+    @Test
+    void login_ForgedLeftmostForwardedAddress_IsIgnoredBehindAnUntrustedHop() throws Exception {
+        assertEquals(401, login("198.51.100.1, 203.0.113.30", "fourth@example.com"));
+        assertEquals(429, login("198.51.100.2, 203.0.113.30", "fifth@example.com"));
+    }
+}
@@ -0,0 +1,135 @@
+package hu.financial.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LoginThrottleTest {
+
+    private static final String ACCOUNT = "test@example.com";
+    private static final String ADDRESS = "203.0.113.7";
+
+    private MutableClock clock;
+    private LoginThrottle throttle;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock();
+        throttle = new LoginThrottle(3, 10, Duration.ofSeconds(1), Duration.ofMinutes(1),
+                Duration.ofMinutes(30), 8, 1000, clock);
+    }
+
+    @Test
+    void retryAfter_IsEmpty_WhileFailuresStayWithinTheFreeAttempts() {
+        throttle.recordFailure(ACCOUNT, ADDRESS);
+        throttle.recordFailure(ACCOUNT, ADDRESS);
+
+        assertEquals(Optional.empty(), throttle.retryAfter(ACCOUNT, ADDRESS));
+    }
+
+    @Test
+    void retryAfter_DoublesTheDelayWithEachFurtherFailure_UpToTheCap() {
+        failTimes(3);
+        assertEquals(Optional.of(Duration.ofSeconds(1)), throttle.retryAfter(ACCOUNT, ADDRESS));
+
+        failTimes(1);
+        assertEquals(Optional.of(Duration.ofSeconds(2)), throttle.retryAfter(ACCOUNT, ADDRESS));
+
+        failTimes(1);
+        assertEquals(Optional.of(Duration.ofSeconds(4)), throttle.retryAfter(ACCOUNT, ADDRESS));
+
+        failTimes(10);
+        assertEquals(Optional.of(Duration.ofMinutes(1)), throttle.retryAfter(ACCOUNT, ADDRESS));
+    }
+
+    @Test
+    void retryAfter_TreatsTheAccountCaseInsensitively() {
+        failTimes(3);
+
+        assertTrue(throttle.retryAfter("TEST@example.com", "198.51.100.1").isPresent());
+    }
+
+    @Test
+    void retryAfter_BlocksAnAddressThatSpraysManyAccounts() {
+        for (int i = 0; i < 10; i++) {
+            throttle.recordFailure("victim" + i + "@example.com", ADDRESS);
+        }
+
+        assertTrue(throttle.retryAfter("fresh@example.com", ADDRESS).isPresent());
+        assertTrue(throttle.retryAfter("fresh@example.com", "198.51.100.1").isEmpty());
+    }
+
+    @Test
+    void recordSuccess_ClearsTheAccountButNotTheAddress() {
+        for (int i = 0; i < 10; i++) {
+            throttle.recordFailure(ACCOUNT, ADDRESS);
+        }
+
+        throttle.recordSuccess(ACCOUNT);
+
+        assertTrue(throttle.retryAfter(ACCOUNT, "198.51.100.1").isEmpty());
+        assertTrue(throttle.retryAfter(ACCOUNT, ADDRESS).isPresent());
+    }
+
+    @Test
+    void failures_AreForgottenAfterTheResetWindow() {
+        failTimes(3);
+
+        clock.advance(Duration.ofMinutes(31));
+
+        assertTrue(throttle.retryAfter(ACCOUNT, ADDRESS).isEmpty());
+    }
+
+    @Test
+    void throttledAttempts_AreCountedAsAvoidedHashes() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        throttle.bindTo(registry);
+        failTimes(3);
+
+        throttle.retryAfter(ACCOUNT, ADDRESS);
+        throttle.retryAfter(ACCOUNT, ADDRESS);
+
+        assertEquals(2, throttle.throttledCount());
+        assertEquals(2.0, registry.get("security.login.throttled").functionCounter().count());
+        assertEquals(3.0, registry.get("security.login.failures").functionCounter().count());
+    }
+
+    private void failTimes(int times) {
+        for (int i = 0; i < times; i++) {
+            throttle.recordFailure(ACCOUNT, ADDRESS);
+        }
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant now = Instant.parse("2026-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneId.of("UTC");
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package hu.financial.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenRevocationListTest {
+
+    private final Instant inAnHour = Instant.now().plusSeconds(3600);
+
+    @Test
+    void isRevoked_IsTrueOnlyForAddedTokenIds() {
+        TokenRevocationList list = new TokenRevocationList(100);
+        list.add("revoked", inAnHour);
+
+        assertTrue(list.isRevoked("revoked"));
+        assertFalse(list.isRevoked("still-valid"));
+        assertFalse(list.isRevoked(null));
+    }
+
+    @Test
+    void isRevoked_UnknownIds_AreMostlyAnsweredByTheBloomFilterAlone() {
+        TokenRevocationList list = new TokenRevocationList(1000);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        list.bindTo(registry);
+        for (int i = 0; i < 1000; i++) {
+            list.add("revoked-" + i, inAnHour);
+        }
+
+        for (int i = 0; i < 10000; i++) {
+            assertFalse(list.isRevoked("valid-" + i));
+        }
+
+        assertTrue(registry.get("security.revocation.exact-lookups").counter().count() < 500);
+    }
+
+    @Test
+    void pruneExpired_DropsEntriesPastTheirTokenExpiry() {
+        TokenRevocationList list = new TokenRevocationList(100);
+        list.add("expired", Instant.now().minusSeconds(1));
+        list.add("live", inAnHour);
+
+        list.pruneExpired(Instant.now());
+
+        assertEquals(1, list.size());
+        assertFalse(list.isRevoked("expired"));
+        assertTrue(list.isRevoked("live"));
+    }
+
+    @Test
+    void add_BeyondTheExpectedSize_GrowsTheFilterWithoutLosingEntries() {
+        TokenRevocationList list = new TokenRevocationList(10);
+        for (int i = 0; i < 100; i++) {
+            list.add("revoked-" + i, inAnHour);
+        }
+
+        for (int i = 0; i < 100; i++) {
+            assertTrue(list.isRevoked("revoked-" + i));
+        }
+    }
+}
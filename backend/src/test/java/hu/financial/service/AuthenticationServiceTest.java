@@ -11,6 +11,7 @@ import hu.financial.exception.user.UserNotFoundException;
 import hu.financial.dto.user.RegisterUserDto;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.BeforeEach;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.core.AuthenticationException;
 import hu.financial.dto.user.LoginUserDto;
 import java.time.LocalDateTime;
@@ -36,6 +37,9 @@ public class AuthenticationServiceTest {
   @Mock
   private PasswordEncoder passwordEncoder;
 
+  @Mock
+  private LastLoginRecorder lastLoginRecorder;
+
   private User testUser;
   private RegisterUserDto registerUserDto;
   private LoginUserDto loginUserDto;
@@ -54,7 +58,7 @@ public class AuthenticationServiceTest {
     when(userRepository.findByEmail(registerUserDto.email())).thenReturn(null);
     when(userRepository.findByUsername(registerUserDto.username())).thenReturn(null);
     when(passwordEncoder.encode(registerUserDto.password())).thenReturn("encodedPassword");
-    when(userRepository.save(any(User.class))).thenReturn(testUser);
+    when(userRepository.saveAndFlush(any(User.class))).thenReturn(testUser);
 
     // Act
     User result = authenticationService.signup(registerUserDto);
@@ -63,7 +67,7 @@ public class AuthenticationServiceTest {
     assertNotNull(result);
     assertEquals(testUser, result);
     verify(passwordEncoder).encode(registerUserDto.password());
-    verify(userRepository).save(any(User.class));
+    verify(userRepository).saveAndFlush(any(User.class));
   }
 
   @Test
@@ -71,7 +75,7 @@ public class AuthenticationServiceTest {
     when(userRepository.findByEmail(registerUserDto.email())).thenReturn(testUser);
 
     assertThrows(DuplicateUserException.class, () -> authenticationService.signup(registerUserDto));
-    verify(userRepository, never()).save(any(User.class));
+    verify(userRepository, never()).saveAndFlush(any(User.class));
   }
 
   @Test
@@ -80,7 +84,16 @@ public class AuthenticationServiceTest {
     when(userRepository.findByUsername(registerUserDto.username())).thenReturn(testUser);
 
     assertThrows(DuplicateUserException.class, () -> authenticationService.signup(registerUserDto));
-    verify(userRepository, never()).save(any(User.class));
+    verify(userRepository, never()).saveAndFlush(any(User.class));
+  }
+
+  @Test
+  void signup_ShouldThrowDuplicateUser_WhenTheUniqueConstraintRejectsTheInsert() {
+    when(passwordEncoder.encode(registerUserDto.password())).thenReturn("encodedPassword");
+    when(userRepository.saveAndFlush(any(User.class)))
+        .thenThrow(new DataIntegrityViolationException("uk_users_email"));
+
+    assertThrows(DuplicateUserException.class, () -> authenticationService.signup(registerUserDto));
   }
 
   @Test
@@ -89,8 +102,7 @@ public class AuthenticationServiceTest {
     Authentication authentication = mock(Authentication.class);
     // Arrange
     when(authenticationManager.authenticate(any())).thenReturn(authentication);
-    when(userRepository.findByEmail(loginUserDto.email())).thenReturn(testUser);
-    when(userRepository.save(any(User.class))).thenReturn(testUser);
+    when(authentication.getPrincipal()).thenReturn(testUser);
 
     // Act
     User result = authenticationService.authenticate(loginUserDto);
@@ -98,9 +110,10 @@ public class AuthenticationServiceTest {
     // Assert
     assertNotNull(result);
     assertEquals(testUser, result);
+    assertNotNull(result.getLastLogin());
     verify(authenticationManager).authenticate(any());
-    verify(userRepository).findByEmail(loginUserDto.email());
-    verify(userRepository).save(testUser);
+    verify(lastLoginRecorder).record(testUser.getId(), result.getLastLogin());
+    verifyNoInteractions(userRepository);
   }
 
   @Test
@@ -114,15 +127,15 @@ public class AuthenticationServiceTest {
     });
     verify(authenticationManager).authenticate(any());
     verify(userRepository, never()).findByEmail(any());
+    verifyNoInteractions(lastLoginRecorder);
   }
 
   @Test
-  void authenticate_ShouldThrowUserNotFound_WhenUserMissingAfterAuthentication() {
+  void authenticate_ShouldThrowUserNotFound_WhenPrincipalIsNotAUser() {
     when(authenticationManager.authenticate(any())).thenReturn(mock(Authentication.class));
-    when(userRepository.findByEmail(loginUserDto.email())).thenReturn(null);
 
     assertThrows(UserNotFoundException.class, () -> authenticationService.authenticate(loginUserDto));
-    verify(userRepository).findByEmail(loginUserDto.email());
-    verify(userRepository, never()).save(any(User.class));
+    verify(userRepository, never()).saveAndFlush(any(User.class));
+    verifyNoInteractions(lastLoginRecorder);
   }
 }
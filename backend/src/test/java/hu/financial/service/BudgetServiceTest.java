@@ -6,6 +6,8 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.ArgumentMatchers;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -13,14 +15,18 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import hu.financial.repository.BudgetRepository;
+import hu.financial.repository.projection.BudgetRow;
+import hu.financial.repository.projection.UpsertedBudget;
 import hu.financial.model.Budget;
 import hu.financial.model.User;
 import hu.financial.model.Category;
 import hu.financial.dto.budget.BudgetFilter;
+import hu.financial.dto.budget.BudgetSheetItemDto;
 import hu.financial.dto.budget.CreateBudgetDto;
 import hu.financial.exception.budget.BudgetNotFoundException;
 import hu.financial.exception.budget.BudgetValidationException;
 import hu.financial.exception.budget.DuplicateBudgetException;
+import hu.financial.event.UserDataChangedEvent;
 import hu.financial.exception.category.CategoryNotFoundException;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -29,6 +35,7 @@ import static org.mockito.Mockito.*;
 import org.junit.jupiter.api.BeforeEach;
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.List;
 import java.util.Arrays;
 import java.util.Optional;
@@ -45,6 +52,12 @@ public class BudgetServiceTest {
     @Mock
     private UserService userService;
 
+    @Mock
+    private ListCountCache listCountCache;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private BudgetService budgetService;
 
@@ -63,12 +76,29 @@ public class BudgetServiceTest {
 
     @Test
     void createBudget_ShouldReturnSavedBudget_WhenValid() {
-        when(budgetRepository.save(any(Budget.class))).thenReturn(testBudget);
+        when(budgetRepository.saveAndFlush(any(Budget.class))).thenReturn(testBudget);
 
         Budget result = budgetService.createBudget(testBudget);
 
         assertEquals(testBudget, result);
-        verify(budgetRepository).save(testBudget);
+        verify(budgetRepository).saveAndFlush(testBudget);
+    }
+
+    @Test
+    void createBudget_ShouldPublishAChangeForTheOwner_SoCachedTotalsAreDropped() {
+        when(budgetRepository.saveAndFlush(any(Budget.class))).thenReturn(testBudget);
+
+        budgetService.createBudget(testBudget);
+
+        verify(eventPublisher).publishEvent(new UserDataChangedEvent(testUser.getId()));
+    }
+
+    @Test
+    void createBudget_ShouldNotPublishAChange_WhenValidationFails() {
+        Budget invalid = new Budget(2L, BigDecimal.ZERO, LocalDate.now(), testUser, testCategory);
+
+        assertThrows(BudgetValidationException.class, () -> budgetService.createBudget(invalid));
+        verifyNoInteractions(eventPublisher);
     }
 
     @Test
@@ -76,28 +106,119 @@ public class BudgetServiceTest {
         Budget invalid = new Budget(2L, BigDecimal.ZERO, LocalDate.now(), testUser, testCategory);
 
         assertThrows(BudgetValidationException.class, () -> budgetService.createBudget(invalid));
-        verify(budgetRepository, never()).save(any(Budget.class));
+        verify(budgetRepository, never()).saveAndFlush(any(Budget.class));
     }
 
     @Test
-    void createBudget_ShouldThrowDuplicate_WhenBudgetAlreadyExistsForUserCategoryAndMonth() {
-        when(budgetRepository.findByUserAndCategoryAndMonth(testUser, testCategory, testBudget.getMonth()))
-                .thenReturn(testBudget);
+    void createBudget_ShouldThrowDuplicate_WhenTheUniqueConstraintRejectsTheInsert() {
+        when(budgetRepository.saveAndFlush(testBudget))
+                .thenThrow(new DataIntegrityViolationException("uk_budgets_user_id_category_id_month_value"));
 
         assertThrows(DuplicateBudgetException.class, () -> budgetService.createBudget(testBudget));
-        verify(budgetRepository, never()).save(any(Budget.class));
+        verify(eventPublisher, never()).publishEvent(any());
     }
 
     @Test
-    void createBudget_ShouldSucceed_WhenNoExistingBudgetForUserCategoryAndMonth() {
-        when(budgetRepository.findByUserAndCategoryAndMonth(testUser, testCategory, testBudget.getMonth()))
-                .thenReturn(null);
-        when(budgetRepository.save(any(Budget.class))).thenReturn(testBudget);
+    void createBudget_ShouldInsertWithoutAPreCheckQuery() {
+        when(budgetRepository.saveAndFlush(any(Budget.class))).thenReturn(testBudget);
 
         Budget result = budgetService.createBudget(testBudget);
 
         assertEquals(testBudget, result);
-        verify(budgetRepository).save(testBudget);
+        verify(budgetRepository).saveAndFlush(testBudget);
+        verifyNoMoreInteractions(budgetRepository);
+    }
+
+    @Test
+    void upsertOwnedBudget_ShouldStoreTheScaledAmountOnTheFirstDayOfTheMonth() {
+        UpsertedBudget upserted = upserted(4L, "120.50", testCategory.getId());
+        when(budgetRepository.upsertOwned(testUser.getId(), testCategory.getId(), LocalDate.of(2026, 3, 1),
+                new BigDecimal("120.50"))).thenReturn(Optional.of(upserted));
+
+        BudgetRow result = budgetService.upsertOwnedBudget(testUser.getId(), testCategory.getId(),
+                YearMonth.of(2026, 3), new BigDecimal("120.5"));
+
+        assertEquals(new BudgetRow(4L, new BigDecimal("120.50"), LocalDate.of(2026, 3, 1), testCategory.getId(),
+                testCategory.getName()), result);
+        verify(eventPublisher).publishEvent(new UserDataChangedEvent(testUser.getId()));
+    }
+
+    @Test
+    void upsertOwnedBudget_ShouldThrowCategoryNotFound_WhenTheCategoryIsNotTheUsers() {
+        when(budgetRepository.upsertOwned(testUser.getId(), 99L, LocalDate.of(2026, 3, 1), new BigDecimal("10.00")))
+                .thenReturn(Optional.empty());
+
+        assertThrows(CategoryNotFoundException.class, () -> budgetService.upsertOwnedBudget(testUser.getId(), 99L,
+                YearMonth.of(2026, 3), new BigDecimal("10")));
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void upsertOwnedBudget_ShouldThrowValidation_WhenAmountNotPositive() {
+        assertThrows(BudgetValidationException.class, () -> budgetService.upsertOwnedBudget(testUser.getId(),
+                testCategory.getId(), YearMonth.of(2026, 3), BigDecimal.ZERO));
+        verifyNoInteractions(budgetRepository);
+    }
+
+    @Test
+    void upsertOwnedMonth_ShouldPassTheWholeSheetToOneStatement() {
+        when(budgetRepository.upsertOwnedMonth(testUser.getId(), LocalDate.of(2026, 3, 1), new Long[] { 1L, 2L },
+                new BigDecimal[] { new BigDecimal("120.00"), new BigDecimal("80.00") }))
+                .thenReturn(List.of(upserted(4L, "120.00", 1L), upserted(5L, "80.00", 2L)));
+
+        List<BudgetRow> result = budgetService.upsertOwnedMonth(testUser.getId(), YearMonth.of(2026, 3), List.of(
+                new BudgetSheetItemDto(1L, new BigDecimal("120")), new BudgetSheetItemDto(2L, new BigDecimal("80"))));
+
+        assertEquals(List.of(4L, 5L), result.stream().map(BudgetRow::id).toList());
+        verify(eventPublisher).publishEvent(new UserDataChangedEvent(testUser.getId()));
+    }
+
+    @Test
+    void upsertOwnedMonth_ShouldThrowCategoryNotFound_NamingTheCategoryThatWasNotStored() {
+        when(budgetRepository.upsertOwnedMonth(testUser.getId(), LocalDate.of(2026, 3, 1), new Long[] { 1L, 99L },
+                new BigDecimal[] { new BigDecimal("120.00"), new BigDecimal("80.00") }))
+                .thenReturn(List.of(upserted(4L, "120.00", 1L)));
+
+        CategoryNotFoundException exception = assertThrows(CategoryNotFoundException.class,
+                () -> budgetService.upsertOwnedMonth(testUser.getId(), YearMonth.of(2026, 3), List.of(
+                        new BudgetSheetItemDto(1L, new BigDecimal("120")),
+                        new BudgetSheetItemDto(99L, new BigDecimal("80")))));
+
+        assertTrue(exception.getMessage().contains("99"));
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void upsertOwnedMonth_ShouldRejectASheetListingACategoryTwice() {
+        assertThrows(BudgetValidationException.class,
+                () -> budgetService.upsertOwnedMonth(testUser.getId(), YearMonth.of(2026, 3), List.of(
+                        new BudgetSheetItemDto(1L, new BigDecimal("120")),
+                        new BudgetSheetItemDto(1L, new BigDecimal("80")))));
+        verifyNoInteractions(budgetRepository);
+    }
+
+    private UpsertedBudget upserted(Long id, String amount, Long categoryId) {
+        return new UpsertedBudget() {
+            public Long getId() {
+                return id;
+            }
+
+            public BigDecimal getAmount() {
+                return new BigDecimal(amount);
+            }
+
+            public LocalDate getMonth() {
+                return LocalDate.of(2026, 3, 1);
+            }
+
+            public Long getCategoryId() {
+                return categoryId;
+            }
+
+            public String getCategoryName() {
+                return testCategory.getName();
+            }
+        };
     }
 
     @Test
@@ -126,127 +247,89 @@ public class BudgetServiceTest {
     }
 
     @Test
-    void getBudgetById_ShouldReturnBudget_WhenExists() {
-        when(budgetRepository.findById(testBudget.getId())).thenReturn(Optional.of(testBudget));
-
-        Budget result = budgetService.getBudgetById(testBudget.getId());
+    void getOwnedBudgetRow_ShouldReturnRow_WhenOwned() {
+        BudgetRow row = new BudgetRow(testBudget.getId(), testBudget.getAmount(), testBudget.getMonth(),
+                testCategory.getId(), testCategory.getName());
+        when(budgetRepository.findOwnedRow(testBudget.getId(), testUser.getId())).thenReturn(Optional.of(row));
 
-        assertEquals(testBudget, result);
-        verify(budgetRepository).findById(testBudget.getId());
+        assertEquals(row, budgetService.getOwnedBudgetRow(testBudget.getId(), testUser.getId()));
     }
 
     @Test
-    void getBudgetById_ShouldThrowNotFound_WhenMissing() {
-        when(budgetRepository.findById(99L)).thenReturn(Optional.empty());
-
-        assertThrows(BudgetNotFoundException.class, () -> budgetService.getBudgetById(99L));
-    }
+    void getOwnedBudgetRow_ShouldThrowNotFound_WhenMissingOrOwnedByAnotherUser() {
+        when(budgetRepository.findOwnedRow(99L, testUser.getId())).thenReturn(Optional.empty());
 
-    @Test
-    void updateBudget_ShouldReturnUpdatedBudget_WhenExists() {
-        when(budgetRepository.findById(testBudget.getId())).thenReturn(Optional.of(testBudget));
-        when(budgetRepository.save(any(Budget.class))).thenReturn(testBudget);
-
-        Budget result = budgetService.updateBudget(testBudget.getId(), testBudget);
-
-        assertEquals(testBudget, result);
-        verify(budgetRepository).findById(testBudget.getId());
-        verify(budgetRepository).save(testBudget);
+        assertThrows(BudgetNotFoundException.class, () -> budgetService.getOwnedBudgetRow(99L, testUser.getId()));
     }
 
     @Test
-    void updateBudget_ShouldReplaceAmountMonthAndCategory_WhenFullReplacementRequested() {
+    void updateOwnedBudget_ShouldReplaceAmountMonthAndCategoryInOneStatement() {
         Category newCategory = new Category("newcategory", "newdescription", testUser);
         newCategory.setId(2L);
         LocalDate newMonth = LocalDate.now().plusMonths(1);
         Budget replacement = new Budget(null, new BigDecimal("250.00"), newMonth, testUser, newCategory);
+        when(budgetRepository.updateOwned(testBudget.getId(), testUser.getId(), new BigDecimal("250.00"), newMonth,
+                newCategory)).thenReturn(1);
 
-        when(budgetRepository.findById(testBudget.getId())).thenReturn(Optional.of(testBudget));
-        when(budgetRepository.save(any(Budget.class))).thenAnswer(invocation -> invocation.getArgument(0));
-
-        Budget result = budgetService.updateBudget(testBudget.getId(), replacement);
+        Budget result = budgetService.updateOwnedBudget(testBudget.getId(), replacement);
 
+        assertEquals(testBudget.getId(), result.getId());
         assertEquals(new BigDecimal("250.00"), result.getAmount());
         assertEquals(newMonth, result.getMonth());
         assertEquals(newCategory, result.getCategory());
+        verify(budgetRepository, never()).findById(any());
+        verify(budgetRepository, never()).save(any(Budget.class));
+        verify(eventPublisher).publishEvent(new UserDataChangedEvent(testUser.getId()));
     }
 
     @Test
-    void updateBudget_ShouldThrowValidation_WhenAmountNotPositive() {
+    void updateOwnedBudget_ShouldThrowValidation_WhenAmountNotPositive() {
         Budget replacement = new Budget(null, BigDecimal.ZERO, LocalDate.now(), testUser, testCategory);
-        when(budgetRepository.findById(testBudget.getId())).thenReturn(Optional.of(testBudget));
 
         assertThrows(BudgetValidationException.class,
-                () -> budgetService.updateBudget(testBudget.getId(), replacement));
-        verify(budgetRepository, never()).save(any(Budget.class));
+                () -> budgetService.updateOwnedBudget(testBudget.getId(), replacement));
+        verify(budgetRepository, never()).updateOwned(any(), any(), any(), any(), any());
     }
 
     @Test
-    void updateBudget_ShouldThrowDuplicate_WhenCategoryChangesToCollideWithAnotherBudget() {
+    void updateOwnedBudget_ShouldThrowDuplicate_WhenTheUniqueConstraintRejectsTheNewCategoryAndMonth() {
         Category newCategory = new Category("newcategory", "newdescription", testUser);
         newCategory.setId(2L);
         Budget replacement = new Budget(null, new BigDecimal("250.00"), testBudget.getMonth(), testUser, newCategory);
-        Budget conflicting = new Budget(3L, new BigDecimal("999.00"), testBudget.getMonth(), testUser, newCategory);
-
-        when(budgetRepository.findById(testBudget.getId())).thenReturn(Optional.of(testBudget));
-        when(budgetRepository.findByUserAndCategoryAndMonth(testUser, newCategory, testBudget.getMonth()))
-                .thenReturn(conflicting);
-
-        assertThrows(DuplicateBudgetException.class, () -> budgetService.updateBudget(testBudget.getId(), replacement));
-        verify(budgetRepository, never()).save(any(Budget.class));
-    }
-
-    @Test
-    void updateBudget_ShouldThrowDuplicate_WhenMonthChangesToCollideWithAnotherBudget() {
-        LocalDate newMonth = testBudget.getMonth().plusMonths(1);
-        Budget replacement = new Budget(null, new BigDecimal("250.00"), newMonth, testUser, testCategory);
-        Budget conflicting = new Budget(3L, new BigDecimal("999.00"), newMonth, testUser, testCategory);
+        when(budgetRepository.updateOwned(testBudget.getId(), testUser.getId(), new BigDecimal("250.00"),
+                testBudget.getMonth(), newCategory))
+                .thenThrow(new DataIntegrityViolationException("uk_budgets_user_id_category_id_month_value"));
 
-        when(budgetRepository.findById(testBudget.getId())).thenReturn(Optional.of(testBudget));
-        when(budgetRepository.findByUserAndCategoryAndMonth(testUser, testCategory, newMonth))
-                .thenReturn(conflicting);
-
-        assertThrows(DuplicateBudgetException.class, () -> budgetService.updateBudget(testBudget.getId(), replacement));
-        verify(budgetRepository, never()).save(any(Budget.class));
+        assertThrows(DuplicateBudgetException.class,
+                () -> budgetService.updateOwnedBudget(testBudget.getId(), replacement));
+        verify(eventPublisher, never()).publishEvent(any());
     }
 
     @Test
-    void updateBudget_ShouldNotCheckForDuplicate_WhenOnlyAmountChanges() {
-        Budget replacement = new Budget(null, new BigDecimal("999.00"), testBudget.getMonth(), testUser, testCategory);
-
-        when(budgetRepository.findById(testBudget.getId())).thenReturn(Optional.of(testBudget));
-        when(budgetRepository.save(any(Budget.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    void updateOwnedBudget_ShouldThrowNotFound_WhenNoOwnedRowMatches() {
+        when(budgetRepository.updateOwned(99L, testUser.getId(), testBudget.getAmount(), testBudget.getMonth(),
+                testCategory)).thenReturn(0);
 
-        Budget result = budgetService.updateBudget(testBudget.getId(), replacement);
-
-        assertEquals(new BigDecimal("999.00"), result.getAmount());
-        verify(budgetRepository, never()).findByUserAndCategoryAndMonth(any(), any(), any());
-    }
-
-    @Test
-    void updateBudget_ShouldThrowNotFound_WhenMissing() {
-        when(budgetRepository.findById(99L)).thenReturn(Optional.empty());
-
-        assertThrows(BudgetNotFoundException.class, () -> budgetService.updateBudget(99L, testBudget));
-        verify(budgetRepository, never()).save(any(Budget.class));
+        assertThrows(BudgetNotFoundException.class, () -> budgetService.updateOwnedBudget(99L, testBudget));
+        verify(eventPublisher, never()).publishEvent(any());
     }
 
     @Test
-    void deleteBudget_ShouldDelete_WhenExists() {
-        when(budgetRepository.findById(testBudget.getId())).thenReturn(Optional.of(testBudget));
-        doNothing().when(budgetRepository).delete(testBudget);
+    void deleteOwnedBudget_ShouldDeleteInOneStatement_WhenOwned() {
+        when(budgetRepository.deleteOwned(testBudget.getId(), testUser.getId())).thenReturn(1);
 
-        budgetService.deleteBudget(testBudget.getId());
+        budgetService.deleteOwnedBudget(testBudget.getId(), testUser.getId());
 
-        verify(budgetRepository).delete(testBudget);
+        verify(budgetRepository, never()).findById(any());
+        verify(eventPublisher).publishEvent(new UserDataChangedEvent(testUser.getId()));
     }
 
     @Test
-    void deleteBudget_ShouldThrowNotFound_WhenMissing() {
-        when(budgetRepository.findById(99L)).thenReturn(Optional.empty());
+    void deleteOwnedBudget_ShouldThrowNotFound_WhenMissingOrOwnedByAnotherUser() {
+        when(budgetRepository.deleteOwned(99L, testUser.getId())).thenReturn(0);
 
-        assertThrows(BudgetNotFoundException.class, () -> budgetService.deleteBudget(99L));
-        verify(budgetRepository, never()).delete(any(Budget.class));
+        assertThrows(BudgetNotFoundException.class, () -> budgetService.deleteOwnedBudget(99L, testUser.getId()));
+        verify(eventPublisher, never()).publishEvent(any());
     }
 
     @Test
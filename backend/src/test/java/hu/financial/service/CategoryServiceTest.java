@@ -5,7 +5,10 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import hu.financial.repository.CategoryRepository;
+import hu.financial.event.UserDataChangedEvent;
 import hu.financial.model.Category;
 import hu.financial.model.User;
 import hu.financial.exception.category.CategoryNotFoundException;
@@ -29,6 +32,9 @@ public class CategoryServiceTest {
   @Mock
   private CategoryRepository categoryRepository;
 
+  @Mock
+  private ApplicationEventPublisher eventPublisher;
+
   @InjectMocks
   private CategoryService categoryService;
 
@@ -48,12 +54,12 @@ public class CategoryServiceTest {
   @Test
   void createCategory_ShouldReturnSaved_WhenNameUnique() {
     when(categoryRepository.findByUserAndName(testCategory.getUser(), testCategory.getName())).thenReturn(null);
-    when(categoryRepository.save(any(Category.class))).thenReturn(testCategory);
+    when(categoryRepository.saveAndFlush(any(Category.class))).thenReturn(testCategory);
 
     Category result = categoryService.createCategory(testCategory);
 
     assertEquals(testCategory, result);
-    verify(categoryRepository).save(testCategory);
+    verify(categoryRepository).saveAndFlush(testCategory);
   }
 
   @Test
@@ -61,7 +67,16 @@ public class CategoryServiceTest {
     when(categoryRepository.findByUserAndName(testCategory.getUser(), testCategory.getName())).thenReturn(testCategory);
 
     assertThrows(DuplicateCategoryException.class, () -> categoryService.createCategory(testCategory));
-    verify(categoryRepository, never()).save(any(Category.class));
+    verify(categoryRepository, never()).saveAndFlush(any(Category.class));
+  }
+
+  @Test
+  void createCategory_ShouldThrowDuplicate_WhenTheUniqueConstraintRejectsTheInsert() {
+    when(categoryRepository.saveAndFlush(testCategory))
+        .thenThrow(new DataIntegrityViolationException("uk_categories_user_id_name"));
+
+    assertThrows(DuplicateCategoryException.class, () -> categoryService.createCategory(testCategory));
+    verify(eventPublisher, never()).publishEvent(any());
   }
 
   @Test
@@ -82,89 +97,75 @@ public class CategoryServiceTest {
   }
 
   @Test
-  void updateCategory_ShouldReturnUpdated_WhenExists() {
-    when(categoryRepository.findById(testCategory.getId())).thenReturn(Optional.of(testCategory));
-    when(categoryRepository.save(any(Category.class))).thenReturn(testCategory);
+  void updateOwnedCategory_ShouldRenameInOneStatement_WhenOwnedByUser() {
+    when(categoryRepository.updateOwned(testCategory.getId(), testUser.getId(), testCategory.getName(),
+        testCategory.getDescription())).thenReturn(1);
 
-    Category result = categoryService.updateCategory(testCategory);
+    Category result = categoryService.updateOwnedCategory(testUser.getId(), testCategory);
 
     assertEquals(testCategory, result);
-    verify(categoryRepository).findById(testCategory.getId());
-    verify(categoryRepository).save(testCategory);
+    verify(categoryRepository, never()).findById(any());
+    verify(categoryRepository, never()).saveAndFlush(any(Category.class));
+    verify(eventPublisher).publishEvent(new UserDataChangedEvent(testUser.getId()));
   }
 
   @Test
-  void updateCategory_ShouldThrowDuplicate_WhenRenamedToNameAlreadyUsedByCurrentUser() {
+  void updateOwnedCategory_ShouldThrowDuplicate_WhenTheUniqueConstraintRejectsTheNewName() {
     Category renamed = new Category("newname", "testdescription", testUser);
     renamed.setId(testCategory.getId());
-    Category colliding = new Category("newname", "other", testUser);
-
-    when(categoryRepository.findById(testCategory.getId())).thenReturn(Optional.of(testCategory));
-    when(categoryRepository.findByUserAndName(testUser, "newname")).thenReturn(colliding);
+    when(categoryRepository.updateOwned(testCategory.getId(), testUser.getId(), "newname", "testdescription"))
+        .thenThrow(new DataIntegrityViolationException("uk_categories_user_id_name"));
 
-    assertThrows(DuplicateCategoryException.class, () -> categoryService.updateCategory(renamed));
-    verify(categoryRepository, never()).save(any(Category.class));
+    assertThrows(DuplicateCategoryException.class, () -> categoryService.updateOwnedCategory(testUser.getId(), renamed));
+    verify(eventPublisher, never()).publishEvent(any());
   }
 
   @Test
-  void updateCategory_ShouldThrowNotFound_WhenMissing() {
-    when(categoryRepository.findById(testCategory.getId())).thenReturn(Optional.empty());
+  void updateOwnedCategory_ShouldThrowNotFound_WhenMissingOrOwnedBySomeoneElse() {
+    when(categoryRepository.updateOwned(testCategory.getId(), 99L, testCategory.getName(),
+        testCategory.getDescription())).thenReturn(0);
 
-    assertThrows(CategoryNotFoundException.class, () -> categoryService.updateCategory(testCategory));
-    verify(categoryRepository, never()).save(any(Category.class));
+    assertThrows(CategoryNotFoundException.class, () -> categoryService.updateOwnedCategory(99L, testCategory));
+    verify(eventPublisher, never()).publishEvent(any());
   }
 
   @Test
-  void deleteCategory_ShouldDelete_WhenExistsAndOwnedByUser() {
-    when(categoryRepository.findById(testCategory.getId())).thenReturn(Optional.of(testCategory));
-    doNothing().when(categoryRepository).deleteById(testCategory.getId());
+  void deleteCategory_ShouldDeleteInOneStatement_WhenOwnedByUser() {
+    when(categoryRepository.deleteOwned(testCategory.getId(), testUser.getId())).thenReturn(1);
 
     categoryService.deleteCategory(testCategory.getId(), testUser.getId());
 
-    verify(categoryRepository).deleteById(testCategory.getId());
-  }
-
-  @Test
-  void deleteCategory_ShouldThrowNotFound_WhenMissing() {
-    when(categoryRepository.findById(99L)).thenReturn(Optional.empty());
-
-    assertThrows(CategoryNotFoundException.class, () -> categoryService.deleteCategory(99L, testUser.getId()));
-    verify(categoryRepository, never()).deleteById(any());
+    verify(categoryRepository, never()).findById(any());
+    verify(eventPublisher).publishEvent(new UserDataChangedEvent(testUser.getId()));
   }
 
   @Test
-  void deleteCategory_ShouldThrowNotFound_WhenOwnedBySomeoneElse() {
-    when(categoryRepository.findById(testCategory.getId())).thenReturn(Optional.of(testCategory));
+  void deleteCategory_ShouldThrowNotFound_WhenMissingOrOwnedBySomeoneElse() {
+    when(categoryRepository.deleteOwned(testCategory.getId(), 99L)).thenReturn(0);
 
     assertThrows(CategoryNotFoundException.class, () -> categoryService.deleteCategory(testCategory.getId(), 99L));
-    verify(categoryRepository, never()).deleteById(any());
+    verify(eventPublisher, never()).publishEvent(any());
   }
 
   @Test
   void getOwnedCategoryById_ShouldReturnCategory_WhenOwnedByUser() {
-    when(categoryRepository.findById(testCategory.getId())).thenReturn(Optional.of(testCategory));
+    when(categoryRepository.findByIdAndUserId(testCategory.getId(), testUser.getId()))
+        .thenReturn(Optional.of(testCategory));
 
     Category result = categoryService.getOwnedCategoryById(testCategory.getId(), testUser.getId());
 
     assertEquals(testCategory, result);
+    verify(categoryRepository, never()).findById(any());
   }
 
   @Test
-  void getOwnedCategoryById_ShouldThrowNotFound_WhenOwnedBySomeoneElse() {
-    when(categoryRepository.findById(testCategory.getId())).thenReturn(Optional.of(testCategory));
+  void getOwnedCategoryById_ShouldThrowNotFound_WhenMissingOrOwnedBySomeoneElse() {
+    when(categoryRepository.findByIdAndUserId(testCategory.getId(), 99L)).thenReturn(Optional.empty());
 
     assertThrows(CategoryNotFoundException.class,
         () -> categoryService.getOwnedCategoryById(testCategory.getId(), 99L));
   }
 
-  @Test
-  void getOwnedCategoryById_ShouldThrowNotFound_WhenMissing() {
-    when(categoryRepository.findById(99L)).thenReturn(Optional.empty());
-
-    assertThrows(CategoryNotFoundException.class,
-        () -> categoryService.getOwnedCategoryById(99L, testUser.getId()));
-  }
-
   @Test
   void getAllCategories_ShouldReturnList_WhenCategoriesExist() {
     when(categoryRepository.findAll()).thenReturn(Arrays.asList(testCategory));
@@ -0,0 +1,108 @@
+package hu.financial.service;
+
+import hu.financial.model.User;
+import hu.financial.security.AuthenticatedUser;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.security.SignatureException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JwtServiceTest {
+
+    private static final String SECRET = "c55cd57c34f1cf9256df41f67b9a7e790336c78734404a0759058bec199f7d32";
+
+    private static final String OTHER_SECRET = "0f1e2d3c4b5a69788796a5b4c3d2e1f00f1e2d3c4b5a69788796a5b4c3d2e1f0";
+
+    private JwtService jwtService;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        jwtService = new JwtService(SECRET, 3600L, 100);
+        user = new User("testuser", "encoded-password", "test@example.com");
+        user.setId(1L);
+    }
+
+    @Test
+    void extractUsername_ReturnsTheSubject_OfAGeneratedToken() {
+        String token = jwtService.generateToken(user);
+
+        assertEquals("testuser", jwtService.extractUsername(token));
+    }
+
+    @Test
+    void isTokenValid_AcceptsTheSameTokenRepeatedly_ForTheMatchingUser() {
+        String token = jwtService.generateToken(user);
+
+        assertTrue(jwtService.isTokenValid(token, user));
+        assertTrue(jwtService.isTokenValid(token, user));
+    }
+
+    @Test
+    void isTokenValid_RejectsTheToken_ForAnotherUser() {
+        String token = jwtService.generateToken(user);
+        User other = new User("other", "encoded-password", "other@example.com");
+
+        assertFalse(jwtService.isTokenValid(token, other));
+    }
+
+    @Test
+    void extractUsername_RejectsATokenSignedWithAnotherKey() {
+        String foreignToken = new JwtService(OTHER_SECRET, 3600L, 100).generateToken(user);
+
+        assertThrows(SignatureException.class, () -> jwtService.extractUsername(foreignToken));
+    }
+
+    @Test
+    void extractUsername_RejectsAnExpiredToken_InsteadOfCachingIt() {
+        JwtService expiringService = new JwtService(SECRET, -1L, 100);
+        String expiredToken = expiringService.generateToken(user);
+
+        assertThrows(ExpiredJwtException.class, () -> expiringService.extractUsername(expiredToken));
+        assertThrows(ExpiredJwtException.class, () -> expiringService.extractUsername(expiredToken));
+    }
+
+    @Test
+    void extractUsername_RejectsATamperedToken_EvenAfterTheOriginalWasCached() {
+        String token = jwtService.generateToken(user);
+        jwtService.extractUsername(token);
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        assertThrows(RuntimeException.class, () -> jwtService.extractUsername(tampered));
+    }
+
+    @Test
+    void extractAuthenticatedUser_ReadsIdAndCredentialVersion_FromTheClaims() {
+        user.setCredentialVersion(3);
+        String token = jwtService.generateToken(user);
+
+        AuthenticatedUser principal = jwtService.extractAuthenticatedUser(token).orElseThrow();
+
+        assertEquals(new AuthenticatedUser(1L, "testuser", 3), principal);
+    }
+
+    @Test
+    void extractAuthenticatedUser_IsEmpty_ForATokenWithoutIdentityClaims() {
+        User unsaved = new User("newuser", "encoded-password", "new@example.com");
+        String token = jwtService.generateToken(unsaved);
+
+        assertTrue(jwtService.extractAuthenticatedUser(token).isEmpty());
+    }
+
+    @Test
+    void generateToken_GivesEveryTokenItsOwnId() {
+        String first = jwtService.generateToken(user);
+        String second = jwtService.generateToken(user);
+
+        assertNotNull(jwtService.extractTokenId(first));
+        assertNotEquals(jwtService.extractTokenId(first), jwtService.extractTokenId(second));
+    }
+}
@@ -0,0 +1,90 @@
+package hu.financial.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class LastLoginRecorderTest {
+
+    private static final LocalDateTime EARLIER = LocalDateTime.of(2026, 3, 1, 9, 0);
+    private static final LocalDateTime LATER = LocalDateTime.of(2026, 3, 1, 9, 5);
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private LastLoginRecorder recorder;
+
+    @BeforeEach
+    void setUp() {
+        recorder = new LastLoginRecorder(jdbcTemplate, 2);
+    }
+
+    @Test
+    void record_KeepsOnlyTheLatestLoginPerUser() {
+        recorder.record(1L, LATER);
+        recorder.record(1L, EARLIER);
+
+        assertEquals(1, recorder.pendingCount());
+        recorder.flush();
+
+        List<Object[]> rows = capturedBatches(1).get(0);
+        assertEquals(1, rows.size());
+        assertEquals(Timestamp.valueOf(LATER), rows.get(0)[0]);
+        assertEquals(1L, rows.get(0)[1]);
+    }
+
+    @Test
+    void flush_WritesInBatchesOfTheConfiguredSize_AndDrainsThePendingLogins() {
+        recorder.record(1L, EARLIER);
+        recorder.record(2L, EARLIER);
+        recorder.record(3L, EARLIER);
+
+        recorder.flush();
+
+        List<List<Object[]>> batches = capturedBatches(2);
+        assertEquals(3, batches.get(0).size() + batches.get(1).size());
+        assertEquals(0, recorder.pendingCount());
+    }
+
+    @Test
+    void flush_WithNothingPending_DoesNotTouchTheDatabase() {
+        recorder.flush();
+
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void flush_WhenTheWriteFails_KeepsTheLoginsForTheNextFlush() {
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenThrow(new QueryTimeoutException("timeout"));
+        recorder.record(1L, EARLIER);
+
+        recorder.flush();
+
+        assertEquals(1, recorder.pendingCount());
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<List<Object[]>> capturedBatches(int expected) {
+        ArgumentCaptor<List<Object[]>> captor = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(expected)).batchUpdate(anyString(), captor.capture());
+        return captor.getAllValues();
+    }
+}
@@ -0,0 +1,82 @@
+package hu.financial.service;
+
+import hu.financial.dto.budget.BudgetFilter;
+import hu.financial.dto.transaction.TransactionFilter;
+import hu.financial.event.UserDataChangedEvent;
+import hu.financial.model.enums.TransactionType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.OptionalLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+class ListCountCacheTest {
+
+    private static final Long USER_ID = 1L;
+
+    private static final Long OTHER_USER_ID = 2L;
+
+    private ListCountCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new ListCountCache(Duration.ofMinutes(10), 100, 2);
+    }
+
+    @Test
+    void put_MakesTheTotalAvailablePerUserAndFilter() {
+        cache.put(USER_ID, TransactionFilter.unfiltered(), 42, cache.stamp(USER_ID));
+
+        assertEquals(OptionalLong.of(42), cache.get(USER_ID, TransactionFilter.unfiltered()));
+        assertEquals(OptionalLong.empty(), cache.get(USER_ID, new TransactionFilter(null, null, null, TransactionType.INCOME)));
+        assertEquals(OptionalLong.empty(), cache.get(OTHER_USER_ID, TransactionFilter.unfiltered()));
+    }
+
+    @Test
+    void filtersOfDifferentListingsNeverShareATotal() {
+        cache.put(USER_ID, TransactionFilter.unfiltered(), 42, cache.stamp(USER_ID));
+
+        assertEquals(OptionalLong.empty(), cache.get(USER_ID, BudgetFilter.unfiltered()));
+    }
+
+    @Test
+    void userDataChanged_DropsEveryTotalOfThatUserOnly() {
+        cache.put(USER_ID, TransactionFilter.unfiltered(), 42, cache.stamp(USER_ID));
+        cache.put(USER_ID, BudgetFilter.unfiltered(), 3, cache.stamp(USER_ID));
+        cache.put(OTHER_USER_ID, TransactionFilter.unfiltered(), 7, cache.stamp(OTHER_USER_ID));
+
+        cache.onUserDataChanged(new UserDataChangedEvent(USER_ID));
+
+        assertEquals(OptionalLong.empty(), cache.get(USER_ID, TransactionFilter.unfiltered()));
+        assertEquals(OptionalLong.empty(), cache.get(USER_ID, BudgetFilter.unfiltered()));
+        assertEquals(OptionalLong.of(7), cache.get(OTHER_USER_ID, TransactionFilter.unfiltered()));
+    }
+
+    @Test
+    void put_WithAStampTakenBeforeAnInvalidation_IsDropped() {
+        long stamp = cache.stamp(USER_ID);
+
+        cache.invalidate(USER_ID);
+        cache.put(USER_ID, TransactionFilter.unfiltered(), 42, stamp);
+
+        assertEquals(OptionalLong.empty(), cache.get(USER_ID, TransactionFilter.unfiltered()));
+        assertNotEquals(stamp, cache.stamp(USER_ID));
+    }
+
+    @Test
+    void put_BeyondTheFilterLimit_IsIgnoredButKnownFiltersStillUpdate() {
+        long stamp = cache.stamp(USER_ID);
+        cache.put(USER_ID, TransactionFilter.unfiltered(), 1, stamp);
+        cache.put(USER_ID, BudgetFilter.unfiltered(), 2, stamp);
+
+        cache.put(USER_ID, new BudgetFilter(YearMonth.of(2026, 1), null), 3, stamp);
+        cache.put(USER_ID, TransactionFilter.unfiltered(), 10, stamp);
+
+        assertEquals(OptionalLong.empty(), cache.get(USER_ID, new BudgetFilter(YearMonth.of(2026, 1), null)));
+        assertEquals(OptionalLong.of(10), cache.get(USER_ID, TransactionFilter.unfiltered()));
+    }
+}
@@ -0,0 +1,99 @@
+package hu.financial.service;
+
+import hu.financial.exception.user.InvalidRefreshTokenException;
+import hu.financial.model.RefreshToken;
+import hu.financial.model.User;
+import hu.financial.repository.RefreshTokenRepository;
+import hu.financial.security.TokenDigests;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RefreshTokenServiceTest {
+
+    @Mock
+    private RefreshTokenRepository refreshTokenRepository;
+
+    private RefreshTokenService refreshTokenService;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        refreshTokenService = new RefreshTokenService(refreshTokenRepository, 3600L);
+        user = new User("testuser", "encoded-password", "test@example.com");
+        user.setId(1L);
+    }
+
+    @Test
+    void issue_StoresOnlyTheHashOfTheToken() {
+        String token = refreshTokenService.issue(user);
+
+        ArgumentCaptor<RefreshToken> stored = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository).save(stored.capture());
+        assertEquals(TokenDigests.sha256(token), stored.getValue().getTokenHash());
+        assertNotEquals(token, stored.getValue().getTokenHash());
+        assertSame(user, stored.getValue().getUser());
+        assertTrue(stored.getValue().getExpiresAt().isAfter(LocalDateTime.now().plusMinutes(59)));
+    }
+
+    @Test
+    void rotate_ConsumesTheOldTokenAndIssuesANewOne() {
+        String hash = TokenDigests.sha256("old");
+        when(refreshTokenRepository.findWithUserByTokenHash(hash)).thenReturn(Optional.of(
+                new RefreshToken(hash, user, LocalDateTime.now().plusHours(1), LocalDateTime.now())));
+        when(refreshTokenRepository.deleteByTokenHash(hash)).thenReturn(1);
+
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate("old");
+
+        assertSame(user, rotation.user());
+        assertNotEquals("old", rotation.refreshToken());
+        verify(refreshTokenRepository).save(any(RefreshToken.class));
+    }
+
+    @Test
+    void rotate_WhenAConcurrentRefreshAlreadyConsumedTheToken_Rejects() {
+        String hash = TokenDigests.sha256("old");
+        when(refreshTokenRepository.findWithUserByTokenHash(hash)).thenReturn(Optional.of(
+                new RefreshToken(hash, user, LocalDateTime.now().plusHours(1), LocalDateTime.now())));
+        when(refreshTokenRepository.deleteByTokenHash(hash)).thenReturn(0);
+
+        assertThrows(InvalidRefreshTokenException.class, () -> refreshTokenService.rotate("old"));
+        verify(refreshTokenRepository, never()).save(any());
+    }
+
+    @Test
+    void rotate_ExpiredToken_IsDeletedAndRejected() {
+        String hash = TokenDigests.sha256("old");
+        when(refreshTokenRepository.findWithUserByTokenHash(hash)).thenReturn(Optional.of(
+                new RefreshToken(hash, user, LocalDateTime.now().minusSeconds(1), LocalDateTime.now().minusHours(1))));
+        when(refreshTokenRepository.deleteByTokenHash(hash)).thenReturn(1);
+
+        assertThrows(InvalidRefreshTokenException.class, () -> refreshTokenService.rotate("old"));
+        verify(refreshTokenRepository, never()).save(any());
+    }
+
+    @Test
+    void rotate_MissingToken_IsRejectedWithoutALookup() {
+        assertThrows(InvalidRefreshTokenException.class, () -> refreshTokenService.rotate(null));
+        verifyNoInteractions(refreshTokenRepository);
+    }
+}
@@ -0,0 +1,157 @@
+package hu.financial.service;
+
+import hu.financial.dto.report.ReportPeriod;
+import hu.financial.dto.report.TrendGranularity;
+import hu.financial.dto.report.TrendPeriod;
+import hu.financial.dto.report.TrendPointDto;
+import hu.financial.dto.report.TrendResponseDto;
+import hu.financial.event.UserDataChangedEvent;
+import hu.financial.service.ReportCache.Report;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReportCacheTest {
+
+    private static final Long USER_ID = 1L;
+
+    private static final Long OTHER_USER_ID = 2L;
+
+    private static final ReportPeriod JULY = new ReportPeriod(YearMonth.of(2026, 7));
+
+    private static final ReportPeriod AUGUST = new ReportPeriod(YearMonth.of(2026, 8));
+
+    private ReportCache cache;
+
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        cache = new ReportCache(Duration.ofMinutes(10), DataSize.ofMegabytes(1), 2);
+        loads = new AtomicInteger();
+    }
+
+    private String load(String value) {
+        loads.incrementAndGet();
+        return value;
+    }
+
+    private static TrendResponseDto trend(int points) {
+        List<TrendPointDto> series = IntStream.range(0, points)
+                .mapToObj(i -> new TrendPointDto("2026-0" + (i + 1), "2026-0" + (i + 1) + "-01", BigDecimal.ONE, BigDecimal.ONE))
+                .toList();
+        return new TrendResponseDto("2026-07", points, TrendGranularity.MONTH, series);
+    }
+
+    @Test
+    void get_LoadsOnceAndThenServesTheCachedReport() {
+        String first = cache.get(USER_ID, Report.SUMMARY, JULY, () -> load("july"));
+        String second = cache.get(USER_ID, Report.SUMMARY, JULY, () -> load("reloaded"));
+
+        assertEquals("july", first);
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+        assertEquals(1, cache.hitCount());
+        assertEquals(1, cache.missCount());
+    }
+
+    @Test
+    void reportsOfDifferentKindsPeriodsOrUsersNeverShareAnEntry() {
+        cache.get(USER_ID, Report.SUMMARY, JULY, () -> load("summary"));
+
+        assertEquals("categories", cache.get(USER_ID, Report.CATEGORIES, JULY, () -> load("categories")));
+        assertEquals("august", cache.get(USER_ID, Report.SUMMARY, AUGUST, () -> load("august")));
+        assertEquals("other", cache.get(OTHER_USER_ID, Report.SUMMARY, JULY, () -> load("other")));
+        assertEquals(4, loads.get());
+    }
+
+    @Test
+    void userDataChanged_DropsEveryReportOfThatUserOnly() {
+        cache.get(USER_ID, Report.SUMMARY, JULY, () -> load("summary"));
+        cache.get(OTHER_USER_ID, Report.SUMMARY, JULY, () -> load("other"));
+
+        cache.onUserDataChanged(new UserDataChangedEvent(USER_ID));
+
+        assertEquals("fresh", cache.get(USER_ID, Report.SUMMARY, JULY, () -> load("fresh")));
+        assertEquals("other", cache.get(OTHER_USER_ID, Report.SUMMARY, JULY, () -> load("stale")));
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void get_WhenTheUsersDataChangesDuringTheLoad_ReturnsButDoesNotCacheTheResult() {
+        String raced = cache.get(USER_ID, Report.SUMMARY, JULY, () -> {
+            cache.invalidate(USER_ID);
+            return load("raced");
+        });
+
+        assertEquals("raced", raced);
+        assertEquals("fresh", cache.get(USER_ID, Report.SUMMARY, JULY, () -> load("fresh")));
+    }
+
+    @Test
+    void get_BeyondTheReportLimit_IsNotCachedButKnownReportsStayCached() {
+        cache.get(USER_ID, Report.SUMMARY, JULY, () -> load("summary"));
+        cache.get(USER_ID, Report.CATEGORIES, JULY, () -> load("categories"));
+        cache.get(USER_ID, Report.BUDGET_STATUS, JULY, () -> load("budget"));
+
+        cache.get(USER_ID, Report.BUDGET_STATUS, JULY, () -> load("budget"));
+        cache.get(USER_ID, Report.SUMMARY, JULY, () -> load("summary"));
+
+        assertEquals(4, loads.get());
+    }
+
+    @Test
+    void weightedSize_GrowsWithTheRowsOfTheCachedReports() {
+        cache.get(USER_ID, Report.TREND, new TrendPeriod(YearMonth.of(2026, 7), 3), () -> trend(3));
+        long small = cache.weightedSize();
+        cache.get(OTHER_USER_ID, Report.TREND, new TrendPeriod(YearMonth.of(2026, 7), 9), () -> trend(9));
+
+        assertEquals(ReportCache.USER_BYTES + ReportCache.REPORT_BYTES + 3 * ReportCache.ROW_BYTES, small);
+        assertEquals(2 * ReportCache.USER_BYTES + 2 * ReportCache.REPORT_BYTES + 12 * ReportCache.ROW_BYTES,
+                cache.weightedSize());
+    }
+
+    @Test
+    void maximumWeight_EvictsUsersOnceTheEstimatedBytesExceedTheCap() {
+        cache = new ReportCache(Duration.ofMinutes(10), DataSize.ofBytes(2048), 2);
+        TrendPeriod period = new TrendPeriod(YearMonth.of(2026, 7), 3);
+
+        for (long userId = 1; userId <= 5; userId++) {
+            cache.get(userId, Report.TREND, period, () -> trend(3));
+        }
+
+        assertTrue(cache.weightedSize() <= 2048);
+        assertTrue(cache.evictionCount() >= 3);
+    }
+
+    @Test
+    void bindTo_PublishesHitMissRatioAndEvictionMeters() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        cache.bindTo(registry);
+
+        cache.get(USER_ID, Report.SUMMARY, JULY, () -> load("summary"));
+        cache.get(USER_ID, Report.SUMMARY, JULY, () -> load("summary"));
+        cache.get(USER_ID, Report.SUMMARY, JULY, () -> load("summary"));
+
+        assertEquals(2, registry.get("cache.gets").tags("cache", ReportCache.CACHE_NAME, "result", "hit")
+                .functionCounter().count());
+        assertEquals(1, registry.get("cache.gets").tags("cache", ReportCache.CACHE_NAME, "result", "miss")
+                .functionCounter().count());
+        assertEquals(2.0 / 3, registry.get("cache.hit.ratio").gauge().value(), 1e-9);
+        assertEquals(0, registry.get("cache.evictions").functionCounter().count());
+        assertEquals(0, registry.get("cache.eviction.weight").functionCounter().count());
+        assertTrue(registry.get("cache.weight").gauge().value() > 0);
+    }
+}
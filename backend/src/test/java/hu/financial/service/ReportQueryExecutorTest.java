@@ -0,0 +1,81 @@
+package hu.financial.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReportQueryExecutorTest {
+
+    private ReportQueryExecutor executor;
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void withoutAnExplicitLimit_UsesHalfTheConnectionPool() {
+        executor = new ReportQueryExecutor(0, 10);
+
+        assertEquals(5, executor.availablePermits());
+    }
+
+    @Test
+    void anExplicitLimit_StillLeavesOneConnectionForTheRestOfTheApplication() {
+        executor = new ReportQueryExecutor(20, 10);
+
+        assertEquals(9, executor.availablePermits());
+    }
+
+    @Test
+    void queriesBeyondTheLimit_WaitForAPermitInsteadOfRunning() throws Exception {
+        executor = new ReportQueryExecutor(2, 10);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+
+        List<CompletableFuture<Integer>> queries = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            queries.add(executor.submit(() -> {
+                peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+                try {
+                    assertTrue(release.await(10, TimeUnit.SECONDS));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                running.decrementAndGet();
+                return 1;
+            }));
+        }
+        Thread.sleep(200);
+
+        assertEquals(2, running.get());
+        assertEquals(0, executor.availablePermits());
+        release.countDown();
+        assertEquals(6, queries.stream().mapToInt(CompletableFuture::join).sum());
+        assertEquals(2, peak.get());
+        assertEquals(2, executor.availablePermits());
+    }
+
+    @Test
+    void aFailingQuery_ReturnsItsPermit() {
+        executor = new ReportQueryExecutor(1, 10);
+
+        CompletableFuture<Object> failed = executor.submit(() -> {
+            throw new IllegalStateException("boom");
+        });
+
+        assertThrows(RuntimeException.class, failed::join);
+        assertEquals(1, executor.availablePermits());
+    }
+}
@@ -10,31 +10,51 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import hu.financial.dto.report.BudgetStatusItemDto;
 import hu.financial.dto.report.BudgetStatusResponseDto;
 import hu.financial.dto.report.CategoryBreakdownResponseDto;
+import hu.financial.dto.report.DashboardResponseDto;
+import hu.financial.dto.report.RangeBudgetStatusResponseDto;
+import hu.financial.dto.report.RangeCategoryBreakdownResponseDto;
+import hu.financial.dto.report.RangeSummaryResponseDto;
 import hu.financial.dto.report.ReportPeriod;
+import hu.financial.dto.report.ReportRange;
 import hu.financial.dto.report.SummaryResponseDto;
+import hu.financial.dto.report.TrendGranularity;
 import hu.financial.dto.report.TrendPeriod;
 import hu.financial.dto.report.TrendResponseDto;
+import hu.financial.model.BalanceCheckpoint;
+import hu.financial.model.BalanceCheckpointId;
+import hu.financial.model.TransactionMonthlyRollup;
+import hu.financial.model.TransactionMonthlyRollupId;
 import hu.financial.model.enums.TransactionType;
+import hu.financial.repository.BalanceCheckpointRepository;
 import hu.financial.repository.BudgetRepository;
+import hu.financial.repository.TransactionDailyRollupRepository;
 import hu.financial.repository.TransactionRepository;
+import hu.financial.repository.TransactionRollupRepository;
 import hu.financial.repository.projection.CategoryBudgetTotal;
 import hu.financial.repository.projection.CategoryExpenseTotal;
+import hu.financial.repository.projection.DailyTotals;
+import hu.financial.repository.projection.MonthlyCategoryBudget;
 import hu.financial.repository.projection.MonthlyTotals;
 import hu.financial.repository.projection.TransactionTotals;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
@@ -49,17 +69,46 @@ class ReportServiceTest {
 
     private static final TrendPeriod SIX_MONTHS_TO_AUGUST = TrendPeriod.of("2026-08", 6, SERVER_MONTH);
 
+    private static final TrendPeriod SIX_MONTHS_TO_JULY = TrendPeriod.of("2026-07", 6, SERVER_MONTH);
+
     @Mock
-    private TransactionRepository transactionRepository;
+    private TransactionRollupRepository rollupRepository;
 
     @Mock
     private BudgetRepository budgetRepository;
 
+    @Mock
+    private BalanceCheckpointRepository checkpointRepository;
+
+    @Mock
+    private TransactionDailyRollupRepository dailyRollupRepository;
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private UserService userService;
+
+    @Spy
+    private ReportQueryExecutor queryExecutor = new ReportQueryExecutor(0, 10);
+
     @InjectMocks
     private ReportService reportService;
 
     private void givenTotals(TransactionTotals totals) {
-        when(transactionRepository.summarize(anyLong(), any(), any(), any(), any(), any(), any())).thenReturn(totals);
+        when(rollupRepository.summarizeMonthlyTotals(anyLong(), any(), any(), any(), any())).thenReturn(List.of(
+                new MonthlyTotals(2026, 6, totals.previousIncome(), totals.previousExpense()),
+                new MonthlyTotals(2026, 7, totals.currentIncome(), totals.currentExpense())));
+        when(checkpointRepository.findClosingAt(anyLong(), eq(LocalDate.of(2026, 7, 31))))
+                .thenReturn(Optional.of(checkpoint(LocalDate.of(2026, 7, 1),
+                        totals.incomeUntilCurrentEnd(), totals.expenseUntilCurrentEnd())));
+        when(checkpointRepository.findClosingAt(anyLong(), eq(LocalDate.of(2026, 6, 30))))
+                .thenReturn(Optional.of(checkpoint(LocalDate.of(2026, 6, 1),
+                        totals.incomeUntilPreviousEnd(), totals.expenseUntilPreviousEnd())));
+    }
+
+    private static BalanceCheckpoint checkpoint(LocalDate month, BigDecimal income, BigDecimal expense) {
+        return new BalanceCheckpoint(new BalanceCheckpointId(USER_ID, month), income, expense);
     }
 
     private static TransactionTotals totals(String currentIncome, String currentExpense,
@@ -115,20 +164,46 @@ class ReportServiceTest {
     }
 
     @Test
-    void summarize_RunsExactlyOneQuery_ScopedToTheUserAndBothMonthBoundaries() {
+    void summarize_ReadsOnlyTheTwoMonthsFromTheRollup_AndEachBalanceFromASingleCheckpoint() {
         givenTotals(totals("500", "200", "400", "100", "1900", "300", "1400", "100"));
 
         summarize();
 
-        verify(transactionRepository).summarize(
+        verify(rollupRepository).summarizeMonthlyTotals(
                 eq(USER_ID),
-                eq(LocalDate.of(2026, 7, 1)),
-                eq(LocalDate.of(2026, 7, 31)),
                 eq(LocalDate.of(2026, 6, 1)),
-                eq(LocalDate.of(2026, 6, 30)),
+                eq(LocalDate.of(2026, 7, 31)),
                 eq(TransactionType.INCOME),
                 eq(TransactionType.EXPENSE));
-        verifyNoMoreInteractions(transactionRepository);
+        verify(checkpointRepository).findClosingAt(USER_ID, LocalDate.of(2026, 7, 31));
+        verify(checkpointRepository).findClosingAt(USER_ID, LocalDate.of(2026, 6, 30));
+        verifyNoMoreInteractions(rollupRepository, checkpointRepository);
+    }
+
+    @Test
+    void summarize_WithoutACheckpointOrMonthlyRow_TreatsTheMissingValuesAsZero() {
+        when(rollupRepository.summarizeMonthlyTotals(anyLong(), any(), any(), any(), any())).thenReturn(List.of());
+        when(checkpointRepository.findClosingAt(anyLong(), any())).thenReturn(Optional.empty());
+
+        SummaryResponseDto summary = summarize();
+
+        assertEquals(new BigDecimal("0.00"), summary.balance().current());
+        assertEquals(new BigDecimal("0.00"), summary.balance().previous());
+        assertEquals(new BigDecimal("0.00"), summary.income().current());
+        assertNull(summary.savingsRate().current());
+    }
+
+    @Test
+    void summarize_BalanceUsesTheLatestCheckpointAtOrBeforeEachMonthEnd_EvenWhenThatMonthWasQuiet() {
+        when(rollupRepository.summarizeMonthlyTotals(anyLong(), any(), any(), any(), any())).thenReturn(List.of());
+        when(checkpointRepository.findClosingAt(anyLong(), any())).thenReturn(Optional.of(
+                checkpoint(LocalDate.of(2026, 3, 1), new BigDecimal("1900"), new BigDecimal("300"))));
+
+        SummaryResponseDto summary = summarize();
+
+        assertEquals(new BigDecimal("1600.00"), summary.balance().current());
+        assertEquals(new BigDecimal("1600.00"), summary.balance().previous());
+        assertEquals(new BigDecimal("0.00"), summary.income().current());
     }
 
     @Test
@@ -318,15 +393,16 @@ class ReportServiceTest {
 
         reportService.summarize(42L, JULY);
 
-        verify(transactionRepository).summarize(eq(42L), any(), any(), any(), any(), any(), any());
+        verify(rollupRepository).summarizeMonthlyTotals(eq(42L), any(), any(), any(), any());
+        verify(checkpointRepository, times(2)).findClosingAt(eq(42L), any());
     }
 
     private void givenCategoryRows(List<CategoryExpenseTotal> rows) {
-        when(transactionRepository.summarizeExpensesByCategory(anyLong(), any(), any(), any())).thenReturn(rows);
+        when(rollupRepository.summarizeExpensesByCategory(anyLong(), any(), any(), any())).thenReturn(rows);
     }
 
     private void givenMonthlyRows(List<MonthlyTotals> rows) {
-        when(transactionRepository.summarizeMonthlyTotals(anyLong(), any(), any(), any(), any())).thenReturn(rows);
+        when(rollupRepository.summarizeMonthlyTotals(anyLong(), any(), any(), any(), any())).thenReturn(rows);
     }
 
     private static CategoryExpenseTotal categoryRow(long id, String name, String total) {
@@ -462,12 +538,12 @@ class ReportServiceTest {
 
         breakdown();
 
-        verify(transactionRepository).summarizeExpensesByCategory(
+        verify(rollupRepository).summarizeExpensesByCategory(
                 eq(USER_ID),
                 eq(LocalDate.of(2026, 7, 1)),
                 eq(LocalDate.of(2026, 7, 31)),
                 eq(TransactionType.EXPENSE));
-        verifyNoMoreInteractions(transactionRepository);
+        verifyNoMoreInteractions(rollupRepository);
     }
 
     @Test
@@ -476,7 +552,7 @@ class ReportServiceTest {
 
         reportService.breakdownExpensesByCategory(42L, JULY);
 
-        verify(transactionRepository).summarizeExpensesByCategory(eq(42L), any(), any(), any());
+        verify(rollupRepository).summarizeExpensesByCategory(eq(42L), any(), any(), any());
     }
 
     @Test
@@ -598,13 +674,13 @@ class ReportServiceTest {
 
         trend();
 
-        verify(transactionRepository).summarizeMonthlyTotals(
+        verify(rollupRepository).summarizeMonthlyTotals(
                 eq(USER_ID),
                 eq(LocalDate.of(2026, 3, 1)),
                 eq(LocalDate.of(2026, 8, 31)),
                 eq(TransactionType.INCOME),
                 eq(TransactionType.EXPENSE));
-        verifyNoMoreInteractions(transactionRepository);
+        verifyNoMoreInteractions(rollupRepository);
     }
 
     @Test
@@ -613,7 +689,67 @@ class ReportServiceTest {
 
         reportService.trend(42L, SIX_MONTHS_TO_AUGUST);
 
-        verify(transactionRepository).summarizeMonthlyTotals(eq(42L), any(), any(), any(), any());
+        verify(rollupRepository).summarizeMonthlyTotals(eq(42L), any(), any(), any(), any());
+    }
+
+    private void givenDailyRows(List<DailyTotals> rows) {
+        when(dailyRollupRepository.summarizeDailyTotals(anyLong(), any(), any(), any(), any())).thenReturn(rows);
+    }
+
+    private static DailyTotals dailyRow(int year, int month, int day, String income, String expense) {
+        return new DailyTotals(LocalDate.of(year, month, day), new BigDecimal(income), new BigDecimal(expense));
+    }
+
+    @Test
+    void trend_ByDay_HasOnePointPerDayFilledWithZeros_AndReadsOnlyTheDailyRollup() {
+        givenDailyRows(List.of(dailyRow(2026, 2, 10, "100", "40")));
+
+        TrendResponseDto trend = reportService.trend(USER_ID,
+                TrendPeriod.of("2026-02", 1, TrendGranularity.DAY, SERVER_MONTH));
+
+        assertEquals(TrendGranularity.DAY, trend.granularity());
+        assertEquals(28, trend.points().size());
+        assertEquals("2026-02-01", trend.points().get(0).start());
+        assertEquals("2026-02", trend.points().get(0).month());
+        assertEquals(new BigDecimal("0.00"), trend.points().get(0).income());
+        assertEquals(new BigDecimal("100.00"), trend.points().get(9).income());
+        assertEquals(new BigDecimal("40.00"), trend.points().get(9).expense());
+        verify(dailyRollupRepository).summarizeDailyTotals(USER_ID, LocalDate.of(2026, 2, 1),
+                LocalDate.of(2026, 2, 28), TransactionType.INCOME, TransactionType.EXPENSE);
+        verify(rollupRepository, never()).summarizeMonthlyTotals(anyLong(), any(), any(), any(), any());
+    }
+
+    @Test
+    void trend_ByWeek_SumsTheDaysOfEachMondayStartedWeek() {
+        givenDailyRows(List.of(
+                dailyRow(2026, 7, 1, "10", "1"),
+                dailyRow(2026, 7, 5, "20", "2"),
+                dailyRow(2026, 7, 6, "30", "3"),
+                dailyRow(2026, 7, 31, "40", "4")));
+
+        TrendResponseDto trend = reportService.trend(USER_ID,
+                TrendPeriod.of("2026-07", 1, TrendGranularity.WEEK, SERVER_MONTH));
+
+        assertEquals(List.of("2026-06-29", "2026-07-06", "2026-07-13", "2026-07-20", "2026-07-27"),
+                trend.points().stream().map(point -> point.start()).toList());
+        assertEquals(new BigDecimal("30.00"), trend.points().get(0).income());
+        assertEquals(new BigDecimal("3.00"), trend.points().get(0).expense());
+        assertEquals(new BigDecimal("30.00"), trend.points().get(1).income());
+        assertEquals(new BigDecimal("0.00"), trend.points().get(2).income());
+        assertEquals(new BigDecimal("40.00"), trend.points().get(4).income());
+    }
+
+    @Test
+    void trend_ByMonth_CoversATenYearHorizonFromTheMonthlyRollup() {
+        givenMonthlyRows(List.of(monthlyRow(2016, 9, "5", "1"), monthlyRow(2026, 8, "7", "2")));
+
+        TrendResponseDto trend = reportService.trend(USER_ID, TrendPeriod.of("2026-08", 120, SERVER_MONTH));
+
+        assertEquals(120, trend.points().size());
+        assertEquals("2016-09", trend.points().get(0).month());
+        assertEquals(new BigDecimal("5.00"), trend.points().get(0).income());
+        assertEquals(new BigDecimal("7.00"), trend.points().get(119).income());
+        verifyNoMoreInteractions(dailyRollupRepository);
     }
 
     private void givenBudgetRows(List<CategoryBudgetTotal> rows) {
@@ -849,12 +985,12 @@ class ReportServiceTest {
                 eq(USER_ID),
                 eq(LocalDate.of(2026, 7, 1)),
                 eq(LocalDate.of(2026, 7, 31)));
-        verify(transactionRepository).summarizeExpensesByCategory(
+        verify(rollupRepository).summarizeExpensesByCategory(
                 eq(USER_ID),
                 eq(LocalDate.of(2026, 7, 1)),
                 eq(LocalDate.of(2026, 7, 31)),
                 eq(TransactionType.EXPENSE));
-        verifyNoMoreInteractions(budgetRepository, transactionRepository);
+        verifyNoMoreInteractions(budgetRepository, rollupRepository);
     }
 
     @Test
@@ -864,7 +1000,7 @@ class ReportServiceTest {
 
         budgetStatus();
 
-        verify(transactionRepository).summarizeExpensesByCategory(anyLong(), any(), any(),
+        verify(rollupRepository).summarizeExpensesByCategory(anyLong(), any(), any(),
                 eq(TransactionType.EXPENSE));
     }
 
@@ -876,13 +1012,12 @@ class ReportServiceTest {
         reportService.budgetStatus(42L, JULY);
 
         verify(budgetRepository).summarizeBudgetsByCategory(eq(42L), any(), any());
-        verify(transactionRepository).summarizeExpensesByCategory(eq(42L), any(), any(), any());
+        verify(rollupRepository).summarizeExpensesByCategory(eq(42L), any(), any(), any());
     }
 
     @Test
     void categoryBudgetStatus_ReturnsEmpty_WhenTheCategoryHasNoBudgetForTheMonth() {
-        when(budgetRepository.summarizeBudgetsByCategory(eq(USER_ID), eq(LocalDate.of(2026, 7, 1)),
-                eq(LocalDate.of(2026, 7, 31)))).thenReturn(List.of());
+        when(budgetRepository.findCategoryBudget(USER_ID, 4L, LocalDate.of(2026, 7, 1))).thenReturn(Optional.empty());
 
         Optional<BudgetStatusItemDto> result = reportService.categoryBudgetStatus(USER_ID, 4L, YearMonth.of(2026, 7));
 
@@ -890,14 +1025,12 @@ class ReportServiceTest {
     }
 
     @Test
-    void categoryBudgetStatus_DoesNotThrow_AndDoesNotEvenQueryExpenses_WhenTheCategoryHasNoBudgetForTheMonth() {
-        when(budgetRepository.summarizeBudgetsByCategory(eq(USER_ID), eq(LocalDate.of(2026, 7, 1)),
-                eq(LocalDate.of(2026, 7, 31)))).thenReturn(List.of());
+    void categoryBudgetStatus_DoesNotThrow_AndDoesNotEvenLookUpSpending_WhenTheCategoryHasNoBudgetForTheMonth() {
+        when(budgetRepository.findCategoryBudget(USER_ID, 4L, LocalDate.of(2026, 7, 1))).thenReturn(Optional.empty());
 
         reportService.categoryBudgetStatus(USER_ID, 4L, YearMonth.of(2026, 7));
 
-        verify(transactionRepository, org.mockito.Mockito.never())
-                .summarizeExpensesByCategory(any(), any(), any(), any());
+        verify(rollupRepository, never()).findById(any());
     }
 
     @Test
@@ -906,10 +1039,11 @@ class ReportServiceTest {
                 eq(LocalDate.of(2026, 7, 31)))).thenReturn(List.of(
                         budgetRow(4L, "Lakhatás", "150000"),
                         budgetRow(1L, "Élelmiszer", "100000")));
-        when(transactionRepository.summarizeExpensesByCategory(eq(USER_ID), eq(LocalDate.of(2026, 7, 1)),
+        when(rollupRepository.summarizeExpensesByCategory(eq(USER_ID), eq(LocalDate.of(2026, 7, 1)),
                 eq(LocalDate.of(2026, 7, 31)), eq(TransactionType.EXPENSE))).thenReturn(List.of(
                         categoryRow(4L, "Lakhatás", "162000"),
                         categoryRow(1L, "Élelmiszer", "36000")));
+        givenSingleCategory(4L, "Lakhatás", LocalDate.of(2026, 7, 1), "150000", "162000");
 
         BudgetStatusItemDto viaSingleCategory = reportService.categoryBudgetStatus(USER_ID, 4L, YearMonth.of(2026, 7)).orElseThrow();
         BudgetStatusItemDto viaFullReport = rowOf(reportService.budgetStatus(USER_ID, JULY), 4L);
@@ -922,6 +1056,14 @@ class ReportServiceTest {
         assertEquals(new BigDecimal("108.0"), viaSingleCategory.percentageUsed());
     }
 
+    private void givenSingleCategory(long categoryId, String name, LocalDate month, String budgeted, String spent) {
+        when(budgetRepository.findCategoryBudget(USER_ID, categoryId, month))
+                .thenReturn(Optional.of(budgetRow(categoryId, name, budgeted)));
+        TransactionMonthlyRollupId key = new TransactionMonthlyRollupId(USER_ID, month, categoryId, TransactionType.EXPENSE);
+        when(rollupRepository.findById(key))
+                .thenReturn(Optional.of(new TransactionMonthlyRollup(key, new BigDecimal(spent), 1)));
+    }
+
     private static BudgetStatusItemDto rowOf(BudgetStatusResponseDto status, long categoryId) {
         return status.categories().stream()
                 .filter(item -> item.categoryId() == categoryId)
@@ -931,10 +1073,11 @@ class ReportServiceTest {
 
     @Test
     void categoryBudgetStatus_TreatsNoSpendingAsZero_RatherThanThrowing() {
-        when(budgetRepository.summarizeBudgetsByCategory(eq(USER_ID), eq(LocalDate.of(2026, 7, 1)),
-                eq(LocalDate.of(2026, 7, 31)))).thenReturn(List.of(budgetRow(4L, "Lakhatás", "150000")));
-        when(transactionRepository.summarizeExpensesByCategory(eq(USER_ID), eq(LocalDate.of(2026, 7, 1)),
-                eq(LocalDate.of(2026, 7, 31)), eq(TransactionType.EXPENSE))).thenReturn(List.of());
+        when(budgetRepository.findCategoryBudget(USER_ID, 4L, LocalDate.of(2026, 7, 1)))
+                .thenReturn(Optional.of(budgetRow(4L, "Lakhatás", "150000")));
+        when(rollupRepository.findById(
+                new TransactionMonthlyRollupId(USER_ID, LocalDate.of(2026, 7, 1), 4L, TransactionType.EXPENSE)))
+                .thenReturn(Optional.empty());
 
         BudgetStatusItemDto result = reportService.categoryBudgetStatus(USER_ID, 4L, YearMonth.of(2026, 7)).orElseThrow();
 
@@ -943,39 +1086,203 @@ class ReportServiceTest {
     }
 
     @Test
-    void categoryBudgetStatus_OnlyPicksTheRequestedCategory_EvenWhenOtherCategoriesAreInTheSameQueryResult() {
-        when(budgetRepository.summarizeBudgetsByCategory(eq(USER_ID), eq(LocalDate.of(2026, 7, 1)),
-                eq(LocalDate.of(2026, 7, 31)))).thenReturn(List.of(
-                        budgetRow(4L, "Lakhatás", "150000"),
-                        budgetRow(1L, "Élelmiszer", "100000")));
-        when(transactionRepository.summarizeExpensesByCategory(eq(USER_ID), eq(LocalDate.of(2026, 7, 1)),
-                eq(LocalDate.of(2026, 7, 31)), eq(TransactionType.EXPENSE))).thenReturn(List.of(
-                        categoryRow(4L, "Lakhatás", "162000"),
-                        categoryRow(1L, "Élelmiszer", "36000")));
+    void categoryBudgetStatus_IsTwoKeyLookups_AndNeverAggregatesTheWholeMonth() {
+        givenSingleCategory(1L, "Élelmiszer", LocalDate.of(2026, 7, 1), "100000", "36000");
 
         BudgetStatusItemDto result = reportService.categoryBudgetStatus(USER_ID, 1L, YearMonth.of(2026, 7)).orElseThrow();
 
         assertEquals(1L, result.categoryId());
         assertEquals(new BigDecimal("100000.00"), result.budgeted());
         assertEquals(new BigDecimal("36000.00"), result.spent());
+        verify(budgetRepository, never()).summarizeBudgetsByCategory(any(), any(), any());
+        verify(rollupRepository, never()).summarizeExpensesByCategory(any(), any(), any(), any());
     }
 
     @Test
-    void categoryBudgetStatus_UsesExactlyTheGivenMonthsBoundaries_NotTheServerClocksCurrentMonth() {
-        YearMonth farInThePast = YearMonth.of(2019, 3);
-        when(budgetRepository.summarizeBudgetsByCategory(eq(USER_ID), eq(LocalDate.of(2019, 3, 1)),
-                eq(LocalDate.of(2019, 3, 31)))).thenReturn(List.of(budgetRow(4L, "Lakhatás", "150000")));
-        when(transactionRepository.summarizeExpensesByCategory(eq(USER_ID), eq(LocalDate.of(2019, 3, 1)),
-                eq(LocalDate.of(2019, 3, 31)), eq(TransactionType.EXPENSE))).thenReturn(List.of(
-                        categoryRow(4L, "Lakhatás", "162000")));
+    void categoryBudgetStatus_UsesExactlyTheGivenMonth_NotTheServerClocksCurrentMonth() {
+        givenSingleCategory(4L, "Lakhatás", LocalDate.of(2019, 3, 1), "150000", "162000");
 
-        Optional<BudgetStatusItemDto> result = reportService.categoryBudgetStatus(USER_ID, 4L, farInThePast);
+        Optional<BudgetStatusItemDto> result = reportService.categoryBudgetStatus(USER_ID, 4L, YearMonth.of(2019, 3));
 
         assertTrue(result.isPresent());
         assertEquals(new BigDecimal("-12000.00"), result.get().remaining());
-        verify(budgetRepository).summarizeBudgetsByCategory(eq(USER_ID), eq(LocalDate.of(2019, 3, 1)),
-                eq(LocalDate.of(2019, 3, 31)));
-        verify(transactionRepository).summarizeExpensesByCategory(eq(USER_ID), eq(LocalDate.of(2019, 3, 1)),
-                eq(LocalDate.of(2019, 3, 31)), eq(TransactionType.EXPENSE));
+    }
+
+    @Test
+    void dashboard_CarriesTheSameFourSectionsAsTheIndividualReports() {
+        givenTotals(totals("500", "200", "400", "100", "1900", "300", "1400", "100"));
+        givenCategoryRows(List.of(categoryRow(1L, "élelmiszer", "150"), categoryRow(2L, "utazás", "50")));
+        givenBudgetRows(List.of(budgetRow(1L, "élelmiszer", "200")));
+
+        DashboardResponseDto dashboard = reportService.dashboard(USER_ID, SIX_MONTHS_TO_JULY);
+
+        assertEquals("2026-07", dashboard.month());
+        assertEquals(reportService.summarize(USER_ID, JULY), dashboard.summary());
+        assertEquals(reportService.breakdownExpensesByCategory(USER_ID, JULY), dashboard.categories());
+        assertEquals(reportService.trend(USER_ID, SIX_MONTHS_TO_JULY), dashboard.trend());
+        assertEquals(reportService.budgetStatus(USER_ID, JULY), dashboard.budgetStatus());
+    }
+
+    @Test
+    void dashboard_RunsEveryDistinctQueryOnce_AndSharesTheCategoryExpenses() {
+        reportService.dashboard(USER_ID, SIX_MONTHS_TO_JULY);
+
+        verify(rollupRepository).summarizeMonthlyTotals(USER_ID, LocalDate.of(2026, 2, 1), LocalDate.of(2026, 7, 31),
+                TransactionType.INCOME, TransactionType.EXPENSE);
+        verify(rollupRepository).summarizeExpensesByCategory(USER_ID, LocalDate.of(2026, 7, 1),
+                LocalDate.of(2026, 7, 31), TransactionType.EXPENSE);
+        verify(budgetRepository).summarizeBudgetsByCategory(USER_ID, LocalDate.of(2026, 7, 1),
+                LocalDate.of(2026, 7, 31));
+        verify(checkpointRepository).findClosingAt(USER_ID, LocalDate.of(2026, 7, 31));
+        verify(checkpointRepository).findClosingAt(USER_ID, LocalDate.of(2026, 6, 30));
+        verifyNoMoreInteractions(rollupRepository, budgetRepository, checkpointRepository);
+    }
+
+    @Test
+    void dashboard_WhenAWriteCommitsWhileItReads_ReadsEverythingAgain() {
+        when(userService.findDataVersion(USER_ID)).thenReturn(4L, 5L, 5L, 5L);
+
+        reportService.dashboard(USER_ID, SIX_MONTHS_TO_JULY);
+
+        verify(userService, times(4)).findDataVersion(USER_ID);
+        verify(budgetRepository, times(2)).summarizeBudgetsByCategory(USER_ID, LocalDate.of(2026, 7, 1),
+                LocalDate.of(2026, 7, 31));
+        verify(checkpointRepository, times(2)).findClosingAt(USER_ID, LocalDate.of(2026, 7, 31));
+    }
+
+    @Test
+    void dashboard_WhenWritesKeepLanding_ReturnsTheLastAttemptInsteadOfLoopingForever() {
+        when(userService.findDataVersion(USER_ID)).thenReturn(1L, 2L, 3L, 4L, 5L, 6L);
+
+        reportService.dashboard(USER_ID, SIX_MONTHS_TO_JULY);
+
+        verify(budgetRepository, times(3)).summarizeBudgetsByCategory(USER_ID, LocalDate.of(2026, 7, 1),
+                LocalDate.of(2026, 7, 31));
+    }
+
+    @Test
+    void dashboard_AOneMonthTrend_StillReadsThePreviousMonthForTheSummary() {
+        DashboardResponseDto dashboard = reportService.dashboard(USER_ID, TrendPeriod.of("2026-07", 1, SERVER_MONTH));
+
+        verify(rollupRepository).summarizeMonthlyTotals(USER_ID, LocalDate.of(2026, 6, 1), LocalDate.of(2026, 7, 31),
+                TransactionType.INCOME, TransactionType.EXPENSE);
+        assertEquals(1, dashboard.trend().points().size());
+        assertEquals("2026-07", dashboard.trend().points().get(0).month());
+    }
+
+    @Test
+    void dashboard_AFailingQuery_SurfacesItsOwnExceptionRatherThanAWrapper() {
+        when(budgetRepository.summarizeBudgetsByCategory(anyLong(), any(), any()))
+                .thenThrow(new IllegalStateException("budgets unavailable"));
+
+        IllegalStateException thrown = assertThrows(IllegalStateException.class,
+                () -> reportService.dashboard(USER_ID, SIX_MONTHS_TO_JULY));
+
+        assertEquals("budgets unavailable", thrown.getMessage());
+    }
+
+    private static final ReportRange PAY_CYCLES = ReportRange.of("2026-01-25", "2026-04-24");
+
+    private void givenMonthlyRows(String start, String end, MonthlyTotals... rows) {
+        when(rollupRepository.summarizeMonthlyTotals(USER_ID, LocalDate.parse(start), LocalDate.parse(end),
+                TransactionType.INCOME, TransactionType.EXPENSE)).thenReturn(List.of(rows));
+    }
+
+    private void givenDailyRows(String start, String end, DailyTotals... rows) {
+        when(dailyRollupRepository.summarizeDailyTotals(USER_ID, LocalDate.parse(start), LocalDate.parse(end),
+                TransactionType.INCOME, TransactionType.EXPENSE)).thenReturn(List.of(rows));
+    }
+
+    private void givenClosingAt(String date, String income, String expense) {
+        LocalDate closing = LocalDate.parse(date);
+        when(checkpointRepository.findClosingAt(USER_ID, closing)).thenReturn(Optional.of(
+                checkpoint(closing.withDayOfMonth(1), new BigDecimal(income), new BigDecimal(expense))));
+    }
+
+    @Test
+    void summarizeRange_CombinesWholeMonthsFromTheRollupWithDailyEdges_AndComparesWithThePrecedingCycle() {
+        givenMonthlyRows("2026-02-01", "2026-03-31",
+                monthlyRow(2026, 2, "1000", "400"), monthlyRow(2026, 3, "1000", "500"));
+        givenDailyRows("2026-01-25", "2026-01-31", dailyRow(2026, 1, 28, "0", "50"));
+        givenDailyRows("2026-04-01", "2026-04-24", dailyRow(2026, 4, 10, "200", "30"));
+        givenMonthlyRows("2025-11-01", "2025-12-31", monthlyRow(2025, 11, "900", "300"));
+        givenDailyRows("2025-10-25", "2025-10-31");
+        givenDailyRows("2026-01-01", "2026-01-24", dailyRow(2026, 1, 5, "0", "20"));
+        givenClosingAt("2026-03-31", "5000", "3000");
+        givenClosingAt("2025-12-31", "3000", "2000");
+
+        RangeSummaryResponseDto summary = reportService.summarize(USER_ID, PAY_CYCLES);
+
+        assertEquals("2026-01-25", summary.from());
+        assertEquals("2026-04-24", summary.to());
+        assertEquals("2025-10-25", summary.previousFrom());
+        assertEquals("2026-01-24", summary.previousTo());
+        assertEquals(new BigDecimal("2200.00"), summary.income().current());
+        assertEquals(new BigDecimal("980.00"), summary.expense().current());
+        assertEquals(new BigDecimal("900.00"), summary.income().previous());
+        assertEquals(new BigDecimal("320.00"), summary.expense().previous());
+        assertEquals(new BigDecimal("2170.00"), summary.balance().current());
+        assertEquals(new BigDecimal("980.00"), summary.balance().previous());
+    }
+
+    @Test
+    void summarizeRange_OfAQuarter_ReadsOnlyTheMonthlyRollupAndTwoCheckpoints() {
+        givenMonthlyRows("2026-04-01", "2026-06-30", monthlyRow(2026, 5, "300", "100"));
+        givenMonthlyRows("2026-01-01", "2026-03-31");
+        givenClosingAt("2026-06-30", "800", "300");
+        givenClosingAt("2026-03-31", "500", "200");
+
+        RangeSummaryResponseDto summary = reportService.summarize(USER_ID, ReportRange.of("2026-04-01", "2026-06-30"));
+
+        assertEquals("2026-01-01", summary.previousFrom());
+        assertEquals(new BigDecimal("300.00"), summary.income().current());
+        assertEquals(new BigDecimal("500.00"), summary.balance().current());
+        assertEquals(new BigDecimal("300.00"), summary.balance().previous());
+        verifyNoInteractions(dailyRollupRepository, transactionRepository);
+    }
+
+    @Test
+    void breakdownRange_MergesTheRollupMonthsWithTheEdgeTransactions_AndRanksTheMergedTotals() {
+        when(rollupRepository.summarizeExpensesByCategory(USER_ID, LocalDate.of(2026, 2, 1),
+                LocalDate.of(2026, 3, 31), TransactionType.EXPENSE)).thenReturn(List.of(
+                        categoryRow(1L, "Élelmiszer", "300"),
+                        categoryRow(2L, "Lakhatás", "200")));
+        when(transactionRepository.summarizeExpensesByCategory(USER_ID, LocalDate.of(2026, 1, 25),
+                LocalDate.of(2026, 1, 31), TransactionType.EXPENSE)).thenReturn(List.of(
+                        categoryRow(2L, "Lakhatás", "150")));
+        when(transactionRepository.summarizeExpensesByCategory(USER_ID, LocalDate.of(2026, 4, 1),
+                LocalDate.of(2026, 4, 24), TransactionType.EXPENSE)).thenReturn(List.of(
+                        categoryRow(3L, "Szórakozás", "400")));
+
+        RangeCategoryBreakdownResponseDto breakdown = reportService.breakdownExpensesByCategory(USER_ID, PAY_CYCLES);
+
+        assertEquals(new BigDecimal("1050.00"), breakdown.total());
+        assertEquals(List.of(3L, 2L, 1L),
+                breakdown.categories().stream().map(category -> category.categoryId()).toList());
+        assertEquals(new BigDecimal("350.00"), breakdown.categories().get(1).total());
+        assertEquals(new BigDecimal("33.3"), breakdown.categories().get(1).percentage());
+    }
+
+    @Test
+    void budgetStatusRange_ProratesEachMonthsBudgetByTheDaysOfThatMonthInsideTheRange() {
+        when(budgetRepository.findMonthlyBudgets(USER_ID, LocalDate.of(2026, 1, 1), LocalDate.of(2026, 2, 24)))
+                .thenReturn(List.of(
+                        new MonthlyCategoryBudget(1L, "Élelmiszer", LocalDate.of(2026, 1, 1), new BigDecimal("310")),
+                        new MonthlyCategoryBudget(1L, "Élelmiszer", LocalDate.of(2026, 2, 1), new BigDecimal("280"))));
+        when(transactionRepository.summarizeExpensesByCategory(USER_ID, LocalDate.of(2026, 1, 25),
+                LocalDate.of(2026, 2, 24), TransactionType.EXPENSE)).thenReturn(List.of(
+                        categoryRow(1L, "Élelmiszer", "155"),
+                        categoryRow(9L, "Egyéb", "20")));
+
+        RangeBudgetStatusResponseDto status = reportService.budgetStatus(USER_ID,
+                ReportRange.of("2026-01-25", "2026-02-24"));
+
+        assertEquals("2026-01-25", status.from());
+        assertEquals(new BigDecimal("310.00"), status.totalBudgeted());
+        assertEquals(new BigDecimal("155.00"), status.totalSpent());
+        assertEquals(new BigDecimal("20.00"), status.unbudgetedSpending());
+        assertEquals(new BigDecimal("155.00"), status.categories().get(0).remaining());
+        assertEquals(new BigDecimal("50.0"), status.categories().get(0).percentageUsed());
+        verifyNoInteractions(rollupRepository);
     }
 }
@@ -0,0 +1,85 @@
+package hu.financial.service;
+
+import hu.financial.model.RevokedToken;
+import hu.financial.model.User;
+import hu.financial.repository.RevokedTokenRepository;
+import hu.financial.security.TokenRevocationList;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TokenRevocationServiceTest {
+
+    private static final String SECRET = "c55cd57c34f1cf9256df41f67b9a7e790336c78734404a0759058bec199f7d32";
+
+    @Mock
+    private RevokedTokenRepository revokedTokenRepository;
+
+    private TokenRevocationList revocationList;
+
+    private JwtService jwtService;
+
+    private TokenRevocationService tokenRevocationService;
+
+    @BeforeEach
+    void setUp() {
+        revocationList = new TokenRevocationList(100);
+        jwtService = new JwtService(SECRET, 3600L, 100);
+        tokenRevocationService = new TokenRevocationService(
+                revokedTokenRepository, revocationList, jwtService, Duration.ofSeconds(30));
+    }
+
+    @Test
+    void revoke_PersistsTheTokenIdAndMarksItRevokedLocally() {
+        User user = new User("testuser", "encoded-password", "test@example.com");
+        user.setId(1L);
+        String token = jwtService.generateToken(user);
+        String jti = jwtService.extractTokenId(token);
+
+        tokenRevocationService.revoke(token);
+
+        ArgumentCaptor<RevokedToken> saved = ArgumentCaptor.forClass(RevokedToken.class);
+        verify(revokedTokenRepository).save(saved.capture());
+        assertEquals(jti, saved.getValue().getJti());
+        assertTrue(revocationList.isRevoked(jti));
+    }
+
+    @Test
+    void revoke_IgnoresATokenThatCannotBeParsed() {
+        tokenRevocationService.revoke("not-a-jwt");
+
+        verify(revokedTokenRepository, never()).save(any());
+    }
+
+    @Test
+    void refresh_LoadsTheWholeTableFirst_ThenOnlyRecentRevocations() {
+        LocalDateTime later = LocalDateTime.now().plusHours(1);
+        when(revokedTokenRepository.findByExpiresAtAfter(any()))
+                .thenReturn(List.of(new RevokedToken("first", later, LocalDateTime.now())));
+        when(revokedTokenRepository.findByRevokedAtGreaterThanEqualAndExpiresAtAfter(any(), any()))
+                .thenReturn(List.of(new RevokedToken("second", later, LocalDateTime.now())));
+
+        tokenRevocationService.refresh();
+        tokenRevocationService.refresh();
+
+        verify(revokedTokenRepository).findByExpiresAtAfter(any());
+        verify(revokedTokenRepository).findByRevokedAtGreaterThanEqualAndExpiresAtAfter(any(), any());
+        assertTrue(revocationList.isRevoked("first"));
+        assertTrue(revocationList.isRevoked("second"));
+    }
+}
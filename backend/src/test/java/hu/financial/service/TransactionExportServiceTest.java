@@ -0,0 +1,117 @@
+package hu.financial.service;
+
+import hu.financial.dto.transaction.TransactionFilter;
+import hu.financial.dto.transaction.TransferFormat;
+import hu.financial.model.enums.TransactionType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.support.TransactionOperations;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionExportServiceTest {
+
+    private static final Long USER_ID = 1L;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private ResultSet resultSet;
+
+    private TransactionExportService exportService;
+
+    @BeforeEach
+    void setUp() {
+        exportService = new TransactionExportService(jdbcTemplate, TransactionOperations.withoutTransaction(),
+                JsonMapper.builder().build(), 500);
+    }
+
+    private void streamOneRow() throws Exception {
+        when(resultSet.getLong("id")).thenReturn(7L);
+        when(resultSet.getString("type")).thenReturn("EXPENSE");
+        when(resultSet.getString("description")).thenReturn("bread, \"fresh\"");
+        when(resultSet.getLong("category_id")).thenReturn(10L);
+        when(resultSet.getString("name")).thenReturn("Groceries");
+        when(resultSet.getBigDecimal("amount")).thenReturn(new BigDecimal("12.50"));
+        when(resultSet.getDate("date")).thenReturn(Date.valueOf(LocalDate.of(2026, 1, 1)));
+        doAnswer(invocation -> {
+            invocation.getArgument(1, RowCallbackHandler.class).processRow(resultSet);
+            return null;
+        }).when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+    }
+
+    @Test
+    void csv_WritesAHeaderAndQuotesFieldsThatNeedIt() throws Exception {
+        streamOneRow();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        exportService.exportTransactions(USER_ID, TransactionFilter.unfiltered(), TransferFormat.CSV, out);
+
+        assertEquals(TransactionExportService.CSV_HEADER + "\n"
+                + "7,EXPENSE,\"bread, \"\"fresh\"\"\",10,Groceries,12.50,2026-01-01\n",
+                out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void ndjson_WritesOneObjectPerLine() throws Exception {
+        streamOneRow();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        exportService.exportTransactions(USER_ID, TransactionFilter.unfiltered(), TransferFormat.NDJSON,
+                out);
+
+        assertEquals("{\"id\":7,\"type\":\"EXPENSE\",\"description\":\"bread, \\\"fresh\\\"\",\"categoryId\":10,"
+                + "\"categoryName\":\"Groceries\",\"amount\":12.50,\"date\":\"2026-01-01\"}\n",
+                out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void query_IsForwardOnlyWithTheFetchSizeAndBindsOnlyTheSetFilters() throws Exception {
+        ArgumentCaptor<PreparedStatementCreator> creator = ArgumentCaptor.forClass(PreparedStatementCreator.class);
+        Connection connection = mock(Connection.class);
+        PreparedStatement statement = mock(PreparedStatement.class);
+        when(connection.prepareStatement(anyString(), anyInt(), anyInt())).thenReturn(statement);
+
+        exportService.exportTransactions(USER_ID,
+                new TransactionFilter(LocalDate.of(2026, 1, 1), null, null, TransactionType.INCOME),
+                TransferFormat.CSV, new ByteArrayOutputStream());
+        verify(jdbcTemplate).query(creator.capture(), any(RowCallbackHandler.class));
+        creator.getValue().createPreparedStatement(connection);
+
+        verify(connection).prepareStatement(
+                "SELECT t.id, t.type, t.description, t.category_id, c.name, t.amount, t.date "
+                        + "FROM transactions t JOIN categories c ON c.id = t.category_id WHERE t.user_id = ?"
+                        + " AND t.date >= ? AND t.type = ? ORDER BY t.date DESC, t.id DESC",
+                ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        verify(statement).setFetchSize(500);
+        verify(statement).setObject(1, USER_ID);
+        verify(statement).setObject(2, Date.valueOf(LocalDate.of(2026, 1, 1)));
+        verify(statement).setObject(3, "INCOME");
+    }
+}
@@ -0,0 +1,350 @@
+package hu.financial.service;
+
+import hu.financial.dto.transaction.TransactionImportResultDto;
+import hu.financial.event.UserDataChangedEvent;
+import hu.financial.dto.transaction.CreateTransactionDto;
+import hu.financial.dto.transaction.TransferFormat;
+import hu.financial.exception.InvalidRequestParameterException;
+import hu.financial.model.enums.TransactionType;
+import hu.financial.repository.BalanceCheckpointRepository;
+import hu.financial.repository.TransactionDailyRollupRepository;
+import hu.financial.repository.TransactionRollupRepository;
+import hu.financial.repository.CategoryRepository;
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.transaction.support.TransactionOperations;
+import tools.jackson.databind.json.JsonMapper;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionImportServiceTest {
+
+    private static final Long USER_ID = 1L;
+
+    private static final String HEADER = "type,description,categoryId,amount,date\n";
+
+    @Mock
+    private DataSource dataSource;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private CategoryRepository categoryRepository;
+
+    @Mock
+    private TransactionRollupRepository rollupRepository;
+
+    @Mock
+    private BalanceCheckpointRepository checkpointRepository;
+
+    @Mock
+    private TransactionDailyRollupRepository dailyRollupRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private ValidatorFactory validatorFactory;
+
+    private TransactionImportService importService;
+
+    @BeforeEach
+    void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        importService = new TransactionImportService(dataSource, jdbcTemplate, TransactionOperations.withoutTransaction(),
+                categoryRepository, rollupRepository, checkpointRepository, dailyRollupRepository,
+                JsonMapper.builder().build(),
+                validatorFactory.getValidator(), eventPublisher,
+                2, 3);
+    }
+
+    @AfterEach
+    void tearDown() {
+        validatorFactory.close();
+    }
+
+    private static InputStream body(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Collection<Object>> insertedBatches(int expectedBatches) {
+        ArgumentCaptor<Collection<Object>> batches = ArgumentCaptor.forClass(Collection.class);
+        verify(jdbcTemplate, times(expectedBatches)).batchUpdate(anyString(), batches.capture(), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class));
+        return batches.getAllValues();
+    }
+
+    @Test
+    void csv_InsertsInChunksOfTheBatchSize_AndResolvesEachCategoryOnlyOnce() {
+        when(categoryRepository.findOwnedIds(eq(USER_ID), anyCollection())).thenReturn(Set.of(10L));
+
+        TransactionImportResultDto result = importService.importTransactions(USER_ID, body(HEADER
+                + "EXPENSE,\"bread, milk\",10,12.50,2026-01-01\n"
+                + "income,salary,10,1000,2026-01-02\n"
+                + "EXPENSE,,10,3.30,2026-01-03\n"), TransferFormat.CSV);
+
+        assertEquals(3, result.imported());
+        assertEquals(0, result.rejected());
+        List<Collection<Object>> batches = insertedBatches(2);
+        assertEquals(2, batches.get(0).size());
+        assertEquals(1, batches.get(1).size());
+        verify(categoryRepository, times(1)).findOwnedIds(eq(USER_ID), anyCollection());
+        verify(eventPublisher, times(2)).publishEvent(new UserDataChangedEvent(USER_ID));
+    }
+
+    @Test
+    void csv_AddsEachBatchToTheMonthlyRollupOncePerMonthCategoryAndType() {
+        when(categoryRepository.findOwnedIds(eq(USER_ID), anyCollection())).thenReturn(Set.of(10L));
+
+        importService.importTransactions(USER_ID, body(HEADER
+                + "EXPENSE,a,10,12.50,2026-01-01\n"
+                + "EXPENSE,b,10,2.50,2026-01-31\n"
+                + "INCOME,c,10,100.00,2026-01-05\n"
+                + "EXPENSE,d,10,3.30,2026-02-03\n"), TransferFormat.CSV);
+
+        verify(rollupRepository).add(USER_ID, LocalDate.of(2026, 1, 1), 10L, "EXPENSE", new BigDecimal("15.00"), 2);
+        verify(rollupRepository).add(USER_ID, LocalDate.of(2026, 1, 1), 10L, "INCOME", new BigDecimal("100.00"), 1);
+        verify(rollupRepository).add(USER_ID, LocalDate.of(2026, 2, 1), 10L, "EXPENSE", new BigDecimal("3.30"), 1);
+        verifyNoMoreInteractions(rollupRepository);
+    }
+
+    @Test
+    void csv_AddsEachBatchToTheDailyRollupOncePerDayAndType() {
+        when(categoryRepository.findOwnedIds(eq(USER_ID), anyCollection())).thenReturn(Set.of(10L, 11L));
+
+        importService.importTransactions(USER_ID, body(HEADER
+                + "EXPENSE,a,10,12.50,2026-01-05\n"
+                + "EXPENSE,b,11,2.50,2026-01-05\n"
+                + "INCOME,c,10,100.00,2026-01-05\n"
+                + "EXPENSE,d,10,3.30,2026-01-06\n"), TransferFormat.CSV);
+
+        verify(dailyRollupRepository).add(USER_ID, LocalDate.of(2026, 1, 5), "EXPENSE", new BigDecimal("15.00"), 2);
+        verify(dailyRollupRepository).add(USER_ID, LocalDate.of(2026, 1, 5), "INCOME", new BigDecimal("100.00"), 1);
+        verify(dailyRollupRepository).add(USER_ID, LocalDate.of(2026, 1, 6), "EXPENSE", new BigDecimal("3.30"), 1);
+        verifyNoMoreInteractions(dailyRollupRepository);
+    }
+
+    @Test
+    void csv_LocksTheOwnerThenShiftsTheBalanceCheckpointsOncePerMonthAndTypeOfEachBatch() {
+        when(categoryRepository.findOwnedIds(eq(USER_ID), anyCollection())).thenReturn(Set.of(10L, 11L));
+
+        importService.importTransactions(USER_ID, body(HEADER
+                + "EXPENSE,a,10,12.50,2026-01-01\n"
+                + "EXPENSE,b,11,2.50,2026-01-31\n"
+                + "INCOME,c,10,100.00,2026-01-05\n"), TransferFormat.CSV);
+
+        InOrder order = inOrder(checkpointRepository, rollupRepository);
+        order.verify(checkpointRepository).lockOwner(USER_ID);
+        order.verify(rollupRepository).add(eq(USER_ID), any(), eq(11L), any(), any(), anyLong());
+        order.verify(checkpointRepository).add(USER_ID, LocalDate.of(2026, 1, 1), TransactionType.EXPENSE,
+                new BigDecimal("15.00"));
+        order.verify(checkpointRepository).lockOwner(USER_ID);
+        order.verify(rollupRepository).add(eq(USER_ID), any(), eq(10L), eq("INCOME"), any(), anyLong());
+        order.verify(checkpointRepository).add(USER_ID, LocalDate.of(2026, 1, 1), TransactionType.INCOME,
+                new BigDecimal("100.00"));
+        verifyNoMoreInteractions(checkpointRepository);
+    }
+
+    @Test
+    void csv_ReportsEveryBadRowWithItsLineNumber_AndStillImportsTheRest() {
+        when(categoryRepository.findOwnedIds(eq(USER_ID), anyCollection())).thenReturn(Set.of(10L));
+
+        TransactionImportResultDto result = importService.importTransactions(USER_ID, body(HEADER
+                + "EXPENSE,ok,10,12.50,2026-01-01\n"
+                + "TRANSFER,bad type,10,12.50,2026-01-01\n"
+                + "EXPENSE,no amount,10,,2026-01-01\n"
+                + "\n"
+                + "EXPENSE,bad date,10,1.00,01/02/2026\n"
+                + "EXPENSE,not mine,99,1.00,2026-01-01\n"), TransferFormat.CSV);
+
+        assertEquals(1, result.imported());
+        assertEquals(4, result.rejected());
+        assertEquals(List.of(
+                new TransactionImportResultDto.RowError(3, "type: must be INCOME or EXPENSE"),
+                new TransactionImportResultDto.RowError(4, "amount: Transaction amount is required"),
+                new TransactionImportResultDto.RowError(6, "date: must be an ISO date (YYYY-MM-DD)")),
+                result.errors());
+        assertTrue(result.errorsTruncated());
+    }
+
+    @Test
+    void csv_RowsWithAForeignCategory_AreRejectedWithoutInserting() {
+        when(categoryRepository.findOwnedIds(eq(USER_ID), anyCollection())).thenReturn(Set.of());
+
+        TransactionImportResultDto result = importService.importTransactions(USER_ID, body(HEADER
+                + "EXPENSE,not mine,99,1.00,2026-01-01\n"), TransferFormat.CSV);
+
+        assertEquals(0, result.imported());
+        assertEquals(List.of(new TransactionImportResultDto.RowError(2, "categoryId: Category not found with id: 99")),
+                result.errors());
+        verifyNoInteractions(jdbcTemplate, eventPublisher);
+    }
+
+    @Test
+    void csv_HeaderWithoutARequiredColumn_IsRejectedAsABadRequest() {
+        InvalidRequestParameterException exception = assertThrows(InvalidRequestParameterException.class,
+                () -> importService.importTransactions(USER_ID, body("type,description,amount,date\n"),
+                        TransferFormat.CSV));
+
+        assertEquals(TransactionImportService.HEADER_PARAMETER, exception.getParameter());
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void csv_HeaderColumnsMayComeInAnyOrderAndSpelling() {
+        when(categoryRepository.findOwnedIds(eq(USER_ID), anyCollection())).thenReturn(Set.of(10L));
+
+        TransactionImportResultDto result = importService.importTransactions(USER_ID,
+                body("\uFEFFDate,Amount,category_id,Type\r\n2026-01-01,5.00,10,EXPENSE\r\n"),
+                TransferFormat.CSV);
+
+        assertEquals(1, result.imported());
+        assertEquals(0, result.rejected());
+    }
+
+    @Test
+    void ndjson_ImportsObjectsAndReportsMalformedLines() {
+        when(categoryRepository.findOwnedIds(eq(USER_ID), anyCollection())).thenReturn(Set.of(10L));
+
+        TransactionImportResultDto result = importService.importTransactions(USER_ID, body(
+                "{\"type\":\"EXPENSE\",\"categoryId\":10,\"amount\":12.50,\"date\":\"2026-01-01\"}\n"
+                + "{\"type\":\"EXPENSE\",\"categoryId\":10,\n"
+                + "{\"type\":\"INCOME\",\"categoryId\":10,\"amount\":0,\"date\":\"2026-01-01\"}\n"),
+                TransferFormat.NDJSON);
+
+        assertEquals(1, result.imported());
+        assertEquals(2, result.rejected());
+        assertEquals(2, result.errors().get(0).line());
+        assertTrue(result.errors().get(0).message().startsWith("malformed JSON row"));
+        assertEquals(new TransactionImportResultDto.RowError(3, "amount: Transaction amount must be greater than 0"),
+                result.errors().get(1));
+    }
+
+    @Test
+    void aBatchTheDatabaseRejects_IsReportedAndTheNextBatchStillRuns() {
+        when(categoryRepository.findOwnedIds(eq(USER_ID), anyCollection())).thenReturn(Set.of(10L));
+        when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+                .thenThrow(new DataIntegrityViolationException("fk_transactions_category"))
+                .thenReturn(new int[][] { { 1 } });
+
+        TransactionImportResultDto result = importService.importTransactions(USER_ID, body(HEADER
+                + "EXPENSE,a,10,1.00,2026-01-01\n"
+                + "EXPENSE,b,10,1.00,2026-01-01\n"
+                + "EXPENSE,c,10,1.00,2026-01-01\n"), TransferFormat.CSV);
+
+        assertEquals(1, result.imported());
+        assertEquals(2, result.rejected());
+        assertEquals(List.of(2L, 3L), result.errors().stream().map(TransactionImportResultDto.RowError::line).toList());
+        assertFalse(result.errorsTruncated());
+        verify(eventPublisher).publishEvent(new UserDataChangedEvent(USER_ID));
+    }
+
+    @Test
+    void emptyBody_ImportsNothingAndPublishesNothing() {
+        TransactionImportResultDto result = importService.importTransactions(USER_ID, body(""),
+                TransferFormat.CSV);
+
+        assertEquals(0, result.imported());
+        verify(categoryRepository, never()).findOwnedIds(any(), anyCollection());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void splitCsvLine_HandlesQuotedSeparatorsAndEscapedQuotes() {
+        assertEquals(List.of("a", "b, c", "say \"hi\"", ""),
+                TransactionImportService.splitCsvLine("a,\"b, c\",\"say \"\"hi\"\"\","));
+    }
+
+    @Test
+    void format_IsPickedFromTheContentType() {
+        assertEquals(TransferFormat.NDJSON,
+                TransferFormat.of("application/x-ndjson; charset=UTF-8"));
+        assertEquals(TransferFormat.CSV, TransferFormat.of("text/csv"));
+    }
+
+    @Test
+    void emptyBody_InCopyMode_NeverOpensACopyStream() {
+        TransactionImportResultDto result = importService.importTransactions(USER_ID, body(""),
+                TransferFormat.CSV, TransactionImportService.Mode.COPY);
+
+        assertEquals(0, result.imported());
+        verifyNoInteractions(dataSource, jdbcTemplate, eventPublisher);
+    }
+
+    @Test
+    void copyMode_ReadsTheWholeBodyBeforeOpeningAConnection() {
+        StringBuilder csv = new StringBuilder(HEADER);
+        for (int i = 0; i < 5000; i++) {
+            csv.append("EXPENSE,row ").append(i).append(",10,1.25,2026-01-01\n");
+        }
+        InputStream brokenUpload = new SequenceInputStream(body(csv.toString()), new InputStream() {
+            @Override
+            public int read() throws IOException {
+                throw new IOException("connection reset");
+            }
+        });
+
+        assertThrows(UncheckedIOException.class, () -> importService.importTransactions(USER_ID, brokenUpload,
+                TransferFormat.CSV, TransactionImportService.Mode.COPY));
+
+        verifyNoInteractions(dataSource, jdbcTemplate, eventPublisher);
+    }
+
+    @Test
+    void appendCopyRow_QuotesTheDescriptionAndLeavesAMissingOneNull() {
+        UUID importId = UUID.fromString("00000000-0000-0000-0000-000000000001");
+        StringBuilder out = new StringBuilder();
+
+        TransactionImportService.appendCopyRow(out, importId, 2, new CreateTransactionDto(TransactionType.EXPENSE,
+                "say \"hi\", then\nleave", 10L, new BigDecimal("12.5"), LocalDate.of(2026, 1, 1)));
+        TransactionImportService.appendCopyRow(out, importId, 3, new CreateTransactionDto(TransactionType.INCOME,
+                null, 11L, new BigDecimal("1000"), LocalDate.of(2026, 1, 2)));
+
+        assertEquals(importId + ",2,EXPENSE,\"say \"\"hi\"\", then\nleave\",10,12.50,2026-01-01\n"
+                + importId + ",3,INCOME,,11,1000.00,2026-01-02\n", out.toString());
+    }
+}
@@ -0,0 +1,112 @@
+package hu.financial.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionOperations;
+
+import hu.financial.event.UserDataChangedEvent;
+import hu.financial.repository.BalanceCheckpointRepository;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionRollupServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private BalanceCheckpointRepository checkpointRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private TransactionRollupService rollupService;
+
+    @BeforeEach
+    void setUp() {
+        rollupService = new TransactionRollupService(jdbcTemplate, TransactionOperations.withoutTransaction(),
+                checkpointRepository, eventPublisher);
+    }
+
+    private static final String ROLLUP_UPSERT = "INSERT INTO transaction_monthly_rollup";
+
+    private static final String ROLLUP_DELETE = "DELETE FROM transaction_monthly_rollup";
+
+    private static final String DAILY_UPSERT = "INSERT INTO transaction_daily_rollup";
+
+    private static final String DAILY_DELETE = "DELETE FROM transaction_daily_rollup";
+
+    private static final String CHECKPOINT_UPSERT = "INSERT INTO balance_checkpoints";
+
+    private static final String CHECKPOINT_DELETE = "DELETE FROM balance_checkpoints";
+
+    @Test
+    void rebuild_LocksOnlyTheOwnerBeforeReconcilingTheRollupsAndThenTheCheckpoints() {
+        when(jdbcTemplate.update(anyString(), eq(7L))).thenReturn(0);
+
+        rollupService.rebuild(7L);
+
+        InOrder order = inOrder(checkpointRepository, jdbcTemplate);
+        order.verify(checkpointRepository).lockOwner(7L);
+        order.verify(jdbcTemplate).update(startsWith(ROLLUP_UPSERT), eq(7L));
+        order.verify(jdbcTemplate).update(startsWith(ROLLUP_DELETE), eq(7L));
+        order.verify(jdbcTemplate).update(startsWith(DAILY_UPSERT), eq(7L));
+        order.verify(jdbcTemplate).update(startsWith(DAILY_DELETE), eq(7L));
+        order.verify(jdbcTemplate).update(startsWith(CHECKPOINT_UPSERT), eq(7L));
+        order.verify(jdbcTemplate).update(startsWith(CHECKPOINT_DELETE), eq(7L));
+    }
+
+    @Test
+    void rebuild_ReportsCorrectedRows_AndTellsCachesTheUsersReportsChanged() {
+        when(jdbcTemplate.update(startsWith(ROLLUP_UPSERT), eq(7L))).thenReturn(2);
+        when(jdbcTemplate.update(startsWith(ROLLUP_DELETE), eq(7L))).thenReturn(1);
+        when(jdbcTemplate.update(startsWith(DAILY_UPSERT), eq(7L))).thenReturn(3);
+        when(jdbcTemplate.update(startsWith(DAILY_DELETE), eq(7L))).thenReturn(1);
+        when(jdbcTemplate.update(startsWith(CHECKPOINT_UPSERT), eq(7L))).thenReturn(1);
+        when(jdbcTemplate.update(startsWith(CHECKPOINT_DELETE), eq(7L))).thenReturn(0);
+
+        assertEquals(8, rollupService.rebuild(7L));
+        verify(eventPublisher).publishEvent(new UserDataChangedEvent(7L));
+    }
+
+    @Test
+    void rebuild_StaysQuiet_WhenTheRollupAlreadyMatchesTheTransactions() {
+        when(jdbcTemplate.update(anyString(), eq(7L))).thenReturn(0);
+
+        assertEquals(0, rollupService.rebuild(7L));
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void rebuildAll_ReconcilesEveryUser() {
+        when(jdbcTemplate.queryForList("SELECT id FROM users ORDER BY id", Long.class)).thenReturn(List.of(1L, 2L));
+
+        rollupService.rebuildAll();
+
+        for (long userId : List.of(1L, 2L)) {
+            verify(jdbcTemplate).update(startsWith(ROLLUP_UPSERT), eq(userId));
+            verify(jdbcTemplate).update(startsWith(ROLLUP_DELETE), eq(userId));
+            verify(jdbcTemplate).update(startsWith(DAILY_UPSERT), eq(userId));
+            verify(jdbcTemplate).update(startsWith(DAILY_DELETE), eq(userId));
+            verify(jdbcTemplate).update(startsWith(CHECKPOINT_UPSERT), eq(userId));
+            verify(jdbcTemplate).update(startsWith(CHECKPOINT_DELETE), eq(userId));
+        }
+    }
+}
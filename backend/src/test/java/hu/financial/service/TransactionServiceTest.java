@@ -6,20 +6,29 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.ArgumentMatchers;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.Sort;
+import hu.financial.repository.BalanceCheckpointRepository;
 import hu.financial.repository.TransactionRepository;
+import hu.financial.repository.TransactionDailyRollupRepository;
+import hu.financial.repository.TransactionRollupRepository;
+import hu.financial.repository.projection.TransactionPosting;
+import hu.financial.repository.projection.TransactionRow;
 import hu.financial.model.Transaction;
 import hu.financial.model.User;
 import hu.financial.model.Category;
 import hu.financial.dto.transaction.CreateTransactionDto;
 import hu.financial.dto.transaction.TransactionFilter;
+import hu.financial.event.UserDataChangedEvent;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import org.junit.jupiter.api.BeforeEach;
@@ -27,6 +36,7 @@ import java.math.BigDecimal;
 import java.util.List;
 import java.util.Arrays;
 import java.util.Optional;
+import java.util.OptionalLong;
 import java.time.LocalDate;
 import java.time.YearMonth;
 import hu.financial.model.enums.TransactionType;
@@ -36,6 +46,7 @@ import hu.financial.exception.transaction.TransactionValidationException;
 import hu.financial.dto.report.BudgetStatusItemDto;
 import hu.financial.dto.transaction.TransactionResponseDto;
 import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 
 @ExtendWith(MockitoExtension.class)
 public class TransactionServiceTest {
@@ -52,10 +63,26 @@ public class TransactionServiceTest {
     @Mock
     private ReportService reportService;
 
+    @Mock
+    private ListCountCache listCountCache;
+
+    @Mock
+    private TransactionRollupRepository rollupRepository;
+
+    @Mock
+    private BalanceCheckpointRepository checkpointRepository;
+
+    @Mock
+    private TransactionDailyRollupRepository dailyRollupRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private TransactionService transactionService;
 
     private Transaction testTransaction;
+    private TransactionRow testRow;
     private User testUser;
     private Category testCategory;
     private TransactionType testTransactionType;
@@ -67,6 +94,8 @@ public class TransactionServiceTest {
         testCategory.setId(1L);
         testTransactionType = TransactionType.INCOME;
         testTransaction = new Transaction(1L, testTransactionType, "testdescription", testCategory, testUser, new BigDecimal("100.00"), LocalDate.now());
+        testRow = new TransactionRow(1L, testTransactionType, "testdescription", testCategory.getId(),
+                testCategory.getName(), new BigDecimal("100.00"), testTransaction.getDate());
     }
 
 
@@ -98,67 +127,213 @@ public class TransactionServiceTest {
         verify(transactionRepository, times(1)).findAll();
     }
 
+    private static TransactionPosting posting(Transaction transaction) {
+        return new TransactionPosting() {
+            public String getType() {
+                return transaction.getType().name();
+            }
+
+            public Long getCategoryId() {
+                return transaction.getCategory().getId();
+            }
+
+            public BigDecimal getAmount() {
+                return transaction.getAmount();
+            }
+
+            public LocalDate getDate() {
+                return transaction.getDate();
+            }
+        };
+    }
+
+    private void stubUpdate(Long id, Transaction replacement, Transaction previous) {
+        when(transactionRepository.updateOwned(id, testUser.getId(), replacement.getType().name(),
+                replacement.getDescription(), replacement.getCategory().getId(), replacement.getAmount(),
+                replacement.getDate())).thenReturn(Optional.ofNullable(previous).map(TransactionServiceTest::posting));
+    }
+
     @Test
-    void getTransactionById_ShouldReturnTransaction_WhenValidTransaction() {
-        // Arrange
-        when(transactionRepository.findById(testTransaction.getId())).thenReturn(Optional.of(testTransaction));
+    void getOwnedTransactionRow_ShouldReturnRow_WhenOwnedByUser() {
+        when(transactionRepository.findOwnedRow(testTransaction.getId(), testUser.getId())).thenReturn(Optional.of(testRow));
 
-        // Act
-        Transaction result = transactionService.getTransactionById(testTransaction.getId());
-    
-        // Assert
-        assertNotNull(result);
-        assertEquals(testTransaction, result);
-        verify(transactionRepository, times(1)).findById(testTransaction.getId());
+        TransactionRow result = transactionService.getOwnedTransactionRow(testTransaction.getId(), testUser.getId());
+
+        assertEquals(testRow, result);
+        verify(transactionRepository, never()).findById(any());
     }
 
     @Test
-    void updateTransaction_ShouldReturnTransaction_WhenValidTransaction() {
-        // Arrange
-        when(transactionRepository.findById(testTransaction.getId())).thenReturn(Optional.of(testTransaction));
-        when(transactionRepository.save(any(Transaction.class))).thenReturn(testTransaction);
+    void updateOwnedTransaction_ShouldReturnTransaction_WithoutLoadingOrSavingTheEntity() {
+        stubUpdate(testTransaction.getId(), testTransaction, testTransaction);
 
-        // Act
-        Transaction result = transactionService.updateTransaction(testTransaction.getId(), testTransaction);
+        Transaction result = transactionService.updateOwnedTransaction(testTransaction.getId(), testTransaction);
 
-        // Assert
         assertNotNull(result);
         assertEquals(testTransaction, result);
-        verify(transactionRepository, times(1)).findById(testTransaction.getId());
-        verify(transactionRepository, times(1)).save(any(Transaction.class));
+        verify(transactionRepository, never()).findById(any());
+        verify(transactionRepository, never()).save(any(Transaction.class));
     }
 
     @Test
-    void deleteTransaction_ShouldReturnVoid_WhenValidTransaction() {
-        // Arrange
-        when(transactionRepository.findById(testTransaction.getId())).thenReturn(Optional.of(testTransaction));
-        doNothing().when(transactionRepository).delete(testTransaction);
+    void deleteOwnedTransaction_ShouldDeleteInOneStatement_WhenOwnedByUser() {
+        when(transactionRepository.deleteOwned(testTransaction.getId(), testUser.getId()))
+                .thenReturn(Optional.of(posting(testTransaction)));
 
-        // Act
-        transactionService.deleteTransaction(testTransaction.getId());
+        transactionService.deleteOwnedTransaction(testTransaction.getId(), testUser.getId());
 
-        // Assert
-        verify(transactionRepository, times(1)).delete(testTransaction);
+        verify(transactionRepository, never()).findById(any());
+        verify(transactionRepository, never()).delete(any(Transaction.class));
     }
 
     @Test
-    void getTransactionsByUserId_ShouldDelegateSpecificationAndPageableToRepository_SoFilteringHappensInSql() {
+    void getTransactionsByUserId_ShouldDelegateSpecificationAndPageableToTheProjectionQuery_SoFilteringHappensInSql() {
         Pageable pageable = PageRequest.of(1, 5, Sort.by(Sort.Direction.DESC, "date"));
-        Page<Transaction> page = new PageImpl<>(Arrays.asList(testTransaction), pageable, 11);
-        when(transactionRepository.findAll(ArgumentMatchers.<Specification<Transaction>>any(), eq(pageable)))
-                .thenReturn(page);
+        when(transactionRepository.findRows(ArgumentMatchers.<Specification<Transaction>>any(), eq(pageable)))
+                .thenReturn(new SliceImpl<>(List.of(testRow), pageable, true));
+        when(transactionRepository.count(ArgumentMatchers.<Specification<Transaction>>any())).thenReturn(11L);
 
-        Page<Transaction> result = transactionService.getTransactionsByUserId(
+        Page<TransactionRow> result = transactionService.getTransactionsByUserId(
                 testUser.getId(), TransactionFilter.unfiltered(), pageable);
 
         assertNotNull(result);
-        assertEquals(Arrays.asList(testTransaction), result.getContent());
+        assertEquals(List.of(testRow), result.getContent());
         assertEquals(11, result.getTotalElements());
-        verify(transactionRepository, times(1))
-                .findAll(ArgumentMatchers.<Specification<Transaction>>any(), eq(pageable));
+        verify(transactionRepository, never()).findAll(ArgumentMatchers.<Specification<Transaction>>any(),
+                any(Pageable.class));
         verify(transactionRepository, never()).findAll(any(Pageable.class));
     }
 
+    @Test
+    void getTransactionsByUserId_ShouldSkipTheCountQuery_WhenTheTotalIsCached() {
+        Pageable pageable = PageRequest.of(1, 5, Sort.by(Sort.Direction.DESC, "date"));
+        when(listCountCache.get(testUser.getId(), TransactionFilter.unfiltered())).thenReturn(OptionalLong.of(11));
+        when(transactionRepository.findRows(ArgumentMatchers.<Specification<Transaction>>any(), eq(pageable)))
+                .thenReturn(new SliceImpl<>(List.of(testRow), pageable, true));
+
+        Page<TransactionRow> result = transactionService.getTransactionsByUserId(
+                testUser.getId(), TransactionFilter.unfiltered(), pageable);
+
+        assertEquals(11, result.getTotalElements());
+        assertEquals(List.of(testRow), result.getContent());
+        verify(transactionRepository, never()).count(ArgumentMatchers.<Specification<Transaction>>any());
+        verify(listCountCache, never()).put(any(), any(), anyLong(), anyLong());
+    }
+
+    @Test
+    void getTransactionsByUserId_ShouldCacheTheTotal_UnderTheStampTakenBeforeReading() {
+        Pageable pageable = PageRequest.of(0, 5);
+        when(listCountCache.stamp(testUser.getId())).thenReturn(3L);
+        when(transactionRepository.findRows(ArgumentMatchers.<Specification<Transaction>>any(), eq(pageable)))
+                .thenReturn(new SliceImpl<>(List.of(testRow), pageable, false));
+
+        transactionService.getTransactionsByUserId(testUser.getId(), TransactionFilter.unfiltered(), pageable);
+
+        InOrder order = inOrder(listCountCache, transactionRepository);
+        order.verify(listCountCache).stamp(testUser.getId());
+        order.verify(transactionRepository).findRows(ArgumentMatchers.<Specification<Transaction>>any(), eq(pageable));
+        verify(listCountCache).put(testUser.getId(), TransactionFilter.unfiltered(), 1L, 3L);
+        verify(transactionRepository, never()).count(ArgumentMatchers.<Specification<Transaction>>any());
+    }
+
+    @Test
+    void getTransactionsByUserId_ShouldCount_WhenAPageBeyondTheLastOneComesBackEmpty() {
+        Pageable pageable = PageRequest.of(4, 5);
+        when(transactionRepository.findRows(ArgumentMatchers.<Specification<Transaction>>any(), eq(pageable)))
+                .thenReturn(new SliceImpl<>(List.of(), pageable, false));
+        when(transactionRepository.count(ArgumentMatchers.<Specification<Transaction>>any())).thenReturn(7L);
+
+        Page<TransactionRow> result = transactionService.getTransactionsByUserId(
+                testUser.getId(), TransactionFilter.unfiltered(), pageable);
+
+        assertEquals(7, result.getTotalElements());
+    }
+
+    @Test
+    void mapRowToDto_ShouldCopyEveryColumnAndNeverCarryABudgetWarning() {
+        TransactionResponseDto dto = transactionService.mapRowToDto(testRow);
+
+        assertEquals(testRow.id(), dto.id());
+        assertEquals(testRow.categoryName(), dto.categoryName());
+        assertEquals(testRow.amount(), dto.amount());
+        assertNull(dto.budgetWarning());
+    }
+
+    @Test
+    void createUpdateAndDelete_ShouldEachPublishAChangeForTheOwner() {
+        when(transactionRepository.save(any(Transaction.class))).thenReturn(testTransaction);
+        stubUpdate(testTransaction.getId(), testTransaction, testTransaction);
+        when(transactionRepository.deleteOwned(testTransaction.getId(), testUser.getId()))
+                .thenReturn(Optional.of(posting(testTransaction)));
+
+        transactionService.createTransaction(testTransaction);
+        transactionService.updateOwnedTransaction(testTransaction.getId(), testTransaction);
+        transactionService.deleteOwnedTransaction(testTransaction.getId(), testUser.getId());
+
+        verify(eventPublisher, times(3)).publishEvent(new UserDataChangedEvent(testUser.getId()));
+    }
+
+    @Test
+    void createTransaction_ShouldAddAnExpenseToItsMonthlyRollup() {
+        Transaction expense = new Transaction(2L, TransactionType.EXPENSE, "rent", testCategory, testUser,
+                new BigDecimal("40.00"), LocalDate.of(2026, 7, 15));
+        when(transactionRepository.save(expense)).thenReturn(expense);
+
+        transactionService.createTransaction(expense);
+
+        verify(rollupRepository).add(testUser.getId(), LocalDate.of(2026, 7, 1), testCategory.getId(), "EXPENSE",
+                new BigDecimal("40.00"), 1);
+        verify(checkpointRepository).add(testUser.getId(), LocalDate.of(2026, 7, 1), TransactionType.EXPENSE,
+                new BigDecimal("40.00"));
+    }
+
+    @Test
+    void createTransaction_ShouldRollUpIncomeUnderItsOwnType() {
+        when(transactionRepository.save(testTransaction)).thenReturn(testTransaction);
+
+        transactionService.createTransaction(testTransaction);
+
+        verify(rollupRepository).add(testUser.getId(), testTransaction.getDate().withDayOfMonth(1),
+                testCategory.getId(), "INCOME", testTransaction.getAmount(), 1);
+    }
+
+    @Test
+    void updateOwnedTransaction_ShouldMoveTheRollupFromTheOldMonthAmountAndTypeToTheNewOnes() {
+        Transaction existing = new Transaction(2L, TransactionType.EXPENSE, "rent", testCategory, testUser,
+                new BigDecimal("40.00"), LocalDate.of(2026, 7, 15));
+        Transaction changes = new Transaction(null, TransactionType.INCOME, "refund", testCategory, testUser,
+                new BigDecimal("55.00"), LocalDate.of(2026, 8, 2));
+        stubUpdate(2L, changes, existing);
+
+        transactionService.updateOwnedTransaction(2L, changes);
+
+        InOrder order = inOrder(checkpointRepository, rollupRepository);
+        order.verify(checkpointRepository).lockOwner(testUser.getId());
+        order.verify(rollupRepository).add(testUser.getId(), LocalDate.of(2026, 7, 1), testCategory.getId(), "EXPENSE",
+                new BigDecimal("-40.00"), -1);
+        order.verify(rollupRepository).add(testUser.getId(), LocalDate.of(2026, 8, 1), testCategory.getId(), "INCOME",
+                new BigDecimal("55.00"), 1);
+        InOrder checkpoints = inOrder(checkpointRepository);
+        checkpoints.verify(checkpointRepository).add(testUser.getId(), LocalDate.of(2026, 7, 1),
+                TransactionType.EXPENSE, new BigDecimal("-40.00"));
+        checkpoints.verify(checkpointRepository).add(testUser.getId(), LocalDate.of(2026, 8, 1),
+                TransactionType.INCOME, new BigDecimal("55.00"));
+    }
+
+    @Test
+    void deleteOwnedTransaction_ShouldTakeTheTransactionBackOutOfItsMonthlyRollup() {
+        Transaction expense = new Transaction(2L, TransactionType.EXPENSE, "rent", testCategory, testUser,
+                new BigDecimal("40.00"), LocalDate.of(2026, 7, 15));
+        when(transactionRepository.deleteOwned(2L, testUser.getId())).thenReturn(Optional.of(posting(expense)));
+
+        transactionService.deleteOwnedTransaction(2L, testUser.getId());
+
+        verify(rollupRepository).add(testUser.getId(), LocalDate.of(2026, 7, 1), testCategory.getId(), "EXPENSE",
+                new BigDecimal("-40.00"), -1);
+        verify(checkpointRepository).add(testUser.getId(), LocalDate.of(2026, 7, 1), TransactionType.EXPENSE,
+                new BigDecimal("-40.00"));
+    }
+
     @Test
     void createTransaction_ShouldThrowValidation_WhenAmountNotPositive() {
         Transaction invalid = new Transaction(2L, testTransactionType, "invalid",
@@ -169,25 +344,25 @@ public class TransactionServiceTest {
     }
 
     @Test
-    void getTransactionById_ShouldThrowNotFound_WhenMissing() {
-        when(transactionRepository.findById(99L)).thenReturn(Optional.empty());
+    void getOwnedTransactionRow_ShouldThrowNotFound_WhenMissingOrOwnedByAnotherUser() {
+        when(transactionRepository.findOwnedRow(99L, testUser.getId())).thenReturn(Optional.empty());
 
-        assertThrows(TransactionNotFoundException.class, () -> transactionService.getTransactionById(99L));
+        assertThrows(TransactionNotFoundException.class,
+                () -> transactionService.getOwnedTransactionRow(99L, testUser.getId()));
     }
 
     @Test
-    void updateTransaction_ShouldReplaceAllMutableFields_WhenFullReplacementRequested() {
+    void updateOwnedTransaction_ShouldReplaceAllMutableFields_WhenFullReplacementRequested() {
         Category newCategory = new Category("newcategory", "newdescription", testUser);
         newCategory.setId(2L);
         LocalDate newDate = LocalDate.now().minusDays(3);
         Transaction replacement = new Transaction(null, TransactionType.EXPENSE, "new description",
                 newCategory, testUser, new BigDecimal("42.50"), newDate);
+        stubUpdate(testTransaction.getId(), replacement, testTransaction);
 
-        when(transactionRepository.findById(testTransaction.getId())).thenReturn(Optional.of(testTransaction));
-        when(transactionRepository.save(any(Transaction.class))).thenAnswer(invocation -> invocation.getArgument(0));
-
-        Transaction result = transactionService.updateTransaction(testTransaction.getId(), replacement);
+        Transaction result = transactionService.updateOwnedTransaction(testTransaction.getId(), replacement);
 
+        assertEquals(testTransaction.getId(), result.getId());
         assertEquals(TransactionType.EXPENSE, result.getType());
         assertEquals("new description", result.getDescription());
         assertEquals(newCategory, result.getCategory());
@@ -196,30 +371,31 @@ public class TransactionServiceTest {
     }
 
     @Test
-    void updateTransaction_ShouldThrowValidation_WhenAmountNotPositive() {
+    void updateOwnedTransaction_ShouldThrowValidation_WhenAmountNotPositive() {
         Transaction replacement = new Transaction(null, TransactionType.EXPENSE, "invalid",
                 testCategory, testUser, BigDecimal.ZERO, LocalDate.now());
-        when(transactionRepository.findById(testTransaction.getId())).thenReturn(Optional.of(testTransaction));
 
         assertThrows(TransactionValidationException.class,
-                () -> transactionService.updateTransaction(testTransaction.getId(), replacement));
-        verify(transactionRepository, never()).save(any(Transaction.class));
+                () -> transactionService.updateOwnedTransaction(testTransaction.getId(), replacement));
+        verify(transactionRepository, never()).updateOwned(any(), any(), any(), any(), any(), any(), any());
     }
 
     @Test
-    void updateTransaction_ShouldThrowNotFound_WhenMissing() {
-        when(transactionRepository.findById(99L)).thenReturn(Optional.empty());
+    void updateOwnedTransaction_ShouldThrowNotFound_AndLeaveTheRollupsAlone_WhenMissingOrOwnedByAnotherUser() {
+        stubUpdate(99L, testTransaction, null);
 
-        assertThrows(TransactionNotFoundException.class, () -> transactionService.updateTransaction(99L, testTransaction));
-        verify(transactionRepository, never()).save(any(Transaction.class));
+        assertThrows(TransactionNotFoundException.class,
+                () -> transactionService.updateOwnedTransaction(99L, testTransaction));
+        verifyNoInteractions(rollupRepository, checkpointRepository, dailyRollupRepository, eventPublisher);
     }
 
     @Test
-    void deleteTransaction_ShouldThrowNotFound_WhenMissing() {
-        when(transactionRepository.findById(99L)).thenReturn(Optional.empty());
+    void deleteOwnedTransaction_ShouldThrowNotFound_AndLeaveTheRollupsAlone_WhenMissingOrOwnedByAnotherUser() {
+        when(transactionRepository.deleteOwned(99L, testUser.getId())).thenReturn(Optional.empty());
 
-        assertThrows(TransactionNotFoundException.class, () -> transactionService.deleteTransaction(99L));
-        verify(transactionRepository, never()).delete(any(Transaction.class));
+        assertThrows(TransactionNotFoundException.class,
+                () -> transactionService.deleteOwnedTransaction(99L, testUser.getId()));
+        verifyNoInteractions(rollupRepository, checkpointRepository, dailyRollupRepository, eventPublisher);
     }
 
     @Test
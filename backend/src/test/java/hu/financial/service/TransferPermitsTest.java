@@ -0,0 +1,50 @@
+package hu.financial.service;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+import hu.financial.exception.transaction.TransferUnavailableException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TransferPermitsTest {
+
+    @Test
+    void withoutAnExplicitLimit_UsesAQuarterOfTheConnectionPool() {
+        TransferPermits permits = new TransferPermits(0, Duration.ZERO, 12);
+
+        assertEquals(3, permits.availablePermits());
+    }
+
+    @Test
+    void anExplicitLimit_StillLeavesOneConnectionForTheRestOfTheApplication() {
+        TransferPermits permits = new TransferPermits(20, Duration.ZERO, 10);
+
+        assertEquals(9, permits.availablePermits());
+    }
+
+    @Test
+    void acquire_WhenEveryPermitIsTaken_RejectsAfterTheWait() {
+        TransferPermits permits = new TransferPermits(1, Duration.ofMillis(50), 10);
+        TransferPermits.Permit held = permits.acquire();
+
+        assertThrows(TransferUnavailableException.class, permits::acquire);
+
+        held.close();
+        permits.acquire().close();
+        assertEquals(1, permits.availablePermits());
+    }
+
+    @Test
+    void close_ReleasesThePermitOnlyOnce() {
+        TransferPermits permits = new TransferPermits(2, Duration.ZERO, 10);
+        TransferPermits.Permit permit = permits.acquire();
+
+        permit.close();
+        permit.close();
+
+        assertEquals(2, permits.availablePermits());
+    }
+}
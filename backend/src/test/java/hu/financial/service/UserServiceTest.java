@@ -9,18 +9,23 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import hu.financial.dto.user.ChangePasswordRequestDto;
+import hu.financial.event.PrincipalChangedEvent;
+import hu.financial.event.UserDataChangedEvent;
 import hu.financial.exception.user.InvalidPasswordException;
 import hu.financial.exception.user.UserNotFoundException;
 import hu.financial.model.User;
 import hu.financial.repository.UserRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.core.context.SecurityContextHolder;
 import hu.financial.dto.user.UpdateProfileDto;
 
@@ -33,6 +38,12 @@ class UserServiceTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private RefreshTokenService refreshTokenService;
+
     @InjectMocks
     private UserService userService;
     private User testUser;
@@ -85,7 +96,7 @@ class UserServiceTest {
         updatedUser.setId(userId);
         
         when(userRepository.findById(userId)).thenReturn(Optional.of(testUser));
-        when(userRepository.save(any(User.class))).thenReturn(updatedUser);
+        when(userRepository.saveAndFlush(any(User.class))).thenReturn(updatedUser);
 
         // Act
         User result = userService.updateUser(userId, updateProfileDto);
@@ -95,7 +106,8 @@ class UserServiceTest {
         assertEquals(updatedUser.getUsername(), result.getUsername());
         assertEquals(updatedUser.getEmail(), result.getEmail());
         verify(userRepository, times(1)).findById(userId);
-        verify(userRepository, times(1)).save(any(User.class));
+        verify(userRepository, times(1)).saveAndFlush(any(User.class));
+        verify(eventPublisher).publishEvent(new PrincipalChangedEvent(userId, List.of("testuser", "updateduser")));
     }
 
     @Test
@@ -110,7 +122,7 @@ class UserServiceTest {
             userService.updateUser(userId, updateProfileDto);
         });
         verify(userRepository, times(1)).findById(userId);
-        verify(userRepository, never()).save(any(User.class));
+        verify(userRepository, never()).saveAndFlush(any(User.class));
     }
 
     @Test
@@ -126,6 +138,7 @@ class UserServiceTest {
         // Assert
         verify(userRepository, times(1)).findById(userId);
         verify(userRepository, times(1)).deleteById(userId);
+        verify(eventPublisher).publishEvent(new PrincipalChangedEvent(userId, List.of("testuser")));
     }
 
     @Test
@@ -152,7 +165,10 @@ class UserServiceTest {
         userService.changePassword(testUser, request);
 
         assertEquals("encoded-new-password", testUser.getPassword());
+        assertEquals(1, testUser.getCredentialVersion());
         verify(userRepository, times(1)).save(testUser);
+        verify(eventPublisher).publishEvent(new PrincipalChangedEvent(testUser.getId(), List.of("testuser")));
+        verify(refreshTokenService).revokeAll(testUser.getId());
     }
 
     @Test
@@ -166,6 +182,7 @@ class UserServiceTest {
         assertEquals("currentPassword", exception.getField());
         verify(userRepository, never()).save(any(User.class));
         verify(passwordEncoder, never()).encode(any());
+        verifyNoInteractions(eventPublisher);
     }
 
     @Test
@@ -178,4 +195,18 @@ class UserServiceTest {
         assertSame(testUser, result);
         verify(userRepository, never()).findByUsername(any());
     }
-}
\ No newline at end of file
+
+    @Test
+    void findCredentialVersion_UnknownUser_ThrowsUsernameNotFoundException() {
+        when(userRepository.findCredentialVersionById(99L)).thenReturn(null);
+
+        assertThrows(UsernameNotFoundException.class, () -> userService.findCredentialVersion(99L));
+    }
+
+    @Test
+    void onUserDataChanged_IncrementsTheUsersDataVersion() {
+        userService.onUserDataChanged(new UserDataChangedEvent(7L));
+
+        verify(userRepository).incrementDataVersion(7L);
+    }
+}
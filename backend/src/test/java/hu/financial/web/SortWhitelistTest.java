@@ -42,6 +42,17 @@ class SortWhitelistTest {
         assertEquals(Sort.by(Sort.Order.asc("id")), whitelist.toSort("id,asc"));
     }
 
+    @Test
+    void toKeysetSort_TieBreakerFollowsThePrimaryDirection() {
+        assertEquals(Sort.by(Sort.Order.asc("amount"), Sort.Order.asc("id")), whitelist.toKeysetSort("amount,asc"));
+        assertEquals(Sort.by(Sort.Order.desc("date"), Sort.Order.desc("id")), whitelist.toKeysetSort("date,desc"));
+    }
+
+    @Test
+    void toKeysetSort_OnTheTieBreakerField_KeepsTheRequestedDirection() {
+        assertEquals(Sort.by(Sort.Order.asc("id")), whitelist.toKeysetSort("id,asc"));
+    }
+
     @ParameterizedTest
     @ValueSource(strings = { "user.password", "password", "Date", "userId", "date,sideways", "date,desc,amount",
             "", "   ", "," })